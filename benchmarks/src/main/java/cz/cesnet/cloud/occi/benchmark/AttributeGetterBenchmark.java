@@ -0,0 +1,71 @@
+package cz.cesnet.cloud.occi.benchmark;
+
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
+import cz.cesnet.cloud.occi.infrastructure.Compute;
+import cz.cesnet.cloud.occi.infrastructure.enumeration.Architecture;
+import cz.cesnet.cloud.occi.infrastructure.enumeration.ComputeState;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading of entity's attributes by name through the getters of
+ * Entity and Compute. Run with '-prof gc' to see allocation per read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttributeGetterBenchmark {
+
+    private Compute compute;
+
+    @Setup
+    public void setUp() throws InvalidAttributeValueException {
+        Kind kind = new Kind(Compute.SCHEME_DEFAULT, Compute.TERM_DEFAULT);
+        compute = new Compute("compute_id", kind);
+        compute.setTitle("compute title");
+        compute.setHostname("compute.example.org");
+        compute.setMemory(4.0f);
+        compute.setSpeed(2.5f);
+        compute.setCores(8);
+        compute.setArchitecture(Architecture.X_64);
+        compute.setState(ComputeState.ACTIVE);
+    }
+
+    @Benchmark
+    public String getId() {
+        return compute.getId();
+    }
+
+    @Benchmark
+    public String getTitle() {
+        return compute.getTitle();
+    }
+
+    @Benchmark
+    public String getMemory() {
+        return compute.getMemory();
+    }
+
+    @Benchmark
+    public float getMemoryAsFloat() {
+        return compute.getMemoryAsFloat(0f);
+    }
+
+    @Benchmark
+    public boolean containsMissing() {
+        return compute.containsAttribute("occi.compute.missing");
+    }
+}
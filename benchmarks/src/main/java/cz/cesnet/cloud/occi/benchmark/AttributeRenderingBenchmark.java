@@ -0,0 +1,85 @@
+package cz.cesnet.cloud.occi.benchmark;
+
+import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
+import cz.cesnet.cloud.occi.exception.RenderingException;
+import cz.cesnet.cloud.occi.infrastructure.Compute;
+import cz.cesnet.cloud.occi.infrastructure.enumeration.Architecture;
+import cz.cesnet.cloud.occi.infrastructure.enumeration.ComputeState;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures rendering of a compute with 30 attributes (strings, integers,
+ * numbers, booleans and enumerations) in text/plain and text/occi form.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttributeRenderingBenchmark {
+
+    private static final int ATTRIBUTE_COUNT = 30;
+
+    private Compute compute;
+    private StringBuilder buffer;
+
+    @Setup
+    public void setUp() throws InvalidAttributeValueException {
+        Kind kind = new Kind(Compute.SCHEME_DEFAULT, Compute.TERM_DEFAULT, "Compute Resource", URI.create("/compute/"), null);
+        compute = new Compute("87f3bfc3-42d4-4474-b45c-757e55e093e9", kind);
+        compute.setTitle("compute title");
+        compute.setSummary("compute summary");
+        compute.setHostname("compute.example.org");
+        compute.setMemory(4.0f);
+        compute.setSpeed(2.5f);
+        compute.setCores(8);
+        compute.setArchitecture(Architecture.X_64);
+        compute.setState(ComputeState.ACTIVE);
+
+        for (int i = 0; compute.getAttributes().size() < ATTRIBUTE_COUNT; i++) {
+            switch (i % 4) {
+                case 0:
+                    compute.addAttribute("org.example.string" + i, "value number " + i);
+                    break;
+                case 1:
+                    compute.addAttribute("org.example.integer" + i, (long) i * 1024);
+                    break;
+                case 2:
+                    compute.addAttribute("org.example.number" + i, i + 0.5);
+                    break;
+                default:
+                    compute.addAttribute("org.example.boolean" + i, i % 8 == 3);
+                    break;
+            }
+        }
+
+        buffer = new StringBuilder(4096);
+    }
+
+    @Benchmark
+    public StringBuilder writeText() throws IOException, RenderingException {
+        buffer.setLength(0);
+        compute.writeText(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public Headers toHeaders() throws RenderingException {
+        return compute.toHeaders();
+    }
+}
@@ -0,0 +1,68 @@
+package cz.cesnet.cloud.occi.benchmark;
+
+import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.Collection;
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import cz.cesnet.cloud.occi.parser.CollectionType;
+import cz.cesnet.cloud.occi.parser.MediaType;
+import cz.cesnet.cloud.occi.parser.TextParser;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing of resource, link and action collections in text/plain and
+ * text/occi form using the 'collection_*' fixtures.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectionParsingBenchmark {
+
+    @Param({"plain", "occi"})
+    private String format;
+
+    @Param({"RESOURCE", "LINK", "ACTION"})
+    private CollectionType collectionType;
+
+    private TextParser parser;
+    private String mediaType;
+    private String body;
+    private Headers headers;
+
+    @Setup
+    public void setUp() throws IOException {
+        parser = new TextParser();
+        headers = new Headers();
+        String prefix = "collection_" + format + "_" + collectionType.name().toLowerCase();
+        if (format.equals("plain")) {
+            mediaType = MediaType.TEXT_PLAIN;
+            body = Fixtures.read(prefix + ".txt");
+        } else {
+            mediaType = MediaType.TEXT_OCCI;
+            Fixtures.addHeader(headers, "Category", prefix + "_category.txt");
+            Fixtures.addHeader(headers, "X-OCCI-Attribute", prefix + "_attribute.txt");
+            if (collectionType == CollectionType.RESOURCE) {
+                Fixtures.addHeader(headers, "Link", prefix + "_link.txt");
+            }
+        }
+    }
+
+    @Benchmark
+    public Collection parseCollection() throws ParsingException {
+        return parser.parseCollection(mediaType, body, headers, collectionType);
+    }
+}
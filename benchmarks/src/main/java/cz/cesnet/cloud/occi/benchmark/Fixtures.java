@@ -0,0 +1,54 @@
+package cz.cesnet.cloud.occi.benchmark;
+
+import com.sun.net.httpserver.Headers;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Access to the parser fixtures of the library's test suite. Fixtures are
+ * packaged into the benchmark jar under '/fixtures'.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * Reads a fixture as UTF-8 text.
+     *
+     * @param name file name of the fixture, e.g. 'model_plain_all.txt'
+     * @return content of the fixture
+     * @throws IOException if the fixture doesn't exist or cannot be read
+     */
+    static String read(String name) throws IOException {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IOException("Fixture " + name + " not found.");
+            }
+
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Adds header with fixture's content as its value. Trailing line
+     * terminators are stripped since header values cannot contain them.
+     *
+     * @param headers headers to add the header to
+     * @param name header's name
+     * @param fixture file name of the fixture
+     * @throws IOException if the fixture doesn't exist or cannot be read
+     */
+    static void addHeader(Headers headers, String name, String fixture) throws IOException {
+        headers.add(name, read(fixture).trim());
+    }
+}
@@ -0,0 +1,95 @@
+package cz.cesnet.cloud.occi.benchmark;
+
+import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.Collection;
+import cz.cesnet.cloud.occi.Model;
+import cz.cesnet.cloud.occi.ScaleDataGenerator;
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import cz.cesnet.cloud.occi.exception.RenderingException;
+import cz.cesnet.cloud.occi.snapshot.SnapshotReader;
+import cz.cesnet.cloud.occi.snapshot.SnapshotWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures rendering of generated collections of resources with mixins and
+ * links in text/plain, text/occi and JSON form and writing and loading of
+ * their binary snapshots.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LargeCollectionBenchmark {
+
+    @Param({"1000", "10000"})
+    private int resourceCount;
+
+    private Model model;
+    private Collection collection;
+    private StringBuilder buffer;
+    private ByteArrayOutputStream bytes;
+    private byte[] snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        ScaleDataGenerator generator = new ScaleDataGenerator(1);
+        generator.setKindCount(50);
+        generator.setMixinCount(1000);
+        generator.setResourceCount(resourceCount);
+        model = generator.generateModel();
+        collection = generator.generateCollection(model);
+        collection.setModel(model);
+        buffer = new StringBuilder();
+        bytes = new ByteArrayOutputStream();
+        SnapshotWriter.writeCollection(collection, bytes);
+        snapshot = bytes.toByteArray();
+    }
+
+    @Benchmark
+    public StringBuilder writeText() throws IOException, RenderingException {
+        buffer.setLength(0);
+        collection.writeText(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public StringBuilder writeJSON() throws IOException {
+        buffer.setLength(0);
+        collection.writeJSON(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public List<Headers> toHeaders() throws RenderingException {
+        return collection.toHeaders();
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeSnapshot() throws IOException {
+        bytes.reset();
+        SnapshotWriter.writeCollection(collection, bytes);
+        return bytes;
+    }
+
+    @Benchmark
+    public Collection readSnapshot() throws ParsingException {
+        return SnapshotReader.readCollection(ByteBuffer.wrap(snapshot), model);
+    }
+}
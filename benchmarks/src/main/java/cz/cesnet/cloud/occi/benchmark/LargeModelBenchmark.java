@@ -0,0 +1,91 @@
+package cz.cesnet.cloud.occi.benchmark;
+
+import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.Model;
+import cz.cesnet.cloud.occi.ScaleDataGenerator;
+import cz.cesnet.cloud.occi.core.Mixin;
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import cz.cesnet.cloud.occi.parser.MediaType;
+import cz.cesnet.cloud.occi.parser.TextParser;
+import cz.cesnet.cloud.occi.snapshot.MappedModel;
+import cz.cesnet.cloud.occi.snapshot.SnapshotReader;
+import cz.cesnet.cloud.occi.snapshot.SnapshotWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing of generated models with many template mixins in
+ * text/plain and text/occi form and loading of their binary snapshots. Mapped
+ * model case opens an indexed snapshot and looks up a single mixin.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LargeModelBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    private int mixinCount;
+
+    private TextParser parser;
+    private String text;
+    private Headers headers;
+    private byte[] snapshot;
+    private byte[] indexedSnapshot;
+    private String mixinIdentifier;
+
+    @Setup
+    public void setUp() throws IOException {
+        ScaleDataGenerator generator = new ScaleDataGenerator(1);
+        generator.setKindCount(50);
+        generator.setMixinCount(mixinCount);
+        generator.setActionCount(10);
+        Model model = generator.generateModel();
+
+        parser = new TextParser();
+        text = ScaleDataGenerator.renderModelText(model);
+        headers = ScaleDataGenerator.renderModelHeaders(model);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter.writeModel(model, out);
+        snapshot = out.toByteArray();
+        out = new ByteArrayOutputStream();
+        SnapshotWriter.writeIndexedModel(model, out);
+        indexedSnapshot = out.toByteArray();
+        mixinIdentifier = model.getMixins().iterator().next().getIdentifier();
+    }
+
+    @Benchmark
+    public Model parsePlain() throws ParsingException {
+        return parser.parseModel(MediaType.TEXT_PLAIN, text, new Headers());
+    }
+
+    @Benchmark
+    public Model parseOcci() throws ParsingException {
+        return parser.parseModel(MediaType.TEXT_OCCI, null, headers);
+    }
+
+    @Benchmark
+    public Model readSnapshot() throws ParsingException {
+        return SnapshotReader.readModel(ByteBuffer.wrap(snapshot));
+    }
+
+    @Benchmark
+    public Mixin openMapped() throws ParsingException {
+        return new MappedModel(ByteBuffer.wrap(indexedSnapshot)).getMixin(mixinIdentifier);
+    }
+}
@@ -0,0 +1,89 @@
+package cz.cesnet.cloud.occi.benchmark;
+
+import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.Model;
+import cz.cesnet.cloud.occi.core.Category;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.exception.AmbiguousIdentifierException;
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import cz.cesnet.cloud.occi.parser.CollectionType;
+import cz.cesnet.cloud.occi.parser.MediaType;
+import cz.cesnet.cloud.occi.parser.TextParser;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures kind lookups in a model parsed from 'model_plain_all.txt' extended
+ * with additional resource kinds up to the given number of kinds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelLookupBenchmark {
+
+    private static final URI SCHEME = URI.create("http://benchmark.occi/kind#");
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private Model model;
+    private Kind compute;
+    private String computeIdentifier;
+    private URI computeUri;
+
+    @Setup
+    public void setUp() throws IOException, ParsingException {
+        model = new TextParser().parseModel(MediaType.TEXT_PLAIN, Fixtures.read("model_plain_all.txt"), new Headers());
+        Kind resource = model.getKind(Category.SCHEME_CORE_DEFAULT + "resource");
+        for (int i = 0; model.getKinds().size() < size; i++) {
+            Kind kind = new Kind(SCHEME, "kind" + i, null, URI.create("/kind" + i + "/"), null);
+            kind.addRelation(resource);
+            kind.setParentKind(resource);
+            model.addKind(kind);
+        }
+
+        computeIdentifier = Category.SCHEME_INFRASTRUCTURE_DEFAULT + "compute";
+        computeUri = URI.create(computeIdentifier);
+        compute = model.getKind(computeIdentifier);
+    }
+
+    @Benchmark
+    public Kind getKind() {
+        return model.getKind(computeIdentifier);
+    }
+
+    @Benchmark
+    public Kind findKindByIdentifier() {
+        return model.findKind(computeUri);
+    }
+
+    @Benchmark
+    public Kind findKindByTerm() throws AmbiguousIdentifierException {
+        return model.findKind("compute");
+    }
+
+    @Benchmark
+    public CollectionType findKindType() {
+        return model.findKindType(compute);
+    }
+
+    @Benchmark
+    public CollectionType findKindTypeByLocation() {
+        return model.findKindType("/compute/");
+    }
+}
@@ -0,0 +1,60 @@
+package cz.cesnet.cloud.occi.benchmark;
+
+import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.Model;
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import cz.cesnet.cloud.occi.parser.MediaType;
+import cz.cesnet.cloud.occi.parser.TextParser;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing of the query interface (model) in text/plain and text/occi
+ * form using the 'model_*_all.txt' fixtures.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelParsingBenchmark {
+
+    @Param({"plain", "occi"})
+    private String format;
+
+    private TextParser parser;
+    private String mediaType;
+    private String body;
+    private Headers headers;
+
+    @Setup
+    public void setUp() throws IOException {
+        parser = new TextParser();
+        headers = new Headers();
+        String fixture = "model_" + format + "_all.txt";
+        if (format.equals("plain")) {
+            mediaType = MediaType.TEXT_PLAIN;
+            body = Fixtures.read(fixture);
+        } else {
+            mediaType = MediaType.TEXT_OCCI;
+            Fixtures.addHeader(headers, "Category", fixture);
+        }
+    }
+
+    @Benchmark
+    public Model parseModel() throws ParsingException {
+        return parser.parseModel(mediaType, body, headers);
+    }
+}
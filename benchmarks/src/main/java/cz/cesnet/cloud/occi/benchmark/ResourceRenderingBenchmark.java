@@ -0,0 +1,62 @@
+package cz.cesnet.cloud.occi.benchmark;
+
+import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.core.Resource;
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import cz.cesnet.cloud.occi.exception.RenderingException;
+import cz.cesnet.cloud.occi.parser.CollectionType;
+import cz.cesnet.cloud.occi.parser.MediaType;
+import cz.cesnet.cloud.occi.parser.TextParser;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures rendering of a resource with mixins, links and actions (the
+ * resource from 'collection_plain_resource.txt') in text/plain and text/occi
+ * form.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourceRenderingBenchmark {
+
+    private Resource resource;
+    private StringBuilder buffer;
+
+    @Setup
+    public void setUp() throws IOException, ParsingException {
+        String body = Fixtures.read("collection_plain_resource.txt");
+        resource = new TextParser().parseCollection(MediaType.TEXT_PLAIN, body, new Headers(), CollectionType.RESOURCE).getResources().iterator().next();
+        buffer = new StringBuilder(4096);
+    }
+
+    @Benchmark
+    public String toText() throws RenderingException {
+        return resource.toText();
+    }
+
+    @Benchmark
+    public StringBuilder writeText() throws IOException, RenderingException {
+        buffer.setLength(0);
+        resource.writeText(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public Headers toHeaders() throws RenderingException {
+        return resource.toHeaders();
+    }
+}
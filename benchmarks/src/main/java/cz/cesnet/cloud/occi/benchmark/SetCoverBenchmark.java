@@ -0,0 +1,98 @@
+package cz.cesnet.cloud.occi.benchmark;
+
+import cz.cesnet.cloud.occi.collection.SetCover;
+import cz.cesnet.cloud.occi.core.Mixin;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures operations of SetCover of various sizes. Lookups and modifications
+ * should stay flat as the set grows, iteration is linear and sorted view is
+ * cached for an unchanged set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SetCoverBenchmark {
+
+    private static final URI SCHEME = URI.create("http://benchmark.occi/mixin#");
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int size;
+
+    private SetCover<Mixin> setCover;
+    private String[] identifiers;
+    private String missingIdentifier;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        setCover = new SetCover<>();
+        identifiers = new String[size];
+        for (int i = 0; i < size; i++) {
+            Mixin mixin = new Mixin(SCHEME, "mixin" + i);
+            setCover.add(mixin);
+            identifiers[i] = mixin.getIdentifier();
+        }
+        missingIdentifier = SCHEME + "missing";
+    }
+
+    private String nextIdentifier() {
+        position++;
+        if (position >= identifiers.length) {
+            position = 0;
+        }
+        return identifiers[position];
+    }
+
+    @Benchmark
+    public boolean containsExisting() {
+        return setCover.contains(nextIdentifier());
+    }
+
+    @Benchmark
+    public boolean containsMissing() {
+        return setCover.contains(missingIdentifier);
+    }
+
+    @Benchmark
+    public Mixin getExisting() {
+        return setCover.get(nextIdentifier());
+    }
+
+    @Benchmark
+    public boolean removeAndAdd() {
+        Mixin mixin = setCover.get(nextIdentifier());
+        setCover.remove(mixin);
+        return setCover.add(mixin);
+    }
+
+    @Benchmark
+    public int iterate() {
+        int count = 0;
+        for (Mixin mixin : setCover.getSet()) {
+            count += mixin.getTerm().length();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public List<Mixin> sortedList() {
+        return setCover.getSortedList();
+    }
+}
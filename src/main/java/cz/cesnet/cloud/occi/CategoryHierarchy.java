@@ -0,0 +1,367 @@
+package cz.cesnet.cloud.occi;
+
+import cz.cesnet.cloud.occi.core.Category;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Link;
+import cz.cesnet.cloud.occi.core.Mixin;
+import cz.cesnet.cloud.occi.core.Resource;
+import cz.cesnet.cloud.occi.parser.CollectionType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled kind and mixin hierarchy of a model. Every kind and mixin of the
+ * model (and every category they relate to) is given a dense integer id and a
+ * set of ids of all its ancestors, which turns 'is-a' checks and collection
+ * type resolution into constant time operations. Cycles in the hierarchy are
+ * detected during the compilation.
+ *
+ * Ancestors of a kind are its related kinds and its parent kind, ancestors of
+ * a mixin are its related mixins, both applied transitively.
+ *
+ * Compiled hierarchy doesn't reflect later changes of the model or its
+ * categories, use {@link Model#getHierarchy()} to get an up-to-date instance.
+ */
+public class CategoryHierarchy {
+
+    private final Closure<Kind> kinds = new Closure<Kind>() {
+
+        @Override
+        Collection<Kind> parentsOf(Kind kind) {
+            Kind parent = kind.getParentKind();
+            if (parent == null || kind.relatesTo(parent)) {
+                return kind.getRelations();
+            }
+
+            List<Kind> parents = new ArrayList<>(kind.getRelations());
+            parents.add(parent);
+            return parents;
+        }
+    };
+    private final Closure<Mixin> mixins = new Closure<Mixin>() {
+
+        @Override
+        Collection<Mixin> parentsOf(Mixin mixin) {
+            return mixin.getRelations();
+        }
+    };
+    private CollectionType[] kindTypes;
+
+    private CategoryHierarchy() {
+    }
+
+    /**
+     * Compiles hierarchy of kinds and mixins from given model.
+     *
+     * @param model model to compile hierarchy from. Cannot be null.
+     * @return compiled hierarchy
+     */
+    public static CategoryHierarchy compile(Model model) {
+        if (model == null) {
+            throw new NullPointerException("Model cannot be null.");
+        }
+
+        return compile(model.getKinds(), model.getMixins());
+    }
+
+    /**
+     * Compiles hierarchy of given kinds and mixins.
+     *
+     * @param kinds kinds to compile hierarchy of. Cannot be null.
+     * @param mixins mixins to compile hierarchy of. Cannot be null.
+     * @return compiled hierarchy
+     */
+    public static CategoryHierarchy compile(Collection<Kind> kinds, Collection<Mixin> mixins) {
+        if (kinds == null) {
+            throw new NullPointerException("Kinds cannot be null.");
+        }
+        if (mixins == null) {
+            throw new NullPointerException("Mixins cannot be null.");
+        }
+
+        CategoryHierarchy hierarchy = new CategoryHierarchy();
+        hierarchy.kinds.compile(kinds);
+        hierarchy.mixins.compile(mixins);
+
+        int size = hierarchy.kinds.size();
+        hierarchy.kindTypes = new CollectionType[size];
+        for (int id = 0; id < size; id++) {
+            hierarchy.kindTypes[id] = hierarchy.resolveKindType(id);
+        }
+
+        return hierarchy;
+    }
+
+    private CollectionType resolveKindType(int id) {
+        //parent chain of a cyclic hierarchy is bounded by the number of kinds
+        Kind kind = kinds.get(id);
+        for (int i = 0; i <= kinds.size() && kind != null; i++) {
+            if (kind.getIdentifier().equals(Resource.KIND_IDENTIFIER_DEFAULT)) {
+                return CollectionType.RESOURCE;
+            }
+            if (kind.getIdentifier().equals(Link.KIND_IDENTIFIER_DEFAULT)) {
+                return CollectionType.LINK;
+            }
+            kind = kind.getParentKind();
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns dense integer id of given kind within this hierarchy.
+     *
+     * @param kind kind
+     * @return id of the kind or -1 if kind is not a part of the hierarchy
+     */
+    public int getKindId(Kind kind) {
+        return kinds.getId(kind);
+    }
+
+    /**
+     * Returns dense integer id of given mixin within this hierarchy.
+     *
+     * @param mixin mixin
+     * @return id of the mixin or -1 if mixin is not a part of the hierarchy
+     */
+    public int getMixinId(Mixin mixin) {
+        return mixins.getId(mixin);
+    }
+
+    /**
+     * Checks whether given kind is a part of the hierarchy.
+     *
+     * @param kind kind
+     * @return true if kind is a part of the hierarchy, false otherwise
+     */
+    public boolean containsKind(Kind kind) {
+        return kinds.getId(kind) >= 0;
+    }
+
+    /**
+     * Checks whether given mixin is a part of the hierarchy.
+     *
+     * @param mixin mixin
+     * @return true if mixin is a part of the hierarchy, false otherwise
+     */
+    public boolean containsMixin(Mixin mixin) {
+        return mixins.getId(mixin) >= 0;
+    }
+
+    /**
+     * Checks whether kind is the same as or a descendant of the other kind.
+     *
+     * @param kind kind
+     * @param ancestor possible ancestor
+     * @return true if kind is the ancestor or its descendant, false otherwise
+     * or if any of the kinds is not a part of the hierarchy
+     */
+    public boolean isKindOf(Kind kind, Kind ancestor) {
+        return kinds.isA(kind, ancestor);
+    }
+
+    /**
+     * Checks whether mixin is the same as or a descendant of the other mixin.
+     *
+     * @param mixin mixin
+     * @param ancestor possible ancestor
+     * @return true if mixin is the ancestor or its descendant, false otherwise
+     * or if any of the mixins is not a part of the hierarchy
+     */
+    public boolean isMixinOf(Mixin mixin, Mixin ancestor) {
+        return mixins.isA(mixin, ancestor);
+    }
+
+    /**
+     * Returns all ancestors of given kind in depth-first order.
+     *
+     * @param kind kind
+     * @return unmodifiable list of kind's ancestors, empty if kind is not a part
+     * of the hierarchy
+     */
+    public List<Kind> getAncestors(Kind kind) {
+        return kinds.getAncestors(kind);
+    }
+
+    /**
+     * Returns all ancestors of given mixin in depth-first order.
+     *
+     * @param mixin mixin
+     * @return unmodifiable list of mixin's ancestors, empty if mixin is not a
+     * part of the hierarchy
+     */
+    public List<Mixin> getAncestors(Mixin mixin) {
+        return mixins.getAncestors(mixin);
+    }
+
+    /**
+     * Returns CollectionType of given kind (for parsing purposes).
+     *
+     * @param kind kind
+     * @return CollectionType instance if determined, null otherwise or if kind
+     * is not a part of the hierarchy
+     */
+    public CollectionType getKindType(Kind kind) {
+        int id = kinds.getId(kind);
+        if (id < 0) {
+            return null;
+        }
+
+        return kindTypes[id];
+    }
+
+    /**
+     * Checks whether there is a cycle in the hierarchy.
+     *
+     * @return true if some kind or mixin is its own ancestor, false otherwise
+     */
+    public boolean isCyclic() {
+        return !kinds.cyclic.isEmpty() || !mixins.cyclic.isEmpty();
+    }
+
+    /**
+     * Returns all kinds and mixins which are their own ancestors.
+     *
+     * @return list of categories on cycles, empty if hierarchy is acyclic
+     */
+    public List<Category> getCyclicCategories() {
+        List<Category> cyclic = new ArrayList<>();
+        kinds.addCyclic(cyclic);
+        mixins.addCyclic(cyclic);
+
+        return cyclic;
+    }
+
+    /**
+     * Resturns string representation of the hierarchy
+     *
+     * @see Object#toString()
+     * @return string representation of the hierarchy
+     */
+    @Override
+    public String toString() {
+        return "CategoryHierarchy{" + "kinds=" + kinds.size() + ", mixins=" + mixins.size() + ", cyclic=" + isCyclic() + '}';
+    }
+
+    /**
+     * Transitive closure of a single kind of categories.
+     */
+    private abstract static class Closure<T extends Category> {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<T> categories = new ArrayList<>();
+        private final List<List<T>> ancestorLists = new ArrayList<>();
+        private final BitSet cyclic = new BitSet();
+        private BitSet[] ancestors;
+
+        abstract Collection<T> parentsOf(T category);
+
+        void compile(Collection<T> roots) {
+            for (T category : roots) {
+                register(category);
+            }
+            //categories outside of the model reachable through relations
+            for (int i = 0; i < categories.size(); i++) {
+                for (T parent : parentsOf(categories.get(i))) {
+                    register(parent);
+                }
+            }
+
+            int size = categories.size();
+            ancestors = new BitSet[size];
+            for (int id = 0; id < size; id++) {
+                BitSet set = new BitSet(size);
+                List<T> list = new ArrayList<>();
+                collect(id, set, list);
+                if (set.get(id)) {
+                    cyclic.set(id);
+                    set.clear(id);
+                    list.remove(categories.get(id));
+                }
+                ancestors[id] = set;
+                ancestorLists.add(Collections.unmodifiableList(list));
+            }
+        }
+
+        private void register(T category) {
+            if (!ids.containsKey(category.getIdentifier())) {
+                ids.put(category.getIdentifier(), categories.size());
+                categories.add(category);
+            }
+        }
+
+        /**
+         * Iterative depth-first walk so that long hierarchies don't overflow
+         * the stack.
+         */
+        private void collect(int id, BitSet visited, List<T> list) {
+            Deque<Iterator<T>> stack = new ArrayDeque<>();
+            stack.push(parentsOf(categories.get(id)).iterator());
+            while (!stack.isEmpty()) {
+                Iterator<T> iterator = stack.peek();
+                if (!iterator.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+
+                int parentId = ids.get(iterator.next().getIdentifier());
+                if (!visited.get(parentId)) {
+                    visited.set(parentId);
+                    T parent = categories.get(parentId);
+                    list.add(parent);
+                    stack.push(parentsOf(parent).iterator());
+                }
+            }
+        }
+
+        int size() {
+            return categories.size();
+        }
+
+        T get(int id) {
+            return categories.get(id);
+        }
+
+        int getId(T category) {
+            if (category == null) {
+                return -1;
+            }
+
+            Integer id = ids.get(category.getIdentifier());
+            return id == null ? -1 : id;
+        }
+
+        boolean isA(T category, T ancestor) {
+            int id = getId(category);
+            int ancestorId = getId(ancestor);
+            if (id < 0 || ancestorId < 0) {
+                return false;
+            }
+
+            return id == ancestorId || ancestors[id].get(ancestorId);
+        }
+
+        List<T> getAncestors(T category) {
+            int id = getId(category);
+            if (id < 0) {
+                return Collections.emptyList();
+            }
+
+            return ancestorLists.get(id);
+        }
+
+        void addCyclic(List<Category> list) {
+            for (int id = cyclic.nextSetBit(0); id >= 0; id = cyclic.nextSetBit(id + 1)) {
+                list.add(categories.get(id));
+            }
+        }
+    }
+}
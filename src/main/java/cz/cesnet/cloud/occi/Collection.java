@@ -1,9 +1,16 @@
 package cz.cesnet.cloud.occi;
 
+import com.sun.net.httpserver.Headers;
 import cz.cesnet.cloud.occi.collection.SetCover;
 import cz.cesnet.cloud.occi.core.ActionInstance;
 import cz.cesnet.cloud.occi.core.Link;
 import cz.cesnet.cloud.occi.core.Resource;
+import cz.cesnet.cloud.occi.exception.RenderingException;
+import cz.cesnet.cloud.occi.renderer.JSONRenderer;
+import cz.cesnet.cloud.occi.renderer.RenderingCache;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -317,4 +324,143 @@ public class Collection {
     public String toString() {
         return "Collection{" + "resources=" + resources + ", links=" + links + ", model=" + model + '}';
     }
+
+    /**
+     * Returns a plain text representation of all the instances in the
+     * collection as described in OCCI standard.
+     *
+     * @see #writeText(java.lang.Appendable)
+     * @return plain text representation of the collection
+     * @throws RenderingException
+     */
+    public String toText() throws RenderingException {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeText(sb);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render collection.", ex);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Writes a plain text representation of all the instances in the
+     * collection as described in OCCI standard into given output. Resources
+     * are written first, followed by links and action instances, each group
+     * sorted by instances' identifiers. Renderings of instances are separated
+     * by an empty line. Kinds, mixins and locations shared by several
+     * instances are rendered only once.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     * @throws RenderingException
+     */
+    public void writeText(Appendable out) throws IOException, RenderingException {
+        RenderingCache cache = new RenderingCache();
+        boolean first = true;
+
+        for (Resource resource : resources.getSortedList()) {
+            first = writeSeparator(out, first);
+            resource.writeText(out, cache);
+        }
+
+        for (Link link : links.getSortedList()) {
+            first = writeSeparator(out, first);
+            link.writeText(out, cache);
+        }
+
+        for (ActionInstance action : actions.getSortedList()) {
+            first = writeSeparator(out, first);
+            action.writeText(out);
+        }
+    }
+
+    private static boolean writeSeparator(Appendable out, boolean first) throws IOException {
+        if (!first) {
+            out.append("\n\n");
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns a JSON representation of all the instances in the collection.
+     *
+     * @see #writeJSON(java.lang.Appendable)
+     * @return JSON representation of the collection
+     */
+    public String toJSON() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeJSON(sb);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render collection.", ex);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Writes a JSON representation of all the instances in the collection into
+     * given output. Collection is rendered as an object with arrays of
+     * resources and links, followed by an array of action instances if there
+     * are any, each sorted by instances' identifiers. Instances are written
+     * one by one as they are rendered, identifiers of kinds, mixins and
+     * actions are escaped only once for the whole collection.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     */
+    public void writeJSON(Appendable out) throws IOException {
+        JSONRenderer renderer = new JSONRenderer(out);
+        renderer.beginObject();
+        renderer.name("resources").beginArray();
+        for (Resource resource : resources.getSortedList()) {
+            resource.writeJSON(renderer);
+        }
+        renderer.endArray();
+        renderer.name("links").beginArray();
+        for (Link link : links.getSortedList()) {
+            link.writeJSON(renderer);
+        }
+        renderer.endArray();
+        if (actions.size() > 0) {
+            renderer.name("actions").beginArray();
+            for (ActionInstance action : actions.getSortedList()) {
+                action.writeJSON(renderer);
+            }
+            renderer.endArray();
+        }
+        renderer.endObject();
+    }
+
+    /**
+     * Returns an occi text representation of all the instances in the
+     * collection as described in OCCI standard in form of headers. Each
+     * instance is rendered into its own headers, in the same order as in
+     * {@link #writeText(java.lang.Appendable)}. Kinds, mixins and locations
+     * shared by several instances are rendered only once.
+     *
+     * @return list of headers, one for each instance in the collection
+     * @throws RenderingException
+     */
+    public List<Headers> toHeaders() throws RenderingException {
+        RenderingCache cache = new RenderingCache();
+        List<Headers> headers = new ArrayList<>(resources.size() + links.size() + actions.size());
+
+        for (Resource resource : resources.getSortedList()) {
+            headers.add(resource.toHeaders(cache));
+        }
+
+        for (Link link : links.getSortedList()) {
+            headers.add(link.toHeaders(cache));
+        }
+
+        for (ActionInstance action : actions.getSortedList()) {
+            headers.add(action.toHeaders());
+        }
+
+        return headers;
+    }
 }
@@ -2,15 +2,26 @@ package cz.cesnet.cloud.occi;
 
 import cz.cesnet.cloud.occi.collection.SetCover;
 import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.Category;
+import cz.cesnet.cloud.occi.core.CategoryListener;
 import cz.cesnet.cloud.occi.core.Kind;
 import cz.cesnet.cloud.occi.core.Link;
 import cz.cesnet.cloud.occi.core.Mixin;
 import cz.cesnet.cloud.occi.core.Resource;
 import cz.cesnet.cloud.occi.exception.AmbiguousIdentifierException;
 import cz.cesnet.cloud.occi.parser.CollectionType;
+import cz.cesnet.cloud.occi.renderer.JSONRenderer;
+import cz.cesnet.cloud.occi.type.Fingerprint;
+import cz.cesnet.cloud.occi.type.Identifiable;
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -18,6 +29,14 @@ import java.util.Set;
  * Class representing an OCCI model. Can contain instances of classes Kind,
  * Mixin and Action.
  *
+ * Model maintains indexes of its categories by identifier, term and location
+ * and of kinds and mixins by their related categories so lookups don't have to
+ * scan the whole model. Term, scheme and location of a category must not be
+ * changed while the category is a part of the model.
+ *
+ * Model is not thread-safe. Use {@link #freeze()} to get an immutable snapshot
+ * which can be shared by concurrent readers.
+ *
  * @author Michal Kimle <kimle.michal@gmail.com>
  */
 public class Model {
@@ -25,6 +44,17 @@ public class Model {
     private final SetCover<Kind> kinds = new SetCover<>();
     private final SetCover<Mixin> mixins = new SetCover<>();
     private final SetCover<Action> actions = new SetCover<>();
+    private final Map<String, List<Kind>> kindsByTerm = new HashMap<>();
+    private final Map<String, List<Mixin>> mixinsByTerm = new HashMap<>();
+    private final Map<String, List<Action>> actionsByTerm = new HashMap<>();
+    private final Map<String, Kind> kindsByLocation = new HashMap<>();
+    private final CategoryListener listener = new ModelListener();
+    private volatile Map<String, List<Kind>> relatedKinds;
+    private volatile Map<String, List<Mixin>> relatedMixins;
+    private volatile CategoryHierarchy hierarchy;
+    private final Set<Identifiable> modifiedCategories = Collections.newSetFromMap(new IdentityHashMap<Identifiable, Boolean>());
+    private Fingerprint fingerprintSum;
+    private volatile Fingerprint fingerprint;
 
     /**
      * Creates an empty model.
@@ -32,6 +62,28 @@ public class Model {
     public Model() {
     }
 
+    /**
+     * Creates a model containing the same kinds, mixins and actions as the
+     * given model. Categories themselves are not copied.
+     *
+     * @param model model to copy. Cannot be null.
+     */
+    public Model(Model model) {
+        if (model == null) {
+            throw new NullPointerException("Model cannot be null.");
+        }
+
+        for (Kind kind : model.getKinds()) {
+            addKindInternal(kind);
+        }
+        for (Mixin mixin : model.getMixins()) {
+            addMixinInternal(mixin);
+        }
+        for (Action action : model.getActions()) {
+            addActionInternal(action);
+        }
+    }
+
     /**
      * Checks whether model contains a kind
      *
@@ -59,7 +111,21 @@ public class Model {
      * @return true if the addition was successful, false otherwise
      */
     public boolean addKind(Kind kind) {
-        return kinds.add(kind);
+        return addKindInternal(kind);
+    }
+
+    private boolean addKindInternal(Kind kind) {
+        if (!kinds.add(kind)) {
+            return false;
+        }
+
+        addToIndex(kindsByTerm, kind.getTerm(), kind);
+        indexLocation(kind);
+        kind.addListener(listener);
+        relatedKinds = null;
+        hierarchy = null;
+        categoryAdded(kind);
+        return true;
     }
 
     /**
@@ -79,14 +145,37 @@ public class Model {
      * @return true if the removal was successful, false otherwise
      */
     public boolean removeKind(Kind kind) {
-        return kinds.remove(kind);
+        if (kind == null) {
+            return false;
+        }
+
+        Kind stored = kinds.get(kind.getIdentifier());
+        if (!kinds.remove(kind)) {
+            return false;
+        }
+
+        removeFromIndex(kindsByTerm, stored.getTerm(), stored);
+        unindexLocation(stored);
+        stored.removeListener(listener);
+        relatedKinds = null;
+        hierarchy = null;
+        categoryRemoved(stored);
+        return true;
     }
 
     /**
      * Remove all kinds from the model.
      */
     public void clearKinds() {
+        for (Kind kind : kinds.getSet()) {
+            kind.removeListener(listener);
+        }
         kinds.clear();
+        kindsByTerm.clear();
+        kindsByLocation.clear();
+        relatedKinds = null;
+        hierarchy = null;
+        fingerprintCleared();
     }
 
     /**
@@ -125,7 +214,20 @@ public class Model {
      * @return true if the addition was successful, false otherwise
      */
     public boolean addMixin(Mixin mixin) {
-        return mixins.add(mixin);
+        return addMixinInternal(mixin);
+    }
+
+    private boolean addMixinInternal(Mixin mixin) {
+        if (!mixins.add(mixin)) {
+            return false;
+        }
+
+        addToIndex(mixinsByTerm, mixin.getTerm(), mixin);
+        mixin.addListener(listener);
+        relatedMixins = null;
+        hierarchy = null;
+        categoryAdded(mixin);
+        return true;
     }
 
     /**
@@ -145,14 +247,31 @@ public class Model {
      * @return true if the removal was successful, false otherwise
      */
     public boolean removeMixin(Mixin mixin) {
-        return mixins.remove(mixin);
+        Mixin stored = mixin == null ? null : mixins.get(mixin.getIdentifier());
+        if (!mixins.remove(mixin)) {
+            return false;
+        }
+
+        removeFromIndex(mixinsByTerm, mixin.getTerm(), mixin);
+        stored.removeListener(listener);
+        relatedMixins = null;
+        hierarchy = null;
+        categoryRemoved(stored);
+        return true;
     }
 
     /**
      * Remove all mixins from the model.
      */
     public void clearMixins() {
+        for (Mixin mixin : mixins.getSet()) {
+            mixin.removeListener(listener);
+        }
         mixins.clear();
+        mixinsByTerm.clear();
+        relatedMixins = null;
+        hierarchy = null;
+        fingerprintCleared();
     }
 
     /**
@@ -191,7 +310,18 @@ public class Model {
      * @return true if the addition was successful, false otherwise
      */
     public boolean addAction(Action action) {
-        return actions.add(action);
+        return addActionInternal(action);
+    }
+
+    private boolean addActionInternal(Action action) {
+        if (!actions.add(action)) {
+            return false;
+        }
+
+        addToIndex(actionsByTerm, action.getTerm(), action);
+        action.addListener(listener);
+        categoryAdded(action);
+        return true;
     }
 
     /**
@@ -211,14 +341,27 @@ public class Model {
      * @return true if the removal was successful, false otherwise
      */
     public boolean removeAction(Action action) {
-        return actions.remove(action);
+        Action stored = action == null ? null : actions.get(action.getIdentifier());
+        if (!actions.remove(action)) {
+            return false;
+        }
+
+        removeFromIndex(actionsByTerm, action.getTerm(), action);
+        stored.removeListener(listener);
+        categoryRemoved(stored);
+        return true;
     }
 
     /**
      * Remove all actions from the model.
      */
     public void clearActions() {
+        for (Action action : actions.getSet()) {
+            action.removeListener(listener);
+        }
         actions.clear();
+        actionsByTerm.clear();
+        fingerprintCleared();
     }
 
     /**
@@ -241,14 +384,7 @@ public class Model {
             return null;
         }
 
-        String identifierString = identifier.toString();
-        for (Kind kind : kinds.getSet()) {
-            if (kind.getIdentifier().equals(identifierString)) {
-                return kind;
-            }
-        }
-
-        return null;
+        return kinds.get(identifier.toString());
     }
 
     /**
@@ -260,17 +396,7 @@ public class Model {
      * with given term
      */
     public Kind findKind(String term) throws AmbiguousIdentifierException {
-        Kind foundKind = null;
-        for (Kind kind : kinds.getSet()) {
-            if (kind.getTerm().equals(term)) {
-                if (foundKind != null) {
-                    throw new AmbiguousIdentifierException("term '" + term + "' is ambiguous");
-                }
-                foundKind = kind;
-            }
-        }
-
-        return foundKind;
+        return findUnique(kindsByTerm, term);
     }
 
     /**
@@ -298,14 +424,28 @@ public class Model {
     }
 
     private List<Kind> getRelatedKinds(Kind main) {
-        List<Kind> related = new ArrayList<>();
         if (main == null) {
-            return related;
+            return new ArrayList<>();
         }
 
-        for (Kind kind : kinds.getSet()) {
-            if (kind.relatesTo(main)) {
-                related.add(kind);
+        return copyOf(getRelatedKindsIndex().get(main.getIdentifier()));
+    }
+
+    Map<String, List<Kind>> getRelatedKindsIndex() {
+        Map<String, List<Kind>> related = relatedKinds;
+        if (related == null) {
+            related = indexKindsByRelation(kinds.getSet());
+            relatedKinds = related;
+        }
+
+        return related;
+    }
+
+    static Map<String, List<Kind>> indexKindsByRelation(Set<Kind> kinds) {
+        Map<String, List<Kind>> related = new HashMap<>();
+        for (Kind kind : kinds) {
+            for (Kind parent : kind.getRelations()) {
+                addToIndex(related, parent.getIdentifier(), kind);
             }
         }
 
@@ -319,7 +459,17 @@ public class Model {
      * @return CollectionType instance if determined, null otherwise
      */
     public CollectionType findKindType(Kind kind) {
-        while (kind != null) {
+        if (kind == null) {
+            return null;
+        }
+
+        CategoryHierarchy compiled = getHierarchy();
+        if (compiled.containsKind(kind)) {
+            return compiled.getKindType(kind);
+        }
+
+        Set<Kind> visited = new HashSet<>();
+        while (kind != null && visited.add(kind)) {
             if (kind.getIdentifier().equals(Resource.KIND_IDENTIFIER_DEFAULT)) {
                 return CollectionType.RESOURCE;
             }
@@ -340,15 +490,242 @@ public class Model {
      * @return CollectionType instance if determined, null otherwise
      */
     public CollectionType findKindType(String location) {
-        Kind kind = null;
-        for (Kind k : kinds.getSet()) {
-            if (k.getLocation().getPath().equals(location)) {
-                kind = k;
-                break;
+        if (location == null) {
+            return null;
+        }
+
+        return findKindType(kindsByLocation.get(location));
+    }
+
+    /**
+     * Creates an immutable snapshot of the model. Snapshot contains the same
+     * kinds, mixins and actions as the model at the time of the call and is
+     * not affected by later changes of the model.
+     *
+     * @return immutable snapshot of the model
+     */
+    public ModelSnapshot freeze() {
+        return new ModelSnapshot(this);
+    }
+
+    /**
+     * Computes differences between this model and the given newer version of
+     * the model.
+     *
+     * @param model newer version of the model. Cannot be null.
+     * @return kinds, mixins and actions added, removed and changed in the
+     * newer version
+     */
+    public ModelDiff diff(Model model) {
+        if (model == null) {
+            throw new NullPointerException("Model cannot be null.");
+        }
+
+        return ModelDiff.compute(this, model);
+    }
+
+    /**
+     * Applies differences computed by {@link #diff(cz.cesnet.cloud.occi.Model)}
+     * to the model. Removed categories are removed, changed categories are
+     * replaced by their new versions and added categories are added, all the
+     * other category instances stay in the model. Parents, relations and
+     * actions of the changed and added categories are rebound to the
+     * model's instances with the same identifiers, so the new versions are
+     * linked to the categories that stayed in the model.
+     *
+     * @param diff differences to apply. Cannot be null.
+     */
+    public void apply(ModelDiff diff) {
+        if (diff == null) {
+            throw new NullPointerException("Diff cannot be null.");
+        }
+
+        for (Kind kind : diff.getRemovedKinds()) {
+            removeKind(kind);
+        }
+        for (Kind kind : diff.getChangedKinds()) {
+            removeKind(kind);
+            addKind(kind);
+        }
+        for (Kind kind : diff.getAddedKinds()) {
+            addKind(kind);
+        }
+        for (Mixin mixin : diff.getRemovedMixins()) {
+            removeMixin(mixin);
+        }
+        for (Mixin mixin : diff.getChangedMixins()) {
+            removeMixin(mixin);
+            addMixin(mixin);
+        }
+        for (Mixin mixin : diff.getAddedMixins()) {
+            addMixin(mixin);
+        }
+        for (Action action : diff.getRemovedActions()) {
+            removeAction(action);
+        }
+        for (Action action : diff.getChangedActions()) {
+            removeAction(action);
+            addAction(action);
+        }
+        for (Action action : diff.getAddedActions()) {
+            addAction(action);
+        }
+
+        for (Kind kind : diff.getChangedKinds()) {
+            rebind(kind);
+        }
+        for (Kind kind : diff.getAddedKinds()) {
+            rebind(kind);
+        }
+        for (Mixin mixin : diff.getChangedMixins()) {
+            rebind(mixin);
+        }
+        for (Mixin mixin : diff.getAddedMixins()) {
+            rebind(mixin);
+        }
+    }
+
+    private void rebind(Kind kind) {
+        Kind parentKind = kind.getParentKind();
+        if (parentKind != null) {
+            Kind own = getKind(parentKind.getIdentifier());
+            if (own != null && own != parentKind) {
+                kind.setParentKind(own);
+            }
+        }
+
+        for (Kind related : new ArrayList<>(kind.getRelations())) {
+            Kind own = getKind(related.getIdentifier());
+            if (own != null && own != related) {
+                kind.removeRelation(related);
+                kind.addRelation(own);
+            }
+        }
+
+        rebindActions(kind);
+    }
+
+    private void rebind(Mixin mixin) {
+        for (Mixin related : new ArrayList<>(mixin.getRelations())) {
+            Mixin own = getMixin(related.getIdentifier());
+            if (own != null && own != related) {
+                mixin.removeRelation(related);
+                mixin.addRelation(own);
             }
         }
 
-        return findKindType(kind);
+        rebindActions(mixin);
+    }
+
+    private void rebindActions(Category category) {
+        for (Action action : new ArrayList<>(category.getActions())) {
+            Action own = getAction(action.getIdentifier());
+            if (own != null && own != action) {
+                category.removeAction(action);
+                category.addAction(own);
+            }
+        }
+    }
+
+    /**
+     * Returns compiled hierarchy of model's kinds and mixins. Hierarchy is
+     * compiled lazily and recompiled only when model's kinds and mixins or
+     * their parents and relations change.
+     *
+     * @return compiled hierarchy of model's categories
+     */
+    public CategoryHierarchy getHierarchy() {
+        CategoryHierarchy compiled = hierarchy;
+        if (compiled == null) {
+            compiled = CategoryHierarchy.compile(this);
+            hierarchy = compiled;
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Returns fingerprint of the model's content. Fingerprint is the sum of
+     * fingerprints of model's kinds, mixins and actions, so it doesn't depend
+     * on the order in which the categories were added. It is computed lazily
+     * and then updated incrementally as categories are added, removed and
+     * modified, only fingerprints of the modified categories are computed
+     * again. Its hexadecimal form can be used as an ETag of the model.
+     *
+     * @return fingerprint of the model's content
+     */
+    public Fingerprint getFingerprint() {
+        Fingerprint current = fingerprint;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (modifiedCategories) {
+            if (fingerprintSum == null) {
+                Fingerprint sum = Fingerprint.ZERO;
+                for (Kind kind : getKinds()) {
+                    sum = sum.plus(kind.getFingerprint());
+                }
+                for (Mixin mixin : getMixins()) {
+                    sum = sum.plus(mixin.getFingerprint());
+                }
+                for (Action action : getActions()) {
+                    sum = sum.plus(action.getFingerprint());
+                }
+                fingerprintSum = sum;
+            } else {
+                for (Identifiable category : modifiedCategories) {
+                    fingerprintSum = fingerprintSum.plus(fingerprintOf(category));
+                }
+            }
+            modifiedCategories.clear();
+            fingerprint = fingerprintSum;
+            return fingerprintSum;
+        }
+    }
+
+    private void categoryAdded(Identifiable category) {
+        synchronized (modifiedCategories) {
+            fingerprint = null;
+            if (fingerprintSum != null) {
+                fingerprintSum = fingerprintSum.plus(fingerprintOf(category));
+            }
+        }
+    }
+
+    private void categoryRemoved(Identifiable category) {
+        synchronized (modifiedCategories) {
+            fingerprint = null;
+            //fingerprint of a modified category was already subtracted
+            if (fingerprintSum != null && !modifiedCategories.remove(category)) {
+                fingerprintSum = fingerprintSum.minus(fingerprintOf(category));
+            }
+        }
+    }
+
+    private void categoryModifying(Identifiable category) {
+        synchronized (modifiedCategories) {
+            fingerprint = null;
+            if (fingerprintSum != null && modifiedCategories.add(category)) {
+                fingerprintSum = fingerprintSum.minus(fingerprintOf(category));
+            }
+        }
+    }
+
+    private void fingerprintCleared() {
+        synchronized (modifiedCategories) {
+            fingerprint = null;
+            fingerprintSum = null;
+            modifiedCategories.clear();
+        }
+    }
+
+    private static Fingerprint fingerprintOf(Identifiable category) {
+        if (category instanceof Action) {
+            return ((Action) category).getFingerprint();
+        }
+
+        return ((Category) category).getFingerprint();
     }
 
     //TODO: refactor findMixin methods
@@ -363,14 +740,7 @@ public class Model {
             return null;
         }
 
-        String identigfierString = identifier.toString();
-        for (Mixin mixin : mixins.getSet()) {
-            if (mixin.getIdentifier().equals(identigfierString)) {
-                return mixin;
-            }
-        }
-
-        return null;
+        return mixins.get(identifier.toString());
     }
 
     /**
@@ -382,17 +752,7 @@ public class Model {
      * mixin with given term
      */
     public Mixin findMixin(String term) throws AmbiguousIdentifierException {
-        Mixin foundMixin = null;
-        for (Mixin mixin : mixins.getSet()) {
-            if (mixin.getTerm().equals(term)) {
-                if (foundMixin != null) {
-                    throw new AmbiguousIdentifierException("term '" + term + "' is ambiguous");
-                }
-                foundMixin = mixin;
-            }
-        }
-
-        return foundMixin;
+        return findUnique(mixinsByTerm, term);
     }
 
     /**
@@ -412,8 +772,8 @@ public class Model {
         }
 
         Mixin foundMixin = null;
-        for (Mixin mixin : mixins.getSet()) {
-            if (mixin.getTerm().equals(term) && mixin.relatesTo(relMixin)) {
+        for (Mixin mixin : getIndexed(mixinsByTerm, term)) {
+            if (mixin.relatesTo(relMixin)) {
                 if (foundMixin != null) {
                     throw new AmbiguousIdentifierException("term '" + term + "' is ambiguous");
                 }
@@ -439,9 +799,10 @@ public class Model {
             return null;
         }
 
+        String relString = rel.toString();
         Mixin foundMixin = null;
-        for (Mixin mixin : mixins.getSet()) {
-            if (mixin.getTerm().equals(term) && mixin.relatesTo(rel.toString())) {
+        for (Mixin mixin : getIndexed(mixinsByTerm, term)) {
+            if (mixin.relatesTo(relString)) {
                 if (foundMixin != null) {
                     throw new AmbiguousIdentifierException("term '" + term + "' is ambiguous");
                 }
@@ -477,14 +838,28 @@ public class Model {
     }
 
     private List<Mixin> getRelatedMixins(Mixin main) {
-        List<Mixin> related = new ArrayList<>();
         if (main == null) {
-            return related;
+            return new ArrayList<>();
         }
 
-        for (Mixin mixin : mixins.getSet()) {
-            if (mixin.relatesTo(main)) {
-                related.add(mixin);
+        return copyOf(getRelatedMixinsIndex().get(main.getIdentifier()));
+    }
+
+    Map<String, List<Mixin>> getRelatedMixinsIndex() {
+        Map<String, List<Mixin>> related = relatedMixins;
+        if (related == null) {
+            related = indexMixinsByRelation(mixins.getSet());
+            relatedMixins = related;
+        }
+
+        return related;
+    }
+
+    static Map<String, List<Mixin>> indexMixinsByRelation(Set<Mixin> mixins) {
+        Map<String, List<Mixin>> related = new HashMap<>();
+        for (Mixin mixin : mixins) {
+            for (Mixin parent : mixin.getRelations()) {
+                addToIndex(related, parent.getIdentifier(), mixin);
             }
         }
 
@@ -500,17 +875,7 @@ public class Model {
      * action with given term
      */
     public Action findAction(String term) throws AmbiguousIdentifierException {
-        Action foundAction = null;
-        for (Action action : actions.getSet()) {
-            if (action.getTerm().equals(term)) {
-                if (foundAction != null) {
-                    throw new AmbiguousIdentifierException("term '" + term + "' is ambiguous");
-                }
-                foundAction = action;
-            }
-        }
-
-        return foundAction;
+        return findUnique(actionsByTerm, term);
     }
 
     /**
@@ -524,14 +889,134 @@ public class Model {
             return null;
         }
 
-        String identigfierString = identifier.toString();
-        for (Action action : actions.getSet()) {
-            if (action.getIdentifier().equals(identigfierString)) {
-                return action;
+        return actions.get(identifier.toString());
+    }
+
+    private static <T> void removeFromIndex(Map<String, List<T>> index, String key, T value) {
+        List<T> list = index.get(key);
+        if (list == null) {
+            return;
+        }
+
+        list.remove(value);
+        if (list.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static <T> void addToIndex(Map<String, List<T>> index, String key, T value) {
+        List<T> list = index.get(key);
+        if (list == null) {
+            list = new ArrayList<>(1);
+            index.put(key, list);
+        }
+
+        list.add(value);
+    }
+
+    private static <T> List<T> getIndexed(Map<String, List<T>> index, String term) {
+        List<T> list = index.get(term);
+        if (list == null) {
+            return Collections.emptyList();
+        }
+
+        return list;
+    }
+
+    private static <T> T findUnique(Map<String, List<T>> index, String term) throws AmbiguousIdentifierException {
+        List<T> list = index.get(term);
+        if (list == null) {
+            return null;
+        }
+        if (list.size() > 1) {
+            throw new AmbiguousIdentifierException("term '" + term + "' is ambiguous");
+        }
+
+        return list.get(0);
+    }
+
+    private static <T> List<T> copyOf(List<T> list) {
+        if (list == null) {
+            return new ArrayList<>();
+        }
+
+        return new ArrayList<>(list);
+    }
+
+    private void indexLocation(Kind kind) {
+        if (kind.getLocation() == null) {
+            return;
+        }
+
+        String path = kind.getLocation().getPath();
+        if (!kindsByLocation.containsKey(path)) {
+            kindsByLocation.put(path, kind);
+        }
+    }
+
+    private void unindexLocation(Kind kind) {
+        if (kind.getLocation() == null) {
+            return;
+        }
+
+        String path = kind.getLocation().getPath();
+        if (!kind.equals(kindsByLocation.get(path))) {
+            return;
+        }
+
+        kindsByLocation.remove(path);
+        for (Kind k : kinds.getSet()) {
+            if (k.getLocation() != null && path.equals(k.getLocation().getPath())) {
+                kindsByLocation.put(path, k);
+                break;
             }
         }
+    }
+
+    /**
+     * Returns a JSON representation of the model.
+     *
+     * @see #writeJSON(java.lang.Appendable)
+     * @return JSON representation of the model
+     */
+    public String toJSON() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeJSON(sb);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render model.", ex);
+        }
 
-        return null;
+        return sb.toString();
+    }
+
+    /**
+     * Writes a JSON representation of the model into given output. Model is
+     * rendered as an object with arrays of kinds, mixins and actions, each
+     * sorted by categories' identifiers.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     */
+    public void writeJSON(Appendable out) throws IOException {
+        JSONRenderer renderer = new JSONRenderer(out);
+        renderer.beginObject();
+        renderer.name("kinds").beginArray();
+        for (Kind kind : kinds.getSortedList()) {
+            kind.writeJSON(renderer);
+        }
+        renderer.endArray();
+        renderer.name("mixins").beginArray();
+        for (Mixin mixin : mixins.getSortedList()) {
+            mixin.writeJSON(renderer);
+        }
+        renderer.endArray();
+        renderer.name("actions").beginArray();
+        for (Action action : actions.getSortedList()) {
+            action.writeJSON(renderer);
+        }
+        renderer.endArray();
+        renderer.endObject();
     }
 
     /**
@@ -557,17 +1042,21 @@ public class Model {
         if (obj == null) {
             return false;
         }
-        if (getClass() != obj.getClass()) {
+        if (!(obj instanceof Model)) {
             return false;
         }
         final Model other = (Model) obj;
-        if (!Objects.equals(this.kinds, other.kinds)) {
+        Fingerprint current = fingerprint;
+        if (current != null && current.equals(other.fingerprint)) {
+            return true;
+        }
+        if (!getKinds().equals(other.getKinds())) {
             return false;
         }
-        if (!Objects.equals(this.mixins, other.mixins)) {
+        if (!getMixins().equals(other.getMixins())) {
             return false;
         }
-        if (!Objects.equals(this.actions, other.actions)) {
+        if (!getActions().equals(other.getActions())) {
             return false;
         }
         return true;
@@ -583,4 +1072,29 @@ public class Model {
     public String toString() {
         return "Model{" + "kinds=" + kinds + ", mixins=" + mixins + ", actions=" + actions + '}';
     }
+
+    /**
+     * Listener registered with model's categories. Subtracts fingerprint of a
+     * category about to change from model's fingerprint and drops cached
+     * hierarchy and indexes of related categories when a parent or relations
+     * of the category are about to change. Refuses changes of identifier and
+     * location, model's indexes are keyed by them.
+     */
+    private class ModelListener implements CategoryListener {
+
+        @Override
+        public void categoryModifying(Identifiable category, boolean identifierModified, boolean hierarchyModified) {
+            if (identifierModified) {
+                throw new IllegalStateException("Identifier and location of category '" + category.getIdentifier()
+                        + "' cannot be changed while it is a part of a model.");
+            }
+
+            Model.this.categoryModifying(category);
+            if (hierarchyModified) {
+                relatedKinds = null;
+                relatedMixins = null;
+                hierarchy = null;
+            }
+        }
+    }
 }
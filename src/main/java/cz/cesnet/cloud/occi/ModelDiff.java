@@ -0,0 +1,324 @@
+package cz.cesnet.cloud.occi;
+
+import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.Attribute;
+import cz.cesnet.cloud.occi.core.Category;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Mixin;
+import cz.cesnet.cloud.occi.type.Identifiable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Differences between two versions of a model, see
+ * {@link Model#diff(cz.cesnet.cloud.occi.Model)}.
+ *
+ * Added and changed categories are the instances from the newer model,
+ * removed categories are the instances from the older one. A category is
+ * changed if its title, location, attributes, actions or relations differ, or
+ * if any kind, mixin or action it refers to was added, removed or changed.
+ * Unchanged categories of the older model therefore never refer to outdated
+ * instances once the diff is applied, and caches keyed on them can be kept.
+ */
+public class ModelDiff {
+
+    private final List<Kind> addedKinds = new ArrayList<>();
+    private final List<Kind> removedKinds = new ArrayList<>();
+    private final List<Kind> changedKinds = new ArrayList<>();
+    private final List<Mixin> addedMixins = new ArrayList<>();
+    private final List<Mixin> removedMixins = new ArrayList<>();
+    private final List<Mixin> changedMixins = new ArrayList<>();
+    private final List<Action> addedActions = new ArrayList<>();
+    private final List<Action> removedActions = new ArrayList<>();
+    private final List<Action> changedActions = new ArrayList<>();
+
+    private ModelDiff() {
+    }
+
+    static ModelDiff compute(Model from, Model to) {
+        ModelDiff diff = new ModelDiff();
+        Set<String> dirtyActions = new HashSet<>();
+        for (Action action : to.getActions()) {
+            Action old = from.getAction(action.getIdentifier());
+            if (old == null) {
+                diff.addedActions.add(action);
+            } else if (!sameAction(old, action)) {
+                diff.changedActions.add(action);
+            }
+        }
+        for (Action action : from.getActions()) {
+            if (!to.containsAction(action.getIdentifier())) {
+                diff.removedActions.add(action);
+            }
+        }
+        addIdentifiers(dirtyActions, diff.addedActions, diff.removedActions, diff.changedActions);
+
+        List<Kind> unchangedKinds = new ArrayList<>();
+        for (Kind kind : to.getKinds()) {
+            Kind old = from.getKind(kind.getIdentifier());
+            if (old == null) {
+                diff.addedKinds.add(kind);
+            } else if (!sameKind(old, kind)) {
+                diff.changedKinds.add(kind);
+            } else {
+                unchangedKinds.add(kind);
+            }
+        }
+        for (Kind kind : from.getKinds()) {
+            if (!to.containsKind(kind.getIdentifier())) {
+                diff.removedKinds.add(kind);
+            }
+        }
+
+        List<Mixin> unchangedMixins = new ArrayList<>();
+        for (Mixin mixin : to.getMixins()) {
+            Mixin old = from.getMixin(mixin.getIdentifier());
+            if (old == null) {
+                diff.addedMixins.add(mixin);
+            } else if (!sameMixin(old, mixin)) {
+                diff.changedMixins.add(mixin);
+            } else {
+                unchangedMixins.add(mixin);
+            }
+        }
+        for (Mixin mixin : from.getMixins()) {
+            if (!to.containsMixin(mixin.getIdentifier())) {
+                diff.removedMixins.add(mixin);
+            }
+        }
+
+        Set<String> dirtyKinds = new HashSet<>();
+        addIdentifiers(dirtyKinds, diff.addedKinds, diff.removedKinds, diff.changedKinds);
+        boolean propagated = true;
+        while (propagated) {
+            propagated = false;
+            for (int i = unchangedKinds.size() - 1; i >= 0; i--) {
+                Kind kind = unchangedKinds.get(i);
+                Kind parent = kind.getParentKind();
+                if ((parent != null && dirtyKinds.contains(parent.getIdentifier()))
+                        || refersTo(kind.getRelations(), dirtyKinds) || refersTo(kind.getActions(), dirtyActions)) {
+                    unchangedKinds.remove(i);
+                    diff.changedKinds.add(kind);
+                    dirtyKinds.add(kind.getIdentifier());
+                    propagated = true;
+                }
+            }
+        }
+
+        Set<String> dirtyMixins = new HashSet<>();
+        addIdentifiers(dirtyMixins, diff.addedMixins, diff.removedMixins, diff.changedMixins);
+        propagated = true;
+        while (propagated) {
+            propagated = false;
+            for (int i = unchangedMixins.size() - 1; i >= 0; i--) {
+                Mixin mixin = unchangedMixins.get(i);
+                if (refersTo(mixin.getRelations(), dirtyMixins) || refersTo(mixin.getActions(), dirtyActions)) {
+                    unchangedMixins.remove(i);
+                    diff.changedMixins.add(mixin);
+                    dirtyMixins.add(mixin.getIdentifier());
+                    propagated = true;
+                }
+            }
+        }
+
+        diff.sort();
+        return diff;
+    }
+
+    /**
+     * Returns kinds added to the model.
+     *
+     * @return unmodifiable list of added kinds
+     */
+    public List<Kind> getAddedKinds() {
+        return Collections.unmodifiableList(addedKinds);
+    }
+
+    /**
+     * Returns kinds removed from the model.
+     *
+     * @return unmodifiable list of removed kinds
+     */
+    public List<Kind> getRemovedKinds() {
+        return Collections.unmodifiableList(removedKinds);
+    }
+
+    /**
+     * Returns changed kinds.
+     *
+     * @return unmodifiable list of new versions of changed kinds
+     */
+    public List<Kind> getChangedKinds() {
+        return Collections.unmodifiableList(changedKinds);
+    }
+
+    /**
+     * Returns mixins added to the model.
+     *
+     * @return unmodifiable list of added mixins
+     */
+    public List<Mixin> getAddedMixins() {
+        return Collections.unmodifiableList(addedMixins);
+    }
+
+    /**
+     * Returns mixins removed from the model.
+     *
+     * @return unmodifiable list of removed mixins
+     */
+    public List<Mixin> getRemovedMixins() {
+        return Collections.unmodifiableList(removedMixins);
+    }
+
+    /**
+     * Returns changed mixins.
+     *
+     * @return unmodifiable list of new versions of changed mixins
+     */
+    public List<Mixin> getChangedMixins() {
+        return Collections.unmodifiableList(changedMixins);
+    }
+
+    /**
+     * Returns actions added to the model.
+     *
+     * @return unmodifiable list of added actions
+     */
+    public List<Action> getAddedActions() {
+        return Collections.unmodifiableList(addedActions);
+    }
+
+    /**
+     * Returns actions removed from the model.
+     *
+     * @return unmodifiable list of removed actions
+     */
+    public List<Action> getRemovedActions() {
+        return Collections.unmodifiableList(removedActions);
+    }
+
+    /**
+     * Returns changed actions.
+     *
+     * @return unmodifiable list of new versions of changed actions
+     */
+    public List<Action> getChangedActions() {
+        return Collections.unmodifiableList(changedActions);
+    }
+
+    /**
+     * Checks whether the two models were the same.
+     *
+     * @return true if nothing was added, removed or changed, false otherwise
+     */
+    public boolean isEmpty() {
+        return addedKinds.isEmpty() && removedKinds.isEmpty() && changedKinds.isEmpty()
+                && addedMixins.isEmpty() && removedMixins.isEmpty() && changedMixins.isEmpty()
+                && addedActions.isEmpty() && removedActions.isEmpty() && changedActions.isEmpty();
+    }
+
+    private void sort() {
+        Collections.sort(addedKinds);
+        Collections.sort(removedKinds);
+        Collections.sort(changedKinds);
+        Collections.sort(addedMixins);
+        Collections.sort(removedMixins);
+        Collections.sort(changedMixins);
+        Collections.sort(addedActions);
+        Collections.sort(removedActions);
+        Collections.sort(changedActions);
+    }
+
+    private static boolean sameKind(Kind a, Kind b) {
+        return sameCategory(a, b) && Objects.equals(a.getEntityType(), b.getEntityType())
+                && Objects.equals(identifierOf(a.getParentKind()), identifierOf(b.getParentKind()))
+                && identifiers(a.getRelations()).equals(identifiers(b.getRelations()));
+    }
+
+    private static boolean sameMixin(Mixin a, Mixin b) {
+        return sameCategory(a, b) && identifiers(a.getRelations()).equals(identifiers(b.getRelations()));
+    }
+
+    private static boolean sameCategory(Category a, Category b) {
+        return Objects.equals(a.getTitle(), b.getTitle()) && Objects.equals(a.getLocation(), b.getLocation())
+                && sameAttributes(a.getAttributes(), b.getAttributes())
+                && identifiers(a.getActions()).equals(identifiers(b.getActions()));
+    }
+
+    private static boolean sameAction(Action a, Action b) {
+        return Objects.equals(a.getTitle(), b.getTitle()) && sameAttributes(a.getAttributes(), b.getAttributes());
+    }
+
+    private static boolean sameAttributes(Collection<Attribute> a, Collection<Attribute> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+
+        Map<String, Attribute> byName = new HashMap<>();
+        for (Attribute attribute : b) {
+            byName.put(attribute.getName(), attribute);
+        }
+        for (Attribute attribute : a) {
+            Attribute other = byName.get(attribute.getName());
+            if (other == null || attribute.isRequired() != other.isRequired()
+                    || attribute.isImmutable() != other.isImmutable()
+                    || !Objects.equals(attribute.getType(), other.getType())
+                    || !Objects.equals(attribute.getPattern(), other.getPattern())
+                    || !Objects.equals(attribute.getDefaultValue(), other.getDefaultValue())
+                    || !Objects.equals(attribute.getDescription(), other.getDescription())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static String identifierOf(Identifiable identifiable) {
+        return identifiable == null ? null : identifiable.getIdentifier();
+    }
+
+    private static Set<String> identifiers(Collection<? extends Identifiable> elements) {
+        Set<String> identifiers = new HashSet<>();
+        addIdentifiers(identifiers, elements);
+        return identifiers;
+    }
+
+    @SafeVarargs
+    private static void addIdentifiers(Set<String> identifiers, Collection<? extends Identifiable>... collections) {
+        for (Collection<? extends Identifiable> elements : collections) {
+            for (Identifiable element : elements) {
+                identifiers.add(element.getIdentifier());
+            }
+        }
+    }
+
+    private static boolean refersTo(Collection<? extends Identifiable> references, Set<String> identifiers) {
+        for (Identifiable reference : references) {
+            if (identifiers.contains(reference.getIdentifier())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Resturns string representation of the diff
+     *
+     * @see Object#toString()
+     * @return string representation of the diff
+     */
+    @Override
+    public String toString() {
+        return "ModelDiff{" + "addedKinds=" + addedKinds + ", removedKinds=" + removedKinds + ", changedKinds=" + changedKinds
+                + ", addedMixins=" + addedMixins + ", removedMixins=" + removedMixins + ", changedMixins=" + changedMixins
+                + ", addedActions=" + addedActions + ", removedActions=" + removedActions + ", changedActions=" + changedActions + '}';
+    }
+}
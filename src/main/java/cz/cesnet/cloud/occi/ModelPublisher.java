@@ -0,0 +1,110 @@
+package cz.cesnet.cloud.occi;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holder publishing versions of a model to concurrent readers. Every published
+ * model is frozen into an immutable {@link ModelSnapshot} before it is made
+ * visible, so readers never see a partially refreshed model. Reading the
+ * current snapshot is a single volatile read without any locking.
+ */
+public class ModelPublisher {
+
+    private final AtomicReference<ModelSnapshot> current;
+
+    /**
+     * Creates a publisher with an empty model.
+     */
+    public ModelPublisher() {
+        this(new Model());
+    }
+
+    /**
+     * Creates a publisher with the given model as its first version.
+     *
+     * @param model initial model. Cannot be null.
+     */
+    public ModelPublisher(Model model) {
+        if (model == null) {
+            throw new NullPointerException("Model cannot be null.");
+        }
+
+        current = new AtomicReference<>(model.freeze());
+    }
+
+    /**
+     * Returns currently published snapshot.
+     *
+     * @return current snapshot
+     */
+    public ModelSnapshot get() {
+        return current.get();
+    }
+
+    /**
+     * Freezes and publishes a new version of the model.
+     *
+     * @param model new version of the model. Cannot be null.
+     * @return previously published snapshot
+     */
+    public ModelSnapshot publish(Model model) {
+        if (model == null) {
+            throw new NullPointerException("Model cannot be null.");
+        }
+
+        return current.getAndSet(model.freeze());
+    }
+
+    /**
+     * Freezes and publishes a new version of the model only if the currently
+     * published snapshot is the expected one. Useful when several tasks can
+     * refresh the model.
+     *
+     * @param expected snapshot the new version was derived from
+     * @param model new version of the model. Cannot be null.
+     * @return true if the new version was published, false if other version
+     * was published in the meantime
+     */
+    public boolean compareAndPublish(ModelSnapshot expected, Model model) {
+        if (model == null) {
+            throw new NullPointerException("Model cannot be null.");
+        }
+
+        return current.compareAndSet(expected, model.freeze());
+    }
+
+    /**
+     * Publishes a new version of the model created by applying the diff to
+     * the currently published snapshot. Categories not affected by the diff
+     * stay the same instances in the new version.
+     *
+     * @see Model#apply(cz.cesnet.cloud.occi.ModelDiff)
+     * @param diff differences to apply. Cannot be null.
+     * @return previously published snapshot
+     */
+    public ModelSnapshot apply(ModelDiff diff) {
+        if (diff == null) {
+            throw new NullPointerException("Diff cannot be null.");
+        }
+
+        while (true) {
+            ModelSnapshot expected = current.get();
+            Model model = new Model(expected);
+            model.apply(diff);
+            if (current.compareAndSet(expected, model.freeze())) {
+                return expected;
+            }
+        }
+    }
+
+    /**
+     * Resturns string representation of the publisher
+     *
+     * @see Object#toString()
+     * @return string representation of the publisher
+     */
+    @Override
+    public String toString() {
+        return "ModelPublisher{" + "current=" + current.get() + '}';
+    }
+}
@@ -0,0 +1,115 @@
+package cz.cesnet.cloud.occi;
+
+import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Mixin;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a model. All indexes and the category hierarchy are
+ * built when the snapshot is created, so the snapshot can be shared by any
+ * number of threads which can do lookups without any locking. Methods
+ * modifying the model throw UnsupportedOperationException.
+ *
+ * Snapshot shares kind, mixin and action instances with the model it was
+ * created from. These must not be modified once the snapshot is published,
+ * new version of the model should be built from new instances (e.g. by
+ * parsing) and published as a new snapshot.
+ *
+ * @see Model#freeze()
+ * @see ModelPublisher
+ */
+public class ModelSnapshot extends Model {
+
+    private final CategoryHierarchy hierarchy;
+    private final Map<String, List<Kind>> relatedKinds;
+    private final Map<String, List<Mixin>> relatedMixins;
+
+    /**
+     * Creates a snapshot of the given model.
+     *
+     * @param model model to create snapshot of. Cannot be null.
+     */
+    public ModelSnapshot(Model model) {
+        super(model);
+        this.hierarchy = CategoryHierarchy.compile(this);
+        this.relatedKinds = indexKindsByRelation(getKinds());
+        this.relatedMixins = indexMixinsByRelation(getMixins());
+    }
+
+    /**
+     * Returns category hierarchy compiled when the snapshot was created.
+     *
+     * @return compiled hierarchy of snapshot's categories
+     */
+    @Override
+    public CategoryHierarchy getHierarchy() {
+        return hierarchy;
+    }
+
+    @Override
+    Map<String, List<Kind>> getRelatedKindsIndex() {
+        return relatedKinds;
+    }
+
+    @Override
+    Map<String, List<Mixin>> getRelatedMixinsIndex() {
+        return relatedMixins;
+    }
+
+    /**
+     * Returns this snapshot since it is already immutable.
+     *
+     * @return this snapshot
+     */
+    @Override
+    public ModelSnapshot freeze() {
+        return this;
+    }
+
+    @Override
+    public boolean addKind(Kind kind) {
+        throw new UnsupportedOperationException("Model snapshot cannot be modified.");
+    }
+
+    @Override
+    public boolean removeKind(Kind kind) {
+        throw new UnsupportedOperationException("Model snapshot cannot be modified.");
+    }
+
+    @Override
+    public void clearKinds() {
+        throw new UnsupportedOperationException("Model snapshot cannot be modified.");
+    }
+
+    @Override
+    public boolean addMixin(Mixin mixin) {
+        throw new UnsupportedOperationException("Model snapshot cannot be modified.");
+    }
+
+    @Override
+    public boolean removeMixin(Mixin mixin) {
+        throw new UnsupportedOperationException("Model snapshot cannot be modified.");
+    }
+
+    @Override
+    public void clearMixins() {
+        throw new UnsupportedOperationException("Model snapshot cannot be modified.");
+    }
+
+    @Override
+    public boolean addAction(Action action) {
+        throw new UnsupportedOperationException("Model snapshot cannot be modified.");
+    }
+
+    @Override
+    public boolean removeAction(Action action) {
+        throw new UnsupportedOperationException("Model snapshot cannot be modified.");
+    }
+
+    @Override
+    public void clearActions() {
+        throw new UnsupportedOperationException("Model snapshot cannot be modified.");
+    }
+}
@@ -2,23 +2,64 @@ package cz.cesnet.cloud.occi.collection;
 
 import com.sun.net.httpserver.Headers;
 import cz.cesnet.cloud.occi.core.Attribute;
-import cz.cesnet.cloud.occi.parser.TextParser;
+import cz.cesnet.cloud.occi.core.AttributeValue;
+import cz.cesnet.cloud.occi.renderer.JSONRenderer;
 import cz.cesnet.cloud.occi.renderer.TextRenderer;
+import cz.cesnet.cloud.occi.type.Fingerprint;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
- * Class representing attributes and their values.
+ * Class representing attributes and their values. Values are stored as
+ * {@link AttributeValue} instances keeping both textual and typed form of the
+ * value. Attributes are indexed by their names so lookups by name don't
+ * allocate anything. Rendering order of the attributes is computed once and
+ * kept until an attribute is added or removed.
  *
  * @author Michal Kimle <kimle.michal@gmail.com>
  */
 public class AttributeMapCover {
 
-    private final Map<Attribute, String> attributes = new HashMap<>();
+    /**
+     * Compares attribute names as if they were followed by '=', so attributes
+     * are rendered sorted by their whole 'name=value' strings.
+     */
+    private static final Comparator<String> RENDERING_ORDER = new Comparator<String>() {
+
+        @Override
+        public int compare(String name1, String name2) {
+            int length = Math.min(name1.length(), name2.length());
+            for (int i = 0; i < length; i++) {
+                char c1 = name1.charAt(i);
+                char c2 = name2.charAt(i);
+                if (c1 != c2) {
+                    return c1 - c2;
+                }
+            }
+
+            if (name1.length() == name2.length()) {
+                return 0;
+            }
+            if (name1.length() < name2.length()) {
+                return '=' - name2.charAt(length);
+            }
+            return name1.charAt(length) - '=';
+        }
+    };
+
+    private final Map<String, Slot> attributes = new HashMap<>();
+    private final Map<Attribute, String> textView = new TextView();
+    private volatile List<String> sortedNames;
 
     /**
      * Stores attribute and its value.
@@ -34,7 +75,34 @@ public class AttributeMapCover {
             throw new NullPointerException("Cannot add null value.");
         }
 
-        attributes.put(attribute, value);
+        put(attribute, AttributeValue.of(value));
+    }
+
+    /**
+     * Stores attribute and its typed value.
+     *
+     * @param attribute attribute to be stored. Cannot be null.
+     * @param value value to be stored for the attribute. Cannot be null.
+     */
+    public void addValue(Attribute attribute, AttributeValue value) {
+        if (attribute == null) {
+            throw new NullPointerException("Cannot add null attribute.");
+        }
+        if (value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        put(attribute, value);
+    }
+
+    private void put(Attribute attribute, AttributeValue value) {
+        Slot slot = attributes.get(attribute.getName());
+        if (slot == null) {
+            attributes.put(attribute.getName(), new Slot(attribute, value));
+            sortedNames = null;
+        } else {
+            slot.value = value;
+        }
     }
 
     /**
@@ -47,7 +115,7 @@ public class AttributeMapCover {
             throw new NullPointerException("Cannot remove null attribute.");
         }
 
-        attributes.remove(attribute);
+        remove(attribute.getName());
     }
 
     /**
@@ -56,8 +124,13 @@ public class AttributeMapCover {
      * @param attributeName name of the attribute to be removed. Cannot be null.
      */
     public void remove(String attributeName) {
-        Attribute attTmp = new Attribute(attributeName);
-        attributes.remove(attTmp);
+        if (attributeName == null) {
+            throw new NullPointerException("Cannot remove null attribute.");
+        }
+
+        if (attributes.remove(attributeName) != null) {
+            sortedNames = null;
+        }
     }
 
     /**
@@ -67,7 +140,7 @@ public class AttributeMapCover {
      * @return true if collection contains the attribute, false otherwise
      */
     public boolean containsAttribute(Attribute attribute) {
-        return attributes.containsKey(attribute);
+        return attribute != null && attributes.containsKey(attribute.getName());
     }
 
     /**
@@ -78,8 +151,11 @@ public class AttributeMapCover {
      * @return true if collection contains the attribute, false otherwise
      */
     public boolean containsAttribute(String attributeName) {
-        Attribute attTmp = new Attribute(attributeName);
-        return containsAttribute(attTmp);
+        if (attributeName == null) {
+            throw new NullPointerException("Attribute name cannot be null.");
+        }
+
+        return attributes.containsKey(attributeName);
     }
 
     /**
@@ -89,7 +165,7 @@ public class AttributeMapCover {
      * @return value for the given attribute
      */
     public String getValue(Attribute attribute) {
-        return attributes.get(attribute);
+        return attribute == null ? null : getValue(attribute.getName());
     }
 
     /**
@@ -100,8 +176,34 @@ public class AttributeMapCover {
      * @return value for the given attribute
      */
     public String getValue(String attributeName) {
-        Attribute attTmp = new Attribute(attributeName);
-        return getValue(attTmp);
+        AttributeValue value = getAttributeValue(attributeName);
+        return value == null ? null : value.getText();
+    }
+
+    /**
+     * Returns the typed value for the given attribute.
+     *
+     * @param attribute attribute of which value is returned.
+     * @return value for the given attribute
+     */
+    public AttributeValue getAttributeValue(Attribute attribute) {
+        return attribute == null ? null : getAttributeValue(attribute.getName());
+    }
+
+    /**
+     * Returns the typed value for the given attribute.
+     *
+     * @param attributeName name of the attribute of which value is returned.
+     * Cannot be null.
+     * @return value for the given attribute
+     */
+    public AttributeValue getAttributeValue(String attributeName) {
+        if (attributeName == null) {
+            throw new NullPointerException("Attribute name cannot be null.");
+        }
+
+        Slot slot = attributes.get(attributeName);
+        return slot == null ? null : slot.value;
     }
 
     /**
@@ -110,7 +212,7 @@ public class AttributeMapCover {
      * @return all the attributes and their values in form of map
      */
     public Map<Attribute, String> getAttributes() {
-        return Collections.unmodifiableMap(attributes);
+        return textView;
     }
 
     /**
@@ -118,6 +220,7 @@ public class AttributeMapCover {
      */
     public void clear() {
         attributes.clear();
+        sortedNames = null;
     }
 
     /**
@@ -168,32 +271,49 @@ public class AttributeMapCover {
      */
     @Override
     public String toString() {
-        return "AttributeMapCover{" + attributes + '}';
+        return "AttributeMapCover{" + textView + '}';
     }
 
     /**
-     * Generates a list of strings from attributes and their values
+     * Returns names of the attributes in the order they are rendered in. The
+     * order is the same as the order of the rendered 'name=value' strings.
+     * Sorted names are cached until the set of attributes changes.
      *
-     * @return attributes and their values in form of list of strings
+     * @return unmodifiable sorted names of the attributes
      */
-    private List<String> toList() {
-        List<String> list = new ArrayList<>();
-        List<Attribute> attributeList = new ArrayList<>(attributes.keySet());
-        Collections.sort(attributeList);
-        for (Attribute attribute : attributeList) {
-            String name = attribute.getName();
-            StringBuilder sb = new StringBuilder(name);
-            String value = attributes.get(attribute);
-            if (value.matches(TextParser.REGEXP_NUMBER)) {
-                sb.append(TextRenderer.surroundString(value, "=", ""));
-            } else {
-                sb.append(TextRenderer.surroundString(value, "=\"", "\""));
-            }
-            list.add(sb.toString());
+    private List<String> sortedNames() {
+        List<String> names = sortedNames;
+        if (names == null) {
+            List<String> sorted = new ArrayList<>(attributes.keySet());
+            Collections.sort(sorted, RENDERING_ORDER);
+            names = Collections.unmodifiableList(sorted);
+            sortedNames = names;
         }
 
-        Collections.sort(list);
-        return list;
+        return names;
+    }
+
+    private void writeAttribute(Appendable out, String name) throws IOException {
+        out.append(name);
+        AttributeValue value = attributes.get(name).value;
+        if (value.isPlainNumber()) {
+            out.append('=').append(value.getText());
+        } else {
+            out.append("=\"");
+            TextRenderer.appendEscaped(out, value.getText());
+            out.append('"');
+        }
+    }
+
+    private String renderAttribute(String name) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeAttribute(sb, name);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render attribute.", ex);
+        }
+
+        return sb.toString();
     }
 
     /**
@@ -202,22 +322,36 @@ public class AttributeMapCover {
      * @return text representation of OCCI attributes with prefix
      */
     public String toPrefixText() {
-        String prefix = "X-OCCI-Attribute: ";
         StringBuilder sb = new StringBuilder();
-
-        for (String s : toList()) {
-            sb.append(prefix);
-            sb.append(s);
-            sb.append("\n");
-        }
-
-        if (!sb.toString().isEmpty()) {
-            sb.deleteCharAt(sb.length() - 1);
+        try {
+            writePrefixText(sb);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render attributes.", ex);
         }
 
         return sb.toString();
     }
 
+    /**
+     * Writes a text representation of OCCI attributes with prefix into given
+     * output. Attributes are separated by new lines, there is no new line
+     * after the last one.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     */
+    public void writePrefixText(Appendable out) throws IOException {
+        boolean first = true;
+        for (String name : sortedNames()) {
+            if (!first) {
+                out.append('\n');
+            }
+            out.append("X-OCCI-Attribute: ");
+            writeAttribute(out, name);
+            first = false;
+        }
+    }
+
     /**
      * Returns an occi text representation of OCCI attributes in form of
      * headers.
@@ -227,13 +361,27 @@ public class AttributeMapCover {
     public Headers toHeaders() {
         Headers headers = new Headers();
 
-        for (String s : toList()) {
-            headers.add("X-OCCI-Attribute", s);
+        for (String name : sortedNames()) {
+            headers.add("X-OCCI-Attribute", renderAttribute(name));
         }
 
         return headers;
     }
 
+    /**
+     * Adds names and textual values of the attributes to the fingerprint.
+     *
+     * @param builder builder of the fingerprint
+     */
+    public void addFingerprintContent(Fingerprint.Builder builder) {
+        List<String> names = sortedNames();
+        builder.add(names.size());
+        for (String name : names) {
+            builder.add(name);
+            builder.add(attributes.get(name).value.getText());
+        }
+    }
+
     /**
      * Returns text representation of OCCI attributes in one line.
      *
@@ -241,13 +389,176 @@ public class AttributeMapCover {
      */
     public String toOneLineText() {
         StringBuilder sb = new StringBuilder();
+        try {
+            writeOneLineText(sb);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render attributes.", ex);
+        }
 
-        for (String s : toList()) {
+        return sb.toString();
+    }
 
-            sb.append(s);
-            sb.append(";");
+    /**
+     * Writes text representation of OCCI attributes in one line into given
+     * output.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     */
+    public void writeOneLineText(Appendable out) throws IOException {
+        for (String name : sortedNames()) {
+            writeAttribute(out, name);
+            out.append(';');
         }
+    }
 
-        return sb.toString();
+    /**
+     * Writes JSON representation of OCCI attributes (an object with attribute
+     * names as members) into given renderer. Attributes are written in the
+     * same order as in the text renderings.
+     *
+     * @param out renderer to write to
+     * @param excluded names of attributes which are not written, can be empty
+     * @throws IOException if writing to the output fails
+     */
+    public void writeJSON(JSONRenderer out, Set<String> excluded) throws IOException {
+        out.beginObject();
+        for (String name : sortedNames()) {
+            if (excluded.contains(name)) {
+                continue;
+            }
+
+            Slot slot = attributes.get(name);
+            out.name(name).value(slot.value, slot.attribute.getAttributeType());
+        }
+        out.endObject();
+    }
+
+    /**
+     * Attribute stored in the collection together with its value.
+     */
+    private static class Slot {
+
+        private final Attribute attribute;
+        private AttributeValue value;
+
+        private Slot(Attribute attribute, AttributeValue value) {
+            this.attribute = attribute;
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null) {
+                return false;
+            }
+            if (getClass() != obj.getClass()) {
+                return false;
+            }
+            final Slot other = (Slot) obj;
+            return Objects.equals(this.value, other.value);
+        }
+    }
+
+    /**
+     * Unmodifiable view of the attributes with textual values.
+     */
+    private class TextView extends AbstractMap<Attribute, String> {
+
+        private final Set<Map.Entry<Attribute, String>> entrySet = new AbstractSet<Map.Entry<Attribute, String>>() {
+
+            @Override
+            public Iterator<Map.Entry<Attribute, String>> iterator() {
+                final Iterator<Slot> iterator = attributes.values().iterator();
+                return new Iterator<Map.Entry<Attribute, String>>() {
+
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<Attribute, String> next() {
+                        Slot slot = iterator.next();
+                        return new AbstractMap.SimpleImmutableEntry<>(slot.attribute, slot.value.getText());
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return attributes.size();
+            }
+        };
+
+        private final Set<Attribute> keySet = new AbstractSet<Attribute>() {
+
+            @Override
+            public Iterator<Attribute> iterator() {
+                final Iterator<Slot> iterator = attributes.values().iterator();
+                return new Iterator<Attribute>() {
+
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Attribute next() {
+                        return iterator.next().attribute;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return attributes.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+        };
+
+        @Override
+        public Set<Map.Entry<Attribute, String>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public int size() {
+            return attributes.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Attribute && containsAttribute((Attribute) key);
+        }
+
+        @Override
+        public String get(Object key) {
+            return key instanceof Attribute ? getValue((Attribute) key) : null;
+        }
+
+        @Override
+        public Set<Attribute> keySet() {
+            return keySet;
+        }
     }
 }
@@ -1,8 +1,14 @@
 package cz.cesnet.cloud.occi.collection;
 
 import cz.cesnet.cloud.occi.type.Identifiable;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Objects;
@@ -10,12 +16,25 @@ import java.util.Objects;
 /**
  * Collection class serving as a set for all classes identifiable.
  *
+ * Elements are indexed by their identifier so lookups via
+ * {@link #contains(String)} and {@link #get(String)} take constant time
+ * regardless of the set's size. Identifier of an element must not change while
+ * the element is stored in the set.
+ *
+ * Sorted view of the elements returned by {@link #getSortedList()} is cached
+ * until an element is added or removed, so repeated renderings of an unchanged
+ * set neither copy nor sort.
+ *
  * @author Michal Kimle <kimle.michal@gmail.com>
  * @param <E>
  */
 public class SetCover<E extends Identifiable> {
 
     private final Set<E> set = new HashSet<>();
+    private final Map<String, E> index = new HashMap<>();
+    private final Set<E> unmodifiableSet = Collections.unmodifiableSet(set);
+    private final Set<E> modifiableSet = new IndexedSetView();
+    private volatile List<E> sortedList;
 
     /**
      * Checks whether set contains the element.
@@ -34,13 +53,7 @@ public class SetCover<E extends Identifiable> {
      * @return true if set contains the element, false otherwise
      */
     public boolean contains(String elementIdentifier) {
-        for (E element : set) {
-            if (element.getIdentifier().equals(elementIdentifier)) {
-                return true;
-            }
-        }
-
-        return false;
+        return index.containsKey(elementIdentifier);
     }
 
     /**
@@ -54,7 +67,17 @@ public class SetCover<E extends Identifiable> {
             throw new NullPointerException("Cannot add null element.");
         }
 
-        return set.add(element);
+        if (!set.add(element)) {
+            return false;
+        }
+        sortedList = null;
+
+        String identifier = element.getIdentifier();
+        if (!index.containsKey(identifier)) {
+            index.put(identifier, element);
+        }
+
+        return true;
     }
 
     /**
@@ -69,7 +92,12 @@ public class SetCover<E extends Identifiable> {
             throw new NullPointerException("Cannot add null element.");
         }
 
-        return set.addAll(elements);
+        boolean changed = false;
+        for (E element : elements) {
+            changed |= add(element);
+        }
+
+        return changed;
     }
 
     /**
@@ -79,11 +107,7 @@ public class SetCover<E extends Identifiable> {
      * @return element specified by its identifier if in set, null otherwise
      */
     public E get(String elementIdentifier) {
-        if (!contains(elementIdentifier)) {
-            return null;
-        }
-
-        return find(elementIdentifier);
+        return index.get(elementIdentifier);
     }
 
     /**
@@ -97,7 +121,31 @@ public class SetCover<E extends Identifiable> {
             throw new NullPointerException("Cannot remove null element.");
         }
 
-        return set.remove(element);
+        if (!set.remove(element)) {
+            return false;
+        }
+        sortedList = null;
+
+        unindex(element);
+        return true;
+    }
+
+    private void unindex(E element) {
+        String identifier = element.getIdentifier();
+        E indexed = index.get(identifier);
+        if (indexed == null || !indexed.equals(element)) {
+            return;
+        }
+
+        index.remove(identifier);
+        //elements with duplicate identifiers (e.g. action instances with different attributes)
+        //can only exist if the set is larger than the index
+        if (set.size() > index.size()) {
+            E replacement = find(identifier);
+            if (replacement != null) {
+                index.put(identifier, replacement);
+            }
+        }
     }
 
     private E find(String elementIdentifier) {
@@ -115,6 +163,8 @@ public class SetCover<E extends Identifiable> {
      */
     public void clear() {
         set.clear();
+        index.clear();
+        sortedList = null;
     }
 
     /**
@@ -134,12 +184,37 @@ public class SetCover<E extends Identifiable> {
      */
     public Set<E> getSet(boolean modifiable) {
         if (modifiable) {
-            return set;
+            return modifiableSet;
         } else {
-            return Collections.unmodifiableSet(set);
+            return unmodifiableSet;
         }
     }
 
+    /**
+     * Returns unmodifiable list of the elements sorted by their natural order.
+     * The list is cached until the set is modified. Elements must implement
+     * {@link Comparable}.
+     *
+     * @return unmodifiable sorted list of elements
+     * @throws ClassCastException if the elements are not mutually comparable
+     */
+    public List<E> getSortedList() {
+        List<E> list = sortedList;
+        if (list == null) {
+            List<E> sorted = new ArrayList<>(set);
+            sort(sorted);
+            list = Collections.unmodifiableList(sorted);
+            sortedList = list;
+        }
+
+        return list;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void sort(List list) {
+        Collections.sort(list);
+    }
+
     /**
      * Returns number of elements in the set.
      *
@@ -190,4 +265,66 @@ public class SetCover<E extends Identifiable> {
     public String toString() {
         return "SetCover{" + set + '}';
     }
+
+    /**
+     * Modifiable view of the set keeping the identifier index up to date.
+     */
+    private class IndexedSetView extends AbstractSet<E> {
+
+        @Override
+        public Iterator<E> iterator() {
+            final Iterator<E> iterator = set.iterator();
+            return new Iterator<E>() {
+                private E current;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    current = iterator.next();
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    sortedList = null;
+                    unindex(current);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return set.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return set.contains(o);
+        }
+
+        @Override
+        public boolean add(E element) {
+            return SetCover.this.add(element);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean remove(Object o) {
+            if (!set.contains(o)) {
+                return false;
+            }
+
+            return SetCover.this.remove((E) o);
+        }
+
+        @Override
+        public void clear() {
+            SetCover.this.clear();
+        }
+    }
 }
@@ -1,10 +1,13 @@
 package cz.cesnet.cloud.occi.core;
 
 import com.sun.net.httpserver.Headers;
-import cz.cesnet.cloud.occi.renderer.TextRenderer;
+import cz.cesnet.cloud.occi.renderer.JSONRenderer;
+import cz.cesnet.cloud.occi.type.Fingerprint;
 import cz.cesnet.cloud.occi.type.Identifiable;
+import java.io.IOException;
 import java.net.URI;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import org.slf4j.Logger;
@@ -32,6 +35,7 @@ public class Action implements Identifiable, Comparable<Action> {
     public Action(URI scheme, String term, String title, Collection<Attribute> attributes) {
         LOGGER.debug("Creating action: scheme={}, term={}, title={}, attributes={}", scheme, term, title, attributes);
         this.category = new Category(scheme, term, title, null, attributes);
+        this.category.setAction(this);
     }
 
     /**
@@ -57,6 +61,7 @@ public class Action implements Identifiable, Comparable<Action> {
      * Sets action's scheme.
      *
      * @param scheme action's scheme. Cannot be null.
+     * @throws IllegalStateException if the action is a part of a model
      */
     public void setScheme(URI scheme) {
         category.setScheme(scheme);
@@ -75,6 +80,7 @@ public class Action implements Identifiable, Comparable<Action> {
      * Sets action's term.
      *
      * @param term action's term. Cannot be null nor empty.
+     * @throws IllegalStateException if the action is a part of a model
      */
     public void setTerm(String term) {
         category.setTerm(term);
@@ -167,6 +173,56 @@ public class Action implements Identifiable, Comparable<Action> {
         return category.getAttributes();
     }
 
+    /**
+     * Returns all action's attributes sorted by their names.
+     *
+     * @return unmodifiable sorted list of action's attributes
+     */
+    List<Attribute> getSortedAttributes() {
+        return category.getSortedAttributes();
+    }
+
+    /**
+     * Registers listener notified before the action is modified. Listener is
+     * referenced weakly.
+     *
+     * @param listener listener to register. Cannot be null.
+     */
+    public void addListener(CategoryListener listener) {
+        category.addListener(listener);
+    }
+
+    /**
+     * Unregisters listener registered by
+     * {@link #addListener(CategoryListener)}.
+     *
+     * @param listener listener to unregister
+     */
+    public void removeListener(CategoryListener listener) {
+        category.removeListener(listener);
+    }
+
+    /**
+     * Returns fingerprint of action's content: its identifier, title and
+     * attributes with all their properties. Fingerprint is cached until the
+     * action changes.
+     *
+     * @see Category#getFingerprint()
+     * @return fingerprint of the action
+     */
+    public Fingerprint getFingerprint() {
+        return category.getFingerprint();
+    }
+
+    /**
+     * Returns category holding action's scheme, term, title and attributes.
+     *
+     * @return action's category
+     */
+    Category getCategory() {
+        return category;
+    }
+
     /**
      * Returns action's default scheme 'http://schemas.ogf.org/occi/core#'
      *
@@ -227,6 +283,27 @@ public class Action implements Identifiable, Comparable<Action> {
         return "Action{" + "category=" + category + '}';
     }
 
+    /**
+     * Returns a JSON representation of the action as described in OCCI
+     * standard.
+     *
+     * @return JSON representation of the action
+     */
+    public String toJSON() {
+        return category.toJSON();
+    }
+
+    /**
+     * Writes a JSON representation of the action as described in OCCI
+     * standard into given renderer.
+     *
+     * @param out renderer to write to
+     * @throws IOException if writing to the output fails
+     */
+    public void writeJSON(JSONRenderer out) throws IOException {
+        category.writeJSON(out);
+    }
+
     /**
      * Returns a text representation of action link as described in OCCI
      * standard.
@@ -235,12 +312,29 @@ public class Action implements Identifiable, Comparable<Action> {
      * @return text representation of action link
      */
     public String toText(String resourceLocation) {
-        StringBuilder sb = new StringBuilder("Link: ");
-        sb.append(textBody(resourceLocation));
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeText(sb, resourceLocation);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render action.", ex);
+        }
 
         return sb.toString();
     }
 
+    /**
+     * Writes a text representation of action link as described in OCCI
+     * standard into given output.
+     *
+     * @param out output to write to
+     * @param resourceLocation
+     * @throws IOException if writing to the output fails
+     */
+    public void writeText(Appendable out, String resourceLocation) throws IOException {
+        out.append("Link: ");
+        writeTextBody(out, resourceLocation);
+    }
+
     /**
      * Returns an occi text representation of action link as described in OCCI
      * standard in form of headers.
@@ -256,17 +350,21 @@ public class Action implements Identifiable, Comparable<Action> {
     }
 
     private String textBody(String resourceLocation) {
-        StringBuilder sb = new StringBuilder("");
-
-        String descriptor = resourceLocation + "?action=" + getTerm();
-        sb.append(TextRenderer.surroundString(descriptor, "<", ">;"));
-
-        sb.append("rel");
-        sb.append(TextRenderer.surroundString(getScheme().toString() + getTerm()));
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTextBody(sb, resourceLocation);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render action.", ex);
+        }
 
         return sb.toString();
     }
 
+    private void writeTextBody(Appendable out, String resourceLocation) throws IOException {
+        out.append('<').append(resourceLocation).append("?action=").append(getTerm()).append(">;");
+        out.append("rel=\"").append(getScheme().toString()).append(getTerm()).append("\";");
+    }
+
     /**
      * Comapres two actions lexicographically based on their identifier.
      *
@@ -3,14 +3,14 @@ package cz.cesnet.cloud.occi.core;
 import com.sun.net.httpserver.Headers;
 import cz.cesnet.cloud.occi.Model;
 import cz.cesnet.cloud.occi.collection.AttributeMapCover;
+import cz.cesnet.cloud.occi.renderer.JSONRenderer;
 import cz.cesnet.cloud.occi.renderer.TextRenderer;
 import cz.cesnet.cloud.occi.type.Identifiable;
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -184,18 +184,65 @@ public class ActionInstance implements Identifiable, Comparable<ActionInstance>
      * @return text representation of action instance
      */
     public String toText() {
-        StringBuilder sb = new StringBuilder("Category: ");
-        sb.append(textBody());
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeText(sb);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render action instance.", ex);
+        }
+
+        return sb.toString();
+    }
 
-        String attributesString = attributes.toPrefixText();
-        if (!attributesString.isEmpty()) {
-            sb.append("\n");
-            sb.append(attributesString);
+    /**
+     * Writes a plain text representation of action instance as described in
+     * OCCI standard into given output.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     */
+    public void writeText(Appendable out) throws IOException {
+        out.append("Category: ");
+        writeTextBody(out);
+
+        if (attributes.size() > 0) {
+            out.append('\n');
+            attributes.writePrefixText(out);
+        }
+    }
+
+    /**
+     * Returns a JSON representation of action instance (action invocation) as
+     * described in OCCI standard.
+     *
+     * @return JSON representation of action instance
+     */
+    public String toJSON() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeJSON(new JSONRenderer(sb));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render action instance.", ex);
         }
 
         return sb.toString();
     }
 
+    /**
+     * Writes a JSON representation of action instance (action invocation) as
+     * described in OCCI standard into given renderer.
+     *
+     * @param out renderer to write to
+     * @throws IOException if writing to the output fails
+     */
+    public void writeJSON(JSONRenderer out) throws IOException {
+        out.beginObject();
+        out.name("action").identifier(action);
+        out.name("attributes");
+        attributes.writeJSON(out, Collections.<String>emptySet());
+        out.endObject();
+    }
+
     /**
      * Returns an occi text representation of action instance as described in
      * OCCI standard in form of headers.
@@ -215,34 +262,32 @@ public class ActionInstance implements Identifiable, Comparable<ActionInstance>
     }
 
     private String textBody() {
-        StringBuilder sb = new StringBuilder(action.getTerm());
-        sb.append(";");
-        sb.append("scheme");
-        sb.append(TextRenderer.surroundString(action.getScheme().toString()));
-        sb.append("class");
-        sb.append(TextRenderer.surroundString(action.getClass().getSimpleName().toLowerCase()));
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTextBody(sb);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render action instance.", ex);
+        }
+
+        return sb.toString();
+    }
+
+    private void writeTextBody(Appendable out) throws IOException {
+        out.append(action.getTerm()).append(';');
+        TextRenderer.appendQuoted(out, "scheme", action.getScheme().toString());
+        TextRenderer.appendQuoted(out, "class", action.getClass().getSimpleName().toLowerCase());
 
         String title = action.getTitle();
         if (title != null && !title.isEmpty()) {
-            sb.append("title");
-            sb.append(TextRenderer.surroundString(title));
+            TextRenderer.appendQuoted(out, "title", title);
         }
 
-        Set<Attribute> actionAttributes = action.getAttributes();
-        if (actionAttributes != null && !actionAttributes.isEmpty()) {
-            sb.append("attributes");
-            StringBuilder attrSB = new StringBuilder();
-            List<Attribute> attributeList = new ArrayList<>(actionAttributes);
-            Collections.sort(attributeList);
-            for (Attribute attribute : attributeList) {
-                attrSB.append(attribute.toText());
-                attrSB.append(" ");
-            }
-            attrSB.deleteCharAt(attrSB.length() - 1);
-            sb.append(TextRenderer.surroundString(attrSB.toString()));
+        List<Attribute> actionAttributes = action.getSortedAttributes();
+        if (!actionAttributes.isEmpty()) {
+            out.append("attributes=\"");
+            Category.writeAttributeList(out, actionAttributes);
+            out.append("\";");
         }
-
-        return sb.toString();
     }
 
     /**
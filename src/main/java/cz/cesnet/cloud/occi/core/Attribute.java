@@ -1,7 +1,9 @@
 package cz.cesnet.cloud.occi.core;
 
-import cz.cesnet.cloud.occi.renderer.TextRenderer;
+import cz.cesnet.cloud.occi.renderer.JSONRenderer;
+import cz.cesnet.cloud.occi.type.Fingerprint;
 import cz.cesnet.cloud.occi.type.Identifiable;
+import java.io.IOException;
 import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,9 +21,12 @@ public class Attribute implements Identifiable, Comparable<Attribute> {
     private boolean required;
     private boolean immutable;
     private String type;
+    private AttributeType attributeType;
     private String pattern;
     private String defaultValue;
     private String description;
+    private AttributePattern compiledPattern;
+    private final Observers owners = new Observers();
 
     /**
      * Constructor.
@@ -35,8 +40,10 @@ public class Attribute implements Identifiable, Comparable<Attribute> {
      * @param description attribute's description
      */
     public Attribute(String name, boolean required, boolean immutable, String type, String pattern, String defaultValue, String description) {
-        LOGGER.debug("Creating attribute: name={}, required={}, immutable={}, type={}, pattern={}, defaultValue={}, description={}",
-                name, required, immutable, type, pattern, defaultValue, description);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Creating attribute: name={}, required={}, immutable={}, type={}, pattern={}, defaultValue={}, description={}",
+                    name, required, immutable, type, pattern, defaultValue, description);
+        }
 
         if (name == null) {
             throw new NullPointerException("Attribute name cannot be null.");
@@ -49,6 +56,7 @@ public class Attribute implements Identifiable, Comparable<Attribute> {
         this.required = required;
         this.immutable = immutable;
         this.type = type;
+        this.attributeType = AttributeType.fromName(type);
         this.pattern = pattern == null ? ".*" : pattern;
         this.defaultValue = defaultValue;
         this.description = description;
@@ -96,6 +104,7 @@ public class Attribute implements Identifiable, Comparable<Attribute> {
             throw new IllegalArgumentException("Attribute name cannot be empty.");
         }
 
+        modifying();
         this.name = name;
     }
 
@@ -124,6 +133,7 @@ public class Attribute implements Identifiable, Comparable<Attribute> {
      * @param required whether the attribute should be required or not
      */
     public void setRequired(boolean required) {
+        modifying();
         this.required = required;
     }
 
@@ -142,6 +152,7 @@ public class Attribute implements Identifiable, Comparable<Attribute> {
      * @param immutable whether the attribute should be immutable or not
      */
     public void setImmutable(boolean immutable) {
+        modifying();
         this.immutable = immutable;
     }
 
@@ -160,7 +171,19 @@ public class Attribute implements Identifiable, Comparable<Attribute> {
      * @param type attribute's type
      */
     public void setType(String type) {
+        modifying();
         this.type = type;
+        this.attributeType = AttributeType.fromName(type);
+    }
+
+    /**
+     * Returns type of attribute's values as determined from attribute's type.
+     *
+     * @return type of attribute's values, STRING if attribute's type is not
+     * set or not recognized
+     */
+    public AttributeType getAttributeType() {
+        return attributeType;
     }
 
     /**
@@ -178,7 +201,29 @@ public class Attribute implements Identifiable, Comparable<Attribute> {
      * @param pattern attribute's pattern
      */
     public void setPattern(String pattern) {
+        modifying();
         this.pattern = pattern;
+        this.compiledPattern = null;
+    }
+
+    /**
+     * Checks whether the value matches attribute's pattern. Pattern is compiled
+     * on the first call and cached. Match-all, numeric and enumeration patterns
+     * are matched without regular expressions.
+     *
+     * @param value value to check. Cannot be null unless the pattern is null or
+     * empty.
+     * @return true if the whole value matches the pattern or if the pattern is
+     * null or empty, false otherwise
+     */
+    public boolean matches(String value) {
+        AttributePattern compiled = compiledPattern;
+        if (compiled == null) {
+            compiled = AttributePattern.compile(pattern);
+            compiledPattern = compiled;
+        }
+
+        return compiled.matches(value);
     }
 
     /**
@@ -196,6 +241,7 @@ public class Attribute implements Identifiable, Comparable<Attribute> {
      * @param defaultValue attribute's default value
      */
     public void setDefaultValue(String defaultValue) {
+        modifying();
         this.defaultValue = defaultValue;
     }
 
@@ -214,9 +260,48 @@ public class Attribute implements Identifiable, Comparable<Attribute> {
      * @param description attribute's description
      */
     public void setDescription(String description) {
+        modifying();
         this.description = description;
     }
 
+    /**
+     * Registers category the attribute belongs to. The category is notified
+     * whenever the attribute is about to be modified.
+     *
+     * @param category category owning the attribute
+     */
+    void addOwner(Category category) {
+        owners.add(category);
+    }
+
+    /**
+     * Unregisters category registered by {@link #addOwner(Category)}.
+     *
+     * @param category category owning the attribute
+     */
+    void removeOwner(Category category) {
+        owners.remove(category);
+    }
+
+    private void modifying() {
+        for (Object owner : owners.get()) {
+            ((Category) owner).modifying(false);
+        }
+    }
+
+    /**
+     * Adds all attribute's properties to the fingerprint.
+     */
+    void addFingerprintContent(Fingerprint.Builder builder) {
+        builder.add(name);
+        builder.add(required);
+        builder.add(immutable);
+        builder.add(type);
+        builder.add(pattern);
+        builder.add(defaultValue);
+        builder.add(description);
+    }
+
     /**
      * @see Object#hashCode()
      * @return attribute's hash code
@@ -266,26 +351,59 @@ public class Attribute implements Identifiable, Comparable<Attribute> {
      * @return plain text representation of the attribute
      */
     public String toText() {
-        StringBuilder sb = new StringBuilder(name);
-
-        StringBuilder properties = null;
-        if (required) {
-            properties = new StringBuilder("required");
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeText(sb);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render attribute.", ex);
         }
 
-        if (immutable) {
-            if (properties == null) {
-                properties = new StringBuilder("immutable");
-            } else {
-                properties.append(" immutable");
-            }
-        }
+        return sb.toString();
+    }
 
-        if (properties != null) {
-            sb.append(TextRenderer.surroundString(properties.toString(), "{", "}"));
+    /**
+     * Writes plain text representation of the attribute according to OCCI
+     * standard into given output.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     */
+    public void writeText(Appendable out) throws IOException {
+        out.append(name);
+        if (required && immutable) {
+            out.append("{required immutable}");
+        } else if (required) {
+            out.append("{required}");
+        } else if (immutable) {
+            out.append("{immutable}");
         }
+    }
 
-        return sb.toString();
+    /**
+     * Writes JSON representation of the attribute's properties according to
+     * OCCI standard into given renderer. Default value is written as a number
+     * or a boolean if the attribute's type allows it.
+     *
+     * @param out renderer to write to
+     * @throws IOException if writing to the output fails
+     */
+    public void writeJSON(JSONRenderer out) throws IOException {
+        out.beginObject();
+        out.name("mutable").value(!immutable);
+        out.name("required").value(required);
+        if (type != null) {
+            out.name("type").value(type);
+        }
+        if (pattern != null && !pattern.equals(".*")) {
+            out.name("pattern").value(pattern);
+        }
+        if (defaultValue != null) {
+            out.name("default").value(AttributeValue.of(defaultValue), attributeType);
+        }
+        if (description != null) {
+            out.name("description").value(description);
+        }
+        out.endObject();
     }
 
     /**
@@ -0,0 +1,250 @@
+package cz.cesnet.cloud.occi.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled form of an attribute's pattern. Commonly used patterns (match-all,
+ * integers, decimal numbers and enumerations of literal values) are recognized
+ * and matched without regular expressions and without any allocation. Other
+ * patterns are compiled only once.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+final class AttributePattern {
+
+    private static final int ALWAYS = 0;
+    private static final int ANY_LINE = 1;
+    private static final int UNSIGNED_INTEGER = 2;
+    private static final int INTEGER = 3;
+    private static final int UNSIGNED_DECIMAL = 4;
+    private static final int DECIMAL = 5;
+    private static final int ENUMERATION = 6;
+    private static final int REGEXP = 7;
+
+    private static final List<String> ANY_LINE_PATTERNS = Arrays.asList(".*", "^.*$");
+    private static final List<String> UNSIGNED_INTEGER_PATTERNS = Arrays.asList("[0-9]+", "\\d+", "^[0-9]+$", "^\\d+$");
+    private static final List<String> INTEGER_PATTERNS = Arrays.asList("-?[0-9]+", "-?\\d+", "^-?[0-9]+$", "^-?\\d+$");
+    private static final List<String> UNSIGNED_DECIMAL_PATTERNS = Arrays.asList("[0-9]+(\\.[0-9]+)?", "\\d+(\\.\\d+)?", "^[0-9]+(\\.[0-9]+)?$", "^\\d+(\\.\\d+)?$");
+    private static final List<String> DECIMAL_PATTERNS = Arrays.asList("-?[0-9]+(\\.[0-9]+)?", "-?\\d+(\\.\\d+)?", "^-?[0-9]+(\\.[0-9]+)?$", "^-?\\d+(\\.\\d+)?$");
+
+    static final AttributePattern MATCH_ALL = new AttributePattern(ALWAYS, null, null);
+
+    private final int type;
+    private final Pattern regexp;
+    private final Set<String> values;
+
+    private AttributePattern(int type, Pattern regexp, Set<String> values) {
+        this.type = type;
+        this.regexp = regexp;
+        this.values = values;
+    }
+
+    /**
+     * Compiles given pattern.
+     *
+     * @param pattern pattern, null or empty pattern matches everything
+     * @return compiled pattern
+     * @throws java.util.regex.PatternSyntaxException if the pattern is not a
+     * valid regular expression
+     */
+    static AttributePattern compile(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            return MATCH_ALL;
+        }
+        if (ANY_LINE_PATTERNS.contains(pattern)) {
+            return new AttributePattern(ANY_LINE, null, null);
+        }
+        if (UNSIGNED_INTEGER_PATTERNS.contains(pattern)) {
+            return new AttributePattern(UNSIGNED_INTEGER, null, null);
+        }
+        if (INTEGER_PATTERNS.contains(pattern)) {
+            return new AttributePattern(INTEGER, null, null);
+        }
+        if (UNSIGNED_DECIMAL_PATTERNS.contains(pattern)) {
+            return new AttributePattern(UNSIGNED_DECIMAL, null, null);
+        }
+        if (DECIMAL_PATTERNS.contains(pattern)) {
+            return new AttributePattern(DECIMAL, null, null);
+        }
+
+        Set<String> enumeration = parseEnumeration(pattern);
+        if (enumeration != null) {
+            return new AttributePattern(ENUMERATION, null, enumeration);
+        }
+
+        return new AttributePattern(REGEXP, Pattern.compile(pattern), null);
+    }
+
+    /**
+     * Checks whether the whole value matches the pattern.
+     *
+     * @param value value to check. Cannot be null unless the pattern is empty.
+     * @return true if value matches the pattern, false otherwise
+     */
+    boolean matches(String value) {
+        if (type == ALWAYS) {
+            return true;
+        }
+        if (value == null) {
+            throw new NullPointerException("Value cannot be null.");
+        }
+
+        switch (type) {
+            case ANY_LINE:
+                return !containsLineTerminator(value);
+            case UNSIGNED_INTEGER:
+                return isNumber(value, false, false);
+            case INTEGER:
+                return isNumber(value, true, false);
+            case UNSIGNED_DECIMAL:
+                return isNumber(value, false, true);
+            case DECIMAL:
+                return isNumber(value, true, true);
+            case ENUMERATION:
+                return values.contains(value);
+            default:
+                return regexp.matcher(value).matches();
+        }
+    }
+
+    /**
+     * Recognizes patterns like 'a|b|c', '(a|b|c)' or '^(a|b|c)$' where all
+     * alternatives are literals.
+     */
+    private static Set<String> parseEnumeration(String pattern) {
+        int start = 0;
+        int end = pattern.length();
+        if (pattern.charAt(start) == '^' && pattern.charAt(end - 1) == '$') {
+            start++;
+            end--;
+        }
+        if (end - start >= 2 && pattern.charAt(start) == '(' && pattern.charAt(end - 1) == ')') {
+            start++;
+            end--;
+        }
+        if (start >= end) {
+            return null;
+        }
+
+        Set<String> values = new HashSet<>();
+        int valueStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || pattern.charAt(i) == '|') {
+                if (i == valueStart) {
+                    return null;
+                }
+                values.add(pattern.substring(valueStart, i));
+                valueStart = i + 1;
+            } else if (!isLiteral(pattern.charAt(i))) {
+                return null;
+            }
+        }
+
+        return Collections.unmodifiableSet(values);
+    }
+
+    private static boolean isLiteral(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-' || c == ' ';
+    }
+
+    /**
+     * Checks whether the whole value is a number consisting of digits,
+     * optionally preceded by a minus sign and optionally followed by a dot and
+     * another digits.
+     *
+     * @param value value to check
+     * @param signed whether a minus sign is allowed
+     * @param decimal whether a decimal part is allowed
+     * @return true if the value is a number, false otherwise
+     */
+    static boolean isNumber(String value, boolean signed, boolean decimal) {
+        return skipNumber(value, signed, decimal) == value.length();
+    }
+
+    /**
+     * Checks whether the whole value is a signed decimal number optionally
+     * followed by a decimal exponent ('e' or 'E', an optional sign and
+     * digits), i.e. the finite numbers as rendered by
+     * {@link String#valueOf(double)} or written in JSON.
+     *
+     * @param value value to check
+     * @return true if the value is a number, false otherwise
+     */
+    static boolean isExponentNumber(String value) {
+        int length = value.length();
+        int position = skipNumber(value, true, true);
+        if (position < 0 || position == length) {
+            return position == length;
+        }
+        if (value.charAt(position) != 'e' && value.charAt(position) != 'E') {
+            return false;
+        }
+
+        position++;
+        if (position < length && (value.charAt(position) == '-' || value.charAt(position) == '+')) {
+            position++;
+        }
+        int digits = skipDigits(value, position);
+        return digits > position && digits == length;
+    }
+
+    /**
+     * Skips number at the start of the value.
+     *
+     * @return position after the number or -1 if the value doesn't start with
+     * a number
+     */
+    private static int skipNumber(String value, boolean signed, boolean decimal) {
+        int length = value.length();
+        int position = 0;
+        if (signed && position < length && value.charAt(position) == '-') {
+            position++;
+        }
+
+        int digits = skipDigits(value, position);
+        if (digits == position) {
+            return -1;
+        }
+        position = digits;
+
+        if (decimal && position < length && value.charAt(position) == '.') {
+            digits = skipDigits(value, position + 1);
+            if (digits == position + 1) {
+                return -1;
+            }
+            position = digits;
+        }
+
+        return position;
+    }
+
+    private static int skipDigits(String value, int position) {
+        while (position < value.length() && value.charAt(position) >= '0' && value.charAt(position) <= '9') {
+            position++;
+        }
+
+        return position;
+    }
+
+    private static boolean containsLineTerminator(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            switch (value.charAt(i)) {
+                case '\n':
+                case '\r':
+                case '\u0085':
+                case '\u2028':
+                case '\u2029':
+                    return true;
+                default:
+                    break;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package cz.cesnet.cloud.occi.core;
+
+/**
+ * Types of attribute values recognized in attribute's type (see
+ * {@link Attribute#getType()}). Values of numeric and boolean attributes are
+ * validated and stored in their decoded form.
+ */
+public enum AttributeType {
+
+    STRING, ENUM, INTEGER, NUMBER, BOOLEAN;
+
+    /**
+     * Returns attribute type for the type name. Recognized names are 'string',
+     * 'enum', 'int', 'integer', 'long', 'float', 'double', 'number', 'boolean'
+     * and 'bool' (case insensitive).
+     *
+     * @param typeName name of the type
+     * @return attribute type, STRING for null or unknown type names
+     */
+    public static AttributeType fromName(String typeName) {
+        if (typeName == null) {
+            return STRING;
+        }
+
+        switch (typeName.toLowerCase()) {
+            case "enum":
+                return ENUM;
+            case "int":
+            case "integer":
+            case "long":
+                return INTEGER;
+            case "float":
+            case "double":
+            case "number":
+                return NUMBER;
+            case "boolean":
+            case "bool":
+                return BOOLEAN;
+            default:
+                return STRING;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.name().toLowerCase();
+    }
+}
@@ -0,0 +1,435 @@
+package cz.cesnet.cloud.occi.core;
+
+import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
+import java.util.Objects;
+
+/**
+ * Value of an entity's attribute. Keeps the textual form of the value, which is
+ * used for rendering, together with its typed form. Values of integer, number
+ * and boolean attributes are decoded when the value is created, other values
+ * are decoded on the first typed access and the result is cached, so repeated
+ * typed reads neither box nor parse. Decoded form is kept in a single
+ * immutable holder, so values can be shared by concurrent readers.
+ *
+ * Two values are equal if their textual forms are equal.
+ */
+public final class AttributeValue {
+
+    private static final int UNDECODED = 0;
+    private static final int INTEGER = 1;
+    private static final int NUMBER = 2;
+    private static final int BOOLEAN = 3;
+
+    private static final int UNKNOWN_FORM = 0;
+    private static final int PLAIN_NUMBER_FORM = 1;
+    private static final int OTHER_FORM = 2;
+
+    private static final Decoded NOT_DECODED = new Decoded(UNDECODED, 0, 0, false, null, UNKNOWN_FORM);
+
+    private final String text;
+    private volatile Decoded decoded;
+
+    private AttributeValue(String text, Decoded decoded) {
+        this.text = text;
+        this.decoded = decoded;
+    }
+
+    /**
+     * Creates value from its textual form. Value is decoded and checked
+     * according to the given type.
+     *
+     * @param text textual form of the value. Cannot be null.
+     * @param type type of the value, null is taken as STRING
+     * @return attribute value
+     * @throws InvalidAttributeValueException if the value doesn't conform to
+     * the type
+     */
+    public static AttributeValue parse(String text, AttributeType type) throws InvalidAttributeValueException {
+        if (text == null) {
+            throw new NullPointerException("Value cannot be null.");
+        }
+
+        AttributeValue value = new AttributeValue(text, NOT_DECODED);
+        if (!value.conformsTo(type)) {
+            throw new InvalidAttributeValueException("'" + text + "' is not a valid " + type + " value.");
+        }
+
+        return value;
+    }
+
+    /**
+     * Creates value from its textual form without any type checking.
+     *
+     * @param text textual form of the value. Cannot be null.
+     * @return attribute value
+     */
+    public static AttributeValue of(String text) {
+        if (text == null) {
+            throw new NullPointerException("Value cannot be null.");
+        }
+
+        return new AttributeValue(text, NOT_DECODED);
+    }
+
+    /**
+     * Creates an integer value.
+     *
+     * @param value integer value
+     * @return attribute value
+     */
+    public static AttributeValue of(long value) {
+        return new AttributeValue(String.valueOf(value), new Decoded(INTEGER, value, 0, false, null,
+                value >= 0 ? PLAIN_NUMBER_FORM : OTHER_FORM));
+    }
+
+    /**
+     * Creates an integer value. Textual form is the same as of
+     * {@link String#valueOf(int)}.
+     *
+     * @param value integer value
+     * @return attribute value
+     */
+    public static AttributeValue of(int value) {
+        return of((long) value);
+    }
+
+    /**
+     * Creates a number value. Textual form is the same as of
+     * {@link String#valueOf(double)}.
+     *
+     * @param value number value
+     * @return attribute value
+     */
+    public static AttributeValue of(double value) {
+        return new AttributeValue(String.valueOf(value), new Decoded(NUMBER, 0, value, false, null, UNKNOWN_FORM));
+    }
+
+    /**
+     * Creates a number value. Textual form is the same as of
+     * {@link String#valueOf(float)}.
+     *
+     * @param value number value
+     * @return attribute value
+     */
+    public static AttributeValue of(float value) {
+        return new AttributeValue(String.valueOf(value), new Decoded(NUMBER, 0, value, false, null, UNKNOWN_FORM));
+    }
+
+    /**
+     * Creates a boolean value.
+     *
+     * @param value boolean value
+     * @return attribute value
+     */
+    public static AttributeValue of(boolean value) {
+        return new AttributeValue(String.valueOf(value), new Decoded(BOOLEAN, 0, 0, value, null, OTHER_FORM));
+    }
+
+    /**
+     * Creates an enumeration value. Textual form is the enumeration constant's
+     * string representation.
+     *
+     * @param value enumeration value. Cannot be null.
+     * @return attribute value
+     */
+    public static AttributeValue of(Enum<?> value) {
+        if (value == null) {
+            throw new NullPointerException("Value cannot be null.");
+        }
+
+        return new AttributeValue(value.toString(), new Decoded(UNDECODED, 0, 0, false, value, OTHER_FORM));
+    }
+
+    /**
+     * Returns textual form of the value.
+     *
+     * @return textual form of the value
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Checks whether the textual form of the value is a plain unsigned number
+     * (digits optionally followed by a dot and another digits). Such values
+     * are rendered without quotes. The check is done at most once per value,
+     * values created from integers, booleans and enumerations are not checked
+     * at all.
+     *
+     * @return true if the value is a plain number, false otherwise
+     */
+    public boolean isPlainNumber() {
+        Decoded current = decoded;
+        if (current.form == UNKNOWN_FORM) {
+            int form = AttributePattern.isNumber(text, false, true) ? PLAIN_NUMBER_FORM : OTHER_FORM;
+            current = current.withForm(form);
+            decoded = current;
+        }
+
+        return current.form == PLAIN_NUMBER_FORM;
+    }
+
+    /**
+     * Returns the value as long.
+     *
+     * @return long value
+     * @throws NumberFormatException if the value is not an integer
+     */
+    public long getLong() {
+        Decoded current = decoded;
+        if (current.type == INTEGER) {
+            return current.longValue;
+        }
+
+        long value = decodeLong();
+        decoded = current.withLong(value);
+        return value;
+    }
+
+    /**
+     * Returns the value as int.
+     *
+     * @return int value
+     * @throws NumberFormatException if the value is not an integer or doesn't
+     * fit into int
+     */
+    public int getInt() {
+        long value = getLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value " + text + " is out of int range.");
+        }
+
+        return (int) value;
+    }
+
+    /**
+     * Returns the value as double.
+     *
+     * @return double value
+     * @throws NumberFormatException if the value is not a number
+     */
+    public double getDouble() {
+        Decoded current = decoded;
+        if (current.type == NUMBER) {
+            return current.doubleValue;
+        }
+        if (current.type == INTEGER) {
+            return current.longValue;
+        }
+
+        double value = decodeDouble();
+        decoded = current.withDouble(value);
+        return value;
+    }
+
+    /**
+     * Returns the value as float.
+     *
+     * @return float value
+     * @throws NumberFormatException if the value is not a number
+     */
+    public float getFloat() {
+        return (float) getDouble();
+    }
+
+    /**
+     * Returns the value as boolean.
+     *
+     * @return boolean value
+     * @throws IllegalArgumentException if the value is neither 'true' nor
+     * 'false'
+     */
+    public boolean getBoolean() {
+        Decoded current = decoded;
+        if (current.type == BOOLEAN) {
+            return current.booleanValue;
+        }
+
+        boolean value = decodeBoolean();
+        decoded = current.withBoolean(value);
+        return value;
+    }
+
+    /**
+     * Returns the value as a constant of given enumeration. Constant is looked
+     * up by its string representation.
+     *
+     * @param <E> enumeration type
+     * @param enumType enumeration class. Cannot be null.
+     * @return enumeration constant
+     * @throws IllegalArgumentException if enumeration doesn't have a constant
+     * for the value
+     */
+    public <E extends Enum<E>> E getEnum(Class<E> enumType) {
+        if (enumType == null) {
+            throw new NullPointerException("Enumeration type cannot be null.");
+        }
+
+        Decoded current = decoded;
+        if (current.enumValue != null && current.enumValue.getDeclaringClass() == enumType) {
+            return enumType.cast(current.enumValue);
+        }
+
+        for (E constant : enumType.getEnumConstants()) {
+            if (constant.toString().equals(text)) {
+                decoded = current.withEnum(constant);
+                return constant;
+            }
+        }
+
+        throw new IllegalArgumentException("'" + text + "' is not a valid " + enumType.getSimpleName() + " value.");
+    }
+
+    /**
+     * Checks whether the value conforms to given type. Value is decoded if
+     * necessary.
+     *
+     * @param type type to check the value against
+     * @return true if the value can be read as the type, false otherwise
+     */
+    boolean conformsTo(AttributeType type) {
+        if (type == null) {
+            return true;
+        }
+
+        try {
+            switch (type) {
+                case INTEGER:
+                    getLong();
+                    break;
+                case NUMBER:
+                    getDouble();
+                    break;
+                case BOOLEAN:
+                    getBoolean();
+                    break;
+                default:
+                    break;
+            }
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Decodes integer value. Only digits optionally preceded by a minus sign
+     * are accepted.
+     */
+    private long decodeLong() {
+        if (!AttributePattern.isNumber(text, true, false)) {
+            throw new NumberFormatException("'" + text + "' is not an integer value.");
+        }
+
+        return Long.parseLong(text);
+    }
+
+    /**
+     * Decodes number value. Only digits optionally preceded by a minus sign
+     * and followed by a decimal part and a decimal exponent are accepted, so
+     * textual forms of finite numbers created by {@link #of(double)} are read
+     * back, while other forms accepted by {@link Double#parseDouble(String)}
+     * such as 'NaN', 'Infinity', '5f', hexadecimal numbers or values
+     * surrounded by whitespace are rejected.
+     */
+    private double decodeDouble() {
+        if (!AttributePattern.isExponentNumber(text)) {
+            throw new NumberFormatException("'" + text + "' is not a number value.");
+        }
+
+        return Double.parseDouble(text);
+    }
+
+    private boolean decodeBoolean() {
+        if ("true".equals(text)) {
+            return true;
+        }
+        if ("false".equals(text)) {
+            return false;
+        }
+
+        throw new IllegalArgumentException("'" + text + "' is not a boolean value.");
+    }
+
+    /**
+     * @see Object#hashCode()
+     * @return value's hash code
+     */
+    @Override
+    public int hashCode() {
+        return text.hashCode();
+    }
+
+    /**
+     * @see Object#equals(java.lang.Object)
+     * @param obj object to compare value with
+     * @return true if two values have the same textual form, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final AttributeValue other = (AttributeValue) obj;
+        return Objects.equals(this.text, other.text);
+    }
+
+    /**
+     * Returns textual form of the value.
+     *
+     * @see Object#toString()
+     * @return textual form of the value
+     */
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    /**
+     * Immutable decoded form of the value: its type and typed value, the last
+     * enumeration constant it was read as and whether its textual form is a
+     * plain number. Replaced as a whole whenever another form is decoded.
+     */
+    private static final class Decoded {
+
+        private final int type;
+        private final long longValue;
+        private final double doubleValue;
+        private final boolean booleanValue;
+        private final Enum<?> enumValue;
+        private final int form;
+
+        private Decoded(int type, long longValue, double doubleValue, boolean booleanValue, Enum<?> enumValue, int form) {
+            this.type = type;
+            this.longValue = longValue;
+            this.doubleValue = doubleValue;
+            this.booleanValue = booleanValue;
+            this.enumValue = enumValue;
+            this.form = form;
+        }
+
+        private Decoded withLong(long value) {
+            return new Decoded(INTEGER, value, 0, false, enumValue, form);
+        }
+
+        private Decoded withDouble(double value) {
+            return new Decoded(NUMBER, 0, value, false, enumValue, form);
+        }
+
+        private Decoded withBoolean(boolean value) {
+            return new Decoded(BOOLEAN, 0, 0, value, enumValue, form);
+        }
+
+        private Decoded withEnum(Enum<?> value) {
+            return new Decoded(type, longValue, doubleValue, booleanValue, value, form);
+        }
+
+        private Decoded withForm(int value) {
+            return new Decoded(type, longValue, doubleValue, booleanValue, enumValue, value);
+        }
+    }
+}
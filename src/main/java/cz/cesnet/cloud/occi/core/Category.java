@@ -2,12 +2,13 @@ package cz.cesnet.cloud.occi.core;
 
 import com.sun.net.httpserver.Headers;
 import cz.cesnet.cloud.occi.collection.SetCover;
+import cz.cesnet.cloud.occi.renderer.JSONRenderer;
 import cz.cesnet.cloud.occi.renderer.TextRenderer;
+import cz.cesnet.cloud.occi.type.Fingerprint;
 import cz.cesnet.cloud.occi.type.Identifiable;
+import java.io.IOException;
 import java.net.URI;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -32,6 +33,12 @@ public class Category implements Identifiable, Comparable<Category> {
     private final SetCover<Attribute> attributes = new SetCover<>();
     private final SetCover<Action> actions = new SetCover<>();
     private final SetCover<Entity> entities = new SetCover<>();
+    private final Observers observers = new Observers();
+    private Action action;
+    private volatile int version;
+    private volatile String shortTextBody;
+    private volatile CachedRendering fullTextBody;
+    private volatile CachedFingerprint fingerprint;
 
     /**
      * Constructor. Creates a category with scheme, term, title, location and
@@ -62,7 +69,11 @@ public class Category implements Identifiable, Comparable<Category> {
         this.location = location;
 
         if (attributes != null) {
-            this.attributes.addAll(attributes);
+            for (Attribute attribute : attributes) {
+                if (this.attributes.add(attribute)) {
+                    attribute.addOwner(this);
+                }
+            }
         }
     }
 
@@ -89,6 +100,7 @@ public class Category implements Identifiable, Comparable<Category> {
      * Sets category's term.
      *
      * @param term category's term. Cannot be null nor empty.
+     * @throws IllegalStateException if the category is a part of a model
      */
     public void setTerm(String term) {
         if (term == null) {
@@ -98,7 +110,9 @@ public class Category implements Identifiable, Comparable<Category> {
             throw new IllegalArgumentException("Category term cannot be empty.");
         }
 
+        modifying(true);
         this.term = term;
+        shortTextBody = null;
     }
 
     /**
@@ -114,13 +128,16 @@ public class Category implements Identifiable, Comparable<Category> {
      * Sets category's scheme.
      *
      * @param scheme category's scheme. Cannot be null.
+     * @throws IllegalStateException if the category is a part of a model
      */
     public void setScheme(URI scheme) {
         if (scheme == null) {
             throw new NullPointerException("Category scheme cannot be null.");
         }
 
+        modifying(true);
         this.scheme = scheme;
+        shortTextBody = null;
     }
 
     /**
@@ -148,6 +165,7 @@ public class Category implements Identifiable, Comparable<Category> {
      * @param title category's title
      */
     public void setTitle(String title) {
+        modifying(false);
         this.title = title;
     }
 
@@ -164,8 +182,10 @@ public class Category implements Identifiable, Comparable<Category> {
      * Sets category's location
      *
      * @param location category's location
+     * @throws IllegalStateException if the category is a part of a model
      */
     public void setLocation(URI location) {
+        modifying(false, true, false);
         this.location = location;
     }
 
@@ -197,7 +217,14 @@ public class Category implements Identifiable, Comparable<Category> {
      * @return true if the addition was successful, false otherwise
      */
     public boolean addAttribute(Attribute attribute) {
-        return attributes.add(attribute);
+        if (attributes.contains(attribute)) {
+            return false;
+        }
+
+        modifying(false);
+        attributes.add(attribute);
+        attribute.addOwner(this);
+        return true;
     }
 
     /**
@@ -217,13 +244,25 @@ public class Category implements Identifiable, Comparable<Category> {
      * @return true if the removal was successful, false otherwise
      */
     public boolean removeAttribute(Attribute attribute) {
-        return attributes.remove(attribute);
+        Attribute stored = attribute == null ? null : attributes.get(attribute.getIdentifier());
+        if (stored == null) {
+            return attributes.remove(attribute);
+        }
+
+        modifying(false);
+        attributes.remove(stored);
+        stored.removeOwner(this);
+        return true;
     }
 
     /**
      * Removes all attributes from category.
      */
     public void clearAttributes() {
+        modifying(false);
+        for (Attribute attribute : attributes.getSet()) {
+            attribute.removeOwner(this);
+        }
         attributes.clear();
     }
 
@@ -236,6 +275,16 @@ public class Category implements Identifiable, Comparable<Category> {
         return attributes.getSet();
     }
 
+    /**
+     * Returns all category's attributes sorted by their names. The list is
+     * cached until category's attributes change.
+     *
+     * @return unmodifiable sorted list of category's attributes
+     */
+    List<Attribute> getSortedAttributes() {
+        return attributes.getSortedList();
+    }
+
     //actions
     /**
      * Checks whether category has given action.
@@ -264,7 +313,14 @@ public class Category implements Identifiable, Comparable<Category> {
      * @return true if the addition was successful, false otherwise
      */
     public boolean addAction(Action action) {
-        return actions.add(action);
+        if (actions.contains(action)) {
+            return false;
+        }
+
+        modifying(false);
+        actions.add(action);
+        action.getCategory().observe(this);
+        return true;
     }
 
     /**
@@ -284,13 +340,25 @@ public class Category implements Identifiable, Comparable<Category> {
      * @return true if the removal was successful, false otherwise
      */
     public boolean removeAction(Action action) {
-        return actions.remove(action);
+        Action stored = action == null ? null : actions.get(action.getIdentifier());
+        if (stored == null) {
+            return actions.remove(action);
+        }
+
+        modifying(false);
+        actions.remove(stored);
+        stored.getCategory().unobserve(this);
+        return true;
     }
 
     /**
      * Removes all actions from category.
      */
     public void clearActions() {
+        modifying(false);
+        for (Action action : actions.getSet()) {
+            action.getCategory().unobserve(this);
+        }
         actions.clear();
     }
 
@@ -370,6 +438,92 @@ public class Category implements Identifiable, Comparable<Category> {
         return entities.getSet();
     }
 
+    /**
+     * Registers listener notified before the category is modified. Listener
+     * is referenced weakly.
+     *
+     * @param listener listener to register. Cannot be null.
+     */
+    public void addListener(CategoryListener listener) {
+        if (listener == null) {
+            throw new NullPointerException("Listener cannot be null.");
+        }
+
+        observers.add(listener);
+    }
+
+    /**
+     * Unregisters listener registered by
+     * {@link #addListener(CategoryListener)}.
+     *
+     * @param listener listener to unregister
+     */
+    public void removeListener(CategoryListener listener) {
+        observers.remove(listener);
+    }
+
+    /**
+     * Registers category whose content refers to identifier of this category,
+     * e.g. a kind relating to this kind or a kind with this action. The
+     * observing category is notified when the identifier is about to change.
+     *
+     * @param category observing category
+     */
+    void observe(Category category) {
+        observers.add(category);
+    }
+
+    /**
+     * Unregisters category registered by {@link #observe(Category)}.
+     *
+     * @param category observing category
+     */
+    void unobserve(Category category) {
+        observers.remove(category);
+    }
+
+    /**
+     * Sets action this category holds scheme, term, title and attributes of.
+     * Listeners of such category are notified with the action instead.
+     *
+     * @param action action owning the category
+     */
+    void setAction(Action action) {
+        this.action = action;
+    }
+
+    /**
+     * Marks the category as modified. Called before the modification is made.
+     * Notifies listeners and invalidates values cached by the category and,
+     * if its identifier is about to change, values cached by categories
+     * referring to it.
+     *
+     * @param identifier true if category's identifier is about to change
+     */
+    void modifying(boolean identifier) {
+        modifying(identifier, identifier, false);
+    }
+
+    /**
+     * Marks parent or relations of the category as modified. Called before the
+     * modification is made.
+     */
+    void hierarchyModifying() {
+        modifying(false, false, true);
+    }
+
+    private void modifying(boolean identifier, boolean location, boolean hierarchy) {
+        for (Object observer : observers.get()) {
+            if (observer instanceof CategoryListener) {
+                ((CategoryListener) observer).categoryModifying(action == null ? this : action, location, hierarchy);
+            } else if (identifier) {
+                ((Category) observer).modifying(false);
+            }
+        }
+
+        version++;
+    }
+
     /**
      * @see Object#hashCode()
      * @return category's hash code
@@ -434,12 +588,39 @@ public class Category implements Identifiable, Comparable<Category> {
      * @return plain text representation of category
      */
     public String toText(boolean fullRendering) {
-        StringBuilder sb = new StringBuilder("Category: ");
-        sb.append(textBody(fullRendering));
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeText(sb, fullRendering);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render category.", ex);
+        }
 
         return sb.toString();
     }
 
+    /**
+     * Writes a plain text representation of category and its subtypes (kinds
+     * and mixins) according to OCCI standard into given output.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     */
+    public void writeText(Appendable out) throws IOException {
+        writeText(out, true);
+    }
+
+    /**
+     * Writes a plain text representation of category and its subtypes (kinds
+     * and mixins) according to OCCI standard into given output.
+     *
+     * @param out output to write to
+     * @param fullRendering whether to render all the information
+     * @throws IOException if writing to the output fails
+     */
+    public void writeText(Appendable out, boolean fullRendering) throws IOException {
+        out.append("Category: ").append(textBody(fullRendering));
+    }
+
     /**
      * Returns an occi text representation of category and its subtypes (kinds
      * and mixins) according to OCCI standard in form of headers.
@@ -464,26 +645,59 @@ public class Category implements Identifiable, Comparable<Category> {
         return headers;
     }
 
+    /**
+     * Returns rendering of the category without the 'Category: ' prefix.
+     * Renderings are cached, short rendering until category's term or scheme
+     * changes, full rendering until the category, its attributes or
+     * identifiers of its actions and relations change.
+     */
     private String textBody(boolean fullRendering) {
-        StringBuilder sb = new StringBuilder(term);
-        sb.append(";");
-        sb.append("scheme");
-        sb.append(TextRenderer.surroundString(scheme.toString()));
-        sb.append("class");
-        sb.append(TextRenderer.surroundString(this.getClass().getSimpleName().toLowerCase()));
+        if (!fullRendering) {
+            String body = shortTextBody;
+            if (body == null) {
+                body = renderTextBody(false);
+                shortTextBody = body;
+            }
+            return body;
+        }
+
+        int current = version;
+        CachedRendering cached = fullTextBody;
+        if (cached == null || cached.version != current) {
+            cached = new CachedRendering(current, renderTextBody(true));
+            fullTextBody = cached;
+        }
+        return cached.body;
+    }
+
+    private String renderTextBody(boolean fullRendering) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTextBody(sb, fullRendering);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render category.", ex);
+        }
+
+        return sb.toString();
+    }
+
+    private void writeTextBody(Appendable out, boolean fullRendering) throws IOException {
+        out.append(term);
+        out.append(";scheme=\"").append(scheme.toString()).append('"');
+        out.append(";class=\"").append(this.getClass().getSimpleName().toLowerCase()).append('"');
 
         if (fullRendering) {
             if (title != null && !title.isEmpty()) {
-                sb.append("title");
-                sb.append(TextRenderer.surroundString(title));
+                out.append(";title=\"");
+                TextRenderer.appendEscaped(out, title);
+                out.append('"');
             }
 
             if (this instanceof Kind) {
                 Kind kind = (Kind) this;
                 if (kind.getRelations().size() == 1) {
-                    sb.append("rel");
                     for (Kind k : kind.getRelations()) {
-                        sb.append(TextRenderer.surroundString(k.getIdentifier()));
+                        out.append(";rel=\"").append(k.getIdentifier()).append('"');
                     }
                 }
             }
@@ -491,52 +705,183 @@ public class Category implements Identifiable, Comparable<Category> {
             if (this instanceof Mixin) {
                 Mixin mixin = (Mixin) this;
                 if (mixin.getRelations().size() == 1) {
-                    sb.append("rel");
                     for (Mixin m : mixin.getRelations()) {
-                        sb.append(TextRenderer.surroundString(m.getIdentifier()));
+                        out.append(";rel=\"").append(m.getIdentifier()).append('"');
                     }
                 }
             }
 
             if (location != null) {
-                sb.append("location");
-                sb.append(TextRenderer.surroundString(location.toString()));
+                out.append(";location=\"").append(location.toString()).append('"');
             }
 
             if (attributes != null && !attributes.getSet().isEmpty()) {
-                sb.append("attributes");
-                StringBuilder attrSB = new StringBuilder();
-                List<Attribute> attributeList = new ArrayList<>(attributes.getSet());
-                Collections.sort(attributeList);
-                for (Attribute attribute : attributeList) {
-                    attrSB.append(attribute.toText());
-                    attrSB.append(" ");
-                }
-                attrSB.deleteCharAt(attrSB.length() - 1);
-                sb.append(TextRenderer.surroundString(attrSB.toString()));
+                out.append(";attributes=\"");
+                writeAttributeList(out, attributes.getSortedList());
+                out.append('"');
             }
 
             if (actions != null && !actions.getSet().isEmpty()) {
-                sb.append("actions");
-                StringBuilder actionsSB = new StringBuilder();
-                List<Action> actionList = new ArrayList<>(actions.getSet());
-                Collections.sort(actionList);
-                for (Action action : actionList) {
-                    actionsSB.append(action.getIdentifier());
-                    actionsSB.append(" ");
+                out.append(";actions=\"");
+                boolean first = true;
+                for (Action action : actions.getSortedList()) {
+                    if (!first) {
+                        out.append(' ');
+                    }
+                    out.append(action.getIdentifier());
+                    first = false;
                 }
-                actionsSB.deleteCharAt(actionsSB.length() - 1);
-                sb.append(TextRenderer.surroundString(actionsSB.toString()));
+                out.append('"');
             }
         }
+    }
 
-        if (sb.charAt(sb.length() - 1) == ';') {
-            sb.deleteCharAt(sb.length() - 1);
+    /**
+     * Returns a JSON representation of the category as described in OCCI
+     * standard.
+     *
+     * @return JSON representation of the category
+     */
+    public String toJSON() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeJSON(new JSONRenderer(sb));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render category.", ex);
         }
 
         return sb.toString();
     }
 
+    /**
+     * Writes a JSON representation of the category as described in OCCI
+     * standard into given renderer. Kind's parent is written as 'parent',
+     * mixin's relations are written as 'depends'.
+     *
+     * @param out renderer to write to
+     * @throws IOException if writing to the output fails
+     */
+    public void writeJSON(JSONRenderer out) throws IOException {
+        out.beginObject();
+        out.name("term").value(term);
+        out.name("scheme").value(scheme.toString());
+        if (title != null && !title.isEmpty()) {
+            out.name("title").value(title);
+        }
+
+        if (this instanceof Kind) {
+            Kind kind = (Kind) this;
+            Kind parent = kind.getParentKind();
+            if (parent == null && kind.getRelations().size() == 1) {
+                parent = kind.getRelations().iterator().next();
+            }
+            if (parent != null) {
+                out.name("parent").identifier(parent);
+            }
+        }
+
+        if (this instanceof Mixin) {
+            Mixin mixin = (Mixin) this;
+            if (!mixin.getRelations().isEmpty()) {
+                out.name("depends").beginArray();
+                for (Mixin m : mixin.getSortedRelations()) {
+                    out.identifier(m);
+                }
+                out.endArray();
+            }
+        }
+
+        if (location != null) {
+            out.name("location").value(location.toString());
+        }
+
+        if (!attributes.getSet().isEmpty()) {
+            out.name("attributes").beginObject();
+            for (Attribute attribute : attributes.getSortedList()) {
+                out.name(attribute.getName());
+                attribute.writeJSON(out);
+            }
+            out.endObject();
+        }
+
+        if (!actions.getSet().isEmpty()) {
+            out.name("actions").beginArray();
+            for (Action action : actions.getSortedList()) {
+                out.identifier(action);
+            }
+            out.endArray();
+        }
+        out.endObject();
+    }
+
+    /**
+     * Writes attributes' text representations separated by spaces.
+     *
+     * @param out output to write to
+     * @param attributeList attributes to write
+     * @throws IOException if writing to the output fails
+     */
+    static void writeAttributeList(Appendable out, List<Attribute> attributeList) throws IOException {
+        boolean first = true;
+        for (Attribute attribute : attributeList) {
+            if (!first) {
+                out.append(' ');
+            }
+            attribute.writeText(out);
+            first = false;
+        }
+    }
+
+    /**
+     * Returns fingerprint of category's content: its type, identifier, title,
+     * location, attributes with all their properties and identifiers of its
+     * actions. Fingerprint is cached until the category, its attributes or
+     * identifiers of its actions and relations change.
+     *
+     * @return fingerprint of the category
+     */
+    public Fingerprint getFingerprint() {
+        int current = version;
+        CachedFingerprint cached = fingerprint;
+        if (cached == null || cached.version != current) {
+            Fingerprint.Builder builder = new Fingerprint.Builder();
+            addFingerprintContent(builder);
+            cached = new CachedFingerprint(current, builder.build());
+            fingerprint = cached;
+        }
+        return cached.fingerprint;
+    }
+
+    /**
+     * Adds category's content to the fingerprint. Subclasses add their own
+     * content after calling this method.
+     *
+     * @param builder builder of the fingerprint
+     */
+    protected void addFingerprintContent(Fingerprint.Builder builder) {
+        builder.add(getClass().getName());
+        builder.add(scheme.toString());
+        builder.add(term);
+        builder.add(title);
+        builder.add(location == null ? null : location.toString());
+        List<Attribute> attributeList = attributes.getSortedList();
+        builder.add(attributeList.size());
+        for (Attribute attribute : attributeList) {
+            attribute.addFingerprintContent(builder);
+        }
+        addIdentifiers(builder, actions.getSortedList());
+    }
+
+    /**
+     * Adds count and identifiers of sorted elements to the fingerprint.
+     */
+    static void addIdentifiers(Fingerprint.Builder builder, List<? extends Identifiable> elements) {
+        builder.add(elements.size());
+        for (Identifiable element : elements) {
+            builder.add(element.getIdentifier());
+        }
+    }
+
     /**
      * Comapres two cetegories lexicographically based on their identifier.
      *
@@ -546,4 +891,40 @@ public class Category implements Identifiable, Comparable<Category> {
     public int compareTo(Category c) {
         return getIdentifier().compareTo(c.getIdentifier());
     }
+
+    /**
+     * Full rendering together with the category version it was created in.
+     */
+    private static class CachedRendering {
+
+        private final int version;
+        private final String body;
+
+        private CachedRendering(int version, String body) {
+            this.version = version;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Fingerprint together with the version it was computed in.
+     */
+    static class CachedFingerprint {
+
+        private final int version;
+        private final Fingerprint fingerprint;
+
+        CachedFingerprint(int version, Fingerprint fingerprint) {
+            this.version = version;
+            this.fingerprint = fingerprint;
+        }
+
+        int getVersion() {
+            return version;
+        }
+
+        Fingerprint getFingerprint() {
+            return fingerprint;
+        }
+    }
 }
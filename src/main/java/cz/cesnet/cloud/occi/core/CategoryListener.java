@@ -0,0 +1,26 @@
+package cz.cesnet.cloud.occi.core;
+
+import cz.cesnet.cloud.occi.type.Identifiable;
+
+/**
+ * Listener notified before a kind, mixin or action is modified. Listeners are
+ * registered with {@link Category#addListener(CategoryListener)} or
+ * {@link Action#addListener(CategoryListener)} and are referenced weakly, so
+ * whoever registers a listener has to keep a reference to it.
+ */
+public interface CategoryListener {
+
+    /**
+     * Called before the category is modified, the category is still in its
+     * original state. Also called before the identifier of a category the
+     * category relates to or of its action is modified. Listener can refuse
+     * the modification by throwing an unchecked exception.
+     *
+     * @param category kind, mixin or action about to be modified
+     * @param identifier true if identifier or location of the category is
+     * about to change
+     * @param hierarchy true if parent or relations of the category are about
+     * to change
+     */
+    void categoryModifying(Identifiable category, boolean identifier, boolean hierarchy);
+}
@@ -1,15 +1,23 @@
 package cz.cesnet.cloud.occi.core;
 
 import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.CategoryHierarchy;
 import cz.cesnet.cloud.occi.Model;
 import cz.cesnet.cloud.occi.collection.AttributeMapCover;
+import cz.cesnet.cloud.occi.type.Fingerprint;
 import cz.cesnet.cloud.occi.type.Identifiable;
 import cz.cesnet.cloud.occi.collection.SetCover;
 import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
 import cz.cesnet.cloud.occi.exception.RenderingException;
+import cz.cesnet.cloud.occi.renderer.JSONRenderer;
+import cz.cesnet.cloud.occi.renderer.RenderingCache;
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -35,6 +43,8 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
     private Model model;
     private final SetCover<Mixin> mixins = new SetCover<>();
     private final AttributeMapCover attributes = new AttributeMapCover();
+    private int version;
+    private Category.CachedFingerprint fingerprint;
 
     /**
      * Constructor.
@@ -119,6 +129,7 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
         }
 
         this.kind = kind;
+        contentModified();
     }
 
     /**
@@ -169,16 +180,23 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
     }
 
     private void privateAddAttribute(String attributeIdentifier, String value) throws InvalidAttributeValueException {
-        if (!isValidAttributeValue(attributeIdentifier, value)) {
-            Attribute attribute = getAttribute(attributeIdentifier);
-            throw new InvalidAttributeValueException("'" + value + "' is not a suitable value for " + attribute);
+        if (value == null) {
+            throw new NullPointerException("Cannot add null value.");
         }
 
+        privateAddAttribute(attributeIdentifier, AttributeValue.of(value));
+    }
+
+    private void privateAddAttribute(String attributeIdentifier, AttributeValue value) throws InvalidAttributeValueException {
         Attribute attribute = getAttribute(attributeIdentifier);
         if (attribute == null) {
             attribute = new Attribute(attributeIdentifier);
+        } else if (!isValidAttributeValue(attribute, value)) {
+            throw new InvalidAttributeValueException("'" + value + "' is not a suitable value for " + attribute);
         }
-        attributes.add(attribute, value);
+
+        attributes.addValue(attribute, value);
+        contentModified();
     }
 
     /**
@@ -193,6 +211,70 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
         privateAddAttribute(attributeIdentifier, value);
     }
 
+    /**
+     * Adds attribute and its typed value. If attribute has a content
+     * restriction or a type, value is checked.
+     *
+     * @param attributeIdentifier
+     * @param value
+     * @throws InvalidAttributeValueException
+     */
+    public void addAttributeValue(String attributeIdentifier, AttributeValue value) throws InvalidAttributeValueException {
+        if (value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        privateAddAttribute(attributeIdentifier, value);
+    }
+
+    /**
+     * Adds attribute and its integer value. If attribute has a content
+     * restriction or a type, value is checked.
+     *
+     * @param attributeIdentifier
+     * @param value
+     * @throws InvalidAttributeValueException
+     */
+    public void addAttribute(String attributeIdentifier, long value) throws InvalidAttributeValueException {
+        privateAddAttribute(attributeIdentifier, AttributeValue.of(value));
+    }
+
+    /**
+     * Adds attribute and its number value. If attribute has a content
+     * restriction or a type, value is checked.
+     *
+     * @param attributeIdentifier
+     * @param value
+     * @throws InvalidAttributeValueException
+     */
+    public void addAttribute(String attributeIdentifier, float value) throws InvalidAttributeValueException {
+        privateAddAttribute(attributeIdentifier, AttributeValue.of(value));
+    }
+
+    /**
+     * Adds attribute and its number value. If attribute has a content
+     * restriction or a type, value is checked.
+     *
+     * @param attributeIdentifier
+     * @param value
+     * @throws InvalidAttributeValueException
+     */
+    public void addAttribute(String attributeIdentifier, double value) throws InvalidAttributeValueException {
+        privateAddAttribute(attributeIdentifier, AttributeValue.of(value));
+    }
+
+    /**
+     * Adds attribute and its boolean value. If attribute has a content
+     * restriction or a type, value is checked.
+     *
+     * @param attributeIdentifier
+     * @param value
+     * @throws InvalidAttributeValueException
+     */
+    public void addAttribute(String attributeIdentifier, boolean value) throws InvalidAttributeValueException {
+        privateAddAttribute(attributeIdentifier, AttributeValue.of(value));
+    }
+
     /**
      * Adds attributes and their values. If attributes have a content
      * restriction, values are checked.
@@ -206,18 +288,8 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
         }
     }
 
-    private boolean isValidAttributeValue(String attributeIdentifier, String value) {
-        Attribute attribute = getAttribute(attributeIdentifier);
-
-        if (attribute == null) {
-            return true;
-        }
-
-        if (attribute.getPattern() == null || attribute.getPattern().isEmpty()) {
-            return true;
-        }
-
-        return value.matches(attribute.getPattern());
+    private boolean isValidAttributeValue(Attribute attribute, AttributeValue value) {
+        return attribute.matches(value.getText()) && value.conformsTo(attribute.getAttributeType());
     }
 
     private Attribute getAttribute(String attributeIdentifier) {
@@ -238,24 +310,78 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
             return kind.getAttribute(attributeIdentifier);
         }
 
-        Attribute attribute = null;
+        CategoryHierarchy hierarchy = getHierarchy();
+        if (hierarchy != null && hierarchy.containsKind(kind)) {
+            for (Kind k : hierarchy.getAncestors(kind)) {
+                if (k.containsAttribute(attributeIdentifier)) {
+                    return k.getAttribute(attributeIdentifier);
+                }
+            }
+
+            return null;
+        }
+
+        return getAttributeFromRelatedKindsIfExists(kind, attributeIdentifier, new HashSet<Kind>());
+    }
+
+    private Attribute getAttributeFromRelatedKindsIfExists(Kind kind, String attributeIdentifier, Set<Kind> visited) {
         for (Kind k : kind.getRelations()) {
+            if (!visited.add(k)) {
+                continue;
+            }
+            if (k.containsAttribute(attributeIdentifier)) {
+                return k.getAttribute(attributeIdentifier);
+            }
+
+            Attribute attribute = getAttributeFromRelatedKindsIfExists(k, attributeIdentifier, visited);
             if (attribute != null) {
                 return attribute;
             }
-
-            attribute = getAttributeFromKindsIfExists(k, attributeIdentifier);
         }
 
-        return attribute;
+        return null;
     }
 
     private Attribute getAttributeFromMixinsIfExists(Set<Mixin> mixins, String attributeIdentifier) {
+        CategoryHierarchy hierarchy = getHierarchy();
+        Set<Mixin> visited = null;
         for (Mixin m : mixins) {
             if (m.containsAttribute(attributeIdentifier)) {
                 return m.getAttribute(attributeIdentifier);
             }
-            Attribute attribute = getAttributeFromMixinsIfExists(m.getRelations(), attributeIdentifier);
+
+            Attribute attribute = null;
+            if (hierarchy != null && hierarchy.containsMixin(m)) {
+                for (Mixin related : hierarchy.getAncestors(m)) {
+                    if (related.containsAttribute(attributeIdentifier)) {
+                        attribute = related.getAttribute(attributeIdentifier);
+                        break;
+                    }
+                }
+            } else {
+                if (visited == null) {
+                    visited = new HashSet<>();
+                }
+                attribute = getAttributeFromRelatedMixinsIfExists(m, attributeIdentifier, visited);
+            }
+            if (attribute != null) {
+                return attribute;
+            }
+        }
+
+        return null;
+    }
+
+    private Attribute getAttributeFromRelatedMixinsIfExists(Mixin mixin, String attributeIdentifier, Set<Mixin> visited) {
+        for (Mixin m : mixin.getRelations()) {
+            if (!visited.add(m)) {
+                continue;
+            }
+            if (m.containsAttribute(attributeIdentifier)) {
+                return m.getAttribute(attributeIdentifier);
+            }
+
+            Attribute attribute = getAttributeFromRelatedMixinsIfExists(m, attributeIdentifier, visited);
             if (attribute != null) {
                 return attribute;
             }
@@ -264,6 +390,10 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
         return null;
     }
 
+    private CategoryHierarchy getHierarchy() {
+        return model == null ? null : model.getHierarchy();
+    }
+
     /**
      * Removes attribute from entity.
      *
@@ -271,6 +401,7 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
      */
     public void removeAttribute(String attributeIdentifier) {
         attributes.remove(attributeIdentifier);
+        contentModified();
     }
 
     /**
@@ -313,6 +444,98 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
         return attributes.getValue(attributeName);
     }
 
+    /**
+     * Returns typed value of given attribute.
+     *
+     * @param attributeName name of the attribute which value will be returned
+     * @return value of given attribute or null if entity doesn't have the
+     * attribute
+     */
+    public AttributeValue getAttributeValue(String attributeName) {
+        return attributes.getAttributeValue(attributeName);
+    }
+
+    /**
+     * Returns value of given attribute as long.
+     *
+     * @param attributeName name of the attribute which value will be returned
+     * @param defaultValue value returned if entity doesn't have the attribute
+     * @return value of given attribute
+     * @throws NumberFormatException if the value is not an integer
+     */
+    public long getLongValue(String attributeName, long defaultValue) {
+        AttributeValue value = attributes.getAttributeValue(attributeName);
+        return value == null ? defaultValue : value.getLong();
+    }
+
+    /**
+     * Returns value of given attribute as int.
+     *
+     * @param attributeName name of the attribute which value will be returned
+     * @param defaultValue value returned if entity doesn't have the attribute
+     * @return value of given attribute
+     * @throws NumberFormatException if the value is not an integer
+     */
+    public int getIntValue(String attributeName, int defaultValue) {
+        AttributeValue value = attributes.getAttributeValue(attributeName);
+        return value == null ? defaultValue : value.getInt();
+    }
+
+    /**
+     * Returns value of given attribute as double.
+     *
+     * @param attributeName name of the attribute which value will be returned
+     * @param defaultValue value returned if entity doesn't have the attribute
+     * @return value of given attribute
+     * @throws NumberFormatException if the value is not a number
+     */
+    public double getDoubleValue(String attributeName, double defaultValue) {
+        AttributeValue value = attributes.getAttributeValue(attributeName);
+        return value == null ? defaultValue : value.getDouble();
+    }
+
+    /**
+     * Returns value of given attribute as float.
+     *
+     * @param attributeName name of the attribute which value will be returned
+     * @param defaultValue value returned if entity doesn't have the attribute
+     * @return value of given attribute
+     * @throws NumberFormatException if the value is not a number
+     */
+    public float getFloatValue(String attributeName, float defaultValue) {
+        AttributeValue value = attributes.getAttributeValue(attributeName);
+        return value == null ? defaultValue : value.getFloat();
+    }
+
+    /**
+     * Returns value of given attribute as boolean.
+     *
+     * @param attributeName name of the attribute which value will be returned
+     * @param defaultValue value returned if entity doesn't have the attribute
+     * @return value of given attribute
+     * @throws IllegalArgumentException if the value is not a boolean
+     */
+    public boolean getBooleanValue(String attributeName, boolean defaultValue) {
+        AttributeValue value = attributes.getAttributeValue(attributeName);
+        return value == null ? defaultValue : value.getBoolean();
+    }
+
+    /**
+     * Returns value of given attribute as a constant of given enumeration.
+     *
+     * @param <E> enumeration type
+     * @param attributeName name of the attribute which value will be returned
+     * @param enumType enumeration class
+     * @return value of given attribute or null if entity doesn't have the
+     * attribute
+     * @throws IllegalArgumentException if the value is not a constant of the
+     * enumeration
+     */
+    public <E extends Enum<E>> E getEnumValue(String attributeName, Class<E> enumType) {
+        AttributeValue value = attributes.getAttributeValue(attributeName);
+        return value == null ? null : value.getEnum(enumType);
+    }
+
     /**
      * Returns all entity's attributes and their values in form of map.
      *
@@ -327,6 +550,7 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
      */
     public void clearAttributes() {
         attributes.clear();
+        contentModified();
     }
 
     /**
@@ -347,6 +571,108 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
         return attributes.toPrefixText();
     }
 
+    /**
+     * Writes text representation of entity's attributes in one line into
+     * given output.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     */
+    protected void writeAttributesOneLineText(Appendable out) throws IOException {
+        attributes.writeOneLineText(out);
+    }
+
+    /**
+     * Writes a text representation of entity's attributes with prefix into
+     * given output.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     */
+    protected void writeAttributesPrefixText(Appendable out) throws IOException {
+        attributes.writePrefixText(out);
+    }
+
+    /**
+     * Writes entity's kind, mixins, attributes, id and title as members of a
+     * JSON object. Attributes rendered as separate members are left out from
+     * the 'attributes' member.
+     *
+     * @param out renderer to write to
+     * @param memberAttributes names of attributes rendered as separate
+     * members, see {@link #jsonMemberAttributes(java.lang.String...)}
+     * @throws IOException if writing to the output fails
+     */
+    protected void writeJSONMembers(JSONRenderer out, Set<String> memberAttributes) throws IOException {
+        out.name("kind").identifier(kind);
+
+        List<Mixin> mixinList = getSortedMixins();
+        if (!mixinList.isEmpty()) {
+            out.name("mixins").beginArray();
+            for (Mixin m : mixinList) {
+                out.identifier(m);
+            }
+            out.endArray();
+        }
+
+        out.name("attributes");
+        attributes.writeJSON(out, memberAttributes);
+
+        out.name("id").value(getId());
+        String title = getTitle();
+        if (title != null) {
+            out.name("title").value(title);
+        }
+    }
+
+    /**
+     * Returns names of attributes rendered as separate members of entity's
+     * JSON object, i.e. id, title and given attributes.
+     *
+     * @param names names of additional attributes rendered as members
+     * @return unmodifiable set of attribute names
+     */
+    protected static Set<String> jsonMemberAttributes(String... names) {
+        Set<String> set = new HashSet<>(Arrays.asList(names));
+        set.add(ID_ATTRIBUTE_NAME);
+        set.add(TITLE_ATTRIBUTE_NAME);
+
+        return Collections.unmodifiableSet(set);
+    }
+
+    /**
+     * Writes short plain text rendering of the category, taken from the cache
+     * if one is given.
+     *
+     * @param out output to write to
+     * @param category kind or mixin to render
+     * @param cache renderings shared with other entities, can be null
+     * @throws IOException if writing to the output fails
+     */
+    protected static void writeCategoryText(Appendable out, Category category, RenderingCache cache) throws IOException {
+        if (cache == null) {
+            category.writeText(out, false);
+        } else {
+            out.append(cache.getCategoryText(category));
+        }
+    }
+
+    /**
+     * Returns short rendering of the category in form of a 'Category' header
+     * value, taken from the cache if one is given.
+     *
+     * @param category kind or mixin to render
+     * @param cache renderings shared with other entities, can be null
+     * @return short rendering of the category in form of a header value
+     */
+    protected static String categoryHeaderValue(Category category, RenderingCache cache) {
+        if (cache == null) {
+            return category.toHeaders(false).getFirst("Category");
+        }
+
+        return cache.getCategoryHeaderValue(category);
+    }
+
     /**
      * Returns an occi text representation of entity's attributes in form of
      * headers.
@@ -385,6 +711,7 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
      * @return true if the addition was successful, false otherwise
      */
     public boolean addMixin(Mixin mixin) {
+        contentModified();
         return mixins.add(mixin);
     }
 
@@ -395,6 +722,7 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
      * @return true if the addition was successful, false otherwise
      */
     public boolean addMixins(Collection<Mixin> mixins) {
+        contentModified();
         return this.mixins.addAll(mixins);
     }
 
@@ -415,6 +743,7 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
      * @return true if the removal was successful, false otherwise
      */
     public boolean removeMixin(Mixin mixin) {
+        contentModified();
         return mixins.remove(mixin);
     }
 
@@ -423,6 +752,7 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
      */
     public void clearMixins() {
         mixins.clear();
+        contentModified();
     }
 
     /**
@@ -434,6 +764,55 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
         return mixins.getSet();
     }
 
+    /**
+     * Returns all mixins from entity sorted by their identifiers. The list is
+     * cached until entity's mixins change.
+     *
+     * @return unmodifiable sorted list of entity's mixins
+     */
+    protected List<Mixin> getSortedMixins() {
+        return mixins.getSortedList();
+    }
+
+    /**
+     * Returns fingerprint of entity's content: identifier of its kind,
+     * identifiers of its mixins and its attributes with their values.
+     * Fingerprint is cached until the entity is modified.
+     *
+     * @return fingerprint of the entity
+     */
+    public Fingerprint getFingerprint() {
+        Category.CachedFingerprint cached = fingerprint;
+        if (cached == null || cached.getVersion() != version) {
+            Fingerprint.Builder builder = new Fingerprint.Builder();
+            addFingerprintContent(builder);
+            cached = new Category.CachedFingerprint(version, builder.build());
+            fingerprint = cached;
+        }
+        return cached.getFingerprint();
+    }
+
+    /**
+     * Adds entity's content to the fingerprint. Subclasses add their own
+     * content after calling this method.
+     *
+     * @param builder builder of the fingerprint
+     */
+    protected void addFingerprintContent(Fingerprint.Builder builder) {
+        builder.add(kind.getIdentifier());
+        Category.addIdentifiers(builder, mixins.getSortedList());
+        attributes.addFingerprintContent(builder);
+    }
+
+    /**
+     * Marks entity's content as modified, so its fingerprint is computed
+     * again. Subclasses call this method whenever they modify their own
+     * content.
+     */
+    protected void contentModified() {
+        version++;
+    }
+
     /**
      * @see Object#hashCode()
      * @return entity's hash code
@@ -488,6 +867,19 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
      */
     public abstract String toText() throws RenderingException;
 
+    /**
+     * Writes entity's plain text form as described in OCCI standard into given
+     * output. Subclasses should override this method to write the rendering
+     * directly without building it in memory first.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     * @throws RenderingException
+     */
+    public void writeText(Appendable out) throws IOException, RenderingException {
+        out.append(toText());
+    }
+
     /**
      * Renders entity to its occi text form as described in OCCI standard in
      * form of headers.
@@ -502,7 +894,37 @@ public abstract class Entity implements Identifiable, Comparable<Entity> {
      *
      * @return JSON form of entity
      */
-    public abstract String toJSON();
+    public String toJSON() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeJSON(new JSONRenderer(sb));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render entity.", ex);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Writes entity's JSON form as described in OCCI standard into given
+     * output.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     */
+    public void writeJSON(Appendable out) throws IOException {
+        writeJSON(new JSONRenderer(out));
+    }
+
+    /**
+     * Writes entity's JSON form as described in OCCI standard into given
+     * renderer. Entities rendered together should share one renderer so
+     * escaped names and identifiers are reused.
+     *
+     * @param out renderer to write to
+     * @throws IOException if writing to the output fails
+     */
+    public abstract void writeJSON(JSONRenderer out) throws IOException;
 
     /**
      * Comapres two entities lexicographically based on their identifier.
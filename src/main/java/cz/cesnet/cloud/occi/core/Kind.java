@@ -1,6 +1,7 @@
 package cz.cesnet.cloud.occi.core;
 
 import cz.cesnet.cloud.occi.collection.SetCover;
+import cz.cesnet.cloud.occi.type.Fingerprint;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Set;
@@ -55,6 +56,7 @@ public class Kind extends Category {
      * @param entityType kind's entity type
      */
     public void setEntityType(String entityType) {
+        modifying(false);
         this.entityType = entityType;
     }
 
@@ -75,7 +77,14 @@ public class Kind extends Category {
      * @param parentKind kind's parent kind
      */
     public void setParentKind(Kind parentKind) {
+        hierarchyModifying();
+        if (this.parentKind != null) {
+            this.parentKind.unobserve(this);
+        }
         this.parentKind = parentKind;
+        if (parentKind != null) {
+            parentKind.observe(this);
+        }
     }
 
     /**
@@ -105,7 +114,14 @@ public class Kind extends Category {
      * @return true if the relation was created successfully, false otherwise
      */
     public boolean addRelation(Kind kind) {
-        return related.add(kind);
+        if (related.contains(kind)) {
+            return false;
+        }
+
+        hierarchyModifying();
+        related.add(kind);
+        kind.observe(this);
+        return true;
     }
 
     /**
@@ -125,13 +141,25 @@ public class Kind extends Category {
      * @return true if the relation was removed successfully, false otherwise
      */
     public boolean removeRelation(Kind kind) {
-        return related.remove(kind);
+        Kind stored = kind == null ? null : related.get(kind.getIdentifier());
+        if (stored == null) {
+            return related.remove(kind);
+        }
+
+        hierarchyModifying();
+        related.remove(stored);
+        stored.unobserve(this);
+        return true;
     }
 
     /**
      * Remove all relations.
      */
     public void clearRelations() {
+        hierarchyModifying();
+        for (Kind kind : related.getSet()) {
+            kind.unobserve(this);
+        }
         related.clear();
     }
 
@@ -144,6 +172,19 @@ public class Kind extends Category {
         return related.getSet();
     }
 
+    /**
+     * Adds kind's entity type, parent kind and relations to the fingerprint.
+     *
+     * @param builder builder of the fingerprint
+     */
+    @Override
+    protected void addFingerprintContent(Fingerprint.Builder builder) {
+        super.addFingerprintContent(builder);
+        builder.add(entityType);
+        builder.add(parentKind == null ? null : parentKind.getIdentifier());
+        addIdentifiers(builder, related.getSortedList());
+    }
+
     /**
      * Resturns string representation of kind
      *
@@ -4,11 +4,15 @@ import com.sun.net.httpserver.Headers;
 import cz.cesnet.cloud.occi.Model;
 import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
 import cz.cesnet.cloud.occi.exception.RenderingException;
+import cz.cesnet.cloud.occi.renderer.JSONRenderer;
+import cz.cesnet.cloud.occi.renderer.RenderingCache;
 import cz.cesnet.cloud.occi.renderer.TextRenderer;
+import cz.cesnet.cloud.occi.type.Fingerprint;
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Class representing an OCCI Link.
@@ -22,6 +26,7 @@ public class Link extends Entity {
     public static final URI SCHEME_DEFAULT = Category.SCHEME_CORE_DEFAULT;
     public static final String TERM_DEFAULT = "link";
     public static final String KIND_IDENTIFIER_DEFAULT = SCHEME_DEFAULT + TERM_DEFAULT;
+    private static final Set<String> JSON_MEMBER_ATTRIBUTES = jsonMemberAttributes(SOURCE_ATTRIBUTE_NAME, TARGET_ATTRIBUTE_NAME);
     private String relation;
 
     /**
@@ -129,6 +134,18 @@ public class Link extends Entity {
      */
     public void setRelation(String relation) {
         this.relation = relation;
+        contentModified();
+    }
+
+    /**
+     * Adds link's relation to the fingerprint.
+     *
+     * @param builder builder of the fingerprint
+     */
+    @Override
+    protected void addFingerprintContent(Fingerprint.Builder builder) {
+        super.addFingerprintContent(builder);
+        builder.add(relation);
     }
 
     /**
@@ -164,23 +181,48 @@ public class Link extends Entity {
     @Override
     public String toText() {
         StringBuilder sb = new StringBuilder();
+        try {
+            writeText(sb);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render link.", ex);
+        }
 
-        sb.append(getKind().toText(false));
+        return sb.toString();
+    }
 
-        List<Mixin> mixinList = new ArrayList<>(getMixins());
-        Collections.sort(mixinList);
-        for (Mixin m : mixinList) {
-            sb.append("\n");
-            sb.append(m.toText(false));
-        }
+    /**
+     * Writes a plain text representation of link instance as described in OCCI
+     * standard into given output.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     */
+    @Override
+    public void writeText(Appendable out) throws IOException {
+        writeText(out, null);
+    }
 
-        String attributesString = attributesToPrefixText();
-        if (!attributesString.isEmpty()) {
-            sb.append("\n");
-            sb.append(attributesString);
+    /**
+     * Writes a plain text representation of link instance as described in OCCI
+     * standard into given output. Renderings of kinds and mixins are taken
+     * from the cache if one is given.
+     *
+     * @param out output to write to
+     * @param cache renderings shared with other entities, can be null
+     * @throws IOException if writing to the output fails
+     */
+    public void writeText(Appendable out, RenderingCache cache) throws IOException {
+        writeCategoryText(out, getKind(), cache);
+
+        for (Mixin m : getSortedMixins()) {
+            out.append('\n');
+            writeCategoryText(out, m, cache);
         }
 
-        return sb.toString();
+        if (!getAttributes().isEmpty()) {
+            out.append('\n');
+            writeAttributesPrefixText(out);
+        }
     }
 
     /**
@@ -191,19 +233,24 @@ public class Link extends Entity {
      */
     @Override
     public Headers toHeaders() {
+        return toHeaders(null);
+    }
+
+    /**
+     * Returns an occi text representation of link instance as described in OCCI
+     * standard in form of headers. Renderings of kinds and mixins are taken
+     * from the cache if one is given.
+     *
+     * @param cache renderings shared with other entities, can be null
+     * @return plain text representation of link instance
+     */
+    public Headers toHeaders(RenderingCache cache) {
         Headers headers = new Headers();
 
-        headers.putAll(getKind().toHeaders(false));
+        headers.add("Category", categoryHeaderValue(getKind(), cache));
 
-        List<Mixin> mixinList = new ArrayList<>(getMixins());
-        Collections.sort(mixinList);
-        for (Mixin m : mixinList) {
-            Headers mixinHeaders = m.toHeaders(false);
-            for (String name : mixinHeaders.keySet()) {
-                for (String value : mixinHeaders.get(name)) {
-                    headers.add(name, value);
-                }
-            }
+        for (Mixin m : getSortedMixins()) {
+            headers.add("Category", categoryHeaderValue(m, cache));
         }
 
         Headers attributeHeaders = attributesToHeaders();
@@ -222,12 +269,30 @@ public class Link extends Entity {
      * @throws RenderingException
      */
     public String toInlineText() throws RenderingException {
-        StringBuilder sb = new StringBuilder("Link: ");
-        sb.append(inlineTextBody());
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeInlineText(sb);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render link.", ex);
+        }
 
         return sb.toString();
     }
 
+    /**
+     * Writes an inline plain text representation of link instance as described
+     * in OCCI standard into given output.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     * @throws RenderingException
+     */
+    public void writeInlineText(Appendable out) throws IOException, RenderingException {
+        checkInlineRendering();
+        out.append("Link: ");
+        writeInlineTextBody(out);
+    }
+
     /**
      * Returns an inline occi text representation of link instance as described
      * in OCCI standard in form of headers.
@@ -244,45 +309,72 @@ public class Link extends Entity {
     }
 
     private String inlineTextBody() throws RenderingException {
-        StringBuilder sb = new StringBuilder("");
+        checkInlineRendering();
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeInlineTextBody(sb);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render link.", ex);
+        }
+
+        return sb.toString();
+    }
+
+    private void checkInlineRendering() throws RenderingException {
         if (getTarget() == null || getTarget().isEmpty()) {
             throw new RenderingException("Link " + this + " is missing a target attribute.");
         }
-        sb.append(TextRenderer.surroundString(getTarget(), "<", ">;"));
-
         if (relation == null || relation.isEmpty()) {
             throw new RenderingException("Link " + this + " is missing a relation.");
         }
-        sb.append("rel");
-        sb.append(TextRenderer.surroundString(relation));
+    }
+
+    private void writeInlineTextBody(Appendable out) throws IOException {
+        out.append('<').append(getTarget()).append(">;");
+        TextRenderer.appendQuoted(out, "rel", relation);
 
-        if (getKind().getLocation() != null && getId() != null && !getId().isEmpty()) {
-            sb.append("self");
-            sb.append(TextRenderer.surroundString(getKind().getLocation().toString() + getId()));
+        String id = getId();
+        if (getKind().getLocation() != null && id != null && !id.isEmpty()) {
+            TextRenderer.appendQuoted(out, "self", getKind().getLocation().toString() + id);
         }
 
-        sb.append("category");
-        sb.append("=\"");
-        sb.append(getKind().getIdentifier());
+        out.append("category=\"");
+        out.append(getKind().getIdentifier());
         for (Mixin mixin : getMixins()) {
-            sb.append(" ");
-            sb.append(mixin.getIdentifier());
+            out.append(' ');
+            out.append(mixin.getIdentifier());
         }
-        sb.append("\";");
-
-        sb.append(attributesToOneLineText());
+        out.append("\";");
 
-        return sb.toString();
+        writeAttributesOneLineText(out);
     }
 
     /**
-     * Returns a JSON representation of link instance as described in OCCI
-     * standard. NOT IMPLEMENTED YET!
+     * Writes a JSON representation of link instance as described in OCCI
+     * standard into given renderer. Link's relation is written as the kind of
+     * its target.
      *
-     * @return JSON representation of link instance
+     * @param out renderer to write to
+     * @throws IOException if writing to the output fails
      */
     @Override
-    public String toJSON() {
-        throw new UnsupportedOperationException("Not supported yet.");
+    public void writeJSON(JSONRenderer out) throws IOException {
+        out.beginObject();
+        writeJSONMembers(out, JSON_MEMBER_ATTRIBUTES);
+
+        String source = getSource();
+        if (source != null) {
+            out.name("source").beginObject().name("location").value(source).endObject();
+        }
+
+        String target = getTarget();
+        if (target != null) {
+            out.name("target").beginObject().name("location").value(target);
+            if (relation != null) {
+                out.name("kind").value(relation);
+            }
+            out.endObject();
+        }
+        out.endObject();
     }
 }
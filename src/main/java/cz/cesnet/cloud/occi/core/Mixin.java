@@ -1,8 +1,10 @@
 package cz.cesnet.cloud.occi.core;
 
 import cz.cesnet.cloud.occi.collection.SetCover;
+import cz.cesnet.cloud.occi.type.Fingerprint;
 import java.net.URI;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -65,7 +67,14 @@ public class Mixin extends Category {
      * @return true if the relation was created successfully, false otherwise
      */
     public boolean addRelation(Mixin mixin) {
-        return related.add(mixin);
+        if (related.contains(mixin)) {
+            return false;
+        }
+
+        hierarchyModifying();
+        related.add(mixin);
+        mixin.observe(this);
+        return true;
     }
 
     /**
@@ -85,13 +94,25 @@ public class Mixin extends Category {
      * @return true if the relation was removed successfully, false otherwise
      */
     public boolean removeRelation(Mixin mixin) {
-        return related.remove(mixin);
+        Mixin stored = mixin == null ? null : related.get(mixin.getIdentifier());
+        if (stored == null) {
+            return related.remove(mixin);
+        }
+
+        hierarchyModifying();
+        related.remove(stored);
+        stored.unobserve(this);
+        return true;
     }
 
     /**
      * Remove all relations.
      */
     public void clearRelations() {
+        hierarchyModifying();
+        for (Mixin mixin : related.getSet()) {
+            mixin.unobserve(this);
+        }
         related.clear();
     }
 
@@ -103,4 +124,24 @@ public class Mixin extends Category {
     public Set<Mixin> getRelations() {
         return related.getSet();
     }
+
+    /**
+     * Returns all related mixins sorted by their identifiers.
+     *
+     * @return unmodifiable sorted list of related mixins
+     */
+    List<Mixin> getSortedRelations() {
+        return related.getSortedList();
+    }
+
+    /**
+     * Adds mixin's relations to the fingerprint.
+     *
+     * @param builder builder of the fingerprint
+     */
+    @Override
+    protected void addFingerprintContent(Fingerprint.Builder builder) {
+        super.addFingerprintContent(builder);
+        addIdentifiers(builder, related.getSortedList());
+    }
 }
@@ -0,0 +1,85 @@
+package cz.cesnet.cloud.occi.core;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Weakly referenced observers of a category or an attribute. Observers are
+ * not kept alive by the observed object, so e.g. a model can be garbage
+ * collected while its categories are still in use. An observer can be added
+ * more than once and is removed after it was removed the same number of times.
+ * Observers can be added and removed concurrently, as categories are shared by
+ * models used from different threads.
+ */
+final class Observers {
+
+    private static final Object[] NONE = new Object[0];
+    private List<WeakReference<Object>> references;
+
+    /**
+     * Adds observer.
+     *
+     * @param observer observer to add
+     */
+    synchronized void add(Object observer) {
+        if (references == null) {
+            references = new ArrayList<>(1);
+        }
+
+        references.add(new WeakReference<>(observer));
+    }
+
+    /**
+     * Removes one occurrence of the observer.
+     *
+     * @param observer observer to remove
+     */
+    synchronized void remove(Object observer) {
+        if (references == null) {
+            return;
+        }
+
+        Iterator<WeakReference<Object>> iterator = references.iterator();
+        while (iterator.hasNext()) {
+            Object referent = iterator.next().get();
+            if (referent == null) {
+                iterator.remove();
+            } else if (referent == observer) {
+                iterator.remove();
+                break;
+            }
+        }
+        if (references.isEmpty()) {
+            references = null;
+        }
+    }
+
+    /**
+     * Returns observers which were not garbage collected yet.
+     *
+     * @return array of observers
+     */
+    synchronized Object[] get() {
+        if (references == null) {
+            return NONE;
+        }
+
+        List<Object> observers = new ArrayList<>(references.size());
+        Iterator<WeakReference<Object>> iterator = references.iterator();
+        while (iterator.hasNext()) {
+            Object referent = iterator.next().get();
+            if (referent == null) {
+                iterator.remove();
+            } else {
+                observers.add(referent);
+            }
+        }
+        if (references.isEmpty()) {
+            references = null;
+        }
+
+        return observers.toArray();
+    }
+}
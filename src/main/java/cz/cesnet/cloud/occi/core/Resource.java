@@ -5,10 +5,13 @@ import cz.cesnet.cloud.occi.Model;
 import cz.cesnet.cloud.occi.collection.SetCover;
 import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
 import cz.cesnet.cloud.occi.exception.RenderingException;
+import cz.cesnet.cloud.occi.renderer.JSONRenderer;
+import cz.cesnet.cloud.occi.renderer.RenderingCache;
+import cz.cesnet.cloud.occi.type.Fingerprint;
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -26,6 +29,7 @@ public class Resource extends Entity {
     public static final String TERM_DEFAULT = "resource";
     public static final String KIND_IDENTIFIER_DEFAULT = SCHEME_DEFAULT + TERM_DEFAULT;
     private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(Resource.class);
+    private static final Set<String> JSON_MEMBER_ATTRIBUTES = jsonMemberAttributes(SUMMARY_ATTRIBUTE_NAME);
     private final SetCover<Link> links = new SetCover<>();
     private final SetCover<Action> actions = new SetCover<>();
 
@@ -134,6 +138,7 @@ public class Resource extends Entity {
                 LOGGER.error("This should not be happening!");
             }
         }
+        contentModified();
         return links.add(link);
     }
 
@@ -154,6 +159,7 @@ public class Resource extends Entity {
                 }
             }
         }
+        contentModified();
         return this.links.addAll(links);
     }
 
@@ -199,6 +205,7 @@ public class Resource extends Entity {
      * @return true if the removal was successful, false otherwise
      */
     public boolean removeLink(Link link) {
+        contentModified();
         return links.remove(link);
     }
 
@@ -207,6 +214,7 @@ public class Resource extends Entity {
      */
     public void clearLinks() {
         links.clear();
+        contentModified();
     }
 
     /**
@@ -245,6 +253,7 @@ public class Resource extends Entity {
      * @return true if addition was successful, false otherwise
      */
     public boolean addAction(Action action) {
+        contentModified();
         return actions.add(action);
     }
 
@@ -255,6 +264,7 @@ public class Resource extends Entity {
      * @return true if addition was successful, false otherwise
      */
     public boolean addActions(Collection<Action> actions) {
+        contentModified();
         return this.actions.addAll(actions);
     }
 
@@ -275,6 +285,7 @@ public class Resource extends Entity {
      * @return true if the removal was successful, false otherwise
      */
     public boolean removeAction(Action action) {
+        contentModified();
         return actions.remove(action);
     }
 
@@ -283,6 +294,7 @@ public class Resource extends Entity {
      */
     public void clearActions() {
         actions.clear();
+        contentModified();
     }
 
     /**
@@ -327,6 +339,38 @@ public class Resource extends Entity {
         return kind;
     }
 
+    /**
+     * Returns fingerprint of resource's content including its actions and
+     * the content of its links. Links are not a part of the cached
+     * fingerprint of the resource since they can be modified on their own.
+     *
+     * @return fingerprint of the resource
+     */
+    @Override
+    public Fingerprint getFingerprint() {
+        Fingerprint fingerprint = super.getFingerprint();
+        if (links.size() == 0) {
+            return fingerprint;
+        }
+
+        Fingerprint linksFingerprint = Fingerprint.ZERO;
+        for (Link link : links.getSet()) {
+            linksFingerprint = linksFingerprint.plus(link.getFingerprint());
+        }
+        return new Fingerprint.Builder().add(fingerprint).add(linksFingerprint).build();
+    }
+
+    /**
+     * Adds identifiers of resource's actions to the fingerprint.
+     *
+     * @param builder builder of the fingerprint
+     */
+    @Override
+    protected void addFingerprintContent(Fingerprint.Builder builder) {
+        super.addFingerprintContent(builder);
+        Category.addIdentifiers(builder, actions.getSortedList());
+    }
+
     /**
      * Resturns string representation of resource
      *
@@ -348,37 +392,72 @@ public class Resource extends Entity {
     @Override
     public String toText() throws RenderingException {
         StringBuilder sb = new StringBuilder();
+        try {
+            writeText(sb);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render resource.", ex);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Writes a plain text representation of resource instance as described in
+     * OCCI standard into given output.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output fails
+     * @throws RenderingException
+     */
+    @Override
+    public void writeText(Appendable out) throws IOException, RenderingException {
+        writeText(out, null);
+    }
+
+    /**
+     * Writes a plain text representation of resource instance as described in
+     * OCCI standard into given output. Renderings of kinds, mixins and
+     * locations are taken from the cache if one is given.
+     *
+     * @param out output to write to
+     * @param cache renderings shared with other entities, can be null
+     * @throws IOException if writing to the output fails
+     * @throws RenderingException
+     */
+    public void writeText(Appendable out, RenderingCache cache) throws IOException, RenderingException {
+        writeCategoryText(out, getKind(), cache);
 
-        sb.append(getKind().toText(false));
+        for (Mixin m : getSortedMixins()) {
+            out.append('\n');
+            writeCategoryText(out, m, cache);
+        }
 
-        List<Mixin> mixinList = new ArrayList<>(getMixins());
-        Collections.sort(mixinList);
-        for (Mixin m : mixinList) {
-            sb.append("\n");
-            sb.append(m.toText(false));
+        if (!getAttributes().isEmpty()) {
+            out.append('\n');
+            writeAttributesPrefixText(out);
         }
 
-        String attributesString = attributesToPrefixText();
-        if (!attributesString.isEmpty()) {
-            sb.append("\n");
-            sb.append(attributesString);
+        for (Link l : links.getSortedList()) {
+            out.append('\n');
+            l.writeInlineText(out);
         }
 
-        List<Link> linkList = new ArrayList<>(getLinks());
-        Collections.sort(linkList);
-        for (Link l : linkList) {
-            sb.append("\n");
-            sb.append(l.toInlineText());
+        List<Action> actionList = actions.getSortedList();
+        if (!actionList.isEmpty()) {
+            String resourceLocation = location(cache) + getId();
+            for (Action a : actionList) {
+                out.append('\n');
+                a.writeText(out, resourceLocation);
+            }
         }
+    }
 
-        List<Action> actionList = new ArrayList<>(getActions());
-        Collections.sort(actionList);
-        for (Action a : actionList) {
-            sb.append("\n");
-            sb.append(a.toText(getKind().getLocation().toString() + getId()));
+    private String location(RenderingCache cache) {
+        if (cache == null) {
+            return getKind().getLocation().toString();
         }
 
-        return sb.toString();
+        return cache.getLocation(getKind());
     }
 
     /**
@@ -390,19 +469,25 @@ public class Resource extends Entity {
      */
     @Override
     public Headers toHeaders() throws RenderingException {
+        return toHeaders(null);
+    }
+
+    /**
+     * Returns a occi text representation of resource instance as described in
+     * OCCI standard in form of headers. Renderings of kinds, mixins and
+     * locations are taken from the cache if one is given.
+     *
+     * @param cache renderings shared with other entities, can be null
+     * @return plain text representation of resource instance
+     * @throws RenderingException
+     */
+    public Headers toHeaders(RenderingCache cache) throws RenderingException {
         Headers headers = new Headers();
 
-        headers.putAll(getKind().toHeaders(false));
+        headers.add("Category", categoryHeaderValue(getKind(), cache));
 
-        List<Mixin> mixinList = new ArrayList<>(getMixins());
-        Collections.sort(mixinList);
-        for (Mixin m : mixinList) {
-            Headers mixinHeaders = m.toHeaders(false);
-            for (String name : mixinHeaders.keySet()) {
-                for (String value : mixinHeaders.get(name)) {
-                    headers.add(name, value);
-                }
-            }
+        for (Mixin m : getSortedMixins()) {
+            headers.add("Category", categoryHeaderValue(m, cache));
         }
 
         Headers attributeHeaders = attributesToHeaders();
@@ -410,9 +495,7 @@ public class Resource extends Entity {
             headers.putAll(attributeHeaders);
         }
 
-        List<Link> linkList = new ArrayList<>(getLinks());
-        Collections.sort(linkList);
-        for (Link l : linkList) {
+        for (Link l : links.getSortedList()) {
             Headers linkHeaders = l.toInlineHeaders();
             for (String name : linkHeaders.keySet()) {
                 for (String value : linkHeaders.get(name)) {
@@ -421,13 +504,15 @@ public class Resource extends Entity {
             }
         }
 
-        List<Action> actionList = new ArrayList<>(getActions());
-        Collections.sort(actionList);
-        for (Action a : actionList) {
-            Headers actionHeaders = a.toHeaders(getKind().getLocation().toString() + getId());
-            for (String name : actionHeaders.keySet()) {
-                for (String value : actionHeaders.get(name)) {
-                    headers.add(name, value);
+        List<Action> actionList = actions.getSortedList();
+        if (!actionList.isEmpty()) {
+            String resourceLocation = location(cache) + getId();
+            for (Action a : actionList) {
+                Headers actionHeaders = a.toHeaders(resourceLocation);
+                for (String name : actionHeaders.keySet()) {
+                    for (String value : actionHeaders.get(name)) {
+                        headers.add(name, value);
+                    }
                 }
             }
         }
@@ -436,13 +521,39 @@ public class Resource extends Entity {
     }
 
     /**
-     * Returns a JSON representation of resource instance as described in OCCI
-     * standard. NOT IMPLEMENTED YET!
+     * Writes a JSON representation of resource instance as described in OCCI
+     * standard into given renderer. Links are rendered inline.
      *
-     * @return JSON representation of resource instance
+     * @param out renderer to write to
+     * @throws IOException if writing to the output fails
      */
     @Override
-    public String toJSON() {
-        throw new UnsupportedOperationException("Not supported yet.");
+    public void writeJSON(JSONRenderer out) throws IOException {
+        out.beginObject();
+        writeJSONMembers(out, JSON_MEMBER_ATTRIBUTES);
+
+        String summary = getSummary();
+        if (summary != null) {
+            out.name("summary").value(summary);
+        }
+
+        List<Action> actionList = actions.getSortedList();
+        if (!actionList.isEmpty()) {
+            out.name("actions").beginArray();
+            for (Action a : actionList) {
+                out.identifier(a);
+            }
+            out.endArray();
+        }
+
+        List<Link> linkList = links.getSortedList();
+        if (!linkList.isEmpty()) {
+            out.name("links").beginArray();
+            for (Link l : linkList) {
+                l.writeJSON(out);
+            }
+            out.endArray();
+        }
+        out.endObject();
     }
 }
@@ -2,6 +2,7 @@ package cz.cesnet.cloud.occi.infrastructure;
 
 import cz.cesnet.cloud.occi.Model;
 import cz.cesnet.cloud.occi.core.Attribute;
+import cz.cesnet.cloud.occi.core.AttributeValue;
 import cz.cesnet.cloud.occi.core.Category;
 import cz.cesnet.cloud.occi.core.Kind;
 import cz.cesnet.cloud.occi.core.Resource;
@@ -64,6 +65,15 @@ public class Compute extends Resource {
         return getValue(STATE_ATTRIBUTE_NAME);
     }
 
+    /**
+     * Returns compute's state as an enumeration constant.
+     *
+     * @return compute's state or null if it is not set
+     */
+    public ComputeState getStateAsEnum() {
+        return getEnumValue(STATE_ATTRIBUTE_NAME, ComputeState.class);
+    }
+
     /**
      * Sets compute's state.
      *
@@ -74,7 +84,7 @@ public class Compute extends Resource {
         if (state == null) {
             throw new NullPointerException("state cannot be null");
         }
-        addAttribute(STATE_ATTRIBUTE_NAME, state.toString());
+        addAttributeValue(STATE_ATTRIBUTE_NAME, AttributeValue.of(state));
     }
 
     /**
@@ -96,6 +106,16 @@ public class Compute extends Resource {
         return getValue(MEMORY_ATTRIBUTE_NAME);
     }
 
+    /**
+     * Returns compute's memory as float.
+     *
+     * @param defaultValue value returned if compute's memory is not set
+     * @return compute's memory
+     */
+    public float getMemoryAsFloat(float defaultValue) {
+        return getFloatValue(MEMORY_ATTRIBUTE_NAME, defaultValue);
+    }
+
     /**
      * Sets compute's memory.
      *
@@ -103,7 +123,7 @@ public class Compute extends Resource {
      * @throws InvalidAttributeValueException in case value of memory is invalid
      */
     public void setMemory(float memory) throws InvalidAttributeValueException {
-        addAttribute(MEMORY_ATTRIBUTE_NAME, String.valueOf(memory));
+        addAttribute(MEMORY_ATTRIBUTE_NAME, memory);
     }
 
     /**
@@ -125,6 +145,16 @@ public class Compute extends Resource {
         return getValue(SPEED_ATTRIBUTE_NAME);
     }
 
+    /**
+     * Returns compute's speed as float.
+     *
+     * @param defaultValue value returned if compute's speed is not set
+     * @return compute's speed
+     */
+    public float getSpeedAsFloat(float defaultValue) {
+        return getFloatValue(SPEED_ATTRIBUTE_NAME, defaultValue);
+    }
+
     /**
      * Sets compute's speed.
      *
@@ -132,7 +162,7 @@ public class Compute extends Resource {
      * @throws InvalidAttributeValueException in case value of speed is invalid
      */
     public void setSpeed(float speed) throws InvalidAttributeValueException {
-        addAttribute(SPEED_ATTRIBUTE_NAME, String.valueOf(speed));
+        addAttribute(SPEED_ATTRIBUTE_NAME, speed);
     }
 
     /**
@@ -174,6 +204,16 @@ public class Compute extends Resource {
         return getValue(CORES_ATTRIBUTE_NAME);
     }
 
+    /**
+     * Returns number of compute's cores as int.
+     *
+     * @param defaultValue value returned if number of compute's cores is not set
+     * @return number of compute's cores
+     */
+    public int getCoresAsInt(int defaultValue) {
+        return getIntValue(CORES_ATTRIBUTE_NAME, defaultValue);
+    }
+
     /**
      * Sets number of compute's cores.
      *
@@ -181,7 +221,7 @@ public class Compute extends Resource {
      * @throws InvalidAttributeValueException in case value of cores is invalid
      */
     public void setCores(int cores) throws InvalidAttributeValueException {
-        addAttribute(CORES_ATTRIBUTE_NAME, String.valueOf(cores));
+        addAttribute(CORES_ATTRIBUTE_NAME, cores);
     }
 
     /**
@@ -203,6 +243,15 @@ public class Compute extends Resource {
         return getValue(ARCHITECTURE_ATTRIBUTE_NAME);
     }
 
+    /**
+     * Returns compute's architecture as an enumeration constant.
+     *
+     * @return compute's architecture or null if it is not set
+     */
+    public Architecture getArchitectureAsEnum() {
+        return getEnumValue(ARCHITECTURE_ATTRIBUTE_NAME, Architecture.class);
+    }
+
     /**
      * Sets compute's architecture
      *
@@ -214,7 +263,7 @@ public class Compute extends Resource {
         if (architecture == null) {
             throw new NullPointerException("architecture cannot be null");
         }
-        addAttribute(ARCHITECTURE_ATTRIBUTE_NAME, architecture.toString());
+        addAttributeValue(ARCHITECTURE_ATTRIBUTE_NAME, AttributeValue.of(architecture));
     }
 
     /**
@@ -2,6 +2,7 @@ package cz.cesnet.cloud.occi.infrastructure;
 
 import cz.cesnet.cloud.occi.Model;
 import cz.cesnet.cloud.occi.core.Attribute;
+import cz.cesnet.cloud.occi.core.AttributeValue;
 import cz.cesnet.cloud.occi.core.Kind;
 import cz.cesnet.cloud.occi.core.Mixin;
 import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
@@ -99,6 +100,15 @@ public class IPNetwork extends Network {
         return getValue(ALLOCATION_ATTRIBUTE_NAME);
     }
 
+    /**
+     * Returns network's allocation as an enumeration constant.
+     *
+     * @return network's allocation or null if it is not set
+     */
+    public Allocation getAllocationAsEnum() {
+        return getEnumValue(ALLOCATION_ATTRIBUTE_NAME, Allocation.class);
+    }
+
     /**
      * Sets ipnetwork's allocation.
      *
@@ -110,7 +120,7 @@ public class IPNetwork extends Network {
         if (allocation == null) {
             throw new NullPointerException("allocation cannot be null");
         }
-        addAttribute(ALLOCATION_ATTRIBUTE_NAME, allocation.toString());
+        addAttributeValue(ALLOCATION_ATTRIBUTE_NAME, AttributeValue.of(allocation));
     }
 
     /**
@@ -2,6 +2,7 @@ package cz.cesnet.cloud.occi.infrastructure;
 
 import cz.cesnet.cloud.occi.Model;
 import cz.cesnet.cloud.occi.core.Attribute;
+import cz.cesnet.cloud.occi.core.AttributeValue;
 import cz.cesnet.cloud.occi.core.Category;
 import cz.cesnet.cloud.occi.core.Kind;
 import cz.cesnet.cloud.occi.core.Resource;
@@ -60,6 +61,16 @@ public class Network extends Resource {
         return getValue(VLAN_ATTRIBUTE_NAME);
     }
 
+    /**
+     * Returns network's vlan as int.
+     *
+     * @param defaultValue value returned if network's vlan is not set
+     * @return network's vlan
+     */
+    public int getVlanAsInt(int defaultValue) {
+        return getIntValue(VLAN_ATTRIBUTE_NAME, defaultValue);
+    }
+
     /**
      * Sets network's vlan number.
      *
@@ -67,7 +78,7 @@ public class Network extends Resource {
      * @throws InvalidAttributeValueException in case value for vlan is invalid
      */
     public void setVlan(int vlan) throws InvalidAttributeValueException {
-        addAttribute(VLAN_ATTRIBUTE_NAME, String.valueOf(vlan));
+        addAttribute(VLAN_ATTRIBUTE_NAME, vlan);
     }
 
     /**
@@ -108,6 +119,15 @@ public class Network extends Resource {
         return getValue(STATE_ATTRIBUTE_NAME);
     }
 
+    /**
+     * Returns network's state as an enumeration constant.
+     *
+     * @return network's state or null if it is not set
+     */
+    public NetworkState getStateAsEnum() {
+        return getEnumValue(STATE_ATTRIBUTE_NAME, NetworkState.class);
+    }
+
     /**
      * Sets network's state.
      *
@@ -118,7 +138,7 @@ public class Network extends Resource {
         if (state == null) {
             throw new NullPointerException("state cannot be null");
         }
-        addAttribute(STATE_ATTRIBUTE_NAME, state.toString());
+        addAttributeValue(STATE_ATTRIBUTE_NAME, AttributeValue.of(state));
     }
 
     /**
@@ -2,6 +2,7 @@ package cz.cesnet.cloud.occi.infrastructure;
 
 import cz.cesnet.cloud.occi.Model;
 import cz.cesnet.cloud.occi.core.Attribute;
+import cz.cesnet.cloud.occi.core.AttributeValue;
 import cz.cesnet.cloud.occi.core.Category;
 import cz.cesnet.cloud.occi.core.Kind;
 import cz.cesnet.cloud.occi.core.Resource;
@@ -59,6 +60,16 @@ public class Storage extends Resource {
         return getValue(SIZE_ATTRIBUTE_NAME);
     }
 
+    /**
+     * Returns storage's size as float.
+     *
+     * @param defaultValue value returned if storage's size is not set
+     * @return storage's size
+     */
+    public float getSizeAsFloat(float defaultValue) {
+        return getFloatValue(SIZE_ATTRIBUTE_NAME, defaultValue);
+    }
+
     /**
      * Sets storage's size.
      *
@@ -66,7 +77,7 @@ public class Storage extends Resource {
      * @throws InvalidAttributeValueException in case value for size is invalid
      */
     public void setSize(float size) throws InvalidAttributeValueException {
-        addAttribute(SIZE_ATTRIBUTE_NAME, String.valueOf(size));
+        addAttribute(SIZE_ATTRIBUTE_NAME, size);
     }
 
     /**
@@ -88,6 +99,15 @@ public class Storage extends Resource {
         return getValue(STATE_ATTRIBUTE_NAME);
     }
 
+    /**
+     * Returns storage's state as an enumeration constant.
+     *
+     * @return storage's state or null if it is not set
+     */
+    public StorageState getStateAsEnum() {
+        return getEnumValue(STATE_ATTRIBUTE_NAME, StorageState.class);
+    }
+
     /**
      * Sets storage's state.
      *
@@ -98,7 +118,7 @@ public class Storage extends Resource {
         if (state == null) {
             throw new NullPointerException("state cannot be null");
         }
-        addAttribute(STATE_ATTRIBUTE_NAME, state.toString());
+        addAttributeValue(STATE_ATTRIBUTE_NAME, AttributeValue.of(state));
     }
 
     /**
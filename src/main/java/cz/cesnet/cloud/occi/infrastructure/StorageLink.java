@@ -2,6 +2,7 @@ package cz.cesnet.cloud.occi.infrastructure;
 
 import cz.cesnet.cloud.occi.Model;
 import cz.cesnet.cloud.occi.core.Attribute;
+import cz.cesnet.cloud.occi.core.AttributeValue;
 import cz.cesnet.cloud.occi.core.Category;
 import cz.cesnet.cloud.occi.core.Kind;
 import cz.cesnet.cloud.occi.core.Link;
@@ -100,6 +101,15 @@ public class StorageLink extends Link {
         return getValue(STATE_ATTRIBUTE_NAME);
     }
 
+    /**
+     * Returns storage link's state as an enumeration constant.
+     *
+     * @return storage link's state or null if it is not set
+     */
+    public StorageLinkState getStateAsEnum() {
+        return getEnumValue(STATE_ATTRIBUTE_NAME, StorageLinkState.class);
+    }
+
     /**
      * Sets storage link's state.
      *
@@ -110,7 +120,7 @@ public class StorageLink extends Link {
         if (state == null) {
             throw new NullPointerException("state cannot be null");
         }
-        addAttribute(STATE_ATTRIBUTE_NAME, state.toString());
+        addAttributeValue(STATE_ATTRIBUTE_NAME, AttributeValue.of(state));
     }
 
     /**
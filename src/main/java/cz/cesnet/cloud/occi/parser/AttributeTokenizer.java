@@ -0,0 +1,222 @@
+package cz.cesnet.cloud.occi.parser;
+
+import java.util.Map;
+
+/**
+ * Hand-written single-pass recognizer for attribute renderings
+ * (name=value) as used in 'X-OCCI-Attribute' headers, text/plain bodies and
+ * link renderings. Serves as a fast alternative to
+ * {@link TextParser#REGEXP_ATTRIBUTE_REPR} which also decodes the value.
+ *
+ * Value can be a quoted string, a number or a boolean. Quoted strings can
+ * contain characters escaped with a backslash, escapes are removed from the
+ * decoded value.
+ */
+public class AttributeTokenizer {
+
+    /**
+     * Recognizes a single attribute rendering optionally followed by a
+     * semicolon and stores attribute's name and decoded value.
+     *
+     * @param line line with attribute rendering
+     * @param attributes map the attribute's name and value are stored into
+     * @return true if the whole line is an attribute rendering, false otherwise
+     * (attributes are left untouched in that case)
+     */
+    public static boolean tokenize(String line, Map<String, String> attributes) {
+        Cursor cursor = new Cursor(line);
+        if (!cursor.next()) {
+            return false;
+        }
+        if (cursor.position < line.length() && line.charAt(cursor.position) == ';') {
+            cursor.position++;
+        }
+        if (cursor.position != line.length()) {
+            return false;
+        }
+
+        attributes.put(cursor.name, cursor.value);
+        return true;
+    }
+
+    /**
+     * Recognizes a list of attribute renderings separated by semicolons and
+     * optional whitespace and stores their names and decoded values.
+     *
+     * @param list list of attribute renderings
+     * @param attributes map the attributes' names and values are stored into
+     * @return true if the whole list consists of attribute renderings, false
+     * otherwise (attributes preceding the invalid one are stored anyway)
+     */
+    public static boolean tokenizeList(String list, Map<String, String> attributes) {
+        int length = list.length();
+        Cursor cursor = new Cursor(list);
+        cursor.position = skipSeparator(list, 0);
+        while (cursor.position < length) {
+            if (!cursor.next()) {
+                return false;
+            }
+            attributes.put(cursor.name, cursor.value);
+
+            if (cursor.position < length && !isSeparator(list.charAt(cursor.position))) {
+                return false;
+            }
+            cursor.position = skipSeparator(list, cursor.position);
+        }
+
+        return true;
+    }
+
+    private static int skipSeparator(String string, int position) {
+        while (position < string.length() && isSeparator(string.charAt(position))) {
+            position++;
+        }
+
+        return position;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ';' || Character.isWhitespace(c);
+    }
+
+    /**
+     * Position within the tokenized string together with the last recognized
+     * attribute.
+     */
+    private static class Cursor {
+
+        private final String string;
+        private int position;
+        private String name;
+        private String value;
+
+        private Cursor(String string) {
+            this.string = string;
+        }
+
+        /**
+         * Recognizes attribute rendering starting at the current position and
+         * moves the position right after it.
+         */
+        private boolean next() {
+            int nameEnd = skipName(position);
+            if (nameEnd < 0 || nameEnd >= string.length() || string.charAt(nameEnd) != '=') {
+                return false;
+            }
+            name = string.substring(position, nameEnd);
+
+            int valueStart = nameEnd + 1;
+            if (valueStart < string.length() && string.charAt(valueStart) == '"') {
+                return nextQuoted(valueStart + 1);
+            }
+
+            int valueEnd = skipNumber(valueStart);
+            if (valueEnd < 0) {
+                valueEnd = skipBoolean(valueStart);
+            }
+            if (valueEnd < 0) {
+                return false;
+            }
+
+            value = string.substring(valueStart, valueEnd);
+            position = valueEnd;
+            return true;
+        }
+
+        private boolean nextQuoted(int valueStart) {
+            StringBuilder buffer = null;
+            int chunkStart = valueStart;
+            for (int i = valueStart; i < string.length(); i++) {
+                char c = string.charAt(i);
+                if (c == '"') {
+                    if (buffer == null) {
+                        value = string.substring(valueStart, i);
+                    } else {
+                        value = buffer.append(string, chunkStart, i).toString();
+                    }
+                    position = i + 1;
+                    return true;
+                }
+                if (c == '\\') {
+                    if (i + 1 >= string.length()) {
+                        return false;
+                    }
+                    if (buffer == null) {
+                        buffer = new StringBuilder();
+                    }
+                    buffer.append(string, chunkStart, i);
+                    i++;
+                    chunkStart = i;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Name consists of components separated by dots, each component starts
+         * with a lowercase letter followed by lowercase letters, digits, '-'
+         * and '_'.
+         */
+        private int skipName(int start) {
+            int i = start;
+            while (true) {
+                if (i >= string.length() || !isLowerAlpha(string.charAt(i))) {
+                    return -1;
+                }
+                i++;
+                while (i < string.length() && isComponentChar(string.charAt(i))) {
+                    i++;
+                }
+                if (i >= string.length() || string.charAt(i) != '.') {
+                    return i;
+                }
+                i++;
+            }
+        }
+
+        private int skipNumber(int start) {
+            int i = skipDigits(start);
+            if (i == start) {
+                return -1;
+            }
+            if (i < string.length() && string.charAt(i) == '.') {
+                int fraction = skipDigits(i + 1);
+                if (fraction == i + 1) {
+                    return -1;
+                }
+                i = fraction;
+            }
+
+            return i;
+        }
+
+        private int skipDigits(int start) {
+            int i = start;
+            while (i < string.length() && string.charAt(i) >= '0' && string.charAt(i) <= '9') {
+                i++;
+            }
+
+            return i;
+        }
+
+        private int skipBoolean(int start) {
+            if (string.startsWith("true", start)) {
+                return start + 4;
+            }
+            if (string.startsWith("false", start)) {
+                return start + 5;
+            }
+
+            return -1;
+        }
+
+        private static boolean isLowerAlpha(char c) {
+            return c >= 'a' && c <= 'z';
+        }
+
+        private static boolean isComponentChar(char c) {
+            return isLowerAlpha(c) || (c >= '0' && c <= '9') || c == '-' || c == '_';
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package cz.cesnet.cloud.occi.parser;
+
+/**
+ * Hand-written single-pass tokenizer for category renderings as used in
+ * 'Category' headers and in text/plain bodies. Serves as a fast alternative to
+ * {@link TextParser#PATTERN_CATEGORY}.
+ *
+ * Parameters following the term can appear in any order, unknown parameters
+ * are ignored. Scheme, class, relations and location are validated, other
+ * parameters are taken as they are.
+ */
+public class CategoryTokenizer {
+
+    private static final String CATEGORY_PREFIX = "category:";
+
+    /**
+     * Tokenizes a single category rendering. Optional 'Category:' prefix is
+     * skipped.
+     *
+     * @param line line with category rendering
+     * @return category tokens or null if line doesn't contain a valid category
+     */
+    public static CategoryTokens tokenize(String line) {
+        int length = line.length();
+        int position = skipWhitespace(line, 0);
+        if (line.regionMatches(true, position, CATEGORY_PREFIX, 0, CATEGORY_PREFIX.length())) {
+            position = skipWhitespace(line, position + CATEGORY_PREFIX.length());
+        }
+
+        int termEnd = line.indexOf(';', position);
+        if (termEnd < 0 || !isTerm(line, position, termEnd)) {
+            return null;
+        }
+
+        CategoryTokens tokens = new CategoryTokens();
+        tokens.setTerm(line.substring(position, termEnd));
+        position = termEnd;
+
+        StringBuilder buffer = null;
+        while (position < length) {
+            //parameter separator
+            if (line.charAt(position) != ';') {
+                return null;
+            }
+            position = skipWhitespace(line, position + 1);
+            if (position >= length) {
+                break;
+            }
+
+            //parameter name
+            int nameStart = position;
+            while (position < length && isNameChar(line.charAt(position))) {
+                position++;
+            }
+            if (position == nameStart || position >= length || line.charAt(position) != '=') {
+                return null;
+            }
+            String name = line.substring(nameStart, position);
+            position++;
+
+            //parameter value
+            String value;
+            if (position < length && line.charAt(position) == '"') {
+                position++;
+                int valueStart = position;
+                boolean escaped = false;
+                while (position < length && line.charAt(position) != '"') {
+                    if (line.charAt(position) == '\\') {
+                        escaped = true;
+                        position++;
+                    }
+                    position++;
+                }
+                if (position >= length) {
+                    return null;
+                }
+
+                //only free text title can contain escaped characters, other parameters are validated as they are
+                if (escaped && name.equals(TextParser.GROUP_TITLE)) {
+                    if (buffer == null) {
+                        buffer = new StringBuilder();
+                    }
+                    value = unescape(line, valueStart, position, buffer);
+                } else {
+                    value = line.substring(valueStart, position);
+                }
+                position++;
+            } else {
+                int valueStart = position;
+                while (position < length && line.charAt(position) != ';') {
+                    position++;
+                }
+                value = line.substring(valueStart, position).trim();
+            }
+
+            tokens.set(name, value);
+            position = skipWhitespace(line, position);
+        }
+
+        return validate(tokens) ? tokens : null;
+    }
+
+    private static boolean validate(CategoryTokens tokens) {
+        String scheme = tokens.getScheme();
+        if (scheme == null) {
+            return false;
+        }
+        int schemeEnd = scheme.lastIndexOf('#');
+        if (schemeEnd < 0 || !isUri(scheme, 0, schemeEnd, true)) {
+            return false;
+        }
+        if (schemeEnd + 1 < scheme.length()) {
+            //scheme can be followed by the category's term
+            if (!isTerm(scheme, schemeEnd + 1, scheme.length())) {
+                return false;
+            }
+            tokens.setScheme(scheme.substring(0, schemeEnd + 1));
+        }
+
+        String categoryClass = tokens.getCategoryClass();
+        if (!"kind".equals(categoryClass) && !"mixin".equals(categoryClass) && !"action".equals(categoryClass)) {
+            return false;
+        }
+
+        String rel = tokens.getRel();
+        if (rel != null && !isTypeIdentifierList(rel)) {
+            return false;
+        }
+
+        String location = tokens.getLocation();
+        if (location != null && !isUri(location, 0, location.length(), false)) {
+            return false;
+        }
+
+        return true;
+    }
+
+    private static boolean isTypeIdentifierList(String list) {
+        int length = list.length();
+        int position = skipWhitespace(list, 0);
+        if (position >= length) {
+            return false;
+        }
+
+        while (position < length) {
+            int end = position;
+            while (end < length && !Character.isWhitespace(list.charAt(end))) {
+                end++;
+            }
+
+            int hash = list.lastIndexOf('#', end - 1);
+            if (hash < position || !isUri(list, position, hash, true) || !isTerm(list, hash + 1, end)) {
+                return false;
+            }
+
+            position = skipWhitespace(list, end);
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether given part of the string consists only of characters
+     * allowed in an URI reference.
+     */
+    private static boolean isUri(String string, int start, int end, boolean absolute) {
+        int position = start;
+        if (absolute) {
+            //URI scheme
+            if (position >= end || !isAlpha(string.charAt(position))) {
+                return false;
+            }
+            position++;
+            while (position < end && isSchemeChar(string.charAt(position))) {
+                position++;
+            }
+            if (position >= end || string.charAt(position) != ':') {
+                return false;
+            }
+            position++;
+        }
+
+        while (position < end) {
+            char c = string.charAt(position);
+            if (c == '%') {
+                if (position + 2 >= end) {
+                    return false;
+                }
+                if (!isHexDigit(string.charAt(position + 1)) || !isHexDigit(string.charAt(position + 2))) {
+                    return false;
+                }
+                position += 3;
+                continue;
+            }
+            if (!isUriChar(c)) {
+                return false;
+            }
+            position++;
+        }
+
+        return true;
+    }
+
+    private static boolean isTerm(String string, int start, int end) {
+        if (start >= end || !(isAlpha(string.charAt(start)) || isDigit(string.charAt(start)))) {
+            return false;
+        }
+
+        for (int i = start + 1; i < end; i++) {
+            char c = string.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || isDigit(c) || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static String unescape(String string, int start, int end, StringBuilder buffer) {
+        buffer.setLength(0);
+        for (int i = start; i < end; i++) {
+            char c = string.charAt(i);
+            if (c == '\\' && i + 1 < end) {
+                i++;
+                c = string.charAt(i);
+            }
+            buffer.append(c);
+        }
+
+        return buffer.toString();
+    }
+
+    private static int skipWhitespace(String string, int position) {
+        while (position < string.length() && Character.isWhitespace(string.charAt(position))) {
+            position++;
+        }
+
+        return position;
+    }
+
+    private static boolean isNameChar(char c) {
+        return isAlpha(c) || isDigit(c) || c == '-' || c == '_' || c == '.';
+    }
+
+    private static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isSchemeChar(char c) {
+        return isAlpha(c) || isDigit(c) || c == '+' || c == '-' || c == '.';
+    }
+
+    private static boolean isUriChar(char c) {
+        if (isAlpha(c) || isDigit(c)) {
+            return true;
+        }
+
+        switch (c) {
+            //unreserved
+            case '-':
+            case '_':
+            case '.':
+            case '!':
+            case '~':
+            case '*':
+            case '\'':
+            case '(':
+            case ')':
+            //reserved
+            case ';':
+            case '/':
+            case '?':
+            case ':':
+            case '@':
+            case '&':
+            case '=':
+            case '+':
+            case '$':
+            case ',':
+            case '[':
+            case ']':
+            //fragment
+            case '#':
+                return true;
+            default:
+                return false;
+        }
+    }
+}
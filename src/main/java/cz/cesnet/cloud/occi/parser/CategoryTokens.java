@@ -0,0 +1,183 @@
+package cz.cesnet.cloud.occi.parser;
+
+import java.util.regex.Matcher;
+
+/**
+ * Holder for parts of a single category rendering (term, scheme, class, title,
+ * rel, location, attributes and actions) as found by a category tokenizer or
+ * by the category regular expression.
+ */
+public class CategoryTokens {
+
+    private String term;
+    private String scheme;
+    private String categoryClass;
+    private String title;
+    private String rel;
+    private String location;
+    private String attributes;
+    private String actions;
+
+    /**
+     * Creates category tokens from a matcher that successfully matched
+     * {@link TextParser#PATTERN_CATEGORY}.
+     *
+     * @param matcher matcher after a successful match
+     * @return category tokens
+     */
+    public static CategoryTokens fromMatcher(Matcher matcher) {
+        CategoryTokens tokens = new CategoryTokens();
+        tokens.term = matcher.group(TextParser.GROUP_TERM);
+        tokens.scheme = matcher.group(TextParser.GROUP_SCHEME);
+        tokens.categoryClass = matcher.group(TextParser.GROUP_CLASS);
+        tokens.title = matcher.group(TextParser.GROUP_TITLE);
+        tokens.rel = matcher.group(TextParser.GROUP_REL);
+        tokens.location = matcher.group(TextParser.GROUP_LOCATION);
+        tokens.attributes = matcher.group(TextParser.GROUP_ATTRIBUTES);
+        tokens.actions = matcher.group(TextParser.GROUP_ACTIONS);
+
+        return tokens;
+    }
+
+    /**
+     * Sets value of the given category parameter. Unknown parameters are
+     * ignored. Only the first occurrence of each parameter is taken into
+     * account.
+     *
+     * @param name name of the parameter
+     * @param value value of the parameter
+     */
+    void set(String name, String value) {
+        switch (name) {
+            case TextParser.GROUP_SCHEME:
+                if (scheme == null) {
+                    scheme = value;
+                }
+                break;
+            case TextParser.GROUP_CLASS:
+                if (categoryClass == null) {
+                    categoryClass = value;
+                }
+                break;
+            case TextParser.GROUP_TITLE:
+                if (title == null) {
+                    title = value;
+                }
+                break;
+            case TextParser.GROUP_REL:
+                if (rel == null) {
+                    rel = value;
+                }
+                break;
+            case TextParser.GROUP_LOCATION:
+                if (location == null) {
+                    location = value;
+                }
+                break;
+            case TextParser.GROUP_ATTRIBUTES:
+                if (attributes == null) {
+                    attributes = value;
+                }
+                break;
+            case TextParser.GROUP_ACTIONS:
+                if (actions == null) {
+                    actions = value;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    void setTerm(String term) {
+        this.term = term;
+    }
+
+    void setScheme(String scheme) {
+        this.scheme = scheme;
+    }
+
+    /**
+     * Returns category's term.
+     *
+     * @return category's term
+     */
+    public String getTerm() {
+        return term;
+    }
+
+    /**
+     * Returns category's scheme.
+     *
+     * @return category's scheme
+     */
+    public String getScheme() {
+        return scheme;
+    }
+
+    /**
+     * Returns category's class (kind, mixin or action).
+     *
+     * @return category's class
+     */
+    public String getCategoryClass() {
+        return categoryClass;
+    }
+
+    /**
+     * Returns category's title.
+     *
+     * @return category's title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Returns category's relations as a space separated list of identifiers.
+     *
+     * @return category's relations
+     */
+    public String getRel() {
+        return rel;
+    }
+
+    /**
+     * Returns category's location.
+     *
+     * @return category's location
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Returns category's attributes as a space separated list of attribute
+     * definitions.
+     *
+     * @return category's attributes
+     */
+    public String getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Returns category's actions as a space separated list of identifiers.
+     *
+     * @return category's actions
+     */
+    public String getActions() {
+        return actions;
+    }
+
+    /**
+     * Resturns string representation of the tokens
+     *
+     * @see Object#toString()
+     * @return string representation of the tokens
+     */
+    @Override
+    public String toString() {
+        return "CategoryTokens{" + "term=" + term + ", scheme=" + scheme + ", class=" + categoryClass + ", title=" + title + ", rel=" + rel + ", location=" + location + ", attributes=" + attributes + ", actions=" + actions + '}';
+    }
+}
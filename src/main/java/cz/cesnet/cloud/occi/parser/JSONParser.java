@@ -1,30 +1,893 @@
 package cz.cesnet.cloud.occi.parser;
 
 import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.CategoryHierarchy;
 import cz.cesnet.cloud.occi.Collection;
 import cz.cesnet.cloud.occi.Model;
+import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.ActionInstance;
+import cz.cesnet.cloud.occi.core.Attribute;
+import cz.cesnet.cloud.occi.core.Category;
+import cz.cesnet.cloud.occi.core.Entity;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Link;
+import cz.cesnet.cloud.occi.core.Mixin;
+import cz.cesnet.cloud.occi.core.Resource;
+import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
 import cz.cesnet.cloud.occi.exception.ParsingException;
+import cz.cesnet.cloud.occi.parser.JSONTokenizer.Token;
+import java.io.InputStream;
+import java.io.Reader;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * Parser of the OCCI JSON rendering (application/json). Documents are read by
+ * {@link JSONTokenizer} in a single pass without building any intermediate
+ * tree, entities are constructed as soon as their JSON object ends.
+ *
+ * Model is read from an object with 'kinds', 'mixins' and 'actions' arrays.
+ * Collection is read either from a single entity object (resource or link,
+ * depending on collection type), from an action invocation object with
+ * 'action' and 'attributes' members or from an object with 'resources' and
+ * 'links' arrays and an optional 'actions' array of action invocations.
+ * Entity attributes can be rendered either with full names or
+ * as nested objects (e.g. {"occi":{"compute":{"cores":2}}}). Locations are
+ * read from an array of strings or from the 'locations' array of an object.
+ * Unknown members are skipped.
  *
  * @author Michal Kimle <kimle.michal@gmail.com>
  */
 public class JSONParser implements Parser {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(JSONParser.class);
+
+    /**
+     * @see Parser#parseModel(java.lang.String, java.lang.String,
+     * com.sun.net.httpserver.Headers)
+     */
     @Override
     public Model parseModel(String mediaType, String body, Headers headers) throws ParsingException {
-        throw new UnsupportedOperationException("Not supported yet.");
+        return parseModelFromReader(mediaType, TextParser.createReader(body), headers);
+    }
+
+    /**
+     * @see Parser#parseModel(java.lang.String, java.io.InputStream,
+     * java.nio.charset.Charset, com.sun.net.httpserver.Headers)
+     */
+    @Override
+    public Model parseModel(String mediaType, InputStream body, Charset charset, Headers headers) throws ParsingException {
+        return parseModelFromReader(mediaType, TextParser.createReader(body, charset), headers);
+    }
+
+    /**
+     * @see Parser#parseModelFromReader(java.lang.String, java.io.Reader,
+     * com.sun.net.httpserver.Headers)
+     */
+    @Override
+    public Model parseModelFromReader(String mediaType, Reader body, Headers headers) throws ParsingException {
+        LOGGER.debug("Parsing model...");
+        JSONTokenizer tokenizer = createTokenizer(mediaType, body);
+
+        ModelContext context = new ModelContext();
+        tokenizer.expect(Token.BEGIN_OBJECT);
+        while (tokenizer.next() == Token.NAME) {
+            switch (tokenizer.getValue()) {
+                case "kinds":
+                    tokenizer.expect(Token.BEGIN_ARRAY);
+                    while (nextElement(tokenizer, Token.BEGIN_OBJECT)) {
+                        addKind(parseCategory(tokenizer), context);
+                    }
+                    break;
+                case "mixins":
+                    tokenizer.expect(Token.BEGIN_ARRAY);
+                    while (nextElement(tokenizer, Token.BEGIN_OBJECT)) {
+                        addMixin(parseCategory(tokenizer), context);
+                    }
+                    break;
+                case "actions":
+                    tokenizer.expect(Token.BEGIN_ARRAY);
+                    while (nextElement(tokenizer, Token.BEGIN_OBJECT)) {
+                        addAction(parseCategory(tokenizer), context);
+                    }
+                    break;
+                default:
+                    skipMember(tokenizer);
+            }
+        }
+        tokenizer.expect(Token.END_DOCUMENT);
+
+        if (context.categories == 0) {
+            throw new ParsingException("No category found in response body.");
+        }
+
+        return finishModel(context);
+    }
+
+    private void addKind(JSONCategory category, ModelContext context) throws ParsingException {
+        LOGGER.debug("Adding kind...");
+        Kind kind = new Kind(category.getScheme(), category.getTerm(), category.title, category.getLocation(), category.attributes);
+        for (String parent : category.relations) {
+            context.parents.add(new PendingRelation<>(kind, parent));
+        }
+        for (String action : category.actions) {
+            context.actions.add(new PendingRelation<Category>(kind, action));
+        }
+
+        context.model.addKind(kind);
+        context.categories++;
+    }
+
+    private void addMixin(JSONCategory category, ModelContext context) throws ParsingException {
+        LOGGER.debug("Adding mixin...");
+        URI location = category.getLocation();
+        if (location == null) {
+            location = toURI("/mixin/" + category.term);
+        }
+        Mixin mixin = new Mixin(category.getScheme(), category.getTerm(), category.title, location, category.attributes);
+        for (String depends : category.relations) {
+            context.depends.add(new PendingRelation<>(mixin, depends));
+        }
+        for (String action : category.actions) {
+            context.actions.add(new PendingRelation<Category>(mixin, action));
+        }
+
+        context.model.addMixin(mixin);
+        context.categories++;
+    }
+
+    private void addAction(JSONCategory category, ModelContext context) throws ParsingException {
+        LOGGER.debug("Adding action...");
+        Model model = context.model;
+        String actionIdentifier = category.scheme + category.term;
+        if (model.containsAction(actionIdentifier)) {
+            Action action = model.getAction(actionIdentifier);
+            action.setTitle(category.title);
+            for (Attribute attribute : category.attributes) {
+                action.addAttribute(attribute);
+            }
+        } else {
+            model.addAction(new Action(category.getScheme(), category.getTerm(), category.title, category.attributes));
+        }
+        context.categories++;
+    }
+
+    private Model finishModel(ModelContext context) throws ParsingException {
+        Model model = context.model;
+
+        for (PendingRelation<Category> pending : context.actions) {
+            Action action = model.getAction(pending.identifier);
+            if (action == null) {
+                action = createAction(pending.identifier);
+            }
+            pending.category.addAction(action);
+        }
+
+        List<PendingRelation<Kind>> unresolvedKinds = connectKinds(context.parents, model);
+        if (!unresolvedKinds.isEmpty()) {
+            for (Kind kind : TextParser.createDefaultKinds()) {
+                if (!model.containsKind(kind)) {
+                    model.addKind(kind);
+                }
+            }
+
+            unresolvedKinds = connectKinds(unresolvedKinds, model);
+            if (!unresolvedKinds.isEmpty()) {
+                throw new ParsingException("Unknown kind relations found: " + unresolvedKinds);
+            }
+        }
+
+        List<PendingRelation<Mixin>> unresolvedMixins = new ArrayList<>();
+        for (PendingRelation<Mixin> pending : context.depends) {
+            Mixin mixin = model.getMixin(pending.identifier);
+            if (mixin == null) {
+                unresolvedMixins.add(pending);
+            } else {
+                pending.category.addRelation(mixin);
+            }
+        }
+        if (!unresolvedMixins.isEmpty()) {
+            throw new ParsingException("Unknown mixins relations found: " + unresolvedMixins);
+        }
+
+        CategoryHierarchy hierarchy = model.getHierarchy();
+        if (hierarchy.isCyclic()) {
+            throw new ParsingException("Cyclic relations found: " + hierarchy.getCyclicCategories());
+        }
+
+        return model;
+    }
+
+    private List<PendingRelation<Kind>> connectKinds(List<PendingRelation<Kind>> relations, Model model) {
+        List<PendingRelation<Kind>> unresolved = new ArrayList<>();
+        for (PendingRelation<Kind> pending : relations) {
+            Kind parent = model.getKind(pending.identifier);
+            if (parent == null) {
+                unresolved.add(pending);
+            } else {
+                LOGGER.debug("Creating relation between {} and {}.", pending.category, parent);
+                pending.category.setParentKind(parent);
+                pending.category.addRelation(parent);
+            }
+        }
+
+        return unresolved;
+    }
+
+    private JSONCategory parseCategory(JSONTokenizer tokenizer) throws ParsingException {
+        JSONCategory category = new JSONCategory();
+        while (tokenizer.next() == Token.NAME) {
+            switch (tokenizer.getValue()) {
+                case "term":
+                    category.term = tokenizer.nextString();
+                    break;
+                case "scheme":
+                    category.scheme = tokenizer.nextString();
+                    break;
+                case "title":
+                    category.title = parseScalar(tokenizer);
+                    break;
+                case "location":
+                    category.location = parseScalar(tokenizer);
+                    break;
+                case "parent":
+                    String parent = parseScalar(tokenizer);
+                    if (parent != null) {
+                        category.relations.add(parent);
+                    }
+                    break;
+                case "depends":
+                    parseStrings(tokenizer, category.relations);
+                    break;
+                case "actions":
+                    parseStrings(tokenizer, category.actions);
+                    break;
+                case "attributes":
+                    tokenizer.expect(Token.BEGIN_OBJECT);
+                    while (tokenizer.next() == Token.NAME) {
+                        category.attributes.add(parseAttribute(tokenizer));
+                    }
+                    break;
+                default:
+                    skipMember(tokenizer);
+            }
+        }
+
+        if (category.term == null || category.term.isEmpty()) {
+            throw tokenizer.error("No term found");
+        }
+        if (category.scheme == null || category.scheme.isEmpty()) {
+            throw tokenizer.error("No scheme found");
+        }
+
+        return category;
     }
 
+    private Attribute parseAttribute(JSONTokenizer tokenizer) throws ParsingException {
+        Attribute attribute = new Attribute(tokenizer.getValue());
+        tokenizer.expect(Token.BEGIN_OBJECT);
+        while (tokenizer.next() == Token.NAME) {
+            switch (tokenizer.getValue()) {
+                case "mutable":
+                    attribute.setImmutable(!parseBoolean(tokenizer));
+                    break;
+                case "required":
+                    attribute.setRequired(parseBoolean(tokenizer));
+                    break;
+                case "type":
+                    attribute.setType(parseScalar(tokenizer));
+                    break;
+                case "pattern":
+                    if (tokenizer.next() == Token.BEGIN_OBJECT) {
+                        //pattern rendered as a JSON schema
+                        while (tokenizer.next() == Token.NAME) {
+                            if (tokenizer.getValue().equals("pattern")) {
+                                attribute.setPattern(tokenizer.nextString());
+                            } else {
+                                skipMember(tokenizer);
+                            }
+                        }
+                    } else if (tokenizer.getToken() == Token.STRING) {
+                        attribute.setPattern(tokenizer.getValue());
+                    } else {
+                        tokenizer.skipValue();
+                    }
+                    break;
+                case "default":
+                    tokenizer.next();
+                    if (isScalar(tokenizer.getToken())) {
+                        attribute.setDefaultValue(tokenizer.getValue());
+                    } else {
+                        tokenizer.skipValue();
+                    }
+                    break;
+                case "description":
+                    attribute.setDescription(parseScalar(tokenizer));
+                    break;
+                default:
+                    skipMember(tokenizer);
+            }
+        }
+
+        LOGGER.debug("New attribute: {}", attribute);
+        return attribute;
+    }
+
+    /**
+     * @see Parser#parseCollection(java.lang.String, java.lang.String,
+     * com.sun.net.httpserver.Headers,
+     * cz.cesnet.cloud.occi.parser.CollectionType)
+     */
     @Override
     public Collection parseCollection(String mediaType, String body, Headers headers, CollectionType collectionType) throws ParsingException {
-        throw new UnsupportedOperationException("Not supported yet.");
+        return parseCollectionFromReader(mediaType, TextParser.createReader(body), headers, collectionType);
     }
 
+    /**
+     * @see Parser#parseCollection(java.lang.String, java.io.InputStream,
+     * java.nio.charset.Charset, com.sun.net.httpserver.Headers,
+     * cz.cesnet.cloud.occi.parser.CollectionType)
+     */
+    @Override
+    public Collection parseCollection(String mediaType, InputStream body, Charset charset, Headers headers, CollectionType collectionType) throws ParsingException {
+        return parseCollectionFromReader(mediaType, TextParser.createReader(body, charset), headers, collectionType);
+    }
+
+    /**
+     * @see Parser#parseCollectionFromReader(java.lang.String, java.io.Reader,
+     * com.sun.net.httpserver.Headers,
+     * cz.cesnet.cloud.occi.parser.CollectionType)
+     */
+    @Override
+    public Collection parseCollectionFromReader(String mediaType, Reader body, Headers headers, CollectionType collectionType) throws ParsingException {
+        LOGGER.debug("Parsing collection...");
+        if (collectionType == null) {
+            throw new NullPointerException("Collection type cannot be null.");
+        }
+        JSONTokenizer tokenizer = createTokenizer(mediaType, body);
+
+        Collection collection = new Collection();
+        tokenizer.expect(Token.BEGIN_OBJECT);
+        EntityContext context = parseEntity(tokenizer, collection);
+        tokenizer.expect(Token.END_DOCUMENT);
+
+        switch (collectionType) {
+            case RESOURCE:
+                if (context.kind != null) {
+                    collection.addResource(createResource(context));
+                } else if (!context.collection) {
+                    throw new ParsingException("No kind specification found.");
+                }
+                break;
+            case LINK:
+                if (context.kind != null) {
+                    collection.addLink(createLink(context));
+                } else if (!context.collection) {
+                    throw new ParsingException("No kind specification found.");
+                }
+                break;
+            case ACTION:
+                if (context.action != null) {
+                    ActionInstance actionInstance = new ActionInstance(createAction(context.action));
+                    actionInstance.addAttributes(context.attributes);
+                    collection.addAction(actionInstance);
+                } else if (!context.collection) {
+                    throw new ParsingException("No action specification found.");
+                }
+                break;
+            default:
+                throw new ParsingException("Unknown collection type'" + collectionType + "'.");
+        }
+
+        if (context.collection) {
+            for (Link link : context.links) {
+                collection.addLink(link);
+            }
+        }
+
+        return collection;
+    }
+
+    /**
+     * Reads members of an entity object whose opening bracket was already
+     * read. If collection is given, members 'resources' and 'action' of a
+     * top level object are recognized as well, resources and action instances
+     * are added to the collection as soon as they are read.
+     */
+    private EntityContext parseEntity(JSONTokenizer tokenizer, Collection collection) throws ParsingException {
+        EntityContext context = new EntityContext();
+        while (tokenizer.next() == Token.NAME) {
+            String name = tokenizer.getValue();
+            switch (name) {
+                case "kind":
+                    context.kind = createKind(tokenizer.nextString());
+                    break;
+                case "mixins":
+                    tokenizer.expect(Token.BEGIN_ARRAY);
+                    while (nextElement(tokenizer, Token.STRING)) {
+                        context.mixins.add(createMixin(tokenizer.getValue()));
+                    }
+                    break;
+                case "actions":
+                    tokenizer.expect(Token.BEGIN_ARRAY);
+                    Token token;
+                    while ((token = tokenizer.next()) != Token.END_ARRAY) {
+                        if (token == Token.STRING) {
+                            context.actions.add(createAction(tokenizer.getValue()));
+                        } else if (token == Token.BEGIN_OBJECT && collection != null) {
+                            collection.addAction(parseActionInstance(tokenizer));
+                            context.collection = true;
+                        } else {
+                            throw tokenizer.error("Expected " + Token.STRING + " but found " + token);
+                        }
+                    }
+                    break;
+                case "attributes":
+                    tokenizer.expect(Token.BEGIN_OBJECT);
+                    parseAttributeValues(tokenizer, null, context.attributes);
+                    break;
+                case "id":
+                    context.id = parseScalar(tokenizer);
+                    break;
+                case "title":
+                    putValue(context.attributes, Entity.TITLE_ATTRIBUTE_NAME, parseScalar(tokenizer));
+                    break;
+                case "summary":
+                    putValue(context.attributes, Resource.SUMMARY_ATTRIBUTE_NAME, parseScalar(tokenizer));
+                    break;
+                case "location":
+                    context.location = parseScalar(tokenizer);
+                    break;
+                case "source":
+                    context.source = parseLinkEnd(tokenizer, null);
+                    break;
+                case "target":
+                    context.target = parseLinkEnd(tokenizer, context);
+                    break;
+                case "links":
+                    tokenizer.expect(Token.BEGIN_ARRAY);
+                    while (nextElement(tokenizer, Token.BEGIN_OBJECT)) {
+                        EntityContext linkContext = parseEntity(tokenizer, null);
+                        if (linkContext.kind == null) {
+                            throw tokenizer.error("No kind specification found");
+                        }
+                        context.links.add(createLink(linkContext));
+                    }
+                    if (collection != null) {
+                        context.collection = true;
+                    }
+                    break;
+                case "resources":
+                    if (collection == null) {
+                        skipMember(tokenizer);
+                        break;
+                    }
+                    tokenizer.expect(Token.BEGIN_ARRAY);
+                    while (nextElement(tokenizer, Token.BEGIN_OBJECT)) {
+                        EntityContext resourceContext = parseEntity(tokenizer, null);
+                        if (resourceContext.kind == null) {
+                            throw tokenizer.error("No kind specification found");
+                        }
+                        collection.addResource(createResource(resourceContext));
+                    }
+                    context.collection = true;
+                    break;
+                case "action":
+                    if (collection == null) {
+                        skipMember(tokenizer);
+                        break;
+                    }
+                    context.action = tokenizer.nextString();
+                    break;
+                default:
+                    skipMember(tokenizer);
+            }
+        }
+
+        if (context.kind != null) {
+            context.collection = false;
+        }
+
+        return context;
+    }
+
+    /**
+     * Reads an action instance object of a collection whose opening bracket
+     * was already read.
+     */
+    private ActionInstance parseActionInstance(JSONTokenizer tokenizer) throws ParsingException {
+        String action = null;
+        Map<String, String> attributes = new LinkedHashMap<>();
+        while (tokenizer.next() == Token.NAME) {
+            switch (tokenizer.getValue()) {
+                case "action":
+                    action = tokenizer.nextString();
+                    break;
+                case "attributes":
+                    tokenizer.expect(Token.BEGIN_OBJECT);
+                    parseAttributeValues(tokenizer, null, attributes);
+                    break;
+                default:
+                    skipMember(tokenizer);
+            }
+        }
+        if (action == null) {
+            throw tokenizer.error("No action specification found");
+        }
+
+        ActionInstance actionInstance = new ActionInstance(createAction(action));
+        actionInstance.addAttributes(attributes);
+        return actionInstance;
+    }
+
+    /**
+     * Reads attribute values of an object whose opening bracket was already
+     * read. Nested objects are flattened into attribute names joined with
+     * dots.
+     */
+    private void parseAttributeValues(JSONTokenizer tokenizer, String prefix, Map<String, String> attributes) throws ParsingException {
+        while (tokenizer.next() == Token.NAME) {
+            String name = prefix == null ? tokenizer.getValue() : prefix + "." + tokenizer.getValue();
+            Token token = tokenizer.next();
+            switch (token) {
+                case BEGIN_OBJECT:
+                    parseAttributeValues(tokenizer, name, attributes);
+                    break;
+                case STRING:
+                case NUMBER:
+                case BOOLEAN:
+                    attributes.put(name, tokenizer.getValue());
+                    break;
+                case NULL:
+                    break;
+                default:
+                    throw tokenizer.error("Unsupported value of attribute '" + name + "'");
+            }
+        }
+    }
+
+    /**
+     * Reads link's source or target rendered either as a location string or as
+     * an object with 'location' and 'kind' members. Kind of the target is
+     * stored as the relation of the link.
+     */
+    private String parseLinkEnd(JSONTokenizer tokenizer, EntityContext context) throws ParsingException {
+        if (tokenizer.next() != Token.BEGIN_OBJECT) {
+            return isScalar(tokenizer.getToken()) ? tokenizer.getValue() : null;
+        }
+
+        String location = null;
+        while (tokenizer.next() == Token.NAME) {
+            switch (tokenizer.getValue()) {
+                case "location":
+                    location = parseScalar(tokenizer);
+                    break;
+                case "kind":
+                    String kind = parseScalar(tokenizer);
+                    if (context != null) {
+                        context.relation = kind;
+                    }
+                    break;
+                default:
+                    skipMember(tokenizer);
+            }
+        }
+
+        return location;
+    }
+
+    private Resource createResource(EntityContext context) throws ParsingException {
+        String id = context.getId();
+        if (id == null) {
+            throw new ParsingException("No id found. Cannot construct a resource.");
+        }
+
+        try {
+            Resource resource = new Resource(id, context.kind);
+            //kinds referenced from entities carry no location, inline links
+            //without an explicit source have to point to the resource itself
+            String location = context.location == null ? id : context.location;
+            for (Link link : context.links) {
+                if (link.getSource() == null) {
+                    link.setSource(location);
+                }
+            }
+            resource.addMixins(context.mixins);
+            resource.addLinks(context.links);
+            resource.addActions(context.actions);
+            resource.addAttributes(context.attributes);
+
+            return resource;
+        } catch (InvalidAttributeValueException ex) {
+            throw new ParsingException("Invalid attribute value found", ex);
+        }
+    }
+
+    private Link createLink(EntityContext context) throws ParsingException {
+        String id = context.getId();
+        if (id == null) {
+            throw new ParsingException("No id found. Cannot construct a link.");
+        }
+
+        try {
+            Link link = new Link(id, context.kind);
+            link.addMixins(context.mixins);
+            if (context.source != null) {
+                link.setSource(context.source);
+            }
+            if (context.target != null) {
+                link.setTarget(context.target);
+            }
+            link.setRelation(context.relation);
+            link.addAttributes(context.attributes);
+
+            return link;
+        } catch (InvalidAttributeValueException ex) {
+            throw new ParsingException("Invalid attribute value found", ex);
+        }
+    }
+
+    private Kind createKind(String identifier) throws ParsingException {
+        String[] splited = divideIdentifier(identifier);
+        return new Kind(toURI(splited[0]), splited[1]);
+    }
+
+    private Mixin createMixin(String identifier) throws ParsingException {
+        String[] splited = divideIdentifier(identifier);
+        return new Mixin(toURI(splited[0]), splited[1]);
+    }
+
+    private Action createAction(String identifier) throws ParsingException {
+        String[] splited = divideIdentifier(identifier);
+        return new Action(toURI(splited[0]), splited[1]);
+    }
+
+    private static String[] divideIdentifier(String identifier) throws ParsingException {
+        int index = identifier.lastIndexOf('#');
+        if (index <= 0 || index == identifier.length() - 1) {
+            throw new ParsingException("Invalid category identifier: " + identifier + ".");
+        }
+
+        return new String[]{identifier.substring(0, index + 1), identifier.substring(index + 1)};
+    }
+
+    private static URI toURI(String uri) throws ParsingException {
+        try {
+            return new URI(uri);
+        } catch (URISyntaxException ex) {
+            throw new ParsingException("Invalid URI: " + uri + ".", ex);
+        }
+    }
+
+    /**
+     * @see Parser#parseLocations(java.lang.String, java.lang.String,
+     * com.sun.net.httpserver.Headers)
+     */
     @Override
     public List<URI> parseLocations(String mediaType, String body, Headers headers) throws ParsingException {
-        throw new UnsupportedOperationException("Not supported yet.");
+        return parseLocationsFromReader(mediaType, TextParser.createReader(body), headers);
+    }
+
+    /**
+     * @see Parser#parseLocations(java.lang.String, java.io.InputStream,
+     * java.nio.charset.Charset, com.sun.net.httpserver.Headers)
+     */
+    @Override
+    public List<URI> parseLocations(String mediaType, InputStream body, Charset charset, Headers headers) throws ParsingException {
+        return parseLocationsFromReader(mediaType, TextParser.createReader(body, charset), headers);
+    }
+
+    /**
+     * @see Parser#parseLocationsFromReader(java.lang.String, java.io.Reader,
+     * com.sun.net.httpserver.Headers)
+     */
+    @Override
+    public List<URI> parseLocationsFromReader(String mediaType, Reader body, Headers headers) throws ParsingException {
+        final List<URI> locations = new ArrayList<>();
+        parseLocations(mediaType, body, headers, new LocationVisitor() {
+
+            @Override
+            public void visit(CharSequence location) throws ParsingException {
+                locations.add(TextParser.parseLocation(location));
+            }
+        });
+
+        return locations;
+    }
+
+    /**
+     * Parses locations from body and passes them one by one to the visitor as
+     * soon as they are read.
+     *
+     * @param mediaType media type of the parsed server response
+     * @param body reader providing body of the server response
+     * @param headers headers of the server response
+     * @param visitor visitor called for every location
+     * @throws ParsingException when error occures during the parsing
+     */
+    public void parseLocations(String mediaType, Reader body, Headers headers, LocationVisitor visitor) throws ParsingException {
+        LOGGER.debug("Parsing locations...");
+        JSONTokenizer tokenizer = createTokenizer(mediaType, body);
+
+        Token token = tokenizer.next();
+        if (token == Token.BEGIN_ARRAY) {
+            visitLocations(tokenizer, visitor);
+        } else if (token == Token.BEGIN_OBJECT) {
+            while (tokenizer.next() == Token.NAME) {
+                if (tokenizer.getValue().equals("locations")) {
+                    tokenizer.expect(Token.BEGIN_ARRAY);
+                    visitLocations(tokenizer, visitor);
+                } else {
+                    skipMember(tokenizer);
+                }
+            }
+        } else {
+            throw tokenizer.error("Expected array or object of locations");
+        }
+        tokenizer.expect(Token.END_DOCUMENT);
+    }
+
+    private void visitLocations(JSONTokenizer tokenizer, LocationVisitor visitor) throws ParsingException {
+        while (nextElement(tokenizer, Token.STRING)) {
+            visitor.visit(tokenizer.getValue());
+        }
+    }
+
+    private JSONTokenizer createTokenizer(String mediaType, Reader body) throws ParsingException {
+        if (!MediaType.APPLICATION_JSON.equals(mediaType)) {
+            throw new ParsingException("Unknown media type '" + mediaType + "'.");
+        }
+        if (body == null) {
+            throw new NullPointerException("Body cannot be null.");
+        }
+
+        return new JSONTokenizer(body);
+    }
+
+    /**
+     * Reads the next array element and checks it starts with the expected
+     * token.
+     *
+     * @return true if an element was read, false at the end of the array
+     */
+    private static boolean nextElement(JSONTokenizer tokenizer, Token expected) throws ParsingException {
+        Token token = tokenizer.next();
+        if (token == Token.END_ARRAY) {
+            return false;
+        }
+        if (token != expected) {
+            throw tokenizer.error("Expected " + expected + " but found " + token);
+        }
+
+        return true;
+    }
+
+    private static void skipMember(JSONTokenizer tokenizer) throws ParsingException {
+        LOGGER.debug("Skipping unknown member '{}'.", tokenizer.getValue());
+        tokenizer.next();
+        tokenizer.skipValue();
+    }
+
+    private static String parseScalar(JSONTokenizer tokenizer) throws ParsingException {
+        Token token = tokenizer.next();
+        if (token == Token.NULL) {
+            return null;
+        }
+        if (!isScalar(token)) {
+            throw tokenizer.error("Expected string, number or boolean but found " + token);
+        }
+
+        return tokenizer.getValue();
+    }
+
+    private static boolean parseBoolean(JSONTokenizer tokenizer) throws ParsingException {
+        tokenizer.expect(Token.BOOLEAN);
+        return tokenizer.getValue().equals("true");
+    }
+
+    private static void parseStrings(JSONTokenizer tokenizer, List<String> strings) throws ParsingException {
+        tokenizer.expect(Token.BEGIN_ARRAY);
+        while (nextElement(tokenizer, Token.STRING)) {
+            strings.add(tokenizer.getValue());
+        }
+    }
+
+    private static boolean isScalar(Token token) {
+        return token == Token.STRING || token == Token.NUMBER || token == Token.BOOLEAN;
+    }
+
+    private static void putValue(Map<String, String> attributes, String name, String value) {
+        if (value != null) {
+            attributes.put(name, value);
+        }
+    }
+
+    private static class ModelContext {
+
+        private final Model model = new Model();
+        private final List<PendingRelation<Kind>> parents = new ArrayList<>();
+        private final List<PendingRelation<Mixin>> depends = new ArrayList<>();
+        private final List<PendingRelation<Category>> actions = new ArrayList<>();
+        private int categories;
+    }
+
+    /**
+     * Relation to a category which can be defined later in the document.
+     */
+    private static class PendingRelation<C> {
+
+        private final C category;
+        private final String identifier;
+
+        public PendingRelation(C category, String identifier) {
+            this.category = category;
+            this.identifier = identifier;
+        }
+
+        @Override
+        public String toString() {
+            return category + " -> " + identifier;
+        }
+    }
+
+    private static class JSONCategory {
+
+        private String term;
+        private String scheme;
+        private String title;
+        private String location;
+        private final Set<Attribute> attributes = new HashSet<>();
+        private final List<String> actions = new ArrayList<>();
+        private final List<String> relations = new ArrayList<>();
+
+        private String getTerm() {
+            return term;
+        }
+
+        private URI getScheme() throws ParsingException {
+            return toURI(scheme);
+        }
+
+        private URI getLocation() throws ParsingException {
+            if (location == null) {
+                return null;
+            }
+
+            return toURI(toURI(location).getPath());
+        }
+    }
+
+    private static class EntityContext {
+
+        private Kind kind;
+        private String id;
+        private String location;
+        private String source;
+        private String target;
+        private String relation;
+        private String action;
+        private boolean collection;
+        private final Set<Mixin> mixins = new HashSet<>();
+        private final Set<Action> actions = new HashSet<>();
+        private final Set<Link> links = new HashSet<>();
+        private final Map<String, String> attributes = new LinkedHashMap<>();
+
+        private String getId() {
+            if (id == null) {
+                return attributes.remove(Entity.ID_ATTRIBUTE_NAME);
+            }
+
+            attributes.remove(Entity.ID_ATTRIBUTE_NAME);
+            return id;
+        }
     }
 }
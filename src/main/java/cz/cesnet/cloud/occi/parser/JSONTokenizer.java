@@ -0,0 +1,460 @@
+package cz.cesnet.cloud.occi.parser;
+
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Hand-written pull tokenizer for JSON documents. Document is read from the
+ * reader in chunks as tokens are requested, no tree is built, so memory
+ * consumption is bounded by the nesting depth and by the longest string in
+ * the document.
+ *
+ * Structure of the document (matching brackets, commas and colons) is
+ * validated, numbers are checked against the JSON grammar and strings are
+ * decoded including unicode escapes.
+ */
+public class JSONTokenizer {
+
+    /**
+     * Tokens returned by {@link JSONTokenizer#next()}.
+     */
+    public enum Token {
+
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT;
+
+        @Override
+        public String toString() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3;
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long offset;
+    private int[] stack = new int[32];
+    private int stackSize = 1;
+    private final StringBuilder value = new StringBuilder();
+    private Token token;
+
+    /**
+     * Constructor.
+     *
+     * @param reader reader providing the document. Cannot be null.
+     */
+    public JSONTokenizer(Reader reader) {
+        if (reader == null) {
+            throw new NullPointerException("Reader cannot be null.");
+        }
+
+        this.reader = reader;
+        stack[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Reads the next token from the document.
+     *
+     * @return next token, {@link Token#END_DOCUMENT} once the whole document
+     * was read
+     * @throws ParsingException if the document is not a valid JSON document or
+     * cannot be read
+     */
+    public Token next() throws ParsingException {
+        value.setLength(0);
+        token = readToken();
+        return token;
+    }
+
+    /**
+     * Returns the last token returned by {@link #next()}.
+     *
+     * @return last read token, null if no token was read yet
+     */
+    public Token getToken() {
+        return token;
+    }
+
+    /**
+     * Returns text of the last read name, string, number or boolean token.
+     * Strings and names are decoded, numbers and booleans are returned as they
+     * appear in the document.
+     *
+     * @return text of the last read token
+     */
+    public String getValue() {
+        return value.toString();
+    }
+
+    /**
+     * Returns current depth of nesting in objects and arrays.
+     *
+     * @return nesting depth, 0 on the top level of the document
+     */
+    public int getDepth() {
+        return stackSize - 1;
+    }
+
+    /**
+     * Reads the next token and checks it is of the expected type.
+     *
+     * @param expected expected token
+     * @throws ParsingException if the next token is of different type
+     */
+    public void expect(Token expected) throws ParsingException {
+        Token actual = next();
+        if (actual != expected) {
+            throw error("Expected " + expected + " but found " + actual);
+        }
+    }
+
+    /**
+     * Reads the next token which has to be a string and returns its value.
+     *
+     * @return decoded string
+     * @throws ParsingException if the next token is not a string
+     */
+    public String nextString() throws ParsingException {
+        expect(Token.STRING);
+        return getValue();
+    }
+
+    /**
+     * Skips the value which starts with the last read token, including all
+     * nested objects and arrays. Has no effect for scalar tokens.
+     *
+     * @throws ParsingException if the document is not a valid JSON document
+     */
+    public void skipValue() throws ParsingException {
+        if (token != Token.BEGIN_OBJECT && token != Token.BEGIN_ARRAY) {
+            return;
+        }
+
+        int depth = getDepth() - 1;
+        while (getDepth() > depth) {
+            next();
+        }
+    }
+
+    /**
+     * Returns a parsing exception with message amended with the current
+     * position in the document.
+     *
+     * @param message error message
+     * @return exception to throw
+     */
+    public ParsingException error(String message) {
+        return new ParsingException(message + " at position " + (offset + position) + ".");
+    }
+
+    private Token readToken() throws ParsingException {
+        int c = skipWhitespace();
+        switch (stack[stackSize - 1]) {
+            case EMPTY_DOCUMENT:
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                return readValue(c);
+            case NONEMPTY_DOCUMENT:
+                if (c != -1) {
+                    throw error("Unexpected character '" + (char) c + "' after the end of document");
+                }
+                return Token.END_DOCUMENT;
+            case EMPTY_OBJECT:
+                if (c == '}') {
+                    position++;
+                    stackSize--;
+                    return Token.END_OBJECT;
+                }
+                return readName(c);
+            case NONEMPTY_OBJECT:
+                if (c == '}') {
+                    position++;
+                    stackSize--;
+                    return Token.END_OBJECT;
+                }
+                if (c != ',') {
+                    throw unexpected(c, "',' or '}'");
+                }
+                position++;
+                return readName(skipWhitespace());
+            case DANGLING_NAME:
+                if (c != ':') {
+                    throw unexpected(c, "':'");
+                }
+                position++;
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                return readValue(skipWhitespace());
+            case EMPTY_ARRAY:
+                if (c == ']') {
+                    position++;
+                    stackSize--;
+                    return Token.END_ARRAY;
+                }
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                return readValue(c);
+            case NONEMPTY_ARRAY:
+                if (c == ']') {
+                    position++;
+                    stackSize--;
+                    return Token.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw unexpected(c, "',' or ']'");
+                }
+                position++;
+                return readValue(skipWhitespace());
+            default:
+                throw new IllegalStateException("Unknown tokenizer state.");
+        }
+    }
+
+    private Token readName(int c) throws ParsingException {
+        if (c != '"') {
+            throw unexpected(c, "name");
+        }
+        position++;
+        readString();
+        stack[stackSize - 1] = DANGLING_NAME;
+        return Token.NAME;
+    }
+
+    private Token readValue(int c) throws ParsingException {
+        switch (c) {
+            case '{':
+                position++;
+                push(EMPTY_OBJECT);
+                return Token.BEGIN_OBJECT;
+            case '[':
+                position++;
+                push(EMPTY_ARRAY);
+                return Token.BEGIN_ARRAY;
+            case '"':
+                position++;
+                readString();
+                return Token.STRING;
+            case 't':
+                readLiteral("true");
+                return Token.BOOLEAN;
+            case 'f':
+                readLiteral("false");
+                return Token.BOOLEAN;
+            case 'n':
+                readLiteral("null");
+                return Token.NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber();
+                    return Token.NUMBER;
+                }
+                throw unexpected(c, "value");
+        }
+    }
+
+    private void push(int state) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = state;
+    }
+
+    private void readString() throws ParsingException {
+        while (true) {
+            if (position == limit && !fill()) {
+                throw error("Unterminated string");
+            }
+
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == '"') {
+                    value.append(buffer, start, position - start);
+                    position++;
+                    return;
+                }
+                if (c == '\\') {
+                    value.append(buffer, start, position - start);
+                    position++;
+                    readEscape();
+                    start = position;
+                    continue;
+                }
+                if (c < 0x20) {
+                    throw error("Unescaped control character in string");
+                }
+                position++;
+            }
+            value.append(buffer, start, position - start);
+        }
+    }
+
+    private void readEscape() throws ParsingException {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                value.append((char) c);
+                break;
+            case 'b':
+                value.append('\b');
+                break;
+            case 'f':
+                value.append('\f');
+                break;
+            case 'n':
+                value.append('\n');
+                break;
+            case 'r':
+                value.append('\r');
+                break;
+            case 't':
+                value.append('\t');
+                break;
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw error("Invalid unicode escape");
+                    }
+                    code = (code << 4) | digit;
+                }
+                value.append((char) code);
+                break;
+            default:
+                throw error("Invalid escape sequence");
+        }
+    }
+
+    private void readLiteral(String literal) throws ParsingException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw error("Invalid literal, expected '" + literal + "'");
+            }
+        }
+        if (isLiteralPart(peek())) {
+            throw error("Invalid literal, expected '" + literal + "'");
+        }
+        value.append(literal);
+    }
+
+    private void readNumber() throws ParsingException {
+        int c = peek();
+        if (c == '-') {
+            c = append();
+        }
+        if (c == '0') {
+            c = append();
+        } else if (isDigit(c)) {
+            c = appendDigits();
+        } else {
+            throw error("Invalid number");
+        }
+        if (c == '.') {
+            c = append();
+            if (!isDigit(c)) {
+                throw error("Invalid number");
+            }
+            c = appendDigits();
+        }
+        if (c == 'e' || c == 'E') {
+            c = append();
+            if (c == '+' || c == '-') {
+                c = append();
+            }
+            if (!isDigit(c)) {
+                throw error("Invalid number");
+            }
+            c = appendDigits();
+        }
+        if (isLiteralPart(c) || c == '.') {
+            throw error("Invalid number");
+        }
+    }
+
+    /**
+     * Appends the current character to the value and returns the following
+     * one.
+     */
+    private int append() throws ParsingException {
+        value.append(buffer[position++]);
+        return peek();
+    }
+
+    private int appendDigits() throws ParsingException {
+        int c = peek();
+        while (isDigit(c)) {
+            c = append();
+        }
+        return c;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLiteralPart(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_' || c == '-' || c == '+';
+    }
+
+    private int skipWhitespace() throws ParsingException {
+        while (true) {
+            int c = peek();
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                position++;
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private int peek() throws ParsingException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private int read() throws ParsingException {
+        if (position == limit && !fill()) {
+            throw error("Unexpected end of document");
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws ParsingException {
+        offset += limit;
+        position = 0;
+        limit = 0;
+        try {
+            int read;
+            while ((read = reader.read(buffer, 0, buffer.length)) == 0) {
+                //reader has to block until some characters are available
+            }
+            if (read > 0) {
+                limit = read;
+                return true;
+            }
+            return false;
+        } catch (IOException ex) {
+            throw new ParsingException("Cannot read JSON document.", ex);
+        }
+    }
+
+    private ParsingException unexpected(int c, String expected) {
+        if (c == -1) {
+            return error("Unexpected end of document, expected " + expected);
+        }
+        return error("Unexpected character '" + (char) c + "', expected " + expected);
+    }
+}
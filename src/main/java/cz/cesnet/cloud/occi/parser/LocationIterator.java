@@ -0,0 +1,225 @@
+package cz.cesnet.cloud.occi.parser;
+
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy iterator over locations read from a text/plain or text/uri-list body or
+ * from a 'Location' header. Locations are returned as raw character sequences
+ * without creating intermediate strings or URI instances. Conversion to URI
+ * (and its validation) is done only on demand via {@link #nextURI()} or
+ * {@link TextParser#parseLocation(java.lang.CharSequence)}.
+ *
+ * Character sequence returned by {@link #next()} is a view valid only until
+ * the next call of {@link #hasNext()} or {@link #next()}. Use
+ * {@link Object#toString()} to keep the location.
+ */
+public class LocationIterator implements Closeable {
+
+    private static final String LOCATION_PREFIX = "X-OCCI-Location:";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final boolean commaSeparated;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferPosition;
+    private int bufferLimit;
+    private boolean eof;
+    private char[] line = new char[256];
+    private int lineLength;
+    private final LocationView view = new LocationView();
+    private boolean pending;
+
+    /**
+     * Constructor.
+     *
+     * @param reader reader providing locations. Cannot be null.
+     * @param commaSeparated true if locations are separated by commas (as in
+     * 'Location' header), false if they are separated by new lines
+     */
+    public LocationIterator(Reader reader, boolean commaSeparated) {
+        if (reader == null) {
+            throw new NullPointerException("Reader cannot be null.");
+        }
+
+        this.reader = reader;
+        this.commaSeparated = commaSeparated;
+    }
+
+    /**
+     * Checks whether there is another location.
+     *
+     * @return true if there is another location, false otherwise
+     * @throws ParsingException in case the underlying reader cannot be read
+     */
+    public boolean hasNext() throws ParsingException {
+        if (pending) {
+            return true;
+        }
+
+        try {
+            while (readLine()) {
+                if (trimLine()) {
+                    pending = true;
+                    return true;
+                }
+            }
+        } catch (IOException ex) {
+            throw new ParsingException("Cannot read locations.", ex);
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns next location as a raw character sequence. Returned sequence is
+     * valid only until the next call of this method or {@link #hasNext()}.
+     *
+     * @return next location
+     * @throws ParsingException in case the underlying reader cannot be read
+     */
+    public CharSequence next() throws ParsingException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more locations.");
+        }
+
+        pending = false;
+        return view;
+    }
+
+    /**
+     * Returns next location converted to URI.
+     *
+     * @return next location
+     * @throws ParsingException in case the underlying reader cannot be read or
+     * the location is not a valid URI
+     */
+    public URI nextURI() throws ParsingException {
+        return TextParser.parseLocation(next());
+    }
+
+    /**
+     * Closes the underlying reader.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean readLine() throws IOException {
+        lineLength = 0;
+        boolean read = false;
+        while (true) {
+            if (bufferPosition >= bufferLimit) {
+                if (eof) {
+                    return read;
+                }
+                bufferLimit = reader.read(buffer, 0, buffer.length);
+                bufferPosition = 0;
+                if (bufferLimit < 0) {
+                    bufferLimit = 0;
+                    eof = true;
+                    return read;
+                }
+                continue;
+            }
+
+            char c = buffer[bufferPosition++];
+            read = true;
+            if (isSeparator(c)) {
+                return true;
+            }
+
+            if (lineLength == line.length) {
+                char[] newLine = new char[line.length * 2];
+                System.arraycopy(line, 0, newLine, 0, lineLength);
+                line = newLine;
+            }
+            line[lineLength++] = c;
+        }
+    }
+
+    private boolean isSeparator(char c) {
+        if (commaSeparated) {
+            return c == ',';
+        }
+
+        return c == '\n' || c == '\r';
+    }
+
+    /**
+     * Trims whitespaces and location prefix from the current line.
+     *
+     * @return true if there is a location left on the line, false otherwise
+     */
+    private boolean trimLine() {
+        int start = 0;
+        int end = lineLength;
+        while (start < end && Character.isWhitespace(line[start])) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(line[end - 1])) {
+            end--;
+        }
+
+        if (end - start >= LOCATION_PREFIX.length() && startsWithPrefix(start)) {
+            start += LOCATION_PREFIX.length();
+            while (start < end && Character.isWhitespace(line[start])) {
+                start++;
+            }
+        }
+
+        view.offset = start;
+        view.length = end - start;
+        return view.length > 0;
+    }
+
+    private boolean startsWithPrefix(int start) {
+        for (int i = 0; i < LOCATION_PREFIX.length(); i++) {
+            if (Character.toLowerCase(line[start + i]) != Character.toLowerCase(LOCATION_PREFIX.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Character sequence view of the current location.
+     */
+    private class LocationView implements CharSequence {
+
+        private int offset;
+        private int length;
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+            }
+
+            return line[offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(line, offset, length);
+        }
+    }
+}
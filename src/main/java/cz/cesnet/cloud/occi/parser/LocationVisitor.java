@@ -0,0 +1,24 @@
+package cz.cesnet.cloud.occi.parser;
+
+import cz.cesnet.cloud.occi.exception.ParsingException;
+
+/**
+ * Callback interface for streaming parsing of locations.
+ *
+ * @see TextParser#parseLocations(java.lang.String, java.io.Reader,
+ * com.sun.net.httpserver.Headers,
+ * cz.cesnet.cloud.occi.parser.LocationVisitor)
+ */
+public interface LocationVisitor {
+
+    /**
+     * Called for every parsed location. Given character sequence is valid only
+     * during the call, use {@link Object#toString()} to keep it or
+     * {@link TextParser#parseLocation(java.lang.CharSequence)} to convert it to
+     * URI.
+     *
+     * @param location raw location
+     * @throws ParsingException to stop the parsing
+     */
+    void visit(CharSequence location) throws ParsingException;
+}
@@ -4,7 +4,10 @@ import com.sun.net.httpserver.Headers;
 import cz.cesnet.cloud.occi.Collection;
 import cz.cesnet.cloud.occi.Model;
 import cz.cesnet.cloud.occi.exception.ParsingException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.net.URI;
+import java.nio.charset.Charset;
 import java.util.List;
 
 /**
@@ -50,4 +53,87 @@ public interface Parser {
      * @throws ParsingException when error occures during the parsing
      */
     List<URI> parseLocations(String mediaType, String body, Headers headers) throws ParsingException;
+
+    /**
+     * Parses an OCCI model either from body or headers depending on mediaType.
+     * Body is consumed line by line and is not closed by the parser.
+     *
+     * @param mediaType media type of the parsed server response
+     * @param body reader providing body of the server response
+     * @param headers headers of the server response
+     * @return OCCI model
+     * @throws ParsingException when error occures during the parsing
+     */
+    Model parseModelFromReader(String mediaType, Reader body, Headers headers) throws ParsingException;
+
+    /**
+     * Parses an OCCI model either from body or headers depending on mediaType.
+     * Body is consumed line by line and is not closed by the parser.
+     *
+     * @param mediaType media type of the parsed server response
+     * @param body stream providing body of the server response
+     * @param charset charset of the body
+     * @param headers headers of the server response
+     * @return OCCI model
+     * @throws ParsingException when error occures during the parsing
+     */
+    Model parseModel(String mediaType, InputStream body, Charset charset, Headers headers) throws ParsingException;
+
+    /**
+     * Parses an OCCI entity either from body or headers depending on mediaType
+     * and collectionType. Body is consumed line by line and is not closed by
+     * the parser.
+     *
+     * @param mediaType media type of the parsed server response
+     * @param body reader providing body of the server response
+     * @param headers headers of the server response
+     * @param collectionType collection type representing entities that will be
+     * parsed from the response
+     * @return collection of parsed entities
+     * @throws ParsingException when error occures during the parsing
+     */
+    Collection parseCollectionFromReader(String mediaType, Reader body, Headers headers, CollectionType collectionType) throws ParsingException;
+
+    /**
+     * Parses an OCCI entity either from body or headers depending on mediaType
+     * and collectionType. Body is consumed line by line and is not closed by
+     * the parser.
+     *
+     * @param mediaType media type of the parsed server response
+     * @param body stream providing body of the server response
+     * @param charset charset of the body
+     * @param headers headers of the server response
+     * @param collectionType collection type representing entities that will be
+     * parsed from the response
+     * @return collection of parsed entities
+     * @throws ParsingException when error occures during the parsing
+     */
+    Collection parseCollection(String mediaType, InputStream body, Charset charset, Headers headers, CollectionType collectionType) throws ParsingException;
+
+    /**
+     * Parses a list of locations either from body or headers depending on
+     * mediaType. Body is consumed line by line and is not closed by the
+     * parser.
+     *
+     * @param mediaType media type of the parsed server response
+     * @param body reader providing body of the server response
+     * @param headers headers of the server response
+     * @return list of locations
+     * @throws ParsingException when error occures during the parsing
+     */
+    List<URI> parseLocationsFromReader(String mediaType, Reader body, Headers headers) throws ParsingException;
+
+    /**
+     * Parses a list of locations either from body or headers depending on
+     * mediaType. Body is consumed line by line and is not closed by the
+     * parser.
+     *
+     * @param mediaType media type of the parsed server response
+     * @param body stream providing body of the server response
+     * @param charset charset of the body
+     * @param headers headers of the server response
+     * @return list of locations
+     * @throws ParsingException when error occures during the parsing
+     */
+    List<URI> parseLocations(String mediaType, InputStream body, Charset charset, Headers headers) throws ParsingException;
 }
@@ -1,6 +1,7 @@
 package cz.cesnet.cloud.occi.parser;
 
 import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.CategoryHierarchy;
 import cz.cesnet.cloud.occi.Collection;
 import cz.cesnet.cloud.occi.Model;
 import cz.cesnet.cloud.occi.core.Action;
@@ -14,8 +15,15 @@ import cz.cesnet.cloud.occi.core.Mixin;
 import cz.cesnet.cloud.occi.core.Resource;
 import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
 import cz.cesnet.cloud.occi.exception.ParsingException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -56,7 +64,7 @@ public class TextParser implements Parser {
     public static final String REGEXP_FLOAT = REGEXP_INT + "\\." + REGEXP_INT;
     public static final String REGEXP_NUMBER = REGEXP_FLOAT + "|" + REGEXP_INT;
     public static final String REGEXP_BOOL = "\\b(?<!\\|)true(?!\\|)\\b|\\b(?<!\\|)false(?!\\|)\\b";
-    public static final String REGEXP_QUOTED_STRING = "([^\"\\\\]|\\.)*";
+    public static final String REGEXP_QUOTED_STRING = "([^\"\\\\]|\\\\.)*";
     public static final String REGEXP_URI = "(?x-mi:([a-zA-Z][\\-+.a-zA-Z\\d]*):(?:((?:[\\-_.!~*'()a-zA-Z\\d;?:@&=+$,]|%[a-fA-F\\d]{2})(?:[\\-_.!~*'()a-zA-Z\\d;\\/?:@&=+$,\\[\\]]|%[a-fA-F\\d]{2})*)|(?:(?:\\/\\/(?:(?:(?:((?:[\\-_.!~*'()a-zA-Z\\d;:&=+$,]|%[a-fA-F\\d]{2})*)@)?(?:((?:(?:[a-zA-Z0-9\\-.]|%[0-9a-fA-F][0-9a-fA-F])+|\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}|\\[(?:(?:[a-fA-F\\d]{1,4}:)*(?:[a-fA-F\\d]{1,4}|\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3})|(?:(?:[a-fA-F\\d]{1,4}:)*[a-fA-F\\d]{1,4})?::(?:(?:[a-fA-F\\d]{1,4}:)*(?:[a-fA-F\\d]{1,4}|\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}))?)\\]))(?::(\\d*))?))?|((?:[\\-_.!~*'()a-zA-Z\\d$,;:@&=+]|%[a-fA-F\\d]{2})+))|(?!\\/\\/))(\\/(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*(?:;(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*)*(?:\\/(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*(?:;(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*)*)*)?)(?:\\?((?:[\\-_.!~*'()a-zA-Z\\d;\\/?:@&=+$,\\[\\]]|%[a-fA-F\\d]{2})*))?)(?:\\#((?:[\\-_.!~*'()a-zA-Z\\d;\\/?:@&=+$,\\[\\]]|%[a-fA-F\\d]{2})*))?)";
     public static final String REGEXP_URI_REF = "(?:[a-zA-Z][\\-+.a-zA-Z\\d]*:(?:(?:\\/\\/(?:(?:(?:[\\-_.!~*'()a-zA-Z\\d;:&=+$,]|%[a-fA-F\\d]{2})*@)?(?:(?:[a-zA-Z0-9\\-.]|%[0-9a-fA-F][0-9a-fA-F])+|\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}|\\[(?:(?:[a-fA-F\\d]{1,4}:)*(?:[a-fA-F\\d]{1,4}|\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3})|(?:(?:[a-fA-F\\d]{1,4}:)*[a-fA-F\\d]{1,4})?::(?:(?:[a-fA-F\\d]{1,4}:)*(?:[a-fA-F\\d]{1,4}|\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}))?)\\])(?::\\d*)?|(?:[\\-_.!~*'()a-zA-Z\\d$,;:@&=+]|%[a-fA-F\\d]{2})+)(?:\\/(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*(?:;(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*)*(?:\\/(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*(?:;(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*)*)*)?|\\/(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*(?:;(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*)*(?:\\/(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*(?:;(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*)*)*)(?:\\?(?:(?:[\\-_.!~*'()a-zA-Z\\d;\\/?:@&=+$,\\[\\]]|%[a-fA-F\\d]{2})*))?|(?:[\\-_.!~*'()a-zA-Z\\d;?:@&=+$,]|%[a-fA-F\\d]{2})(?:[\\-_.!~*'()a-zA-Z\\d;\\/?:@&=+$,\\[\\]]|%[a-fA-F\\d]{2})*)|(?:\\/\\/(?:(?:(?:[\\-_.!~*'()a-zA-Z\\d;:&=+$,]|%[a-fA-F\\d]{2})*@)?(?:(?:[a-zA-Z0-9\\-.]|%[0-9a-fA-F][0-9a-fA-F])+|\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}|\\[(?:(?:[a-fA-F\\d]{1,4}:)*(?:[a-fA-F\\d]{1,4}|\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3})|(?:(?:[a-fA-F\\d]{1,4}:)*[a-fA-F\\d]{1,4})?::(?:(?:[a-fA-F\\d]{1,4}:)*(?:[a-fA-F\\d]{1,4}|\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}))?)\\])(?::\\d*)?|(?:[\\-_.!~*'()a-zA-Z\\d$,;:@&=+]|%[a-fA-F\\d]{2})+)(?:\\/(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*(?:;(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*)*(?:\\/(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*(?:;(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*)*)*)?|\\/(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*(?:;(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*)*(?:\\/(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*(?:;(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*)*)*|(?:[\\-_.!~*'()a-zA-Z\\d;@&=+$,]|%[a-fA-F\\d]{2})+(?:\\/(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*(?:;(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*)*(?:\\/(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*(?:;(?:[\\-_.!~*'()a-zA-Z\\d:@&=+$,]|%[a-fA-F\\d]{2})*)*)*)?)(?:\\?(?:[\\-_.!~*'()a-zA-Z\\d;\\/?:@&=+$,\\[\\]]|%[a-fA-F\\d]{2})*)?)?(?:#(?:[\\-_.!~*'()a-zA-Z\\d;\\/?:@&=+$,\\[\\]]|%[a-fA-F\\d]{2})*)?";
     public static final String REGEXP_TERM = "(" + REGEXP_ALPHA + "|" + REGEXP_DIGIT + ")(" + REGEXP_LOALPHA + "|" + REGEXP_DIGIT + "|-|_)*";
@@ -105,7 +113,74 @@ public class TextParser implements Parser {
     public static final String ATTRIBUTE_HEADER = "x-occi-attribute";
     public static final String LOCATION_HEADER = "location";
 
+    private static final String CATEGORY_PREFIX = "Category:";
+    private static final String LINK_PREFIX = "Link:";
+    private static final String ATTRIBUTE_PREFIX = "X-OCCI-Attribute:";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(TextParser.class);
+    private boolean strictValidation = false;
+    private Model model;
+
+    /**
+     * Checks whether the parser validates categories strictly against
+     * {@link #PATTERN_CATEGORY}.
+     *
+     * @return true if strict validation is turned on, false otherwise
+     */
+    public boolean isStrictValidation() {
+        return strictValidation;
+    }
+
+    /**
+     * Turns strict validation of categories on or off. By default, categories
+     * are read by {@link CategoryTokenizer} which is considerably faster than
+     * the regular expression {@link #PATTERN_CATEGORY} used in the strict mode.
+     *
+     * @param strictValidation true to turn strict validation on, false
+     * otherwise
+     */
+    public void setStrictValidation(boolean strictValidation) {
+        this.strictValidation = strictValidation;
+    }
+
+    /**
+     * Returns model used to resolve categories of parsed collections.
+     *
+     * @return model used to resolve categories, null if none is set
+     */
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * Sets model used to resolve categories of parsed collections. When the
+     * model is set, kinds, mixins and actions referred to by parsed entities
+     * are the model's own instances and new instances are created only for
+     * categories unknown to the model, so entities parsed with the same model
+     * share their categories. Categories of the model are not modified by the
+     * parser, e.g. location of a link's kind is not taken from the link. Parsed
+     * collections are assigned the model.
+     *
+     * @param model model used to resolve categories, null to create new
+     * categories for every parsed entity
+     */
+    public void setModel(Model model) {
+        this.model = model;
+    }
+
+    private CategoryTokens matchCategory(String line) {
+        LOGGER.debug("Matching line '{}' against category pattern.", line);
+        CategoryTokens tokens;
+        if (strictValidation) {
+            Matcher matcher = PATTERN_CATEGORY.matcher(line);
+            tokens = matcher.find() ? CategoryTokens.fromMatcher(matcher) : null;
+        } else {
+            tokens = CategoryTokenizer.tokenize(line);
+        }
+
+        LOGGER.debug("Match: {}", tokens);
+        return tokens;
+    }
 
     /**
      * @see Parser#parseModel(java.lang.String, java.lang.String,
@@ -113,6 +188,24 @@ public class TextParser implements Parser {
      */
     @Override
     public Model parseModel(String mediaType, String body, Headers headers) throws ParsingException {
+        return parseModelFromReader(mediaType, createReader(body), headers);
+    }
+
+    /**
+     * @see Parser#parseModel(java.lang.String, java.io.InputStream,
+     * java.nio.charset.Charset, com.sun.net.httpserver.Headers)
+     */
+    @Override
+    public Model parseModel(String mediaType, InputStream body, Charset charset, Headers headers) throws ParsingException {
+        return parseModelFromReader(mediaType, createReader(body, charset), headers);
+    }
+
+    /**
+     * @see Parser#parseModelFromReader(java.lang.String, java.io.Reader,
+     * com.sun.net.httpserver.Headers)
+     */
+    @Override
+    public Model parseModelFromReader(String mediaType, Reader body, Headers headers) throws ParsingException {
         LOGGER.debug("Parsing model...");
 
         switch (mediaType) {
@@ -125,14 +218,30 @@ public class TextParser implements Parser {
         }
     }
 
-    private Model parseModelFromBody(String body) throws ParsingException {
+    private Model parseModelFromBody(Reader body) throws ParsingException {
         LOGGER.debug("Reading response body.");
 
-        body = body.trim();
-        String replaced = Pattern.compile("Category:\\s*", Pattern.CASE_INSENSITIVE).matcher(body).replaceAll("");
+        ModelContext context = new ModelContext();
+        BufferedReader reader = createBufferedReader(body);
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                parseModelLine(line, context);
+            }
+        } catch (IOException ex) {
+            throw new ParsingException("Cannot read response body.", ex);
+        }
 
-        String[] lines = replaced.split("[\\r\\n]+");
-        return parseModelFromArray(lines);
+        if (context.lines == 0) {
+            throw new ParsingException("No category found in response body.");
+        }
+
+        return finishModel(context);
     }
 
     private Model parseModelFromHeaders(Headers headers) throws ParsingException {
@@ -143,54 +252,57 @@ public class TextParser implements Parser {
         }
 
         String[] categories = headers.getFirst(CATEGORY_HEADER).split(",");
-        return parseModelFromArray(categories);
+        ModelContext context = new ModelContext();
+        for (String category : categories) {
+            parseModelLine(category, context);
+        }
+
+        return finishModel(context);
     }
 
-    private Model parseModelFromArray(String[] lines) throws ParsingException {
-        Model model = new Model();
-        Map<String, List<Kind>> kindMapping = new HashMap<>();
-        Map<String, List<Mixin>> mixinMapping = new HashMap<>();
+    private void parseModelLine(String line, ModelContext context) throws ParsingException {
+        context.lines++;
+        CategoryTokens tokens = matchCategory(line);
+        if (tokens == null) {
+            throw new ParsingException("Invalid line: " + line);
+        }
+        String term = tokens.getTerm();
+        String scheme = tokens.getScheme();
+        String categoryClass = tokens.getCategoryClass();
+        String location = tokens.getLocation();
 
-        for (String line : lines) {
-            LOGGER.debug("Matching line '{}' against category pattern.", line);
-            Matcher matcher = PATTERN_CATEGORY.matcher(line);
-            if (!matcher.find()) {
-                throw new ParsingException("Invalid line: " + line);
-            }
-            String term = matcher.group(GROUP_TERM);
-            String scheme = matcher.group(GROUP_SCHEME);
-            String categoryClass = matcher.group(GROUP_CLASS);
-            String location = matcher.group(GROUP_LOCATION);
-            LOGGER.debug("Match: term={}, scheme={}, class={}, title={}, rel={}, location={}, attributes={}, actions={}",
-                    term, scheme, categoryClass, matcher.group(GROUP_TITLE), matcher.group(GROUP_REL), location, matcher.group(GROUP_ATTRIBUTES), matcher.group(GROUP_ACTIONS));
-
-            if (term == null || term.isEmpty()) {
-                throw new ParsingException("No term found.");
-            }
-            if (scheme == null || scheme.isEmpty()) {
-                throw new ParsingException("No scheme found.");
-            }
-            if (categoryClass == null || categoryClass.isEmpty()) {
-                throw new ParsingException("No class found.");
-            }
+        if (term == null || term.isEmpty()) {
+            throw new ParsingException("No term found.");
+        }
+        if (scheme == null || scheme.isEmpty()) {
+            throw new ParsingException("No scheme found.");
+        }
+        if (categoryClass == null || categoryClass.isEmpty()) {
+            throw new ParsingException("No class found.");
+        }
 
-            switch (categoryClass) {
-                case "kind":
-                    if (location == null || location.isEmpty()) {
-                        throw new ParsingException("No location found.");
-                    }
-                    model = addKind(matcher, kindMapping, model);
-                    break;
-                case "mixin":
-                    model = addMixin(matcher, mixinMapping, model);
-                    break;
-                case "action":
-                    model = addAction(matcher, model);
-                    break;
-                default:
-                    throw new ParsingException("Unknown class type.");
-            }
+        switch (categoryClass) {
+            case "kind":
+                if (location == null || location.isEmpty()) {
+                    throw new ParsingException("No location found.");
+                }
+                addKind(tokens, context.kindMapping, context.model);
+                break;
+            case "mixin":
+                addMixin(tokens, context.mixinMapping, context.model);
+                break;
+            case "action":
+                addAction(tokens, context.model);
+                break;
+            default:
+                throw new ParsingException("Unknown class type.");
         }
+    }
+
+    private Model finishModel(ModelContext context) throws ParsingException {
+        Model model = context.model;
+        Map<String, List<Kind>> kindMapping = context.kindMapping;
+        Map<String, List<Mixin>> mixinMapping = context.mixinMapping;
 
         if (!kindMapping.isEmpty()) {
             List<Kind> defaultKinds = createDefaultKinds();
@@ -201,13 +313,11 @@ public class TextParser implements Parser {
 
                 model.addKind(kind);
 
-                for (String identifier : kindMapping.keySet()) {
-                    if (identifier.equals(kind.getIdentifier())) {
-                        List<Kind> kinds = kindMapping.remove(identifier);
-                        for (Kind k : kinds) {
-                            k.setParentKind(kind);
-                            k.addRelation(kind);
-                        }
+                List<Kind> kinds = kindMapping.remove(kind.getIdentifier());
+                if (kinds != null) {
+                    for (Kind k : kinds) {
+                        k.setParentKind(kind);
+                        k.addRelation(kind);
                     }
                 }
             }
@@ -221,16 +331,21 @@ public class TextParser implements Parser {
             throw new ParsingException("Unknown mixins relations found: " + mixinMapping);
         }
 
+        CategoryHierarchy hierarchy = model.getHierarchy();
+        if (hierarchy.isCyclic()) {
+            throw new ParsingException("Cyclic relations found: " + hierarchy.getCyclicCategories());
+        }
+
         return model;
     }
 
-    private Model addKind(Matcher matcher, Map<String, List<Kind>> mapping, Model model) throws ParsingException {
+    private Model addKind(CategoryTokens tokens, Map<String, List<Kind>> mapping, Model model) throws ParsingException {
         LOGGER.debug("Adding kind...");
-        String actions = matcher.group(GROUP_ACTIONS);
-        String rel = matcher.group(GROUP_REL);
-        String term = matcher.group(GROUP_TERM);
+        String actions = tokens.getActions();
+        String rel = tokens.getRel();
+        String term = tokens.getTerm();
 
-        Kind kind = createKind(matcher);
+        Kind kind = createKind(tokens);
         kind = (Kind) connectActions(actions, kind, model);
 
         if (rel != null && !rel.isEmpty()) {
@@ -265,13 +380,13 @@ public class TextParser implements Parser {
         return model;
     }
 
-    private Model addMixin(Matcher matcher, Map<String, List<Mixin>> mapping, Model model) throws ParsingException {
+    private Model addMixin(CategoryTokens tokens, Map<String, List<Mixin>> mapping, Model model) throws ParsingException {
         LOGGER.debug("Adding mixin...");
-        String actions = matcher.group(GROUP_ACTIONS);
-        String rel = matcher.group(GROUP_REL);
-        String term = matcher.group(GROUP_TERM);
+        String actions = tokens.getActions();
+        String rel = tokens.getRel();
+        String term = tokens.getTerm();
 
-        Mixin mixin = createMixin(matcher);
+        Mixin mixin = createMixin(tokens);
         mixin = (Mixin) connectActions(actions, mixin, model);
 
         if (rel != null && !rel.isEmpty()) {
@@ -304,12 +419,12 @@ public class TextParser implements Parser {
         return model;
     }
 
-    private Model addAction(Matcher matcher, Model model) throws ParsingException {
+    private Model addAction(CategoryTokens tokens, Model model) throws ParsingException {
         LOGGER.debug("Adding action...");
-        String term = matcher.group(GROUP_TERM);
-        String scheme = matcher.group(GROUP_SCHEME);
-        String title = matcher.group(GROUP_TITLE);
-        String attributes = matcher.group(GROUP_ATTRIBUTES);
+        String term = tokens.getTerm();
+        String scheme = tokens.getScheme();
+        String title = tokens.getTitle();
+        String attributes = tokens.getAttributes();
 
         String actionIdentifier = scheme + term;
         if (model.containsAction(actionIdentifier)) {
@@ -321,7 +436,7 @@ public class TextParser implements Parser {
                 action.addAttribute(attribute);
             }
         } else {
-            Action action = createAction(matcher);
+            Action action = createAction(tokens);
             model.addAction(action);
         }
 
@@ -392,7 +507,7 @@ public class TextParser implements Parser {
         return attribute;
     }
 
-    private List<Kind> createDefaultKinds() {
+    static List<Kind> createDefaultKinds() {
         List<Kind> defaultKinds = new ArrayList<>();
 
         Set<Attribute> attributes = new HashSet<>();
@@ -425,60 +540,146 @@ public class TextParser implements Parser {
      */
     @Override
     public List<URI> parseLocations(String mediaType, String body, Headers headers) throws ParsingException {
+        return parseLocationsFromReader(mediaType, createReader(body), headers);
+    }
+
+    /**
+     * @see Parser#parseLocations(java.lang.String, java.io.InputStream,
+     * java.nio.charset.Charset, com.sun.net.httpserver.Headers)
+     */
+    @Override
+    public List<URI> parseLocations(String mediaType, InputStream body, Charset charset, Headers headers) throws ParsingException {
+        return parseLocationsFromReader(mediaType, createReader(body, charset), headers);
+    }
+
+    /**
+     * @see Parser#parseLocationsFromReader(java.lang.String, java.io.Reader,
+     * com.sun.net.httpserver.Headers)
+     */
+    @Override
+    public List<URI> parseLocationsFromReader(String mediaType, Reader body, Headers headers) throws ParsingException {
+        List<URI> locations = new ArrayList<>();
+        LocationIterator iterator = iterateLocations(mediaType, body, headers);
+        while (iterator.hasNext()) {
+            locations.add(iterator.nextURI());
+        }
+
+        return locations;
+    }
+
+    /**
+     * Parses locations either from body or headers depending on mediaType and
+     * passes them one by one to the visitor as raw character sequences.
+     * Locations are not converted to URI, see
+     * {@link #parseLocation(java.lang.CharSequence)}.
+     *
+     * @param mediaType media type of the parsed server response
+     * @param body reader providing body of the server response
+     * @param headers headers of the server response
+     * @param visitor visitor called for every location
+     * @throws ParsingException when error occures during the parsing
+     */
+    public void parseLocations(String mediaType, Reader body, Headers headers, LocationVisitor visitor) throws ParsingException {
+        LocationIterator iterator = iterateLocations(mediaType, body, headers);
+        while (iterator.hasNext()) {
+            visitor.visit(iterator.next());
+        }
+    }
+
+    /**
+     * Parses locations either from body or headers depending on mediaType and
+     * passes them one by one to the visitor as raw character sequences.
+     * Locations are not converted to URI, see
+     * {@link #parseLocation(java.lang.CharSequence)}.
+     *
+     * @param mediaType media type of the parsed server response
+     * @param body stream providing body of the server response
+     * @param charset charset of the body
+     * @param headers headers of the server response
+     * @param visitor visitor called for every location
+     * @throws ParsingException when error occures during the parsing
+     */
+    public void parseLocations(String mediaType, InputStream body, Charset charset, Headers headers, LocationVisitor visitor) throws ParsingException {
+        parseLocations(mediaType, createReader(body, charset), headers, visitor);
+    }
+
+    /**
+     * Returns lazy iterator over locations read either from body or headers
+     * depending on mediaType. Body is read only as the iterator advances.
+     *
+     * @param mediaType media type of the parsed server response
+     * @param body reader providing body of the server response
+     * @param headers headers of the server response
+     * @return iterator over locations
+     * @throws ParsingException when error occures during the parsing
+     */
+    public LocationIterator iterateLocations(String mediaType, Reader body, Headers headers) throws ParsingException {
         LOGGER.debug("Parsing location...");
 
         switch (mediaType) {
             case MediaType.TEXT_OCCI:
-                return parseLocationsFromHeaders(headers);
+                LOGGER.debug("Reading response headers.");
+                if (!headers.containsKey(LOCATION_HEADER)) {
+                    throw new ParsingException("No header '" + LOCATION_HEADER + "' among headers.");
+                }
+
+                return new LocationIterator(new StringReader(headers.getFirst(LOCATION_HEADER)), true);
             case MediaType.TEXT_URI_LIST:
             case MediaType.TEXT_PLAIN:
-                return parseLocationsFromBody(body);
+                LOGGER.debug("Reading response body.");
+                if (body == null) {
+                    throw new NullPointerException("Body cannot be null.");
+                }
+
+                return new LocationIterator(body, false);
             default:
                 throw new ParsingException("Unknown media type '" + mediaType + "'.");
         }
     }
 
-    private List<URI> parseLocationsFromHeaders(Headers headers) throws ParsingException {
-        LOGGER.debug("Reading response headers.");
-
-        if (!headers.containsKey(LOCATION_HEADER)) {
-            throw new ParsingException("No header '" + LOCATION_HEADER + "' among headers.");
+    /**
+     * Converts raw location to URI.
+     *
+     * @param location raw location
+     * @return location as URI
+     * @throws ParsingException if location is not a valid URI
+     */
+    public static URI parseLocation(CharSequence location) throws ParsingException {
+        String locationString = location.toString();
+        try {
+            return new URI(locationString);
+        } catch (URISyntaxException ex) {
+            throw new ParsingException("Invalid location: " + locationString + ".", ex);
         }
-
-        String[] locations = headers.getFirst(LOCATION_HEADER).split(",");
-        return makeURIList(locations);
     }
 
-    private List<URI> parseLocationsFromBody(String body) throws ParsingException {
-        LOGGER.debug("Reading response body.");
-
-        body = body.trim();
-        String replaced = Pattern.compile("X-OCCI-Location:\\s*", Pattern.CASE_INSENSITIVE).matcher(body).replaceAll("");
-        String[] lines = replaced.split("[\\r\\n]+");
-        return makeURIList(lines);
+    /**
+     * @see Parser#parseCollection(java.lang.String, java.lang.String,
+     * com.sun.net.httpserver.Headers,
+     * cz.cesnet.cloud.occi.parser.CollectionType)
+     */
+    @Override
+    public Collection parseCollection(String mediaType, String body, Headers headers, CollectionType collectionType) throws ParsingException {
+        return parseCollectionFromReader(mediaType, createReader(body), headers, collectionType);
     }
 
-    private List<URI> makeURIList(String[] locations) throws ParsingException {
-
-        List<URI> locationsURI = new ArrayList<>();
-        for (String location : locations) {
-            try {
-                locationsURI.add(new URI(location));
-            } catch (URISyntaxException ex) {
-                throw new ParsingException("Invalid location: " + location + ".", ex);
-            }
-        }
-
-        return locationsURI;
+    /**
+     * @see Parser#parseCollection(java.lang.String, java.io.InputStream,
+     * java.nio.charset.Charset, com.sun.net.httpserver.Headers,
+     * cz.cesnet.cloud.occi.parser.CollectionType)
+     */
+    @Override
+    public Collection parseCollection(String mediaType, InputStream body, Charset charset, Headers headers, CollectionType collectionType) throws ParsingException {
+        return parseCollectionFromReader(mediaType, createReader(body, charset), headers, collectionType);
     }
 
     /**
-     * @see Parser#parseCollection(java.lang.String, java.lang.String,
+     * @see Parser#parseCollectionFromReader(java.lang.String, java.io.Reader,
      * com.sun.net.httpserver.Headers,
      * cz.cesnet.cloud.occi.parser.CollectionType)
      */
     @Override
-    public Collection parseCollection(String mediaType, String body, Headers headers, CollectionType collectionType) throws ParsingException {
+    public Collection parseCollectionFromReader(String mediaType, Reader body, Headers headers, CollectionType collectionType) throws ParsingException {
         LOGGER.debug("Parsing collection...");
 
         switch (mediaType) {
@@ -509,94 +710,137 @@ public class TextParser implements Parser {
             lines.addAll(Arrays.asList(headers.getFirst(LINK_HEADER).split(",")));
         }
 
-        return parseCollectionFromArray(lines.toArray(new String[0]), collectionType);
+        CollectionContext context = new CollectionContext(collectionType);
+        for (String line : lines) {
+            parseCollectionLine(line, context);
+        }
+
+        return finishCollection(context);
     }
 
-    private Collection parseCollectionFromBody(String body, CollectionType collectionType) throws ParsingException {
+    private Collection parseCollectionFromBody(Reader body, CollectionType collectionType) throws ParsingException {
         LOGGER.debug("Reading body.");
 
-        body = body.trim();
-        String replaced = Pattern.compile("Category:\\s*", Pattern.CASE_INSENSITIVE).matcher(body).replaceAll("");
-        replaced = Pattern.compile("Link:\\s*", Pattern.CASE_INSENSITIVE).matcher(body).replaceAll("");
-        replaced = Pattern.compile("X-OCCI-Attribute:\\s*", Pattern.CASE_INSENSITIVE).matcher(body).replaceAll("");
-        String[] lines = replaced.split("[\\r\\n]+");
+        CollectionContext context = new CollectionContext(collectionType);
+        BufferedReader reader = createBufferedReader(body);
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                line = stripPrefix(line, CATEGORY_PREFIX);
+                line = stripPrefix(line, LINK_PREFIX);
+                line = stripPrefix(line, ATTRIBUTE_PREFIX);
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                parseCollectionLine(line, context);
+            }
+        } catch (IOException ex) {
+            throw new ParsingException("Cannot read body.", ex);
+        }
 
-        return parseCollectionFromArray(lines, collectionType);
+        return finishCollection(context);
     }
 
-    private Collection parseCollectionFromArray(String[] lines, CollectionType collectionType) throws ParsingException {
-        Collection collection = new Collection();
-        Kind kind;
-        Set<Mixin> mixins = new HashSet<>();
-        List<String> rawAttributes = new ArrayList<>();
-        Map<String, String> attributesWithValues = null;
+    private void parseCollectionLine(String line, CollectionContext context) throws ParsingException {
+        CollectionType collectionType = context.collectionType;
+
+        //the first line specifies kind or action
+        if (!context.started) {
+            context.started = true;
+            switch (collectionType) {
+                case RESOURCE:
+                case LINK:
+                    context.kind = lookForKind(line);
+                    break;
+                case ACTION:
+                    context.actionInstance = lookForActionInstance(line);
+                    break;
+                default:
+                    throw new ParsingException("Unknown collection type'" + collectionType + "'.");
+            }
+
+            return;
+        }
 
         switch (collectionType) {
             //expecting resource instance
             case RESOURCE:
-                Set<Link> links = new HashSet<>();
-                Set<Action> actionLinks = new HashSet<>();
+                //looking for mixin lines
+                if (lookForMixins(line, context.mixins)) {
+                    return;
+                }
+                //looking for attribute lines
+                if (lookForAttributes(line, context.attributes)) {
+                    return;
+                }
+                //looking for link lines
+                lookForLinks(line, context.links, context.actionLinks);
+                break;
+            case LINK:
+                //looking for mixin lines
+                if (lookForMixins(line, context.mixins)) {
+                    return;
+                }
+                //looking for attribute lines
+                lookForAttributes(line, context.attributes);
+                break;
+            case ACTION:
+                //looking for attribute lines
+                lookForAttributes(line, context.attributes);
+                break;
+            default:
+                throw new ParsingException("Unknown collection type'" + collectionType + "'.");
+        }
+    }
 
-                kind = lookForKind(lines[0]);
-                lines = Arrays.copyOfRange(lines, 1, lines.length);
+    private Collection finishCollection(CollectionContext context) throws ParsingException {
+        Collection collection = new Collection();
+        collection.setModel(model);
+        Map<String, String> attributesWithValues;
 
-                for (String line : lines) {
-                    //looking for mixin lines
-                    if (lookForMixins(line, mixins)) {
-                        continue;
-                    }
-                    //looking for attribute lines
-                    if (lookForAttributes(line, rawAttributes)) {
-                        continue;
-                    }
-                    //looking for link lines
-                    lookForLinks(line, links, actionLinks);
+        switch (context.collectionType) {
+            case RESOURCE:
+                if (!context.started) {
+                    throw new ParsingException("No kind specification found.");
                 }
 
-                attributesWithValues = parseAttributesWithValues(rawAttributes.toArray(new String[0]));
+                attributesWithValues = context.attributes;
                 if (!attributesWithValues.containsKey(Resource.ID_ATTRIBUTE_NAME)) {
                     throw new ParsingException("No id found. Cannot construct a resource.");
                 }
 
                 Resource resource = null;
                 try {
-                    resource = new Resource(attributesWithValues.get(Entity.ID_ATTRIBUTE_NAME), kind);
+                    resource = new Resource(attributesWithValues.get(Entity.ID_ATTRIBUTE_NAME), context.kind);
 
                     attributesWithValues.remove(Entity.ID_ATTRIBUTE_NAME);
-                    resource.addMixins(mixins);
-                    resource.addLinks(links);
-                    resource.addActions(actionLinks);
+                    resource.addMixins(context.mixins);
+                    resource.addLinks(context.links);
+                    resource.addActions(context.actionLinks);
                     resource.addAttributes(attributesWithValues);
                 } catch (InvalidAttributeValueException ex) {
                     throw new ParsingException("Invalid attribute value found", ex);
                 }
                 collection.addResource(resource);
-
                 break;
             case LINK:
-                kind = lookForKind(lines[0]);
-                lines = Arrays.copyOfRange(lines, 1, lines.length);
-
-                for (String line : lines) {
-                    //looking for mixin lines
-                    if (lookForMixins(line, mixins)) {
-                        continue;
-                    }
-                    //looking for attribute lines
-                    lookForAttributes(line, rawAttributes);
+                if (!context.started) {
+                    throw new ParsingException("No kind specification found.");
                 }
 
-                attributesWithValues = parseAttributesWithValues(rawAttributes.toArray(new String[0]));
+                attributesWithValues = context.attributes;
                 if (!attributesWithValues.containsKey(Resource.ID_ATTRIBUTE_NAME)) {
                     throw new ParsingException("No id found. Cannot construct a resource.");
                 }
 
                 Link link = null;
                 try {
-                    link = new Link(attributesWithValues.get(Entity.ID_ATTRIBUTE_NAME), kind);
+                    link = new Link(attributesWithValues.get(Entity.ID_ATTRIBUTE_NAME), context.kind);
 
                     attributesWithValues.remove(Entity.ID_ATTRIBUTE_NAME);
-                    link.addMixins(mixins);
+                    link.addMixins(context.mixins);
                     link.addAttributes(attributesWithValues);
                 } catch (InvalidAttributeValueException ex) {
                     throw new ParsingException("Invalid attribute value found", ex);
@@ -604,71 +848,60 @@ public class TextParser implements Parser {
                 collection.addLink(link);
                 break;
             case ACTION:
-                ActionInstance actionInstance = lookForActionInstance(lines[0]);
-                lines = Arrays.copyOfRange(lines, 1, lines.length);
-
-                for (String line : lines) {
-                    //looking for attribute lines
-                    lookForAttributes(line, rawAttributes);
+                if (!context.started) {
+                    throw new ParsingException("No action specification found.");
                 }
 
-                attributesWithValues = parseAttributesWithValues(rawAttributes.toArray(new String[0]));
+                attributesWithValues = context.attributes;
+                ActionInstance actionInstance = context.actionInstance;
                 actionInstance.addAttributes(attributesWithValues);
 
                 collection.addAction(actionInstance);
                 break;
             default:
-                throw new ParsingException("Unknown collection type'" + collectionType + "'.");
+                throw new ParsingException("Unknown collection type'" + context.collectionType + "'.");
         }
 
         return collection;
     }
 
     private Kind lookForKind(String line) throws ParsingException {
-        LOGGER.debug("Matching line '{}' against category pattern.", line);
-        Matcher matcher = PATTERN_CATEGORY.matcher(line);
+        CategoryTokens tokens = matchCategory(line);
 
-        if (!matcher.find()) {
+        if (tokens == null) {
             throw new ParsingException("No kind specification found.");
         }
 
-        LOGGER.debug("Match: term={}, scheme={}, class={}, title={}, rel={}, location={}, attributes={}, actions={}",
-                matcher.group(GROUP_TERM), matcher.group(GROUP_SCHEME),
-                matcher.group(GROUP_CLASS), matcher.group(GROUP_TITLE),
-                matcher.group(GROUP_REL), matcher.group(GROUP_LOCATION),
-                matcher.group(GROUP_ATTRIBUTES), matcher.group(GROUP_ACTIONS));
-
-        String actions = matcher.group(GROUP_ACTIONS);
-        String categoryClass = matcher.group(GROUP_CLASS);
+        String actions = tokens.getActions();
+        String categoryClass = tokens.getCategoryClass();
 
         if (!categoryClass.equals("kind")) {
             throw new ParsingException("No kind specification found.");
         }
 
-        Kind kind = createKind(matcher);
-        connectActions(actions, kind, null);
+        Kind kind = model == null ? null : model.getKind(tokens.getScheme() + tokens.getTerm());
+        if (kind == null) {
+            kind = createKind(tokens);
+            connectActions(actions, kind, model);
+        }
 
         return kind;
     }
 
     private boolean lookForMixins(String line, Set<Mixin> mixins) throws ParsingException {
-        LOGGER.debug("Matching line '{}' against category pattern.", line);
-        Matcher matcher = PATTERN_CATEGORY.matcher(line);
+        CategoryTokens tokens = matchCategory(line);
 
-        if (matcher.find()) {
-            LOGGER.debug("Match: term={}, scheme={}, class={}, title={}, rel={}, location={}, attributes={}, actions={}",
-                    matcher.group(GROUP_TERM), matcher.group(GROUP_SCHEME),
-                    matcher.group(GROUP_CLASS), matcher.group(GROUP_TITLE),
-                    matcher.group(GROUP_REL), matcher.group(GROUP_LOCATION),
-                    matcher.group(GROUP_ATTRIBUTES), matcher.group(GROUP_ACTIONS));
-
-            String categoryClass = matcher.group(GROUP_CLASS);
-            String actions = matcher.group(GROUP_ACTIONS);
+        if (tokens != null) {
+            String categoryClass = tokens.getCategoryClass();
+            String actions = tokens.getActions();
 
             switch (categoryClass) {
                 case "mixin":
-                    Mixin mixin = createMixin(matcher);
-                    connectActions(actions, mixin, null);
+                    Mixin mixin = model == null ? null : model.getMixin(tokens.getScheme() + tokens.getTerm());
+                    if (mixin == null) {
+                        mixin = createMixin(tokens);
+                        connectActions(actions, mixin, model);
+                    }
                     mixins.add(mixin);
                     break;
                 default:
@@ -681,14 +914,9 @@ public class TextParser implements Parser {
         return false;
     }
 
-    private boolean lookForAttributes(String line, List<String> attributes) {
+    private boolean lookForAttributes(String line, Map<String, String> attributes) {
         LOGGER.debug("Matching line '{}' against attribute pattern.", line);
-        if (line.matches(REGEXP_ATTRIBUTE_REPR)) {
-            attributes.add(line);
-            return true;
-        }
-
-        return false;
+        return AttributeTokenizer.tokenize(line, attributes);
     }
 
     private void lookForLinks(String line, Set<Link> links, Set<Action> actionLinks) throws ParsingException {
@@ -712,61 +940,33 @@ public class TextParser implements Parser {
     }
 
     private ActionInstance lookForActionInstance(String line) throws ParsingException {
-        LOGGER.debug("Matching line '{}' against category pattern.", line);
-        Matcher matcher = PATTERN_CATEGORY.matcher(line);
+        CategoryTokens tokens = matchCategory(line);
 
-        if (!matcher.find()) {
+        if (tokens == null) {
             throw new ParsingException("No action specification found.");
         }
 
-        LOGGER.debug("Match: term={}, scheme={}, class={}, title={}, rel={}, location={}, attributes={}, actions={}",
-                matcher.group(GROUP_TERM), matcher.group(GROUP_SCHEME),
-                matcher.group(GROUP_CLASS), matcher.group(GROUP_TITLE),
-                matcher.group(GROUP_REL), matcher.group(GROUP_LOCATION),
-                matcher.group(GROUP_ATTRIBUTES), matcher.group(GROUP_ACTIONS));
-
-        String categoryClass = matcher.group(GROUP_CLASS);
+        String categoryClass = tokens.getCategoryClass();
 
         if (!categoryClass.equals("action")) {
             throw new ParsingException("No action specification found.");
         }
 
-        Action action = createAction(matcher);
+        Action action = model == null ? null : model.getAction(tokens.getScheme() + tokens.getTerm());
+        if (action == null) {
+            action = createAction(tokens);
+        }
         ActionInstance actionInstance = new ActionInstance(action);
 
         return actionInstance;
     }
 
-    private Map<String, String> parseAttributesWithValues(String[] attributes) throws ParsingException {
-        LOGGER.debug("Parsing attributes with values");
-        Map<String, String> result = new HashMap<>();
-
-        for (String attribute : attributes) {
-            String trimmedAttribute = attribute.trim();
-            LOGGER.debug("Attribute represented by string: {}", trimmedAttribute);
-            String[] parts = trimmedAttribute.split("=", 2);
-            if (parts.length != 2) {
-                throw new ParsingException("Wrong attribute format.");
-            }
-
-            String name = parts[0];
-            String value = parts[1].replaceAll("\"", "");
-            if (value.endsWith(";")) {
-                value = value.substring(0, value.length() - 1);
-            }
-
-            result.put(name, value);
-        }
-
-        return result;
-    }
-
-    private Kind createKind(Matcher matcher) throws ParsingException {
-        String term = matcher.group(GROUP_TERM);
-        String scheme = matcher.group(GROUP_SCHEME);
-        String title = matcher.group(GROUP_TITLE);
-        String location = matcher.group(GROUP_LOCATION);
-        String attributes = matcher.group(GROUP_ATTRIBUTES);
+    private Kind createKind(CategoryTokens tokens) throws ParsingException {
+        String term = tokens.getTerm();
+        String scheme = tokens.getScheme();
+        String title = tokens.getTitle();
+        String location = tokens.getLocation();
+        String attributes = tokens.getAttributes();
 
         try {
             Set<Attribute> parsedAttributes = parseAttributes(attributes);
@@ -783,12 +983,12 @@ public class TextParser implements Parser {
         }
     }
 
-    private Mixin createMixin(Matcher matcher) throws ParsingException {
-        String term = matcher.group(GROUP_TERM);
-        String scheme = matcher.group(GROUP_SCHEME);
-        String title = matcher.group(GROUP_TITLE);
-        String location = matcher.group(GROUP_LOCATION);
-        String attributes = matcher.group(GROUP_ATTRIBUTES);
+    private Mixin createMixin(CategoryTokens tokens) throws ParsingException {
+        String term = tokens.getTerm();
+        String scheme = tokens.getScheme();
+        String title = tokens.getTitle();
+        String location = tokens.getLocation();
+        String attributes = tokens.getAttributes();
 
         try {
             URI locationUri = null;
@@ -824,7 +1024,10 @@ public class TextParser implements Parser {
                 if (kindCategory.length != 2) {
                     throw new ParsingException("Invalid link category: " + category);
                 }
-                kind = new Kind(new URI(kindCategory[0] + "#"), kindCategory[1]);
+                kind = model == null ? null : model.getKind(categories[0]);
+                if (kind == null) {
+                    kind = new Kind(new URI(kindCategory[0] + "#"), kindCategory[1]);
+                }
 
                 if (categories.length > 1) {
                     for (int i = 1; i < categories.length; i++) {
@@ -832,18 +1035,26 @@ public class TextParser implements Parser {
                         if (splitedCategory.length != 2) {
                             throw new ParsingException("Invalid link category: " + category);
                         }
-                        Mixin mixin = new Mixin(new URI(splitedCategory[0] + "#"), splitedCategory[1]);
+                        Mixin mixin = model == null ? null : model.getMixin(categories[i]);
+                        if (mixin == null) {
+                            mixin = new Mixin(new URI(splitedCategory[0] + "#"), splitedCategory[1]);
+                        }
                         mixins.add(mixin);
                     }
                 }
             } else {
-                kind = new Kind(Link.SCHEME_DEFAULT, Link.TERM_DEFAULT);
+                kind = model == null ? null : model.getKind(Link.KIND_IDENTIFIER_DEFAULT);
+                if (kind == null) {
+                    kind = new Kind(Link.SCHEME_DEFAULT, Link.TERM_DEFAULT);
+                }
             }
 
             Link link;
             if (self != null && !self.isEmpty()) {
                 String[] splitedSelf = divideUriByLastSegment(self);
-                kind.setLocation(new URI(splitedSelf[1]));
+                if (model == null || !model.containsKind(kind)) {
+                    kind.setLocation(new URI(splitedSelf[1]));
+                }
                 link = new Link(splitedSelf[0], kind);
             } else {
                 link = new Link(UUID.randomUUID().toString(), kind);
@@ -853,7 +1064,10 @@ public class TextParser implements Parser {
 
             link.setTarget(uri);
             link.setRelation(rel);
-            Map<String, String> attributesWithValues = parseAttributesWithValues(attributes.split(";"));
+            Map<String, String> attributesWithValues = new HashMap<>();
+            if (attributes != null && !AttributeTokenizer.tokenizeList(attributes, attributesWithValues)) {
+                throw new ParsingException("Wrong attribute format.");
+            }
             for (String name : attributesWithValues.keySet()) {
                 link.addAttribute(name, attributesWithValues.get(name));
                 // ***********HACK*********
@@ -883,14 +1097,19 @@ public class TextParser implements Parser {
             throw new ParsingException("Invalid relation specification: " + rel);
         }
 
+        Action action = model == null ? null : model.getAction(rel);
+        if (action != null) {
+            return action;
+        }
+
         return createAction(splited[0] + "#", splited[1], null, null);
     }
 
-    private Action createAction(Matcher matcher) throws ParsingException {
-        String term = matcher.group(GROUP_TERM);
-        String scheme = matcher.group(GROUP_SCHEME);
-        String title = matcher.group(GROUP_TITLE);
-        String attributes = matcher.group(GROUP_ATTRIBUTES);
+    private Action createAction(CategoryTokens tokens) throws ParsingException {
+        String term = tokens.getTerm();
+        String scheme = tokens.getScheme();
+        String title = tokens.getTitle();
+        String attributes = tokens.getAttributes();
 
         return createAction(scheme, term, title, attributes);
     }
@@ -906,6 +1125,51 @@ public class TextParser implements Parser {
         return action;
     }
 
+    static Reader createReader(String body) {
+        if (body == null) {
+            return null;
+        }
+
+        return new StringReader(body);
+    }
+
+    static Reader createReader(InputStream body, Charset charset) {
+        if (body == null) {
+            return null;
+        }
+
+        return new InputStreamReader(body, charset);
+    }
+
+    private static BufferedReader createBufferedReader(Reader body) {
+        if (body == null) {
+            throw new NullPointerException("Body cannot be null.");
+        }
+
+        if (body instanceof BufferedReader) {
+            return (BufferedReader) body;
+        }
+
+        return new BufferedReader(body);
+    }
+
+    /**
+     * Removes case insensitive prefix (e.g. 'Category:') and following
+     * whitespaces from the beginning of the line.
+     */
+    private static String stripPrefix(String line, String prefix) {
+        if (!line.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            return line;
+        }
+
+        int position = prefix.length();
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+
+        return line.substring(position);
+    }
+
     public static String[] divideUriByLastSegment(String uri) {
         String[] parts = new String[2];
         parts[0] = uri.substring(uri.lastIndexOf('/') + 1);
@@ -913,4 +1177,34 @@ public class TextParser implements Parser {
 
         return parts;
     }
+
+    /**
+     * State of a model being parsed line by line.
+     */
+    private static class ModelContext {
+
+        private final Model model = new Model();
+        private final Map<String, List<Kind>> kindMapping = new HashMap<>();
+        private final Map<String, List<Mixin>> mixinMapping = new HashMap<>();
+        private int lines;
+    }
+
+    /**
+     * State of a collection being parsed line by line.
+     */
+    private static class CollectionContext {
+
+        private final CollectionType collectionType;
+        private final Set<Mixin> mixins = new HashSet<>();
+        private final Map<String, String> attributes = new HashMap<>();
+        private final Set<Link> links = new HashSet<>();
+        private final Set<Action> actionLinks = new HashSet<>();
+        private Kind kind;
+        private ActionInstance actionInstance;
+        private boolean started;
+
+        public CollectionContext(CollectionType collectionType) {
+            this.collectionType = collectionType;
+        }
+    }
 }
@@ -0,0 +1,282 @@
+package cz.cesnet.cloud.occi.renderer;
+
+import cz.cesnet.cloud.occi.core.AttributeType;
+import cz.cesnet.cloud.occi.core.AttributeValue;
+import cz.cesnet.cloud.occi.type.Identifiable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming writer of JSON renderings. Tokens are written directly into the
+ * output as they come, no intermediate tree is built. Commas between members
+ * and array elements are inserted automatically.
+ *
+ * Member names (e.g. attribute names) and identifiers of categories and
+ * actions are escaped only once per renderer and their escaped forms are
+ * reused for every other occurrence of the same name or identifier. Renderer
+ * is meant for a single rendering pass (e.g. all the entities of a
+ * collection). Use
+ * {@link TextRenderer#createWriter(java.io.OutputStream)} to write JSON into
+ * an output stream.
+ */
+public class JSONRenderer {
+
+    private static final String[] ESCAPES = new String[128];
+
+    static {
+        for (int i = 0; i < 0x20; i++) {
+            ESCAPES[i] = String.format("\\u%04x", i);
+        }
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['\t'] = "\\t";
+    }
+
+    private final Appendable out;
+    private final Map<String, String> names = new HashMap<>();
+    private final Map<String, String> identifiers = new HashMap<>();
+    private boolean[] first = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    /**
+     * Constructor.
+     *
+     * @param out output to write to. Cannot be null.
+     */
+    public JSONRenderer(Appendable out) {
+        if (out == null) {
+            throw new NullPointerException("Output cannot be null.");
+        }
+
+        this.out = out;
+    }
+
+    /**
+     * Starts a new object.
+     *
+     * @return this renderer
+     * @throws IOException if writing to the output fails
+     */
+    public JSONRenderer beginObject() throws IOException {
+        return open('{');
+    }
+
+    /**
+     * Ends the current object.
+     *
+     * @return this renderer
+     * @throws IOException if writing to the output fails
+     */
+    public JSONRenderer endObject() throws IOException {
+        return close('}');
+    }
+
+    /**
+     * Starts a new array.
+     *
+     * @return this renderer
+     * @throws IOException if writing to the output fails
+     */
+    public JSONRenderer beginArray() throws IOException {
+        return open('[');
+    }
+
+    /**
+     * Ends the current array.
+     *
+     * @return this renderer
+     * @throws IOException if writing to the output fails
+     */
+    public JSONRenderer endArray() throws IOException {
+        return close(']');
+    }
+
+    /**
+     * Writes name of the next member of the current object.
+     *
+     * @param name member's name. Cannot be null.
+     * @return this renderer
+     * @throws IOException if writing to the output fails
+     */
+    public JSONRenderer name(String name) throws IOException {
+        String fragment = names.get(name);
+        if (fragment == null) {
+            StringBuilder sb = new StringBuilder(name.length() + 3);
+            writeQuoted(sb, name);
+            fragment = sb.append(':').toString();
+            names.put(name, fragment);
+        }
+
+        separate();
+        out.append(fragment);
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Writes a string value, null is written as JSON null.
+     *
+     * @param value value to write
+     * @return this renderer
+     * @throws IOException if writing to the output fails
+     */
+    public JSONRenderer value(String value) throws IOException {
+        separate();
+        if (value == null) {
+            out.append("null");
+        } else {
+            writeQuoted(out, value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a boolean value.
+     *
+     * @param value value to write
+     * @return this renderer
+     * @throws IOException if writing to the output fails
+     */
+    public JSONRenderer value(boolean value) throws IOException {
+        separate();
+        out.append(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes an attribute value. Values of numeric and boolean attributes and
+     * values which are plain numbers (see
+     * {@link AttributeValue#isPlainNumber()}) are written as JSON numbers and
+     * booleans, everything else is written as a string.
+     *
+     * @param value value to write. Cannot be null.
+     * @param type type of the attribute, can be null
+     * @return this renderer
+     * @throws IOException if writing to the output fails
+     */
+    public JSONRenderer value(AttributeValue value, AttributeType type) throws IOException {
+        String text = value.getText();
+        separate();
+        if (type == AttributeType.BOOLEAN && (text.equals("true") || text.equals("false"))) {
+            out.append(text);
+        } else if ((value.isPlainNumber() || type == AttributeType.INTEGER || type == AttributeType.NUMBER) && isNumber(text)) {
+            out.append(text);
+        } else {
+            writeQuoted(out, text);
+        }
+        return this;
+    }
+
+    /**
+     * Writes identifier of the category or action as a string value.
+     *
+     * @param identifiable category or action. Cannot be null.
+     * @return this renderer
+     * @throws IOException if writing to the output fails
+     */
+    public JSONRenderer identifier(Identifiable identifiable) throws IOException {
+        String key = identifiable.getIdentifier();
+        String identifier = identifiers.get(key);
+        if (identifier == null) {
+            StringBuilder sb = new StringBuilder();
+            writeQuoted(sb, key);
+            identifier = sb.toString();
+            identifiers.put(key, identifier);
+        }
+
+        separate();
+        out.append(identifier);
+        return this;
+    }
+
+    /**
+     * Writes quoted and escaped string into given output.
+     *
+     * @param out output to write to
+     * @param string string to write
+     * @throws IOException if writing to the output fails
+     */
+    public static void writeQuoted(Appendable out, String string) throws IOException {
+        out.append('"');
+        int length = string.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            String escape = c < 128 ? ESCAPES[c] : null;
+            if (escape == null) {
+                continue;
+            }
+
+            out.append(string, start, i).append(escape);
+            start = i + 1;
+        }
+        out.append(string, start, length).append('"');
+    }
+
+    private JSONRenderer open(char bracket) throws IOException {
+        separate();
+        out.append(bracket);
+        if (depth == first.length) {
+            first = Arrays.copyOf(first, depth * 2);
+        }
+        first[depth++] = true;
+        return this;
+    }
+
+    private JSONRenderer close(char bracket) throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("No object or array to close.");
+        }
+        depth--;
+        out.append(bracket);
+        return this;
+    }
+
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (first[depth - 1]) {
+                first[depth - 1] = false;
+            } else {
+                out.append(',');
+            }
+        }
+    }
+
+    /**
+     * Checks the text is a number according to JSON grammar without exponent
+     * (no leading zeros, no plus sign).
+     */
+    private static boolean isNumber(String text) {
+        int length = text.length();
+        int position = text.startsWith("-") ? 1 : 0;
+        int start = position;
+        while (position < length && text.charAt(position) >= '0' && text.charAt(position) <= '9') {
+            position++;
+        }
+        if (position == start || (text.charAt(start) == '0' && position - start > 1)) {
+            return false;
+        }
+        if (position < length && text.charAt(position) == '.') {
+            int fraction = ++position;
+            while (position < length && text.charAt(position) >= '0' && text.charAt(position) <= '9') {
+                position++;
+            }
+            if (position == fraction) {
+                return false;
+            }
+        }
+
+        return position == length;
+    }
+}
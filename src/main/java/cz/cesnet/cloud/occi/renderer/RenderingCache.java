@@ -0,0 +1,73 @@
+package cz.cesnet.cloud.occi.renderer;
+
+import cz.cesnet.cloud.occi.core.Category;
+import cz.cesnet.cloud.occi.core.Kind;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Renderings shared by entities rendered together in one pass (e.g. all the
+ * entities of a collection). Short renderings of kinds and mixins and kinds'
+ * locations are rendered only once no matter how many entities use them.
+ *
+ * Cache is meant for a single rendering pass, it doesn't reflect changes of
+ * the categories made after they were rendered.
+ */
+public class RenderingCache {
+
+    private final Map<Category, String> texts = new HashMap<>();
+    private final Map<Category, String> headerValues = new HashMap<>();
+    private final Map<Kind, String> locations = new IdentityHashMap<>();
+
+    /**
+     * Returns short plain text rendering of the category (term, scheme and
+     * class only) including the 'Category: ' prefix.
+     *
+     * @param category category to render. Cannot be null.
+     * @return short plain text rendering of the category
+     */
+    public String getCategoryText(Category category) {
+        String text = texts.get(category);
+        if (text == null) {
+            text = category.toText(false);
+            texts.put(category, text);
+        }
+
+        return text;
+    }
+
+    /**
+     * Returns short rendering of the category (term, scheme and class only) in
+     * form of a 'Category' header value.
+     *
+     * @param category category to render. Cannot be null.
+     * @return short rendering of the category in form of a header value
+     */
+    public String getCategoryHeaderValue(Category category) {
+        String value = headerValues.get(category);
+        if (value == null) {
+            value = category.toHeaders(false).getFirst("Category");
+            headerValues.put(category, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns kind's location as string. Locations are cached per kind
+     * instance since equal kinds can have different locations.
+     *
+     * @param kind kind which location is returned. Cannot be null.
+     * @return kind's location as string or null if kind has no location
+     */
+    public String getLocation(Kind kind) {
+        if (locations.containsKey(kind)) {
+            return locations.get(kind);
+        }
+
+        String location = kind.getLocation() == null ? null : kind.getLocation().toString();
+        locations.put(kind, location);
+        return location;
+    }
+}
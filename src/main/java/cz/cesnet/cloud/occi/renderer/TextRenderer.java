@@ -1,8 +1,20 @@
 package cz.cesnet.cloud.occi.renderer;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Helper class for rendering specific methods.
  *
+ * Text renderings can be written directly into any {@link Appendable} (e.g. a
+ * {@link Writer}) through the writeText methods of entities, categories and
+ * action instances. Use {@link #createWriter(java.io.OutputStream)} to write
+ * them into an output stream.
+ *
  * @author Michal Kimle <kimle.michal@gmail.com>
  */
 public class TextRenderer {
@@ -32,4 +44,54 @@ public class TextRenderer {
 
         return sb.toString();
     }
+
+    /**
+     * Writes parameter in form of name="value"; into given output.
+     *
+     * @param out output to write to
+     * @param name name of the parameter
+     * @param value value of the parameter
+     * @throws IOException if writing to the output fails
+     */
+    public static void appendQuoted(Appendable out, String name, String value) throws IOException {
+        out.append(name).append("=\"");
+        appendEscaped(out, value);
+        out.append("\";");
+    }
+
+    /**
+     * Writes value of a quoted string into given output. Backslashes and
+     * double quotes are escaped with a backslash.
+     *
+     * @param out output to write to
+     * @param value value to write
+     * @throws IOException if writing to the output fails
+     */
+    public static void appendEscaped(Appendable out, String value) throws IOException {
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                out.append(value, start, i).append('\\');
+                start = i;
+            }
+        }
+        out.append(value, start, length);
+    }
+
+    /**
+     * Creates a buffered writer encoding text renderings into given stream in
+     * UTF-8. Writer has to be flushed once the rendering is written.
+     *
+     * @param out stream to write to. Cannot be null.
+     * @return writer writing into the stream
+     */
+    public static Writer createWriter(OutputStream out) {
+        if (out == null) {
+            throw new NullPointerException("Output stream cannot be null.");
+        }
+
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
 }
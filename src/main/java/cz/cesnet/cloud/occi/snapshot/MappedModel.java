@@ -0,0 +1,622 @@
+package cz.cesnet.cloud.occi.snapshot;
+
+import cz.cesnet.cloud.occi.CategoryHierarchy;
+import cz.cesnet.cloud.occi.Model;
+import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.Attribute;
+import cz.cesnet.cloud.occi.core.Category;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Mixin;
+import cz.cesnet.cloud.occi.exception.AmbiguousIdentifierException;
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import cz.cesnet.cloud.occi.parser.CollectionType;
+import cz.cesnet.cloud.occi.type.Fingerprint;
+import cz.cesnet.cloud.occi.type.Identifiable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read-only model backed by an indexed model snapshot written by
+ * {@link SnapshotWriter#writeIndexedModel(cz.cesnet.cloud.occi.Model, java.io.OutputStream)}.
+ *
+ * Opening the model reads only the snapshot's header. Kinds, mixins and
+ * actions are decoded when they are looked up by their identifier for the
+ * first time, together with the categories they refer to. Lookups which have
+ * to see the whole model (by term, by location, listing of all categories,
+ * the hierarchy, comparison or rendering) decode all the categories first.
+ * Snapshot file is mapped into memory, so processes opening the same file
+ * share its pages.
+ *
+ * Unlike {@link SnapshotReader#readModel(java.nio.ByteBuffer)}, the snapshot
+ * is not checked against its checksum when it is opened. Damaged category
+ * record is reported by IllegalStateException when the category is decoded.
+ * Methods modifying the model throw UnsupportedOperationException.
+ */
+public class MappedModel extends Model {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedModel.class);
+
+    private final SnapshotInput input;
+    private final byte[] checksum;
+    private final Fingerprint fingerprint;
+    private final int slotsStart;
+    private final int slotCount;
+    private final Map<String, Identifiable> external = new HashMap<>();
+    private boolean complete;
+
+    /**
+     * Creates a model backed by the indexed snapshot stored in given buffer,
+     * starting at buffer's position. Buffer must not be modified while the
+     * model is in use.
+     *
+     * @param buffer buffer with the snapshot. Cannot be null.
+     * @throws ParsingException if the buffer doesn't contain a valid indexed
+     * model snapshot
+     */
+    public MappedModel(ByteBuffer buffer) throws ParsingException {
+        if (buffer == null) {
+            throw new NullPointerException("Buffer cannot be null.");
+        }
+
+        this.input = new SnapshotInput(buffer.slice());
+        this.checksum = SnapshotReader.readHeader(input, SnapshotFormat.TYPE_INDEXED_MODEL);
+        if (checksum == null) {
+            throw new ParsingException("Model snapshot has no checksum.");
+        }
+        byte[] fingerprintBytes = new byte[SnapshotFormat.FINGERPRINT_LENGTH];
+        input.readBytes(fingerprintBytes);
+        this.fingerprint = SnapshotFormat.toFingerprint(fingerprintBytes);
+
+        int stringCount = input.readInt();
+        this.slotCount = input.readInt();
+        input.readStringIndex(stringCount);
+        this.slotsStart = input.position();
+        if (slotCount <= 0 || (slotCount & (slotCount - 1)) != 0) {
+            throw new ParsingException("Invalid snapshot index size " + slotCount + ".");
+        }
+        input.position((int) Math.min(Integer.MAX_VALUE, slotsStart + slotCount * 8L));
+        if (input.position() != slotsStart + slotCount * 8L) {
+            throw new ParsingException("Unexpected end of snapshot.");
+        }
+    }
+
+    /**
+     * Opens the indexed model snapshot stored in given file. File is mapped
+     * into memory read-only and must not be modified while the model is in
+     * use.
+     *
+     * @param path path to the snapshot file. Cannot be null.
+     * @return model backed by the snapshot
+     * @throws IOException if the file cannot be mapped
+     * @throws ParsingException if the file is not a valid indexed model
+     * snapshot
+     */
+    public static MappedModel open(Path path) throws IOException, ParsingException {
+        if (path == null) {
+            throw new NullPointerException("Path cannot be null.");
+        }
+
+        LOGGER.debug("Mapping model snapshot {}...", path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedModel(buffer);
+        }
+    }
+
+    /**
+     * Returns checksum of the model stored in the snapshot.
+     *
+     * @see SnapshotWriter#checksum(cz.cesnet.cloud.occi.Model)
+     * @return 32 hexadecimal digits of the checksum
+     */
+    public String getSnapshotChecksum() {
+        return SnapshotFormat.toHex(checksum);
+    }
+
+    byte[] getChecksumBytes() {
+        return checksum.clone();
+    }
+
+    @Override
+    public synchronized boolean containsKind(Kind kind) {
+        if (kind != null) {
+            loadKind(kind.getIdentifier());
+        }
+        return super.containsKind(kind);
+    }
+
+    @Override
+    public synchronized boolean containsKind(String kindIdentifier) {
+        return loadKind(kindIdentifier) != null;
+    }
+
+    @Override
+    public synchronized Kind getKind(String kindIdentifier) {
+        return loadKind(kindIdentifier);
+    }
+
+    @Override
+    public synchronized Set<Kind> getKinds() {
+        loadAll();
+        return super.getKinds();
+    }
+
+    @Override
+    public synchronized boolean containsMixin(Mixin mixin) {
+        if (mixin != null) {
+            loadMixin(mixin.getIdentifier());
+        }
+        return super.containsMixin(mixin);
+    }
+
+    @Override
+    public synchronized boolean containsMixin(String mixinIdentifier) {
+        return loadMixin(mixinIdentifier) != null;
+    }
+
+    @Override
+    public synchronized Mixin getMixin(String mixinIdentifier) {
+        return loadMixin(mixinIdentifier);
+    }
+
+    @Override
+    public synchronized Set<Mixin> getMixins() {
+        loadAll();
+        return super.getMixins();
+    }
+
+    @Override
+    public synchronized boolean containsAction(Action action) {
+        if (action != null) {
+            loadAction(action.getIdentifier());
+        }
+        return super.containsAction(action);
+    }
+
+    @Override
+    public synchronized boolean containsAction(String actionIdentifier) {
+        return loadAction(actionIdentifier) != null;
+    }
+
+    @Override
+    public synchronized Action getAction(String actionIdentifier) {
+        return loadAction(actionIdentifier);
+    }
+
+    @Override
+    public synchronized Set<Action> getActions() {
+        loadAll();
+        return super.getActions();
+    }
+
+    @Override
+    public synchronized Kind findKind(URI identifier) {
+        return identifier == null ? null : loadKind(identifier.toString());
+    }
+
+    @Override
+    public synchronized Kind findKind(String term) throws AmbiguousIdentifierException {
+        loadAll();
+        return super.findKind(term);
+    }
+
+    @Override
+    public synchronized List<Kind> findRelatedKinds(URI identifier) {
+        loadAll();
+        return super.findRelatedKinds(identifier);
+    }
+
+    @Override
+    public synchronized List<Kind> findRelatedKinds(String term) throws AmbiguousIdentifierException {
+        loadAll();
+        return super.findRelatedKinds(term);
+    }
+
+    @Override
+    public synchronized CollectionType findKindType(Kind kind) {
+        return super.findKindType(kind);
+    }
+
+    @Override
+    public synchronized CollectionType findKindType(String location) {
+        loadAll();
+        return super.findKindType(location);
+    }
+
+    @Override
+    public synchronized CategoryHierarchy getHierarchy() {
+        loadAll();
+        return super.getHierarchy();
+    }
+
+    @Override
+    public synchronized Mixin findMixin(URI identifier) {
+        return identifier == null ? null : loadMixin(identifier.toString());
+    }
+
+    @Override
+    public synchronized Mixin findMixin(String term) throws AmbiguousIdentifierException {
+        loadAll();
+        return super.findMixin(term);
+    }
+
+    @Override
+    public synchronized Mixin findMixin(String term, String rel) throws AmbiguousIdentifierException {
+        loadAll();
+        return super.findMixin(term, rel);
+    }
+
+    @Override
+    public synchronized Mixin findMixin(String term, URI rel) throws AmbiguousIdentifierException {
+        loadAll();
+        return super.findMixin(term, rel);
+    }
+
+    @Override
+    public synchronized List<Mixin> findRelatedMixins(URI identifier) {
+        loadAll();
+        return super.findRelatedMixins(identifier);
+    }
+
+    @Override
+    public synchronized List<Mixin> findRelatedMixins(String term) throws AmbiguousIdentifierException {
+        loadAll();
+        return super.findRelatedMixins(term);
+    }
+
+    @Override
+    public synchronized Action findAction(String term) throws AmbiguousIdentifierException {
+        loadAll();
+        return super.findAction(term);
+    }
+
+    @Override
+    public synchronized Action findAction(URI identifier) {
+        return identifier == null ? null : loadAction(identifier.toString());
+    }
+
+    /**
+     * Returns fingerprint of the model stored in the snapshot, no categories
+     * are decoded.
+     *
+     * @return fingerprint of the model's content
+     */
+    @Override
+    public Fingerprint getFingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public synchronized void writeJSON(Appendable out) throws IOException {
+        loadAll();
+        super.writeJSON(out);
+    }
+
+    @Override
+    public boolean addKind(Kind kind) {
+        throw new UnsupportedOperationException("Mapped model cannot be modified.");
+    }
+
+    @Override
+    public boolean removeKind(Kind kind) {
+        throw new UnsupportedOperationException("Mapped model cannot be modified.");
+    }
+
+    @Override
+    public void clearKinds() {
+        throw new UnsupportedOperationException("Mapped model cannot be modified.");
+    }
+
+    @Override
+    public boolean addMixin(Mixin mixin) {
+        throw new UnsupportedOperationException("Mapped model cannot be modified.");
+    }
+
+    @Override
+    public boolean removeMixin(Mixin mixin) {
+        throw new UnsupportedOperationException("Mapped model cannot be modified.");
+    }
+
+    @Override
+    public void clearMixins() {
+        throw new UnsupportedOperationException("Mapped model cannot be modified.");
+    }
+
+    @Override
+    public boolean addAction(Action action) {
+        throw new UnsupportedOperationException("Mapped model cannot be modified.");
+    }
+
+    @Override
+    public boolean removeAction(Action action) {
+        throw new UnsupportedOperationException("Mapped model cannot be modified.");
+    }
+
+    @Override
+    public void clearActions() {
+        throw new UnsupportedOperationException("Mapped model cannot be modified.");
+    }
+
+    /**
+     * @see Object#hashCode()
+     * @return model's hash code
+     */
+    @Override
+    public int hashCode() {
+        loadAll();
+        return super.hashCode();
+    }
+
+    /**
+     * @see Object#equals(java.lang.Object)
+     * @param obj object to compare model with
+     * @return true if two models are equal, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        loadAll();
+        return super.equals(obj);
+    }
+
+    /**
+     * @see Object#toString()
+     * @return string representation of the model
+     */
+    @Override
+    public String toString() {
+        loadAll();
+        return super.toString();
+    }
+
+    private Kind loadKind(String identifier) {
+        if (identifier == null) {
+            return null;
+        }
+        Kind kind = super.getKind(identifier);
+        if (kind != null || complete) {
+            return kind;
+        }
+
+        int offset = findRecord(SnapshotFormat.CATEGORY_KIND, identifier);
+        return offset == 0 ? null : (Kind) decode(offset);
+    }
+
+    private Mixin loadMixin(String identifier) {
+        if (identifier == null) {
+            return null;
+        }
+        Mixin mixin = super.getMixin(identifier);
+        if (mixin != null || complete) {
+            return mixin;
+        }
+
+        int offset = findRecord(SnapshotFormat.CATEGORY_MIXIN, identifier);
+        return offset == 0 ? null : (Mixin) decode(offset);
+    }
+
+    private Action loadAction(String identifier) {
+        if (identifier == null) {
+            return null;
+        }
+        Action action = super.getAction(identifier);
+        if (action != null || complete) {
+            return action;
+        }
+
+        int offset = findRecord(SnapshotFormat.CATEGORY_ACTION, identifier);
+        return offset == 0 ? null : (Action) decode(offset);
+    }
+
+    private synchronized void loadAll() {
+        if (complete) {
+            return;
+        }
+
+        LOGGER.debug("Decoding all categories of mapped model...");
+        try {
+            for (int slot = 0; slot < slotCount; slot++) {
+                input.position(slotsStart + slot * 8 + 4);
+                int offset = input.readInt();
+                if (offset == 0) {
+                    continue;
+                }
+                input.position(offset);
+                int type = input.readByte();
+                String identifier = input.readRequiredString() + input.readRequiredString();
+                switch (type) {
+                    case SnapshotFormat.CATEGORY_KIND:
+                        loadKind(identifier);
+                        break;
+                    case SnapshotFormat.CATEGORY_MIXIN:
+                        loadMixin(identifier);
+                        break;
+                    case SnapshotFormat.CATEGORY_ACTION:
+                        loadAction(identifier);
+                        break;
+                    default:
+                        throw new ParsingException("Unknown category type " + type + " in snapshot.");
+                }
+            }
+        } catch (ParsingException ex) {
+            throw new IllegalStateException("Cannot read model snapshot.", ex);
+        }
+        complete = true;
+    }
+
+    /**
+     * Looks up the category in the snapshot's index.
+     *
+     * @return offset of category's record, 0 if the snapshot doesn't contain
+     * the category
+     */
+    private int findRecord(int type, String identifier) {
+        int hash = SnapshotFormat.hash(type, identifier);
+        try {
+            int slot = hash & (slotCount - 1);
+            for (int i = 0; i < slotCount; i++) {
+                input.position(slotsStart + slot * 8);
+                int slotHash = input.readInt();
+                int offset = input.readInt();
+                if (offset == 0) {
+                    return 0;
+                }
+                if (slotHash == hash) {
+                    input.position(offset);
+                    if (input.readByte() == type && matches(identifier)) {
+                        return offset;
+                    }
+                }
+                slot = (slot + 1) & (slotCount - 1);
+            }
+        } catch (ParsingException ex) {
+            throw new IllegalStateException("Cannot read model snapshot.", ex);
+        }
+
+        return 0;
+    }
+
+    private boolean matches(String identifier) throws ParsingException {
+        String scheme = input.readRequiredString();
+        String term = input.readRequiredString();
+        return identifier.length() == scheme.length() + term.length()
+                && identifier.startsWith(scheme) && identifier.endsWith(term);
+    }
+
+    /**
+     * Decodes category record at given offset and adds the category to the
+     * model. Category is added before the categories it refers to are
+     * resolved, so cyclic references end with the same instance.
+     */
+    private Identifiable decode(int offset) {
+        try {
+            input.position(offset);
+            int type = input.readByte();
+            URI scheme = SnapshotReader.toURI(input.readRequiredString());
+            String term = input.readRequiredString();
+            String title = input.readString();
+            switch (type) {
+                case SnapshotFormat.CATEGORY_KIND:
+                    Kind kind = new Kind(scheme, term, title, SnapshotReader.toURI(input.readString()), null);
+                    List<String[]> kindActions = readCategoryBody(kind);
+                    kind.setEntityType(input.readString());
+                    String[] parent = readReference();
+                    List<String[]> kindRelations = readReferences();
+                    super.addKind(kind);
+
+                    addActions(kind, kindActions);
+                    if (parent != null) {
+                        kind.setParentKind(resolveKind(parent));
+                    }
+                    for (String[] relation : kindRelations) {
+                        kind.addRelation(resolveKind(relation));
+                    }
+                    return kind;
+                case SnapshotFormat.CATEGORY_MIXIN:
+                    Mixin mixin = new Mixin(scheme, term, title, SnapshotReader.toURI(input.readString()), null);
+                    List<String[]> mixinActions = readCategoryBody(mixin);
+                    List<String[]> mixinRelations = readReferences();
+                    super.addMixin(mixin);
+
+                    addActions(mixin, mixinActions);
+                    for (String[] relation : mixinRelations) {
+                        mixin.addRelation(resolveMixin(relation));
+                    }
+                    return mixin;
+                case SnapshotFormat.CATEGORY_ACTION:
+                    Action action = new Action(scheme, term, title, null);
+                    for (Attribute attribute : SnapshotReader.readAttributes(input)) {
+                        action.addAttribute(attribute);
+                    }
+                    super.addAction(action);
+                    return action;
+                default:
+                    throw new ParsingException("Unknown category type " + type + " in snapshot.");
+            }
+        } catch (ParsingException ex) {
+            throw new IllegalStateException("Cannot read model snapshot.", ex);
+        }
+    }
+
+    private List<String[]> readCategoryBody(Category category) throws ParsingException {
+        for (Attribute attribute : SnapshotReader.readAttributes(input)) {
+            category.addAttribute(attribute);
+        }
+
+        return readReferences();
+    }
+
+    private List<String[]> readReferences() throws ParsingException {
+        int count = input.readCount();
+        List<String[]> references = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String[] reference = readReference();
+            if (reference == null) {
+                throw new ParsingException("Missing string in snapshot.");
+            }
+            references.add(reference);
+        }
+
+        return references;
+    }
+
+    private String[] readReference() throws ParsingException {
+        String scheme = input.readString();
+        if (scheme == null) {
+            return null;
+        }
+
+        return new String[]{scheme, input.readRequiredString()};
+    }
+
+    private void addActions(Category category, List<String[]> references) throws ParsingException {
+        for (String[] reference : references) {
+            Action action = loadAction(reference[0] + reference[1]);
+            if (action == null) {
+                action = (Action) external.get("a" + reference[0] + reference[1]);
+                if (action == null) {
+                    action = new Action(SnapshotReader.toURI(reference[0]), reference[1]);
+                    external.put("a" + reference[0] + reference[1], action);
+                }
+            }
+            category.addAction(action);
+        }
+    }
+
+    private Kind resolveKind(String[] reference) throws ParsingException {
+        Kind kind = loadKind(reference[0] + reference[1]);
+        if (kind == null) {
+            kind = (Kind) external.get("k" + reference[0] + reference[1]);
+            if (kind == null) {
+                kind = new Kind(SnapshotReader.toURI(reference[0]), reference[1]);
+                external.put("k" + reference[0] + reference[1], kind);
+            }
+        }
+
+        return kind;
+    }
+
+    private Mixin resolveMixin(String[] reference) throws ParsingException {
+        Mixin mixin = loadMixin(reference[0] + reference[1]);
+        if (mixin == null) {
+            mixin = (Mixin) external.get("m" + reference[0] + reference[1]);
+            if (mixin == null) {
+                mixin = new Mixin(SnapshotReader.toURI(reference[0]), reference[1]);
+                external.put("m" + reference[0] + reference[1], mixin);
+            }
+        }
+
+        return mixin;
+    }
+}
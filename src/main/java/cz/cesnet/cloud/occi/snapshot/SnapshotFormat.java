@@ -0,0 +1,107 @@
+package cz.cesnet.cloud.occi.snapshot;
+
+import cz.cesnet.cloud.occi.type.Fingerprint;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Constants and helpers shared by snapshot writer and reader.
+ *
+ * Every snapshot starts with a header: 4 bytes of magic number, snapshot type
+ * ('M' for model, 'C' for collection), format version, flags and, if flag
+ * {@link #FLAG_CHECKSUM} is set, 16 bytes of model checksum or, if flag
+ * {@link #FLAG_FINGERPRINT} is set, 16 bytes of model fingerprint. Model
+ * snapshots carry the checksum of their content, collection snapshots the
+ * fingerprint of the model they were written with. The header
+ * is followed by the string table (count of strings and each string as its
+ * UTF-8 length and bytes) and by sections of the snapshot type. All the
+ * numbers after the header are unsigned varints, strings are referenced by
+ * their index in the string table increased by one, 0 stands for null.
+ *
+ * Indexed model snapshot ('I') is laid out for random access instead, see
+ * {@link MappedModel}. The header is followed by 16 bytes of model
+ * fingerprint, by 4-byte big-endian count of
+ * strings and count of index slots, by the offset and length of each string,
+ * by the index slots (hash of category's type and identifier and offset of its
+ * record, 0 for an empty slot), by UTF-8 bytes of the strings and by the
+ * category records. Each record starts with category type followed by the
+ * category encoded the same way as in model snapshot.
+ */
+final class SnapshotFormat {
+
+    static final byte[] MAGIC = {'O', 'C', 'C', 'S'};
+    static final int TYPE_MODEL = 'M';
+    static final int TYPE_COLLECTION = 'C';
+    static final int TYPE_INDEXED_MODEL = 'I';
+    static final int VERSION = 3;
+    static final int FLAG_CHECKSUM = 1;
+    static final int FLAG_FINGERPRINT = 2;
+    static final int CHECKSUM_LENGTH = 16;
+    static final int FINGERPRINT_LENGTH = 16;
+    static final int HEADER_LENGTH = MAGIC.length + 3;
+
+    static final int CATEGORY_KIND = 0;
+    static final int CATEGORY_MIXIN = 1;
+    static final int CATEGORY_ACTION = 2;
+
+    static final int ATTRIBUTE_REQUIRED = 1;
+    static final int ATTRIBUTE_IMMUTABLE = 2;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private SnapshotFormat() {
+    }
+
+    static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 digest is not available.", ex);
+        }
+    }
+
+    /**
+     * Returns hash of the category used in the index of indexed model
+     * snapshot. String hash code is specified by the language, so the hash is
+     * the same in every JVM.
+     */
+    static int hash(int type, String identifier) {
+        int hash = identifier.hashCode() * 31 + type;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Returns fingerprint as 16 big-endian bytes, so their hexadecimal form is
+     * the same as {@link Fingerprint#toString()}.
+     */
+    static byte[] toBytes(Fingerprint fingerprint) {
+        byte[] bytes = new byte[FINGERPRINT_LENGTH];
+        for (int i = 0; i < 8; i++) {
+            bytes[7 - i] = (byte) (fingerprint.getHigh() >>> (i * 8));
+            bytes[15 - i] = (byte) (fingerprint.getLow() >>> (i * 8));
+        }
+
+        return bytes;
+    }
+
+    static Fingerprint toFingerprint(byte[] bytes) {
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < 8; i++) {
+            high = (high << 8) | (bytes[i] & 0xFF);
+            low = (low << 8) | (bytes[i + 8] & 0xFF);
+        }
+
+        return new Fingerprint(high, low);
+    }
+
+    static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0F];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0x0F];
+        }
+
+        return new String(chars);
+    }
+}
@@ -0,0 +1,184 @@
+package cz.cesnet.cloud.occi.snapshot;
+
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decoder of snapshot sections written by {@link SnapshotOutput}. Strings of
+ * the string table are located when the table is read but decoded only when
+ * they are referenced for the first time.
+ */
+class SnapshotInput {
+
+    private final ByteBuffer buffer;
+    private int[] stringOffsets;
+    private int[] stringLengths;
+    private int stringIndex;
+    private String[] strings;
+
+    SnapshotInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    void position(int position) throws ParsingException {
+        if (position < 0 || position > buffer.limit()) {
+            throw new ParsingException("Invalid snapshot offset " + position + ".");
+        }
+        buffer.position(position);
+    }
+
+    int readByte() throws ParsingException {
+        try {
+            return buffer.get() & 0xFF;
+        } catch (BufferUnderflowException ex) {
+            throw new ParsingException("Unexpected end of snapshot.", ex);
+        }
+    }
+
+    void readBytes(byte[] bytes) throws ParsingException {
+        try {
+            buffer.get(bytes);
+        } catch (BufferUnderflowException ex) {
+            throw new ParsingException("Unexpected end of snapshot.", ex);
+        }
+    }
+
+    /**
+     * Reads 4-byte big-endian integer.
+     */
+    int readInt() throws ParsingException {
+        try {
+            return buffer.getInt();
+        } catch (BufferUnderflowException ex) {
+            throw new ParsingException("Unexpected end of snapshot.", ex);
+        }
+    }
+
+    int readVarint() throws ParsingException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new ParsingException("Invalid snapshot number.");
+                }
+                return value;
+            }
+        }
+
+        throw new ParsingException("Invalid snapshot number.");
+    }
+
+    /**
+     * Reads a count of following items. Count is checked against the number of
+     * remaining bytes, so corrupted snapshot cannot cause huge allocations.
+     */
+    int readCount() throws ParsingException {
+        int count = readVarint();
+        if (count > buffer.remaining()) {
+            throw new ParsingException("Invalid snapshot item count " + count + ".");
+        }
+
+        return count;
+    }
+
+    /**
+     * Locates strings of the string table starting at the current position.
+     */
+    void readStringTable() throws ParsingException {
+        int count = readCount();
+        stringOffsets = new int[count];
+        stringLengths = new int[count];
+        strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = readVarint();
+            stringOffsets[i] = buffer.position();
+            stringLengths[i] = length;
+            if (length > buffer.remaining()) {
+                throw new ParsingException("Unexpected end of snapshot.");
+            }
+            buffer.position(buffer.position() + length);
+        }
+    }
+
+    /**
+     * Locates string index of an indexed snapshot starting at the current
+     * position. The index holds fixed size offset and length of each string,
+     * so no string is touched until it is referenced.
+     */
+    void readStringIndex(int count) throws ParsingException {
+        if (count < 0 || count > buffer.remaining() / 8) {
+            throw new ParsingException("Invalid snapshot string count " + count + ".");
+        }
+
+        stringIndex = buffer.position();
+        stringOffsets = null;
+        stringLengths = null;
+        strings = new String[count];
+        buffer.position(stringIndex + count * 8);
+    }
+
+    /**
+     * Reads a string reference, returns null for a null reference.
+     */
+    String readString() throws ParsingException {
+        int reference = readVarint();
+        if (reference == 0) {
+            return null;
+        }
+        if (reference > strings.length) {
+            throw new ParsingException("Invalid snapshot string reference " + reference + ".");
+        }
+
+        String string = strings[reference - 1];
+        if (string == null) {
+            string = decodeString(reference - 1);
+            strings[reference - 1] = string;
+        }
+
+        return string;
+    }
+
+    /**
+     * Reads a string reference which cannot be null.
+     */
+    String readRequiredString() throws ParsingException {
+        String string = readString();
+        if (string == null) {
+            throw new ParsingException("Missing string in snapshot.");
+        }
+
+        return string;
+    }
+
+    private String decodeString(int index) throws ParsingException {
+        int offset;
+        int length;
+        if (stringOffsets != null) {
+            offset = stringOffsets[index];
+            length = stringLengths[index];
+        } else {
+            offset = buffer.getInt(stringIndex + index * 8);
+            length = buffer.getInt(stringIndex + index * 8 + 4);
+            if (offset < 0 || length < 0 || offset > buffer.limit() - length) {
+                throw new ParsingException("Invalid snapshot string " + index + ".");
+            }
+        }
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
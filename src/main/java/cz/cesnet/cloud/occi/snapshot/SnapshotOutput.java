@@ -0,0 +1,140 @@
+package cz.cesnet.cloud.occi.snapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Growable buffer for encoding of snapshot sections. Integers are written as
+ * unsigned varints (7 bits per byte, least significant group first), strings
+ * are written as references into a string table shared by all the sections
+ * of the snapshot.
+ */
+class SnapshotOutput {
+
+    private byte[] buffer;
+    private int size;
+    private final StringTable strings;
+
+    SnapshotOutput(StringTable strings) {
+        this(strings, 1024);
+    }
+
+    SnapshotOutput(StringTable strings, int capacity) {
+        this.strings = strings;
+        this.buffer = new byte[capacity];
+    }
+
+    void writeByte(int b) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) b;
+    }
+
+    void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    void writeVarint(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes 4-byte big-endian integer.
+     */
+    void writeInt(int value) {
+        ensureCapacity(4);
+        buffer[size++] = (byte) (value >>> 24);
+        buffer[size++] = (byte) (value >>> 16);
+        buffer[size++] = (byte) (value >>> 8);
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes reference to the string in the string table, 0 stands for null.
+     */
+    void writeString(String string) {
+        writeVarint(string == null ? 0 : strings.indexOf(string) + 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    void updateDigest(MessageDigest digest) {
+        digest.update(buffer, 0, size);
+    }
+
+    private void ensureCapacity(int needed) {
+        if (size + needed > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + needed));
+        }
+    }
+
+    /**
+     * Table of distinct strings of a snapshot in order of their first use.
+     * Each string is encoded as its UTF-8 length followed by the UTF-8 bytes.
+     */
+    static class StringTable {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final SnapshotOutput encoded = new SnapshotOutput(null, 4096);
+        private int[] offsets = new int[256];
+        private int[] lengths = new int[256];
+
+        int indexOf(String string) {
+            Integer index = indexes.get(string);
+            if (index == null) {
+                index = indexes.size();
+                indexes.put(string, index);
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                encoded.writeVarint(bytes.length);
+                if (index == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, index * 2);
+                    lengths = Arrays.copyOf(lengths, index * 2);
+                }
+                offsets[index] = encoded.size();
+                lengths[index] = bytes.length;
+                encoded.writeBytes(bytes);
+            }
+
+            return index;
+        }
+
+        int size() {
+            return indexes.size();
+        }
+
+        SnapshotOutput getEncoded() {
+            return encoded;
+        }
+
+        /**
+         * Returns offset of the string's UTF-8 bytes in the encoded table.
+         */
+        int getOffset(int index) {
+            return offsets[index];
+        }
+
+        /**
+         * Returns length of the string's UTF-8 bytes.
+         */
+        int getLength(int index) {
+            return lengths[index];
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package cz.cesnet.cloud.occi.snapshot;
+
+import cz.cesnet.cloud.occi.Collection;
+import cz.cesnet.cloud.occi.Model;
+import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.ActionInstance;
+import cz.cesnet.cloud.occi.core.Attribute;
+import cz.cesnet.cloud.occi.core.Category;
+import cz.cesnet.cloud.occi.core.Entity;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Link;
+import cz.cesnet.cloud.occi.core.Mixin;
+import cz.cesnet.cloud.occi.core.Resource;
+import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reader of binary snapshots written by {@link SnapshotWriter}.
+ *
+ * Model snapshot is checked against the checksum stored in its header, so
+ * a damaged snapshot file is refused. Relations and actions of categories
+ * which are not part of the snapshot are recreated only with their scheme and
+ * term. Collection snapshot can be loaded together with a model, in that case
+ * the snapshot has to be created for a model with the same fingerprint and
+ * the instances use model's kinds, mixins and actions.
+ */
+public class SnapshotReader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotReader.class);
+
+    /**
+     * Reads model from the binary snapshot.
+     *
+     * @param in input stream with the snapshot. Cannot be null.
+     * @return model read from the snapshot
+     * @throws IOException if reading from the input stream fails
+     * @throws ParsingException if the snapshot is not a valid model snapshot
+     */
+    public static Model readModel(InputStream in) throws IOException, ParsingException {
+        return readModel(ByteBuffer.wrap(readAll(in)));
+    }
+
+    /**
+     * Reads model from the binary snapshot stored in given buffer, starting at
+     * buffer's position.
+     *
+     * @param buffer buffer with the snapshot. Cannot be null.
+     * @return model read from the snapshot
+     * @throws ParsingException if the snapshot is not a valid model snapshot
+     */
+    public static Model readModel(ByteBuffer buffer) throws ParsingException {
+        LOGGER.debug("Reading model snapshot...");
+        SnapshotInput input = new SnapshotInput(buffer);
+        byte[] checksum = readHeader(input, SnapshotFormat.TYPE_MODEL);
+        if (checksum == null) {
+            throw new ParsingException("Model snapshot has no checksum.");
+        }
+
+        MessageDigest digest = SnapshotFormat.createDigest();
+        digest.update(buffer.duplicate());
+        if (!Arrays.equals(checksum, digest.digest())) {
+            throw new ParsingException("Model snapshot doesn't match its checksum.");
+        }
+
+        input.readStringTable();
+        ModelContext context = new ModelContext();
+        Model model = context.model;
+
+        int kindCount = input.readCount();
+        for (int i = 0; i < kindCount; i++) {
+            Kind kind = new Kind(toURI(input.readRequiredString()), input.readRequiredString(), input.readString(),
+                    toURI(input.readString()), null);
+            readCategoryBody(kind, input, context);
+            kind.setEntityType(input.readString());
+            context.kindParents.add(readReference(kind, input));
+            int relationCount = input.readCount();
+            for (int j = 0; j < relationCount; j++) {
+                context.kindRelations.add(readReference(kind, input));
+            }
+            model.addKind(kind);
+        }
+
+        int mixinCount = input.readCount();
+        for (int i = 0; i < mixinCount; i++) {
+            Mixin mixin = new Mixin(toURI(input.readRequiredString()), input.readRequiredString(), input.readString(),
+                    toURI(input.readString()), null);
+            readCategoryBody(mixin, input, context);
+            int relationCount = input.readCount();
+            for (int j = 0; j < relationCount; j++) {
+                context.mixinRelations.add(readReference(mixin, input));
+            }
+            model.addMixin(mixin);
+        }
+
+        int actionCount = input.readCount();
+        for (int i = 0; i < actionCount; i++) {
+            Action action = new Action(toURI(input.readRequiredString()), input.readRequiredString(), input.readString(), null);
+            for (Attribute attribute : readAttributes(input)) {
+                action.addAttribute(attribute);
+            }
+            model.addAction(action);
+        }
+
+        return context.finish();
+    }
+
+    /**
+     * Reads collection from the binary snapshot.
+     *
+     * @param in input stream with the snapshot. Cannot be null.
+     * @param model model for the instances of the collection, can be null
+     * @return collection read from the snapshot
+     * @throws IOException if reading from the input stream fails
+     * @throws ParsingException if the snapshot is not a valid collection
+     * snapshot or if it was created for a different model
+     */
+    public static Collection readCollection(InputStream in, Model model) throws IOException, ParsingException {
+        return readCollection(ByteBuffer.wrap(readAll(in)), model);
+    }
+
+    /**
+     * Reads collection from the binary snapshot stored in given buffer,
+     * starting at buffer's position.
+     *
+     * @param buffer buffer with the snapshot. Cannot be null.
+     * @param model model for the instances of the collection, can be null
+     * @return collection read from the snapshot
+     * @throws ParsingException if the snapshot is not a valid collection
+     * snapshot or if it was created for a different model
+     */
+    public static Collection readCollection(ByteBuffer buffer, Model model) throws ParsingException {
+        LOGGER.debug("Reading collection snapshot...");
+        SnapshotInput input = new SnapshotInput(buffer);
+        byte[] fingerprint = readHeader(input, SnapshotFormat.TYPE_COLLECTION);
+        if (fingerprint != null && model != null && !SnapshotFormat.toFingerprint(fingerprint).equals(model.getFingerprint())) {
+            throw new ParsingException("Collection snapshot was created for a different model.");
+        }
+
+        input.readStringTable();
+        int categoryCount = input.readCount();
+        Object[] categories = new Object[categoryCount];
+        for (int i = 0; i < categoryCount; i++) {
+            categories[i] = readCategoryReference(input, model);
+        }
+
+        Collection collection = new Collection();
+        try {
+            int linkCount = input.readCount();
+            Link[] links = new Link[linkCount];
+            for (int i = 0; i < linkCount; i++) {
+                links[i] = readLink(input, categories);
+            }
+
+            int resourceCount = input.readCount();
+            for (int i = 0; i < resourceCount; i++) {
+                collection.addResource(readResource(input, categories, links));
+            }
+
+            int collectionLinkCount = input.readCount();
+            for (int i = 0; i < collectionLinkCount; i++) {
+                collection.addLink(link(links, input.readVarint()));
+            }
+        } catch (InvalidAttributeValueException ex) {
+            throw new ParsingException("Invalid attribute value in snapshot.", ex);
+        }
+
+        int actionCount = input.readCount();
+        for (int i = 0; i < actionCount; i++) {
+            ActionInstance action = new ActionInstance(category(categories, input.readVarint(), Action.class));
+            action.addAttributes(readAttributeValues(input));
+            collection.addAction(action);
+        }
+
+        if (model != null) {
+            collection.setModel(model);
+        }
+
+        return collection;
+    }
+
+    /**
+     * Reads checksum from the header of a snapshot. For model snapshots
+     * it is the checksum of the model, for collection snapshots it is the
+     * fingerprint of the model the collection was written with (see
+     * {@link Model#getFingerprint()}).
+     *
+     * @param in input stream with the snapshot. Only the header is read.
+     * Cannot be null.
+     * @return 32 hexadecimal digits of the checksum, null if the snapshot
+     * has no checksum
+     * @throws IOException if reading from the input stream fails
+     * @throws ParsingException if the input doesn't start with a valid
+     * snapshot header
+     */
+    public static String readChecksum(InputStream in) throws IOException, ParsingException {
+        byte[] header = new byte[SnapshotFormat.HEADER_LENGTH + SnapshotFormat.CHECKSUM_LENGTH];
+        int length = 0;
+        int read;
+        while (length < header.length && (read = in.read(header, length, header.length - length)) != -1) {
+            length += read;
+        }
+
+        SnapshotInput input = new SnapshotInput(ByteBuffer.wrap(header, 0, length));
+        byte[] checksum = readHeader(input, -1);
+        return checksum == null ? null : SnapshotFormat.toHex(checksum);
+    }
+
+    static byte[] readHeader(SnapshotInput input, int expectedType) throws ParsingException {
+        byte[] magic = new byte[SnapshotFormat.MAGIC.length];
+        input.readBytes(magic);
+        if (!Arrays.equals(magic, SnapshotFormat.MAGIC)) {
+            throw new ParsingException("Not an OCCI snapshot.");
+        }
+        int type = input.readByte();
+        if (expectedType != -1 && type != expectedType) {
+            throw new ParsingException("Unexpected snapshot type '" + (char) type + "'.");
+        }
+        int version = input.readByte();
+        if (version != SnapshotFormat.VERSION) {
+            throw new ParsingException("Unsupported snapshot version " + version + ".");
+        }
+        int flags = input.readByte();
+        if ((flags & (SnapshotFormat.FLAG_CHECKSUM | SnapshotFormat.FLAG_FINGERPRINT)) == 0) {
+            return null;
+        }
+
+        byte[] checksum = new byte[SnapshotFormat.CHECKSUM_LENGTH];
+        input.readBytes(checksum);
+        return checksum;
+    }
+
+    private static void readCategoryBody(Category category, SnapshotInput input, ModelContext context) throws ParsingException {
+        for (Attribute attribute : readAttributes(input)) {
+            category.addAttribute(attribute);
+        }
+        int actionCount = input.readCount();
+        for (int i = 0; i < actionCount; i++) {
+            context.actions.add(readReference(category, input));
+        }
+    }
+
+    static List<Attribute> readAttributes(SnapshotInput input) throws ParsingException {
+        int count = input.readCount();
+        List<Attribute> attributes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = input.readRequiredString();
+            int flags = input.readByte();
+            attributes.add(new Attribute(name, (flags & SnapshotFormat.ATTRIBUTE_REQUIRED) != 0,
+                    (flags & SnapshotFormat.ATTRIBUTE_IMMUTABLE) != 0, input.readString(), input.readString(),
+                    input.readString(), input.readString()));
+        }
+
+        return attributes;
+    }
+
+    private static <C extends Category> Reference<C> readReference(C category, SnapshotInput input) throws ParsingException {
+        String scheme = input.readString();
+        if (scheme == null) {
+            return null;
+        }
+
+        return new Reference<>(category, toURI(scheme), input.readRequiredString());
+    }
+
+    private static Object readCategoryReference(SnapshotInput input, Model model) throws ParsingException {
+        int type = input.readByte();
+        URI scheme = toURI(input.readRequiredString());
+        String term = input.readRequiredString();
+        String title = input.readString();
+        URI location = toURI(input.readString());
+        String identifier = scheme + term;
+        switch (type) {
+            case SnapshotFormat.CATEGORY_KIND:
+                Kind kind = model == null ? null : model.getKind(identifier);
+                return kind != null ? kind : new Kind(scheme, term, title, location, null);
+            case SnapshotFormat.CATEGORY_MIXIN:
+                Mixin mixin = model == null ? null : model.getMixin(identifier);
+                return mixin != null ? mixin : new Mixin(scheme, term, title, location, null);
+            case SnapshotFormat.CATEGORY_ACTION:
+                Action action = model == null ? null : model.getAction(identifier);
+                return action != null ? action : new Action(scheme, term, title, null);
+            default:
+                throw new ParsingException("Unknown category type " + type + " in snapshot.");
+        }
+    }
+
+    private static <T> T category(Object[] categories, int index, Class<T> type) throws ParsingException {
+        if (index >= categories.length || !type.isInstance(categories[index])) {
+            throw new ParsingException("Invalid category reference " + index + " in snapshot.");
+        }
+
+        return type.cast(categories[index]);
+    }
+
+    private static Link link(Link[] links, int index) throws ParsingException {
+        if (index >= links.length) {
+            throw new ParsingException("Invalid link reference " + index + " in snapshot.");
+        }
+
+        return links[index];
+    }
+
+    private static Resource readResource(SnapshotInput input, Object[] categories, Link[] links) throws ParsingException, InvalidAttributeValueException {
+        Kind kind = category(categories, input.readVarint(), Kind.class);
+        Resource resource = new Resource(input.readRequiredString(), kind);
+        readEntityBody(resource, input, categories);
+
+        int actionCount = input.readCount();
+        for (int i = 0; i < actionCount; i++) {
+            resource.addAction(category(categories, input.readVarint(), Action.class));
+        }
+        int linkCount = input.readCount();
+        for (int i = 0; i < linkCount; i++) {
+            resource.addLink(link(links, input.readVarint()));
+        }
+
+        return resource;
+    }
+
+    private static Link readLink(SnapshotInput input, Object[] categories) throws ParsingException, InvalidAttributeValueException {
+        Kind kind = category(categories, input.readVarint(), Kind.class);
+        Link link = new Link(input.readRequiredString(), kind);
+        readEntityBody(link, input, categories);
+        link.setRelation(input.readString());
+
+        return link;
+    }
+
+    private static void readEntityBody(Entity entity, SnapshotInput input, Object[] categories) throws ParsingException, InvalidAttributeValueException {
+        int mixinCount = input.readCount();
+        for (int i = 0; i < mixinCount; i++) {
+            entity.addMixin(category(categories, input.readVarint(), Mixin.class));
+        }
+        entity.addAttributes(readAttributeValues(input));
+    }
+
+    private static Map<String, String> readAttributeValues(SnapshotInput input) throws ParsingException {
+        int count = input.readCount();
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            attributes.put(input.readRequiredString(), input.readRequiredString());
+        }
+
+        return attributes;
+    }
+
+    static URI toURI(String uri) throws ParsingException {
+        if (uri == null) {
+            return null;
+        }
+
+        try {
+            return new URI(uri);
+        } catch (URISyntaxException ex) {
+            throw new ParsingException("Invalid URI '" + uri + "' in snapshot.", ex);
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        if (in == null) {
+            throw new NullPointerException("Input stream cannot be null.");
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Relation of a category to another category, resolved once all the
+     * categories of the snapshot are read.
+     */
+    private static class Reference<C extends Category> {
+
+        private final C category;
+        private final URI scheme;
+        private final String term;
+
+        Reference(C category, URI scheme, String term) {
+            this.category = category;
+            this.scheme = scheme;
+            this.term = term;
+        }
+
+        private String getIdentifier() {
+            return scheme + term;
+        }
+    }
+
+    private static class ModelContext {
+
+        private final Model model = new Model();
+        private final List<Reference<Kind>> kindParents = new ArrayList<>();
+        private final List<Reference<Kind>> kindRelations = new ArrayList<>();
+        private final List<Reference<Mixin>> mixinRelations = new ArrayList<>();
+        private final List<Reference<Category>> actions = new ArrayList<>();
+        private final Map<String, Category> external = new HashMap<>();
+
+        private Model finish() {
+            for (Reference<Category> reference : actions) {
+                Action action = model.getAction(reference.getIdentifier());
+                if (action == null) {
+                    action = new Action(reference.scheme, reference.term);
+                }
+                reference.category.addAction(action);
+            }
+            for (Reference<Kind> reference : kindParents) {
+                if (reference != null) {
+                    reference.category.setParentKind(findKind(reference));
+                }
+            }
+            for (Reference<Kind> reference : kindRelations) {
+                reference.category.addRelation(findKind(reference));
+            }
+            for (Reference<Mixin> reference : mixinRelations) {
+                Mixin mixin = model.getMixin(reference.getIdentifier());
+                if (mixin == null) {
+                    mixin = (Mixin) external.get("m" + reference.getIdentifier());
+                    if (mixin == null) {
+                        mixin = new Mixin(reference.scheme, reference.term);
+                        external.put("m" + reference.getIdentifier(), mixin);
+                    }
+                }
+                reference.category.addRelation(mixin);
+            }
+
+            return model;
+        }
+
+        private Kind findKind(Reference<Kind> reference) {
+            Kind kind = model.getKind(reference.getIdentifier());
+            if (kind == null) {
+                kind = (Kind) external.get("k" + reference.getIdentifier());
+                if (kind == null) {
+                    kind = new Kind(reference.scheme, reference.term);
+                    external.put("k" + reference.getIdentifier(), kind);
+                }
+            }
+
+            return kind;
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package cz.cesnet.cloud.occi.snapshot;
+
+import cz.cesnet.cloud.occi.Collection;
+import cz.cesnet.cloud.occi.Model;
+import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.ActionInstance;
+import cz.cesnet.cloud.occi.core.Attribute;
+import cz.cesnet.cloud.occi.core.Category;
+import cz.cesnet.cloud.occi.core.Entity;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Link;
+import cz.cesnet.cloud.occi.core.Mixin;
+import cz.cesnet.cloud.occi.core.Resource;
+import cz.cesnet.cloud.occi.snapshot.SnapshotOutput.StringTable;
+import cz.cesnet.cloud.occi.type.Identifiable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writer of compact binary snapshots of models and collections. Snapshots are
+ * meant as a local cache which can be loaded much faster than the original
+ * rendering can be parsed, see {@link SnapshotReader}.
+ *
+ * Model snapshot contains kinds, mixins and actions with all their attributes
+ * and relations. Categories are written sorted by their identifiers, so the
+ * same model always produces the same snapshot, and snapshot's header carries
+ * model's checksum (see {@link #checksum(cz.cesnet.cloud.occi.Model)}).
+ *
+ * Collection snapshot contains links, resources referring to their inline
+ * links by index, indexes of collection's links and action instances. Every
+ * link is written only once, even if it is shared by a resource and the
+ * collection. Kinds, mixins and actions of the instances are written
+ * only by their identifiers, titles and locations, their definitions are
+ * expected to come from the model. If the collection has a model, its
+ * fingerprint (see {@link Model#getFingerprint()}) is stored in the header so
+ * the snapshot can be checked against the model it is loaded with without
+ * encoding the whole model.
+ */
+public class SnapshotWriter {
+
+    /**
+     * Writes binary snapshot of the model into given output stream.
+     *
+     * @param model model to write. Cannot be null.
+     * @param out output stream to write to. Cannot be null.
+     * @throws IOException if writing to the output stream fails
+     */
+    public static void writeModel(Model model, OutputStream out) throws IOException {
+        if (model == null) {
+            throw new NullPointerException("Model cannot be null.");
+        }
+        if (out == null) {
+            throw new NullPointerException("Output stream cannot be null.");
+        }
+
+        StringTable strings = new StringTable();
+        SnapshotOutput body = encodeModel(model, strings);
+        SnapshotOutput count = new SnapshotOutput(null, 5);
+        count.writeVarint(strings.size());
+        byte[] checksum = digest(count, strings.getEncoded(), body);
+
+        writeHeader(out, SnapshotFormat.TYPE_MODEL, SnapshotFormat.FLAG_CHECKSUM, checksum);
+        count.writeTo(out);
+        strings.getEncoded().writeTo(out);
+        body.writeTo(out);
+    }
+
+    /**
+     * Writes indexed binary snapshot of the model into given output stream.
+     * Indexed snapshot is larger than the one written by
+     * {@link #writeModel(cz.cesnet.cloud.occi.Model, java.io.OutputStream)}
+     * but it can be opened as {@link MappedModel} which decodes only the
+     * categories that are looked up.
+     *
+     * @param model model to write. Cannot be null.
+     * @param out output stream to write to. Cannot be null.
+     * @throws IOException if writing to the output stream fails
+     */
+    public static void writeIndexedModel(Model model, OutputStream out) throws IOException {
+        if (model == null) {
+            throw new NullPointerException("Model cannot be null.");
+        }
+        if (out == null) {
+            throw new NullPointerException("Output stream cannot be null.");
+        }
+
+        StringTable strings = new StringTable();
+        SnapshotOutput records = new SnapshotOutput(strings, 64 * 1024);
+        List<Integer> hashes = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        for (Kind kind : sorted(model.getKinds())) {
+            addRecord(SnapshotFormat.CATEGORY_KIND, kind, records, hashes, offsets);
+            writeKind(kind, records);
+        }
+        for (Mixin mixin : sorted(model.getMixins())) {
+            addRecord(SnapshotFormat.CATEGORY_MIXIN, mixin, records, hashes, offsets);
+            writeMixin(mixin, records);
+        }
+        for (Action action : sorted(model.getActions())) {
+            addRecord(SnapshotFormat.CATEGORY_ACTION, action, records, hashes, offsets);
+            writeAction(action, records);
+        }
+
+        int slotCount = 1;
+        while (slotCount < hashes.size() * 2) {
+            slotCount <<= 1;
+        }
+        int stringsStart = SnapshotFormat.HEADER_LENGTH + SnapshotFormat.CHECKSUM_LENGTH
+                + SnapshotFormat.FINGERPRINT_LENGTH + 8
+                + strings.size() * 8 + slotCount * 8;
+        int recordsStart = stringsStart + strings.getEncoded().size();
+
+        SnapshotOutput index = new SnapshotOutput(null, 8 + strings.size() * 8 + slotCount * 8);
+        index.writeInt(strings.size());
+        index.writeInt(slotCount);
+        for (int i = 0; i < strings.size(); i++) {
+            index.writeInt(stringsStart + strings.getOffset(i));
+            index.writeInt(strings.getLength(i));
+        }
+        int[] slots = new int[slotCount * 2];
+        for (int i = 0; i < hashes.size(); i++) {
+            int hash = hashes.get(i);
+            int slot = hash & (slotCount - 1);
+            while (slots[slot * 2 + 1] != 0) {
+                slot = (slot + 1) & (slotCount - 1);
+            }
+            slots[slot * 2] = hash;
+            slots[slot * 2 + 1] = recordsStart + offsets.get(i);
+        }
+        for (int slot : slots) {
+            index.writeInt(slot);
+        }
+
+        writeHeader(out, SnapshotFormat.TYPE_INDEXED_MODEL, SnapshotFormat.FLAG_CHECKSUM, checksumBytes(model));
+        out.write(SnapshotFormat.toBytes(model.getFingerprint()));
+        index.writeTo(out);
+        strings.getEncoded().writeTo(out);
+        records.writeTo(out);
+    }
+
+    /**
+     * Writes binary snapshot of the collection into given output stream. If
+     * the collection has a model, fingerprint of the model is stored in the
+     * snapshot.
+     *
+     * @param collection collection to write. Cannot be null.
+     * @param out output stream to write to. Cannot be null.
+     * @throws IOException if writing to the output stream fails
+     */
+    public static void writeCollection(Collection collection, OutputStream out) throws IOException {
+        if (collection == null) {
+            throw new NullPointerException("Collection cannot be null.");
+        }
+        if (out == null) {
+            throw new NullPointerException("Output stream cannot be null.");
+        }
+
+        StringTable strings = new StringTable();
+        CategoryTable categories = new CategoryTable(strings);
+        SnapshotOutput body = new SnapshotOutput(strings, 64 * 1024);
+
+        Set<Resource> resources = collection.getResources();
+        Set<Link> links = collection.getLinks();
+        Map<Link, Integer> linkIndexes = new IdentityHashMap<>();
+        List<Link> linkList = new ArrayList<>();
+        for (Resource resource : resources) {
+            for (Link link : resource.getLinks()) {
+                indexLink(link, linkIndexes, linkList);
+            }
+        }
+        for (Link link : links) {
+            indexLink(link, linkIndexes, linkList);
+        }
+
+        body.writeVarint(linkList.size());
+        for (Link link : linkList) {
+            writeLink(link, body, categories);
+        }
+
+        body.writeVarint(resources.size());
+        for (Resource resource : resources) {
+            writeResource(resource, body, categories, linkIndexes);
+        }
+
+        body.writeVarint(links.size());
+        for (Link link : links) {
+            body.writeVarint(linkIndexes.get(link));
+        }
+
+        Set<ActionInstance> actions = collection.getActions();
+        body.writeVarint(actions.size());
+        for (ActionInstance action : actions) {
+            body.writeVarint(categories.indexOf(SnapshotFormat.CATEGORY_ACTION, action.getAction().getScheme(),
+                    action.getAction().getTerm(), action.getAction().getTitle(), null));
+            writeAttributeValues(action.getAttributes(), body);
+        }
+
+        byte[] fingerprint = collection.getModel() == null ? null : SnapshotFormat.toBytes(collection.getModel().getFingerprint());
+        writeHeader(out, SnapshotFormat.TYPE_COLLECTION, SnapshotFormat.FLAG_FINGERPRINT, fingerprint);
+        SnapshotOutput count = new SnapshotOutput(null, 5);
+        count.writeVarint(strings.size());
+        count.writeTo(out);
+        strings.getEncoded().writeTo(out);
+        categories.writeTo(out);
+        body.writeTo(out);
+    }
+
+    /**
+     * Returns checksum of the model's content. Checksum is an MD5 digest of
+     * the model's snapshot, so two models with the same categories, attributes
+     * and relations have the same checksum. Unlike
+     * {@link Model#getFingerprint()} it is computed from scratch every time.
+     *
+     * @param model model to compute checksum of. Cannot be null.
+     * @return 32 hexadecimal digits of the checksum
+     */
+    public static String checksum(Model model) {
+        if (model == null) {
+            throw new NullPointerException("Model cannot be null.");
+        }
+
+        return SnapshotFormat.toHex(checksumBytes(model));
+    }
+
+    static byte[] checksumBytes(Model model) {
+        if (model instanceof MappedModel) {
+            return ((MappedModel) model).getChecksumBytes();
+        }
+
+        StringTable strings = new StringTable();
+        SnapshotOutput body = encodeModel(model, strings);
+        SnapshotOutput count = new SnapshotOutput(null, 5);
+        count.writeVarint(strings.size());
+        return digest(count, strings.getEncoded(), body);
+    }
+
+    private static byte[] digest(SnapshotOutput... outputs) {
+        MessageDigest digest = SnapshotFormat.createDigest();
+        for (SnapshotOutput output : outputs) {
+            output.updateDigest(digest);
+        }
+
+        return digest.digest();
+    }
+
+    private static void writeHeader(OutputStream out, int type, int flag, byte[] digest) throws IOException {
+        out.write(SnapshotFormat.MAGIC);
+        out.write(type);
+        out.write(SnapshotFormat.VERSION);
+        if (digest == null) {
+            out.write(0);
+        } else {
+            out.write(flag);
+            out.write(digest);
+        }
+    }
+
+    private static SnapshotOutput encodeModel(Model model, StringTable strings) {
+        SnapshotOutput body = new SnapshotOutput(strings, 64 * 1024);
+
+        List<Kind> kinds = sorted(model.getKinds());
+        body.writeVarint(kinds.size());
+        for (Kind kind : kinds) {
+            writeKind(kind, body);
+        }
+
+        List<Mixin> mixins = sorted(model.getMixins());
+        body.writeVarint(mixins.size());
+        for (Mixin mixin : mixins) {
+            writeMixin(mixin, body);
+        }
+
+        List<Action> actions = sorted(model.getActions());
+        body.writeVarint(actions.size());
+        for (Action action : actions) {
+            writeAction(action, body);
+        }
+
+        return body;
+    }
+
+    private static void writeKind(Kind kind, SnapshotOutput out) {
+        writeCategory(kind, out);
+        out.writeString(kind.getEntityType());
+        writeReference(kind.getParentKind(), out);
+        List<Kind> relations = sorted(kind.getRelations());
+        out.writeVarint(relations.size());
+        for (Kind relation : relations) {
+            writeReference(relation, out);
+        }
+    }
+
+    private static void writeMixin(Mixin mixin, SnapshotOutput out) {
+        writeCategory(mixin, out);
+        List<Mixin> relations = sorted(mixin.getRelations());
+        out.writeVarint(relations.size());
+        for (Mixin relation : relations) {
+            writeReference(relation, out);
+        }
+    }
+
+    private static void writeAction(Action action, SnapshotOutput out) {
+        out.writeString(action.getScheme().toString());
+        out.writeString(action.getTerm());
+        out.writeString(action.getTitle());
+        writeAttributes(action.getAttributes(), out);
+    }
+
+    private static void addRecord(int type, Identifiable category, SnapshotOutput records, List<Integer> hashes, List<Integer> offsets) {
+        hashes.add(SnapshotFormat.hash(type, category.getIdentifier()));
+        offsets.add(records.size());
+        records.writeByte(type);
+    }
+
+    private static void writeCategory(Category category, SnapshotOutput out) {
+        out.writeString(category.getScheme().toString());
+        out.writeString(category.getTerm());
+        out.writeString(category.getTitle());
+        out.writeString(category.getLocation() == null ? null : category.getLocation().toString());
+        writeAttributes(category.getAttributes(), out);
+        List<Action> actions = sorted(category.getActions());
+        out.writeVarint(actions.size());
+        for (Action action : actions) {
+            out.writeString(action.getScheme().toString());
+            out.writeString(action.getTerm());
+        }
+    }
+
+    private static void writeReference(Category category, SnapshotOutput out) {
+        if (category == null) {
+            out.writeString(null);
+            return;
+        }
+
+        out.writeString(category.getScheme().toString());
+        out.writeString(category.getTerm());
+    }
+
+    private static void writeAttributes(Set<Attribute> attributes, SnapshotOutput out) {
+        List<Attribute> sorted = sorted(attributes);
+        out.writeVarint(sorted.size());
+        for (Attribute attribute : sorted) {
+            out.writeString(attribute.getName());
+            int flags = 0;
+            if (attribute.isRequired()) {
+                flags |= SnapshotFormat.ATTRIBUTE_REQUIRED;
+            }
+            if (attribute.isImmutable()) {
+                flags |= SnapshotFormat.ATTRIBUTE_IMMUTABLE;
+            }
+            out.writeByte(flags);
+            out.writeString(attribute.getType());
+            out.writeString(".*".equals(attribute.getPattern()) ? null : attribute.getPattern());
+            out.writeString(attribute.getDefaultValue());
+            out.writeString(attribute.getDescription());
+        }
+    }
+
+    private static void indexLink(Link link, Map<Link, Integer> linkIndexes, List<Link> linkList) {
+        if (!linkIndexes.containsKey(link)) {
+            linkIndexes.put(link, linkList.size());
+            linkList.add(link);
+        }
+    }
+
+    private static void writeResource(Resource resource, SnapshotOutput out, CategoryTable categories, Map<Link, Integer> linkIndexes) {
+        writeEntity(resource, out, categories);
+        Set<Action> actions = resource.getActions();
+        out.writeVarint(actions.size());
+        for (Action action : actions) {
+            out.writeVarint(categories.indexOf(SnapshotFormat.CATEGORY_ACTION, action.getScheme(), action.getTerm(), action.getTitle(), null));
+        }
+        Set<Link> links = resource.getLinks();
+        out.writeVarint(links.size());
+        for (Link link : links) {
+            out.writeVarint(linkIndexes.get(link));
+        }
+    }
+
+    private static void writeLink(Link link, SnapshotOutput out, CategoryTable categories) {
+        writeEntity(link, out, categories);
+        out.writeString(link.getRelation());
+    }
+
+    private static void writeEntity(Entity entity, SnapshotOutput out, CategoryTable categories) {
+        Kind kind = entity.getKind();
+        out.writeVarint(categories.indexOf(SnapshotFormat.CATEGORY_KIND, kind.getScheme(), kind.getTerm(), kind.getTitle(), kind.getLocation()));
+        out.writeString(entity.getId());
+        Set<Mixin> mixins = entity.getMixins();
+        out.writeVarint(mixins.size());
+        for (Mixin mixin : mixins) {
+            out.writeVarint(categories.indexOf(SnapshotFormat.CATEGORY_MIXIN, mixin.getScheme(), mixin.getTerm(), mixin.getTitle(), mixin.getLocation()));
+        }
+        writeAttributeValues(entity.getAttributes(), out);
+    }
+
+    private static void writeAttributeValues(Map<Attribute, String> attributes, SnapshotOutput out) {
+        out.writeVarint(attributes.size());
+        for (Map.Entry<Attribute, String> entry : attributes.entrySet()) {
+            out.writeString(entry.getKey().getName());
+            out.writeString(entry.getValue());
+        }
+    }
+
+    private static <T extends Comparable<? super T>> List<T> sorted(Set<T> set) {
+        List<T> list = new ArrayList<>(set);
+        Collections.sort(list);
+        return list;
+    }
+
+    /**
+     * Table of kinds, mixins and actions referenced by instances of a
+     * collection snapshot, each category is written only once.
+     */
+    private static class CategoryTable {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final SnapshotOutput records;
+
+        CategoryTable(StringTable strings) {
+            this.records = new SnapshotOutput(strings);
+        }
+
+        int indexOf(int type, URI scheme, String term, String title, URI location) {
+            String key = type + scheme.toString() + term;
+            Integer index = indexes.get(key);
+            if (index == null) {
+                index = indexes.size();
+                indexes.put(key, index);
+                records.writeByte(type);
+                records.writeString(scheme.toString());
+                records.writeString(term);
+                records.writeString(title);
+                records.writeString(location == null ? null : location.toString());
+            }
+
+            return index;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            SnapshotOutput count = new SnapshotOutput(null, 5);
+            count.writeVarint(indexes.size());
+            count.writeTo(out);
+            records.writeTo(out);
+        }
+    }
+}
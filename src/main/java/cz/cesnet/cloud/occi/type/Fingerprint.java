@@ -0,0 +1,255 @@
+package cz.cesnet.cloud.occi.type;
+
+/**
+ * 128-bit fingerprint of an object's content. Objects with the same content
+ * have the same fingerprint in every JVM, so fingerprint can be used as a
+ * cache key or an ETag. Different content produces different fingerprint with
+ * overwhelming probability, fingerprint is not a cryptographic hash though.
+ *
+ * Fingerprints are computed with {@link Builder}. Fingerprints of elements of
+ * an unordered collection can be combined with {@link #plus(Fingerprint)},
+ * which doesn't depend on the order of the elements and can be undone with
+ * {@link #minus(Fingerprint)}.
+ */
+public final class Fingerprint {
+
+    /**
+     * Fingerprint of no content, neutral element of
+     * {@link #plus(Fingerprint)}.
+     */
+    public static final Fingerprint ZERO = new Fingerprint(0, 0);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long high;
+    private final long low;
+
+    /**
+     * Creates a fingerprint from its two halves.
+     *
+     * @param high upper 64 bits of the fingerprint
+     * @param low lower 64 bits of the fingerprint
+     */
+    public Fingerprint(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Returns upper 64 bits of the fingerprint.
+     *
+     * @return upper 64 bits of the fingerprint
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Returns lower 64 bits of the fingerprint.
+     *
+     * @return lower 64 bits of the fingerprint
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * Returns 128-bit sum of the two fingerprints.
+     *
+     * @param fingerprint fingerprint to add. Cannot be null.
+     * @return sum of the fingerprints
+     */
+    public Fingerprint plus(Fingerprint fingerprint) {
+        long sumLow = low + fingerprint.low;
+        long carry = ((low & fingerprint.low) | ((low | fingerprint.low) & ~sumLow)) >>> 63;
+        return new Fingerprint(high + fingerprint.high + carry, sumLow);
+    }
+
+    /**
+     * Returns 128-bit difference of the two fingerprints.
+     *
+     * @param fingerprint fingerprint to subtract. Cannot be null.
+     * @return difference of the fingerprints
+     */
+    public Fingerprint minus(Fingerprint fingerprint) {
+        long differenceLow = low - fingerprint.low;
+        long borrow = ((~low & fingerprint.low) | (~(low ^ fingerprint.low) & differenceLow)) >>> 63;
+        return new Fingerprint(high - fingerprint.high - borrow, differenceLow);
+    }
+
+    /**
+     * @see Object#hashCode()
+     * @return fingerprint's hash code
+     */
+    @Override
+    public int hashCode() {
+        return (int) (low ^ (low >>> 32));
+    }
+
+    /**
+     * @see Object#equals(java.lang.Object)
+     * @param obj object to compare fingerprint with
+     * @return true if two fingerprints are equal, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final Fingerprint other = (Fingerprint) obj;
+        return high == other.high && low == other.low;
+    }
+
+    /**
+     * Returns the fingerprint as 32 hexadecimal digits.
+     *
+     * @see Object#toString()
+     * @return hexadecimal representation of the fingerprint
+     */
+    @Override
+    public String toString() {
+        char[] chars = new char[32];
+        for (int i = 0; i < 16; i++) {
+            chars[15 - i] = HEX[(int) (high >>> (i * 4)) & 0x0F];
+            chars[31 - i] = HEX[(int) (low >>> (i * 4)) & 0x0F];
+        }
+
+        return new String(chars);
+    }
+
+    /**
+     * Builder computing fingerprint of a sequence of values (MurmurHash3,
+     * x64 128-bit variant, over UTF-16 code units of the values). Strings are
+     * prefixed by their length, so a sequence of strings cannot be confused
+     * with their concatenation.
+     */
+    public static final class Builder {
+
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        private long h1;
+        private long h2;
+        private long k1;
+        private long k2;
+        private int position;
+        private long length;
+
+        /**
+         * Adds string to the fingerprint. Null is distinguished from empty
+         * string.
+         *
+         * @param value string to add
+         * @return this builder
+         */
+        public Builder add(String value) {
+            if (value == null) {
+                return add(-1);
+            }
+
+            add(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                addUnit(value.charAt(i));
+            }
+
+            return this;
+        }
+
+        /**
+         * Adds integer to the fingerprint.
+         *
+         * @param value integer to add
+         * @return this builder
+         */
+        public Builder add(int value) {
+            addUnit(value >>> 16);
+            addUnit(value);
+            return this;
+        }
+
+        /**
+         * Adds boolean to the fingerprint.
+         *
+         * @param value boolean to add
+         * @return this builder
+         */
+        public Builder add(boolean value) {
+            addUnit(value ? 1 : 0);
+            return this;
+        }
+
+        /**
+         * Adds another fingerprint to the fingerprint.
+         *
+         * @param value fingerprint to add. Cannot be null.
+         * @return this builder
+         */
+        public Builder add(Fingerprint value) {
+            for (int shift = 48; shift >= 0; shift -= 16) {
+                addUnit((int) (value.high >>> shift));
+            }
+            for (int shift = 48; shift >= 0; shift -= 16) {
+                addUnit((int) (value.low >>> shift));
+            }
+
+            return this;
+        }
+
+        /**
+         * Returns fingerprint of the values added so far.
+         *
+         * @return fingerprint of the added values
+         */
+        public Fingerprint build() {
+            long a = h1;
+            long b = h2;
+            if (position > 0) {
+                a ^= Long.rotateLeft(k1 * C1, 31) * C2;
+                b ^= Long.rotateLeft(k2 * C2, 33) * C1;
+            }
+
+            a ^= length;
+            b ^= length;
+            a += b;
+            b += a;
+            a = mix(a);
+            b = mix(b);
+            a += b;
+            b += a;
+            return new Fingerprint(a, b);
+        }
+
+        private void addUnit(int unit) {
+            long value = unit & 0xFFFFL;
+            if (position < 4) {
+                k1 |= value << (position * 16);
+            } else {
+                k2 |= value << ((position - 4) * 16);
+            }
+            length += 2;
+            if (++position == 8) {
+                h1 ^= Long.rotateLeft(k1 * C1, 31) * C2;
+                h1 = Long.rotateLeft(h1, 27) + h2;
+                h1 = h1 * 5 + 0x52dce729;
+                h2 ^= Long.rotateLeft(k2 * C2, 33) * C1;
+                h2 = Long.rotateLeft(h2, 31) + h1;
+                h2 = h2 * 5 + 0x38495ab5;
+                k1 = 0;
+                k2 = 0;
+                position = 0;
+            }
+        }
+
+        private static long mix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb53fe1a85ec3L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package cz.cesnet.cloud.occi;
+
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Mixin;
+import cz.cesnet.cloud.occi.parser.CollectionType;
+import java.net.URI;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CategoryHierarchyTest {
+
+    private Model model;
+    private List<Kind> kinds;
+    private List<Mixin> mixins;
+
+    @Before
+    public void setUp() throws Exception {
+        model = new Model();
+        kinds = DataGenerator.getFiveKinds();
+        mixins = DataGenerator.getFiveMixins();
+
+        for (Kind kind : kinds) {
+            model.addKind(kind);
+        }
+
+        for (Mixin mixin : mixins) {
+            model.addMixin(mixin);
+        }
+    }
+
+    @Test
+    public void testIsKindOf() {
+        CategoryHierarchy hierarchy = model.getHierarchy();
+        Kind entity = kinds.get(0);
+        Kind resource = kinds.get(1);
+        Kind link = kinds.get(2);
+        Kind compute = kinds.get(3);
+
+        assertTrue(hierarchy.isKindOf(compute, compute));
+        assertTrue(hierarchy.isKindOf(compute, resource));
+        assertTrue(hierarchy.isKindOf(compute, entity));
+        assertFalse(hierarchy.isKindOf(compute, link));
+        assertFalse(hierarchy.isKindOf(entity, compute));
+        assertFalse(hierarchy.isKindOf(compute, new Kind(URI.create("http://nonexisting.abc.org/icco/core#"), "kind")));
+        assertFalse(hierarchy.isCyclic());
+    }
+
+    @Test
+    public void testIsMixinOf() {
+        CategoryHierarchy hierarchy = model.getHierarchy();
+
+        assertTrue(hierarchy.isMixinOf(mixins.get(3), mixins.get(2)));
+        assertFalse(hierarchy.isMixinOf(mixins.get(2), mixins.get(3)));
+        assertFalse(hierarchy.isMixinOf(mixins.get(4), mixins.get(2)));
+    }
+
+    @Test
+    public void testGetAncestors() {
+        CategoryHierarchy hierarchy = model.getHierarchy();
+
+        List<Kind> ancestors = hierarchy.getAncestors(kinds.get(4));
+        assertEquals(2, ancestors.size());
+        assertEquals(kinds.get(2), ancestors.get(0));
+        assertEquals(kinds.get(0), ancestors.get(1));
+        assertTrue(hierarchy.getAncestors(kinds.get(0)).isEmpty());
+    }
+
+    @Test
+    public void testGetKindType() {
+        CategoryHierarchy hierarchy = model.getHierarchy();
+
+        assertNull(hierarchy.getKindType(kinds.get(0)));
+        assertEquals(CollectionType.RESOURCE, hierarchy.getKindType(kinds.get(1)));
+        assertEquals(CollectionType.LINK, hierarchy.getKindType(kinds.get(2)));
+        assertEquals(CollectionType.RESOURCE, hierarchy.getKindType(kinds.get(3)));
+        assertEquals(CollectionType.LINK, hierarchy.getKindType(kinds.get(4)));
+    }
+
+    @Test
+    public void testRecompilation() throws Exception {
+        CategoryHierarchy hierarchy = model.getHierarchy();
+        assertSame(hierarchy, model.getHierarchy());
+
+        Kind network = new Kind(new URI("http://schemas.ogf.org/occi/infrastructure#"), "network", "Network Resource", new URI("/network/"), null);
+        model.addKind(network);
+        assertNotSame(hierarchy, model.getHierarchy());
+        assertFalse(model.getHierarchy().isKindOf(network, kinds.get(1)));
+
+        hierarchy = model.getHierarchy();
+        network.addRelation(kinds.get(1));
+        network.setParentKind(kinds.get(1));
+        assertNotSame(hierarchy, model.getHierarchy());
+        assertTrue(model.getHierarchy().isKindOf(network, kinds.get(0)));
+        assertEquals(CollectionType.RESOURCE, model.findKindType(network));
+    }
+
+    @Test
+    public void testRecompilationIsPerModel() throws Exception {
+        CategoryHierarchy hierarchy = model.getHierarchy();
+
+        Model other = new Model();
+        Kind network = new Kind(new URI("http://schemas.ogf.org/occi/infrastructure#"), "network");
+        other.addKind(network);
+        network.setParentKind(kinds.get(1));
+        other.removeKind(network);
+        network.addRelation(kinds.get(1));
+        kinds.get(3).setTitle("Compute");
+        assertSame(hierarchy, model.getHierarchy());
+
+        Mixin mixin = mixins.get(4);
+        mixin.addRelation(mixins.get(2));
+        assertNotSame(hierarchy, model.getHierarchy());
+        assertTrue(model.getHierarchy().isMixinOf(mixin, mixins.get(2)));
+
+        hierarchy = model.getHierarchy();
+        model.removeMixin(mixin);
+        mixin.clearRelations();
+        assertNotSame(hierarchy, model.getHierarchy());
+        hierarchy = model.getHierarchy();
+        mixin.addRelation(mixins.get(3));
+        assertSame(hierarchy, model.getHierarchy());
+    }
+
+    @Test
+    public void testCyclicHierarchy() throws Exception {
+        Mixin first = new Mixin(new URI("http://example.org/occi/mixins#"), "first");
+        Mixin second = new Mixin(new URI("http://example.org/occi/mixins#"), "second");
+        first.addRelation(second);
+        second.addRelation(first);
+        model.addMixin(first);
+        model.addMixin(second);
+
+        Kind kind = new Kind(new URI("http://example.org/occi/kinds#"), "self");
+        kind.setParentKind(kind);
+        model.addKind(kind);
+
+        CategoryHierarchy hierarchy = model.getHierarchy();
+        assertTrue(hierarchy.isCyclic());
+        assertEquals(3, hierarchy.getCyclicCategories().size());
+        assertTrue(hierarchy.isMixinOf(first, second));
+        assertTrue(hierarchy.isMixinOf(second, first));
+        assertEquals(1, hierarchy.getAncestors(first).size());
+        assertNull(model.findKindType(kind));
+    }
+}
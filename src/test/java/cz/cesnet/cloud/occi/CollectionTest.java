@@ -1,12 +1,19 @@
 package cz.cesnet.cloud.occi;
 
+import com.sun.net.httpserver.Headers;
 import cz.cesnet.cloud.occi.core.Action;
 import cz.cesnet.cloud.occi.core.ActionInstance;
 import cz.cesnet.cloud.occi.core.Kind;
 import cz.cesnet.cloud.occi.core.Link;
 import cz.cesnet.cloud.occi.core.Resource;
+import cz.cesnet.cloud.occi.parser.CollectionType;
+import cz.cesnet.cloud.occi.parser.JSONParser;
+import cz.cesnet.cloud.occi.parser.MediaType;
+import java.io.StringWriter;
 import java.net.URI;
+import java.util.List;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import org.junit.Test;
 
 public class CollectionTest {
@@ -35,4 +42,88 @@ public class CollectionTest {
         assertEquals(model, link.getModel());
         assertEquals(model, ai.getModel());
     }
+
+    @Test
+    public void testToText() throws Exception {
+        Resource resource1 = DataGenerator.getResource();
+        Resource resource2 = new Resource("00000000-0000-0000-0000-000000000000", resource1.getKind());
+        resource2.setTitle("compute2");
+        resource2.addMixins(resource1.getMixins());
+        Link link = DataGenerator.getLink();
+        ActionInstance action = DataGenerator.getAction();
+
+        Collection collection = new Collection();
+        collection.addAction(action);
+        collection.addLink(link);
+        collection.addResource(resource1);
+        collection.addResource(resource2);
+
+        String expected = resource2.toText() + "\n\n" + resource1.toText() + "\n\n" + link.toText() + "\n\n" + action.toText();
+        assertEquals(expected, collection.toText());
+
+        StringWriter writer = new StringWriter();
+        collection.writeText(writer);
+        assertEquals(expected, writer.toString());
+
+        assertEquals("", new Collection().toText());
+    }
+
+    @Test
+    public void testToJSON() throws Exception {
+        Resource resource1 = DataGenerator.getResource();
+        Resource resource2 = new Resource("00000000-0000-0000-0000-000000000000", resource1.getKind());
+        resource2.setTitle("compute2");
+        Link link = DataGenerator.getLink();
+        ActionInstance action = DataGenerator.getAction();
+
+        Collection collection = new Collection();
+        collection.addAction(action);
+        collection.addLink(link);
+        collection.addResource(resource1);
+        collection.addResource(resource2);
+
+        String expected = "{\"resources\":[" + resource2.toJSON() + "," + resource1.toJSON() + "],\"links\":[" + link.toJSON()
+                + "],\"actions\":[" + action.toJSON() + "]}";
+        assertEquals(expected, collection.toJSON());
+
+        StringWriter writer = new StringWriter();
+        collection.writeJSON(writer);
+        assertEquals(expected, writer.toString());
+
+        assertEquals("{\"resources\":[],\"links\":[]}", new Collection().toJSON());
+
+        Collection parsed = new JSONParser().parseCollection(MediaType.APPLICATION_JSON, expected, null, CollectionType.RESOURCE);
+        assertEquals(2, parsed.getResources().size());
+        assertEquals(1, parsed.getLinks().size());
+        assertEquals(1, parsed.getActions().size());
+        assertEquals(action.getAction(), parsed.getActions().iterator().next().getAction());
+        assertEquals(action.getAttributes(), parsed.getActions().iterator().next().getAttributes());
+    }
+
+    @Test
+    public void testToHeaders() throws Exception {
+        Resource resource1 = DataGenerator.getResource();
+        Resource resource2 = new Resource("00000000-0000-0000-0000-000000000000", resource1.getKind());
+        resource2.addMixins(resource1.getMixins());
+        Link link = DataGenerator.getLink();
+
+        Collection collection = new Collection();
+        collection.addLink(link);
+        collection.addResource(resource1);
+        collection.addResource(resource2);
+
+        List<Headers> headers = collection.toHeaders();
+        assertEquals(3, headers.size());
+        assertEquals(resource2.toHeaders(), headers.get(0));
+        assertEquals(resource1.toHeaders(), headers.get(1));
+        assertEquals(link.toHeaders(), headers.get(2));
+
+        //shared kinds and mixins are rendered only once
+        List<String> categories1 = headers.get(0).get("Category");
+        List<String> categories2 = headers.get(1).get("Category");
+        assertEquals(1 + resource1.getMixins().size(), categories1.size());
+        for (int i = 0; i < categories1.size(); i++) {
+            assertSame(categories1.get(i), categories2.get(i));
+        }
+    }
 }
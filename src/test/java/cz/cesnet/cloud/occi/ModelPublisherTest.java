@@ -0,0 +1,119 @@
+package cz.cesnet.cloud.occi;
+
+import cz.cesnet.cloud.occi.core.Kind;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ModelPublisherTest {
+
+    @Test
+    public void testPublish() throws Exception {
+        ModelPublisher publisher = new ModelPublisher();
+        ModelSnapshot empty = publisher.get();
+        assertTrue(empty.getKinds().isEmpty());
+
+        Model model = new Model();
+        for (Kind kind : DataGenerator.getFiveKinds()) {
+            model.addKind(kind);
+        }
+
+        assertSame(empty, publisher.publish(model));
+        assertEquals(model, publisher.get());
+
+        model.clearKinds();
+        assertEquals(5, publisher.get().getKinds().size());
+    }
+
+    @Test
+    public void testCompareAndPublish() throws Exception {
+        ModelPublisher publisher = new ModelPublisher();
+        ModelSnapshot first = publisher.get();
+
+        Model model = new Model(first);
+        model.addKind(DataGenerator.getFiveKinds().get(0));
+        assertTrue(publisher.compareAndPublish(first, model));
+
+        ModelSnapshot second = publisher.get();
+        assertFalse(publisher.compareAndPublish(first, new Model()));
+        assertSame(second, publisher.get());
+        assertEquals(DataGenerator.getFiveKinds().get(0), publisher.get().findKind("entity"));
+    }
+
+    @Test
+    public void testApply() throws Exception {
+        Model model = new Model();
+        for (Kind kind : DataGenerator.getFiveKinds()) {
+            model.addKind(kind);
+        }
+        ModelPublisher publisher = new ModelPublisher(model);
+        ModelSnapshot first = publisher.get();
+
+        Model newer = new Model();
+        for (Kind kind : DataGenerator.getFiveKinds()) {
+            newer.addKind(kind);
+        }
+        newer.getKind("http://schemas.ogf.org/occi/infrastructure#compute").setTitle("Compute");
+        newer.addKind(new Kind(URI.create("http://schemas.ogf.org/occi/infrastructure#"), "network"));
+
+        assertSame(first, publisher.apply(first.diff(newer)));
+        ModelSnapshot second = publisher.get();
+        assertEquals(newer, second);
+        assertEquals("Compute", second.getKind("http://schemas.ogf.org/occi/infrastructure#compute").getTitle());
+        assertSame(first.getKind("http://schemas.ogf.org/occi/core#resource"), second.getKind("http://schemas.ogf.org/occi/core#resource"));
+        assertEquals(5, first.getKinds().size());
+    }
+
+    @Test
+    public void testConcurrentReaders() throws Exception {
+        final ModelPublisher publisher = new ModelPublisher();
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicBoolean inconsistent = new AtomicBoolean(false);
+
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        while (running.get()) {
+                            //every published version contains either no kinds or all five kinds
+                            ModelSnapshot snapshot = publisher.get();
+                            int size = snapshot.getKinds().size();
+                            if (size != 0 && (size != 5 || snapshot.findKind("compute") == null || snapshot.findKindType("/compute/") == null)) {
+                                inconsistent.set(true);
+                            }
+                        }
+                    } catch (Exception ex) {
+                        inconsistent.set(true);
+                    }
+                }
+            });
+            readers[i].start();
+        }
+
+        for (int i = 0; i < 200; i++) {
+            Model model = new Model();
+            if (i % 2 == 0) {
+                for (Kind kind : DataGenerator.getFiveKinds()) {
+                    model.addKind(kind);
+                }
+            }
+            publisher.publish(model);
+        }
+
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertFalse(inconsistent.get());
+        assertNull(publisher.get().findKind("compute"));
+    }
+}
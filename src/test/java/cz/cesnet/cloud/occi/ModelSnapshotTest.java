@@ -0,0 +1,100 @@
+package cz.cesnet.cloud.occi;
+
+import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Mixin;
+import cz.cesnet.cloud.occi.parser.CollectionType;
+import java.net.URI;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ModelSnapshotTest {
+
+    private Model model;
+
+    @Before
+    public void setUp() throws Exception {
+        model = new Model();
+
+        for (Kind kind : DataGenerator.getFiveKinds()) {
+            model.addKind(kind);
+        }
+
+        for (Mixin mixin : DataGenerator.getFiveMixins()) {
+            model.addMixin(mixin);
+        }
+
+        for (Action action : DataGenerator.getFiveActions()) {
+            model.addAction(action);
+        }
+    }
+
+    @Test
+    public void testFreeze() throws Exception {
+        ModelSnapshot snapshot = model.freeze();
+
+        assertEquals(model, snapshot);
+        assertEquals(snapshot, model);
+        assertSame(snapshot, snapshot.freeze());
+        assertEquals(DataGenerator.getFiveKinds().get(3), snapshot.findKind("compute"));
+        assertEquals(CollectionType.LINK, snapshot.findKindType("/storagelink/"));
+        assertEquals(2, snapshot.findRelatedKinds("entity").size());
+        assertEquals(DataGenerator.getFiveMixins().get(3), snapshot.findMixin("larger", "resource_tpl"));
+        assertEquals(DataGenerator.getFiveActions().get(2), snapshot.findAction("up"));
+        assertTrue(snapshot.getHierarchy().isKindOf(DataGenerator.getFiveKinds().get(3), DataGenerator.getFiveKinds().get(0)));
+    }
+
+    @Test
+    public void testSnapshotIsIndependent() throws Exception {
+        ModelSnapshot snapshot = model.freeze();
+        model.removeKind(DataGenerator.getFiveKinds().get(3));
+        model.clearMixins();
+
+        assertNull(model.findKind("compute"));
+        assertEquals(DataGenerator.getFiveKinds().get(3), snapshot.findKind("compute"));
+        assertEquals(5, snapshot.getMixins().size());
+        assertFalse(model.equals(snapshot));
+    }
+
+    @Test
+    public void testInvalidModification() throws Exception {
+        ModelSnapshot snapshot = model.freeze();
+
+        try {
+            snapshot.addKind(new Kind(new URI("http://schemas.ogf.org/occi/infrastructure#"), "network"));
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            //cool
+        }
+
+        try {
+            snapshot.removeMixin(DataGenerator.getFiveMixins().get(0));
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            //cool
+        }
+
+        try {
+            snapshot.clearActions();
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            //cool
+        }
+
+        try {
+            snapshot.getKinds().clear();
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            //cool
+        }
+
+        assertEquals(5, snapshot.getKinds().size());
+        assertEquals(5, snapshot.getActions().size());
+    }
+}
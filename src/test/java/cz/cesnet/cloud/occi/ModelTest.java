@@ -1,16 +1,28 @@
 package cz.cesnet.cloud.occi;
 
 import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.Attribute;
 import cz.cesnet.cloud.occi.core.Kind;
 import cz.cesnet.cloud.occi.core.Mixin;
 import cz.cesnet.cloud.occi.exception.AmbiguousIdentifierException;
 import cz.cesnet.cloud.occi.parser.CollectionType;
+import cz.cesnet.cloud.occi.parser.JSONParser;
+import cz.cesnet.cloud.occi.parser.MediaType;
+import cz.cesnet.cloud.occi.type.Fingerprint;
+import java.io.StringWriter;
 import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
 import static java.util.Collections.list;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import org.junit.Before;
 import org.junit.Test;
@@ -249,4 +261,342 @@ public class ModelTest {
         assertEquals(DataGenerator.getFiveActions().get(2), model.findAction(URI.create("http://schemas.ogf.org/occi/infrastructure/network/action#up")));
         assertNull(model.findAction(URI.create("http://nonexisting.abc.org/icco/core#action")));
     }
+    @Test
+    public void testFindKindAfterRemoval() throws Exception {
+        Kind kind = new Kind(new URI("http://different.uri.same/term/core#"), "entity", "Entity", new URI("/entity/"), null);
+        model.addKind(kind);
+        model.removeKind(kind);
+        assertEquals(DataGenerator.getFiveKinds().get(0), model.findKind("entity"));
+
+        model.removeKind(DataGenerator.getFiveKinds().get(0));
+        assertNull(model.findKind("entity"));
+        assertNull(model.findKind(URI.create("http://schemas.ogf.org/occi/core#entity")));
+        assertEquals(DataGenerator.getFiveKinds().get(1), model.findKind("resource"));
+
+        model.clearKinds();
+        assertNull(model.findKind("resource"));
+        assertNull(model.findKindType("/resource/"));
+    }
+
+    @Test
+    public void testFindKindTypeAfterRemoval() throws Exception {
+        Kind kind = new Kind(new URI("http://different.uri.same/term/core#"), "compute", "Compute", new URI("/compute/"), null);
+        model.addKind(kind);
+        assertEquals(CollectionType.RESOURCE, model.findKindType("/compute/"));
+
+        model.removeKind(DataGenerator.getFiveKinds().get(3));
+        assertNull(model.findKindType("/compute/"));
+
+        model.removeKind(kind);
+        assertNull(model.findKindType("/compute/"));
+        assertNull(model.findKindType((String) null));
+    }
+
+    @Test
+    public void testFindRelatedKindsAfterModification() throws Exception {
+        Kind kind = new Kind(new URI("http://schemas.ogf.org/occi/infrastructure#"), "network", "Network Resource", new URI("/network/"), null);
+        model.addKind(kind);
+        assertEquals(2, model.findRelatedKinds("entity").size());
+
+        kind.addRelation(model.findKind("entity"));
+        assertEquals(3, model.findRelatedKinds("entity").size());
+
+        model.removeKind(kind);
+        assertEquals(2, model.findRelatedKinds("entity").size());
+    }
+
+    @Test
+    public void testFindMixinAfterRemoval() throws Exception {
+        Mixin resourcetpl = new Mixin(new URI("http://different.uri.same/term/core#"), "resource_tpl", "Resource Template", new URI("/mixins/resource_tpl/"), null);
+        model.addMixin(resourcetpl);
+        model.removeMixin(resourcetpl);
+        assertEquals(DataGenerator.getFiveMixins().get(2), model.findMixin("resource_tpl"));
+        assertEquals(DataGenerator.getFiveMixins().get(3), model.findMixin("larger", "resource_tpl"));
+
+        model.clearMixins();
+        assertNull(model.findMixin("resource_tpl"));
+        assertEquals(0, model.findRelatedMixins(URI.create("http://schemas.ogf.org/occi/infrastructure#os_tpl")).size());
+    }
+
+    @Test
+    public void testToJSON() throws Exception {
+        String json = model.toJSON();
+        StringWriter writer = new StringWriter();
+        model.writeJSON(writer);
+        assertEquals(json, writer.toString());
+
+        Model parsed = new JSONParser().parseModel(MediaType.APPLICATION_JSON, json, null);
+        assertEquals(model, parsed);
+        for (Kind kind : model.getKinds()) {
+            Kind parsedKind = parsed.getKind(kind.getIdentifier());
+            assertEquals(kind.getTitle(), parsedKind.getTitle());
+            assertEquals(kind.getLocation(), parsedKind.getLocation());
+            assertEquals(kind.getParentKind(), parsedKind.getParentKind());
+            assertEquals(kind.getAttributes(), parsedKind.getAttributes());
+            assertEquals(kind.getActions(), parsedKind.getActions());
+        }
+        for (Mixin mixin : model.getMixins()) {
+            assertEquals(mixin.getRelations(), parsed.getMixin(mixin.getIdentifier()).getRelations());
+        }
+
+        assertEquals(json, parsed.toJSON());
+    }
+
+    @Test
+    public void testDiff() throws Exception {
+        assertTrue(model.diff(newModel()).isEmpty());
+        assertTrue(model.diff(model).isEmpty());
+
+        Model newer = newModel();
+        newer.getMixin("http://schemas.ogf.org/occi/infrastructure#os_tpl").setTitle("OS Template");
+        newer.removeKind(newer.getKind("http://schemas.ogf.org/occi/infrastructure#storagelink"));
+        newer.addKind(new Kind(URI.create("http://schemas.ogf.org/occi/infrastructure#"), "network"));
+        newer.getAction("http://schemas.ogf.org/occi/infrastructure/compute/action#restart").getAttribute("method").setRequired(true);
+
+        ModelDiff diff = model.diff(newer);
+        assertFalse(diff.isEmpty());
+        assertEquals(Arrays.asList(newer.getKind("http://schemas.ogf.org/occi/infrastructure#network")), diff.getAddedKinds());
+        assertSame(model.getKind("http://schemas.ogf.org/occi/infrastructure#storagelink"), diff.getRemovedKinds().get(0));
+        assertEquals(1, diff.getRemovedKinds().size());
+        assertEquals(Arrays.asList(newer.getKind("http://schemas.ogf.org/occi/infrastructure#compute")), diff.getChangedKinds());
+        assertEquals(Arrays.asList(newer.getMixin("http://schemas.ogf.org/occi/infrastructure#os_tpl"),
+                newer.getMixin("https://occi.localhost/occi/infrastructure/os_tpl#debianvm")), diff.getChangedMixins());
+        assertTrue(diff.getAddedMixins().isEmpty());
+        assertTrue(diff.getRemovedMixins().isEmpty());
+        assertEquals(Arrays.asList(newer.getAction("http://schemas.ogf.org/occi/infrastructure/compute/action#restart")), diff.getChangedActions());
+        assertTrue(diff.getAddedActions().isEmpty());
+        assertTrue(diff.getRemovedActions().isEmpty());
+
+        try {
+            model.diff(null);
+            fail();
+        } catch (NullPointerException ex) {
+            //cool
+        }
+    }
+
+    @Test
+    public void testApply() throws Exception {
+        Model newer = newModel();
+        newer.getKind("http://schemas.ogf.org/occi/core#resource").addAttribute(new Attribute("occi.core.new"));
+        newer.removeMixin(newer.getMixin("http://schemas.ogf.org/occi/infrastructure/network#ipnetwork"));
+        newer.addAction(new Action(URI.create("http://schemas.ogf.org/occi/infrastructure/compute/action#"), "start"));
+
+        Kind entity = model.getKind("http://schemas.ogf.org/occi/core#entity");
+        Kind link = model.getKind("http://schemas.ogf.org/occi/core#link");
+        Mixin ostpl = model.getMixin("http://schemas.ogf.org/occi/infrastructure#os_tpl");
+        ModelDiff diff = model.diff(newer);
+        model.apply(diff);
+
+        assertEquals(newer, model);
+        assertTrue(model.diff(newer).isEmpty());
+        assertSame(entity, model.getKind("http://schemas.ogf.org/occi/core#entity"));
+        assertSame(link, model.getKind("http://schemas.ogf.org/occi/core#link"));
+        assertSame(ostpl, model.getMixin("http://schemas.ogf.org/occi/infrastructure#os_tpl"));
+        Kind compute = model.getKind("http://schemas.ogf.org/occi/infrastructure#compute");
+        assertSame(newer.getKind("http://schemas.ogf.org/occi/infrastructure#compute"), compute);
+        assertSame(model.getKind("http://schemas.ogf.org/occi/core#resource"), compute.getParentKind());
+        assertEquals(1, model.findRelatedKinds(URI.create("http://schemas.ogf.org/occi/core#resource")).size());
+
+        try {
+            model.freeze().apply(diff);
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            //cool
+        }
+    }
+
+    @Test
+    public void testFingerprint() throws Exception {
+        Model reversed = new Model();
+        List<Action> actions = DataGenerator.getFiveActions();
+        Collections.reverse(actions);
+        for (Action action : actions) {
+            reversed.addAction(action);
+        }
+        List<Mixin> mixins = DataGenerator.getFiveMixins();
+        Collections.reverse(mixins);
+        for (Mixin mixin : mixins) {
+            reversed.addMixin(mixin);
+        }
+        for (Kind kind : DataGenerator.getFiveKinds()) {
+            reversed.addKind(kind);
+        }
+        assertEquals(model.getFingerprint(), reversed.getFingerprint());
+        assertEquals(model, reversed);
+        assertEquals(Fingerprint.ZERO, new Model().getFingerprint());
+
+        Fingerprint fingerprint = model.getFingerprint();
+        Kind network = new Kind(URI.create("http://schemas.ogf.org/occi/infrastructure#"), "network");
+        model.addKind(network);
+        Fingerprint incremental = model.getFingerprint();
+        assertFalse(fingerprint.equals(incremental));
+        assertEquals(new Model(model).getFingerprint(), incremental);
+
+        model.removeKind(new Kind(URI.create("http://schemas.ogf.org/occi/infrastructure#"), "network"));
+        assertEquals(fingerprint, model.getFingerprint());
+        Mixin ostpl = model.getMixin("http://schemas.ogf.org/occi/infrastructure#os_tpl");
+        model.removeMixin(ostpl);
+        model.removeAction(model.getAction("http://schemas.ogf.org/occi/infrastructure/compute/action#restart"));
+        assertEquals(new Model(model).getFingerprint(), model.getFingerprint());
+        model.addMixin(ostpl);
+        model.addAction(reversed.getAction("http://schemas.ogf.org/occi/infrastructure/compute/action#restart"));
+        assertEquals(fingerprint, model.getFingerprint());
+
+        reversed.getKind("http://schemas.ogf.org/occi/infrastructure#compute").getAttribute("occi.compute.cores").setRequired(true);
+        assertFalse(model.getFingerprint().equals(reversed.getFingerprint()));
+        assertEquals(model, reversed);
+
+        model.clearActions();
+        assertEquals(new Model(model).getFingerprint(), model.getFingerprint());
+    }
+
+    @Test
+    public void testApplyKeepsCachesOfUnchangedCategories() throws Exception {
+        JSONParser parser = new JSONParser();
+        Model current = parser.parseModel(MediaType.APPLICATION_JSON, model.toJSON(), null);
+        Kind entity = current.getKind("http://schemas.ogf.org/occi/core#entity");
+        String rendering = entity.toHeaders().getFirst("Category");
+        Fingerprint fingerprint = entity.getFingerprint();
+        CategoryHierarchy hierarchy = current.getHierarchy();
+
+        Model newer = parser.parseModel(MediaType.APPLICATION_JSON, model.toJSON(), null);
+        ModelDiff diff = current.diff(newer);
+        assertTrue(diff.isEmpty());
+        current.apply(diff);
+        assertSame(hierarchy, current.getHierarchy());
+        assertSame(rendering, entity.toHeaders().getFirst("Category"));
+
+        newer.getKind("http://schemas.ogf.org/occi/core#resource").addAttribute(new Attribute("occi.core.new"));
+        diff = current.diff(newer);
+        assertFalse(diff.getChangedKinds().contains(entity));
+        current.apply(diff);
+        assertEquals(newer, current);
+        assertSame(entity, current.getKind("http://schemas.ogf.org/occi/core#entity"));
+        assertSame(rendering, entity.toHeaders().getFirst("Category"));
+        assertSame(fingerprint, entity.getFingerprint());
+        assertNotSame(hierarchy, current.getHierarchy());
+    }
+
+    @Test
+    public void testApplyRebindsChangedCategories() throws Exception {
+        JSONParser parser = new JSONParser();
+        Model newer = parser.parseModel(MediaType.APPLICATION_JSON, model.toJSON(), null);
+        newer.getKind("http://schemas.ogf.org/occi/infrastructure#compute").setTitle("Changed Compute");
+        Mixin added = new Mixin(URI.create("http://schemas.ogf.org/occi/infrastructure#"), "added_tpl");
+        added.addRelation(newer.getMixin("http://schemas.ogf.org/occi/infrastructure#os_tpl"));
+        newer.addMixin(added);
+
+        model.apply(model.diff(newer));
+        Kind compute = model.getKind("http://schemas.ogf.org/occi/infrastructure#compute");
+        assertEquals("Changed Compute", compute.getTitle());
+        assertSame(model.getKind("http://schemas.ogf.org/occi/core#resource"), compute.getParentKind());
+        int rebound = 0;
+        for (Action action : compute.getActions()) {
+            Action own = model.getAction(action.getIdentifier());
+            if (own != null) {
+                assertSame(own, action);
+                rebound++;
+            }
+        }
+        assertTrue(rebound > 0);
+        Mixin ostpl = model.getMixin("http://schemas.ogf.org/occi/infrastructure#os_tpl");
+        assertSame(ostpl, model.getMixin("http://schemas.ogf.org/occi/infrastructure#added_tpl").getRelations().iterator().next());
+        assertTrue(model.getHierarchy().isMixinOf(model.getMixin("http://schemas.ogf.org/occi/infrastructure#added_tpl"), ostpl));
+    }
+
+    @Test
+    public void testIdentifierChangeRefused() throws Exception {
+        Kind compute = model.getKind("http://schemas.ogf.org/occi/infrastructure#compute");
+        try {
+            compute.setTerm("renamed");
+            fail();
+        } catch (IllegalStateException ex) {
+            //cool
+        }
+        try {
+            compute.setScheme(URI.create("http://example.org/occi#"));
+            fail();
+        } catch (IllegalStateException ex) {
+            //cool
+        }
+        try {
+            compute.setLocation(URI.create("/renamed/"));
+            fail();
+        } catch (IllegalStateException ex) {
+            //cool
+        }
+        Action restart = model.getAction("http://schemas.ogf.org/occi/infrastructure/compute/action#restart");
+        try {
+            restart.setTerm("renamed");
+            fail();
+        } catch (IllegalStateException ex) {
+            //cool
+        }
+
+        assertEquals("compute", compute.getTerm());
+        assertSame(compute, model.findKind("compute"));
+        assertEquals(CollectionType.RESOURCE, model.findKindType("/compute/"));
+        assertSame(restart, model.findAction("restart"));
+        compute.setTitle("Renamed Compute");
+
+        assertTrue(model.removeKind(compute));
+        compute.setTerm("renamed");
+        compute.setLocation(URI.create("/renamed/"));
+        model.addKind(compute);
+        assertSame(compute, model.getKind("http://schemas.ogf.org/occi/infrastructure#renamed"));
+        assertNull(model.getKind("http://schemas.ogf.org/occi/infrastructure#compute"));
+        assertEquals(CollectionType.RESOURCE, model.findKindType("/renamed/"));
+        assertNull(model.findKindType("/compute/"));
+    }
+
+    @Test
+    public void testFingerprintUpdatedByCategoryChanges() throws Exception {
+        Fingerprint fingerprint = model.getFingerprint();
+        assertSame(fingerprint, model.getFingerprint());
+
+        Kind network = new Kind(URI.create("http://schemas.ogf.org/occi/infrastructure#"), "network");
+        model.addKind(network);
+        model.removeKind(network);
+        network.setTitle("Network");
+        new Model().addKind(network);
+        network.setTitle("Network Resource");
+        assertEquals(fingerprint, model.getFingerprint());
+        fingerprint = model.getFingerprint();
+        assertSame(fingerprint, model.getFingerprint());
+
+        Kind compute = model.getKind("http://schemas.ogf.org/occi/infrastructure#compute");
+        String title = compute.getTitle();
+        compute.setTitle("Changed");
+        assertFalse(fingerprint.equals(model.getFingerprint()));
+        assertEquals(new Model(model).getFingerprint(), model.getFingerprint());
+        compute.getAttribute("occi.compute.cores").setRequired(true);
+        compute.setTitle(title);
+        assertEquals(new Model(model).getFingerprint(), model.getFingerprint());
+        compute.getAttribute("occi.compute.cores").setRequired(false);
+        assertEquals(fingerprint, model.getFingerprint());
+
+        Action restart = model.getAction("http://schemas.ogf.org/occi/infrastructure/compute/action#restart");
+        restart.setTitle("Changed");
+        model.removeAction(restart);
+        assertEquals(new Model(model).getFingerprint(), model.getFingerprint());
+        restart.setTitle(null);
+        model.addAction(restart);
+        assertEquals(new Model(model).getFingerprint(), model.getFingerprint());
+    }
+
+    private static Model newModel() throws Exception {
+        Model newer = new Model();
+        for (Kind kind : DataGenerator.getFiveKinds()) {
+            newer.addKind(kind);
+        }
+        for (Mixin mixin : DataGenerator.getFiveMixins()) {
+            newer.addMixin(mixin);
+        }
+        for (Action action : DataGenerator.getFiveActions()) {
+            newer.addAction(action);
+        }
+
+        return newer;
+    }
 }
@@ -0,0 +1,439 @@
+package cz.cesnet.cloud.occi;
+
+import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.Attribute;
+import cz.cesnet.cloud.occi.core.Category;
+import cz.cesnet.cloud.occi.core.Entity;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Link;
+import cz.cesnet.cloud.occi.core.Mixin;
+import cz.cesnet.cloud.occi.core.Resource;
+import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
+import cz.cesnet.cloud.occi.exception.RenderingException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeded generator of large models and collections for scale tests and
+ * benchmarks. The same seed and settings always produce the same data.
+ *
+ * Generated model contains the core kinds (entity, resource and link), a
+ * hierarchy of resource kinds, link kinds, template mixins (OS and size
+ * templates related to two base mixins) and actions. Generated collection
+ * contains resources of the generated resource kinds, each with template
+ * mixins, attribute values and links to other resources of the collection.
+ */
+public class ScaleDataGenerator {
+
+    public static final URI SCHEME = URI.create("http://scale.example.org/occi/infrastructure#");
+    public static final URI TEMPLATE_SCHEME = URI.create("http://scale.example.org/occi/templates#");
+    public static final URI ACTION_SCHEME = URI.create("http://scale.example.org/occi/infrastructure/action#");
+    private static final String[] WORDS = {"alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel", "india", "juliett"};
+
+    private final long seed;
+    private int kindCount = 10;
+    private int hierarchyDepth = 3;
+    private int linkKindCount = 2;
+    private int mixinCount = 100;
+    private int actionCount = 4;
+    private int attributeCount = 5;
+    private int resourceCount = 100;
+    private int mixinsPerResource = 2;
+    private int linkFanOut = 2;
+
+    /**
+     * Creates a generator with default settings.
+     *
+     * @param seed seed of the generator
+     */
+    public ScaleDataGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets number of generated resource kinds (core kinds are not counted).
+     *
+     * @param kindCount number of resource kinds
+     */
+    public void setKindCount(int kindCount) {
+        this.kindCount = kindCount;
+    }
+
+    /**
+     * Sets depth of the resource kind hierarchy below the core resource kind.
+     *
+     * @param hierarchyDepth depth of the hierarchy, at least 1
+     */
+    public void setHierarchyDepth(int hierarchyDepth) {
+        if (hierarchyDepth < 1) {
+            throw new IllegalArgumentException("Hierarchy depth must be at least 1.");
+        }
+
+        this.hierarchyDepth = hierarchyDepth;
+    }
+
+    /**
+     * Sets number of generated link kinds (core link kind is not counted).
+     *
+     * @param linkKindCount number of link kinds
+     */
+    public void setLinkKindCount(int linkKindCount) {
+        this.linkKindCount = linkKindCount;
+    }
+
+    /**
+     * Sets number of generated template mixins (two base mixins are not
+     * counted).
+     *
+     * @param mixinCount number of template mixins
+     */
+    public void setMixinCount(int mixinCount) {
+        this.mixinCount = mixinCount;
+    }
+
+    /**
+     * Sets number of generated actions.
+     *
+     * @param actionCount number of actions
+     */
+    public void setActionCount(int actionCount) {
+        this.actionCount = actionCount;
+    }
+
+    /**
+     * Sets number of attributes of each generated kind.
+     *
+     * @param attributeCount number of attributes per kind
+     */
+    public void setAttributeCount(int attributeCount) {
+        this.attributeCount = attributeCount;
+    }
+
+    /**
+     * Sets number of generated resources.
+     *
+     * @param resourceCount number of resources
+     */
+    public void setResourceCount(int resourceCount) {
+        this.resourceCount = resourceCount;
+    }
+
+    /**
+     * Sets number of template mixins of each generated resource.
+     *
+     * @param mixinsPerResource number of mixins per resource
+     */
+    public void setMixinsPerResource(int mixinsPerResource) {
+        this.mixinsPerResource = mixinsPerResource;
+    }
+
+    /**
+     * Sets number of links going out of each generated resource.
+     *
+     * @param linkFanOut number of links per resource
+     */
+    public void setLinkFanOut(int linkFanOut) {
+        this.linkFanOut = linkFanOut;
+    }
+
+    /**
+     * Generates a model.
+     *
+     * @return generated model
+     */
+    public Model generateModel() {
+        Random random = new Random(seed);
+        Model model = new Model();
+
+        Kind entity = new Kind(Category.SCHEME_CORE_DEFAULT, "entity", "Entity", URI.create("/entity/"), null);
+        entity.addAttribute(new Attribute(Entity.ID_ATTRIBUTE_NAME, true, true));
+        entity.addAttribute(new Attribute(Entity.TITLE_ATTRIBUTE_NAME));
+        Kind resource = new Kind(Category.SCHEME_CORE_DEFAULT, "resource", "Resource", URI.create("/resource/"), null);
+        resource.addAttribute(new Attribute(Resource.SUMMARY_ATTRIBUTE_NAME));
+        relate(resource, entity);
+        Kind link = new Kind(Category.SCHEME_CORE_DEFAULT, "link", "Link", URI.create("/link/"), null);
+        link.addAttribute(new Attribute(Link.SOURCE_ATTRIBUTE_NAME, true, false));
+        link.addAttribute(new Attribute(Link.TARGET_ATTRIBUTE_NAME, true, false));
+        relate(link, entity);
+        model.addKind(entity);
+        model.addKind(resource);
+        model.addKind(link);
+
+        List<Action> actions = new ArrayList<>();
+        for (int i = 0; i < actionCount; i++) {
+            Action action = new Action(ACTION_SCHEME, "action" + i, "Action " + i, null);
+            if (i % 2 == 0) {
+                action.addAttribute(new Attribute("method"));
+            }
+            actions.add(action);
+            model.addAction(action);
+        }
+
+        List<List<Kind>> levels = new ArrayList<>();
+        for (int i = 0; i < hierarchyDepth; i++) {
+            levels.add(new ArrayList<Kind>());
+        }
+        for (int i = 0; i < kindCount; i++) {
+            int level = i % hierarchyDepth;
+            Kind parent = level == 0 ? resource : pick(random, levels.get(level - 1));
+            Kind kind = createKind("kind" + i, URI.create("/kind" + i + "/"), parent);
+            if (!actions.isEmpty()) {
+                kind.addAction(pick(random, actions));
+                kind.addAction(pick(random, actions));
+            }
+            levels.get(level).add(kind);
+            model.addKind(kind);
+        }
+
+        for (int i = 0; i < linkKindCount; i++) {
+            model.addKind(createKind("linkkind" + i, URI.create("/link/linkkind" + i + "/"), link));
+        }
+
+        Mixin osTemplate = new Mixin(Category.SCHEME_INFRASTRUCTURE_DEFAULT, "os_tpl", "OS Template", URI.create("/mixin/os_tpl/"), null);
+        Mixin resourceTemplate = new Mixin(Category.SCHEME_INFRASTRUCTURE_DEFAULT, "resource_tpl", "Resource Template", URI.create("/mixin/resource_tpl/"), null);
+        model.addMixin(osTemplate);
+        model.addMixin(resourceTemplate);
+        for (int i = 0; i < mixinCount; i++) {
+            boolean os = i % 2 == 0;
+            String term = (os ? "os" : "size") + i;
+            Mixin mixin = new Mixin(TEMPLATE_SCHEME, term, (os ? "OS template " : "Size template ") + i, URI.create("/mixin/" + term + "/"), null);
+            mixin.addRelation(os ? osTemplate : resourceTemplate);
+            model.addMixin(mixin);
+        }
+
+        return model;
+    }
+
+    /**
+     * Generates a collection of resources and their links. Resources are of
+     * the generated resource kinds, links of the generated link kinds.
+     *
+     * @param model model generated by {@link #generateModel()}
+     * @return collection containing generated resources and all their links
+     */
+    public Collection generateCollection(Model model) {
+        Random random = new Random(seed + 1);
+        List<Kind> resourceKinds = new ArrayList<>();
+        List<Kind> linkKinds = new ArrayList<>();
+        for (Kind kind : model.getKinds()) {
+            if (kind.getScheme().equals(SCHEME)) {
+                if (kind.getTerm().startsWith("linkkind")) {
+                    linkKinds.add(kind);
+                } else {
+                    resourceKinds.add(kind);
+                }
+            }
+        }
+        List<Mixin> templates = new ArrayList<>();
+        for (Mixin mixin : model.getMixins()) {
+            if (mixin.getScheme().equals(TEMPLATE_SCHEME)) {
+                templates.add(mixin);
+            }
+        }
+        Collections.sort(resourceKinds);
+        Collections.sort(linkKinds);
+        Collections.sort(templates);
+        if (resourceKinds.isEmpty()) {
+            throw new IllegalStateException("Model doesn't contain any generated resource kinds.");
+        }
+        if (linkFanOut > 0 && linkKinds.isEmpty()) {
+            throw new IllegalStateException("Model doesn't contain any generated link kinds.");
+        }
+
+        try {
+            List<Resource> resources = new ArrayList<>(resourceCount);
+            for (int i = 0; i < resourceCount; i++) {
+                Kind kind = pick(random, resourceKinds);
+                Resource resource = new Resource(uuid(random), kind);
+                resource.setTitle("resource" + i);
+                resource.setSummary(word(random) + " " + word(random));
+                fillAttributes(random, resource, kind);
+                for (int j = 0; j < mixinsPerResource && !templates.isEmpty(); j++) {
+                    resource.addMixin(pick(random, templates));
+                }
+                resource.addActions(kind.getActions());
+                resources.add(resource);
+            }
+
+            Collection collection = new Collection();
+            for (Resource resource : resources) {
+                for (int j = 0; j < linkFanOut; j++) {
+                    Kind kind = pick(random, linkKinds);
+                    Resource target = pick(random, resources);
+                    Link link = new Link(uuid(random), kind);
+                    link.setSource(resource);
+                    link.setTarget(target);
+                    link.setRelation(target.getKind().getIdentifier());
+                    fillAttributes(random, link, kind);
+                    resource.addLink(link);
+                    collection.addLink(link);
+                }
+                collection.addResource(resource);
+            }
+
+            return collection;
+        } catch (InvalidAttributeValueException ex) {
+            throw new IllegalStateException("Cannot generate collection.", ex);
+        }
+    }
+
+    /**
+     * Renders model's kinds, mixins and actions in text/plain form, one
+     * category per line.
+     *
+     * @param model model to render
+     * @return text/plain rendering of the model
+     */
+    public static String renderModelText(Model model) {
+        StringBuilder sb = new StringBuilder();
+        for (String body : categoryBodies(model)) {
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            sb.append("Category: ").append(body);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Renders model's kinds, mixins and actions in text/occi form as a single
+     * 'Category' header.
+     *
+     * @param model model to render
+     * @return text/occi rendering of the model
+     */
+    public static Headers renderModelHeaders(Model model) {
+        StringBuilder sb = new StringBuilder();
+        for (String body : categoryBodies(model)) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(body);
+        }
+
+        Headers headers = new Headers();
+        headers.add("Category", sb.toString());
+        return headers;
+    }
+
+    /**
+     * Renders every resource and link of the collection in text/plain form.
+     * Resources come first, both are sorted by their identifiers.
+     *
+     * @param collection collection to render
+     * @return text/plain renderings of collection's entities
+     * @throws RenderingException if an entity cannot be rendered
+     */
+    public static List<String> renderEntitiesText(Collection collection) throws RenderingException {
+        List<String> texts = new ArrayList<>();
+        for (Resource resource : sorted(collection.getResources())) {
+            texts.add(resource.toText());
+        }
+        for (Link link : sorted(collection.getLinks())) {
+            texts.add(link.toText());
+        }
+
+        return texts;
+    }
+
+    /**
+     * Renders every resource and link of the collection in text/occi form.
+     * Resources come first, both are sorted by their identifiers.
+     *
+     * @param collection collection to render
+     * @return text/occi renderings of collection's entities
+     * @throws RenderingException if an entity cannot be rendered
+     */
+    public static List<Headers> renderEntitiesHeaders(Collection collection) throws RenderingException {
+        return collection.toHeaders();
+    }
+
+    private static List<String> categoryBodies(Model model) {
+        List<String> bodies = new ArrayList<>();
+        for (Kind kind : sorted(model.getKinds())) {
+            bodies.add(kind.toHeaders().getFirst("Category"));
+        }
+        for (Mixin mixin : sorted(model.getMixins())) {
+            bodies.add(mixin.toHeaders().getFirst("Category"));
+        }
+        for (Action action : sorted(model.getActions())) {
+            bodies.add(actionBody(action));
+        }
+
+        return bodies;
+    }
+
+    private static String actionBody(Action action) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(action.getTerm());
+        sb.append(";scheme=\"").append(action.getScheme()).append('"');
+        sb.append(";class=\"action\"");
+        if (action.getTitle() != null) {
+            sb.append(";title=\"").append(action.getTitle()).append('"');
+        }
+        if (!action.getAttributes().isEmpty()) {
+            sb.append(";attributes=\"");
+            boolean first = true;
+            for (Attribute attribute : sorted(action.getAttributes())) {
+                if (!first) {
+                    sb.append(' ');
+                }
+                sb.append(attribute.toText());
+                first = false;
+            }
+            sb.append('"');
+        }
+
+        return sb.toString();
+    }
+
+    private Kind createKind(String term, URI location, Kind parent) {
+        Kind kind = new Kind(SCHEME, term, "Kind " + term, location, null);
+        for (int i = 0; i < attributeCount; i++) {
+            kind.addAttribute(new Attribute("org.example." + term + ".attr" + i, i == 0, i == 1));
+        }
+        relate(kind, parent);
+        return kind;
+    }
+
+    private static void relate(Kind kind, Kind parent) {
+        kind.addRelation(parent);
+        kind.setParentKind(parent);
+    }
+
+    private static void fillAttributes(Random random, Entity entity, Kind kind) throws InvalidAttributeValueException {
+        List<Attribute> attributes = sorted(kind.getAttributes());
+        for (int i = 0; i < attributes.size(); i++) {
+            String name = attributes.get(i).getName();
+            if (i % 2 == 0) {
+                entity.addAttribute(name, random.nextInt(100000));
+            } else {
+                entity.addAttribute(name, word(random) + "-" + random.nextInt(1000));
+            }
+        }
+    }
+
+    private static String uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static <T> T pick(Random random, List<T> list) {
+        return list.get(random.nextInt(list.size()));
+    }
+
+    private static <T extends Comparable<? super T>> List<T> sorted(java.util.Collection<T> elements) {
+        List<T> list = new ArrayList<>(elements);
+        Collections.sort(list);
+        return list;
+    }
+}
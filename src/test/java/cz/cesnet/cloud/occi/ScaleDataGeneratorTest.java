@@ -0,0 +1,112 @@
+package cz.cesnet.cloud.occi;
+
+import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Resource;
+import cz.cesnet.cloud.occi.parser.CollectionType;
+import cz.cesnet.cloud.occi.parser.MediaType;
+import cz.cesnet.cloud.occi.parser.TextParser;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScaleDataGeneratorTest {
+
+    private ScaleDataGenerator generator;
+
+    @Before
+    public void setUp() {
+        generator = new ScaleDataGenerator(42);
+        generator.setKindCount(12);
+        generator.setHierarchyDepth(4);
+        generator.setLinkKindCount(3);
+        generator.setMixinCount(50);
+        generator.setActionCount(6);
+        generator.setAttributeCount(7);
+        generator.setResourceCount(40);
+        generator.setMixinsPerResource(3);
+        generator.setLinkFanOut(2);
+    }
+
+    @Test
+    public void testGenerate() throws Exception {
+        Model model = generator.generateModel();
+        assertEquals(3 + 12 + 3, model.getKinds().size());
+        assertEquals(2 + 50, model.getMixins().size());
+        assertEquals(6, model.getActions().size());
+
+        Kind deepest = model.getKind(ScaleDataGenerator.SCHEME + "kind11");
+        assertEquals(7, deepest.getAttributes().size());
+        assertEquals(CollectionType.RESOURCE, model.findKindType(deepest));
+        int depth = 0;
+        for (Kind kind = deepest; kind != null; kind = kind.getParentKind()) {
+            depth++;
+        }
+        //kind11 -> 3 generated levels above it -> resource -> entity
+        assertEquals(6, depth);
+
+        Collection collection = generator.generateCollection(model);
+        assertEquals(40, collection.getResources().size());
+        assertEquals(80, collection.getLinks().size());
+        for (Resource resource : collection.getResources()) {
+            assertEquals(2, resource.getLinks().size());
+            assertTrue(resource.getMixins().size() <= 3);
+        }
+    }
+
+    @Test
+    public void testReproducibility() throws Exception {
+        Model model = generator.generateModel();
+        Collection collection = generator.generateCollection(model);
+
+        Model sameModel = generator.generateModel();
+        assertEquals(ScaleDataGenerator.renderModelText(model), ScaleDataGenerator.renderModelText(sameModel));
+        assertEquals(ScaleDataGenerator.renderEntitiesText(collection), ScaleDataGenerator.renderEntitiesText(generator.generateCollection(sameModel)));
+
+        ScaleDataGenerator other = new ScaleDataGenerator(43);
+        Model otherModel = other.generateModel();
+        assertFalse(ScaleDataGenerator.renderEntitiesText(collection).equals(ScaleDataGenerator.renderEntitiesText(other.generateCollection(otherModel))));
+    }
+
+    @Test
+    public void testParseRenderedModel() throws Exception {
+        Model model = generator.generateModel();
+        TextParser parser = new TextParser();
+
+        Model plain = parser.parseModel(MediaType.TEXT_PLAIN, ScaleDataGenerator.renderModelText(model), new Headers());
+        assertEquals(model, plain);
+        assertEquals(ScaleDataGenerator.renderModelText(model), ScaleDataGenerator.renderModelText(plain));
+
+        Model occi = parser.parseModel(MediaType.TEXT_OCCI, null, ScaleDataGenerator.renderModelHeaders(model));
+        assertEquals(model, occi);
+        assertEquals(ScaleDataGenerator.renderModelText(model), ScaleDataGenerator.renderModelText(occi));
+    }
+
+    @Test
+    public void testParseRenderedEntities() throws Exception {
+        Model model = generator.generateModel();
+        Collection collection = generator.generateCollection(model);
+        TextParser parser = new TextParser();
+
+        List<String> texts = ScaleDataGenerator.renderEntitiesText(collection);
+        assertEquals(120, texts.size());
+        List<Headers> headers = ScaleDataGenerator.renderEntitiesHeaders(collection);
+        assertEquals(120, headers.size());
+
+        for (int i = 0; i < 40; i++) {
+            Collection plain = parser.parseCollection(MediaType.TEXT_PLAIN, texts.get(i), new Headers(), CollectionType.RESOURCE);
+            Resource resource = plain.getResources().iterator().next();
+            Resource expected = collection.getResource(resource.getIdentifier());
+            assertNotNull(expected);
+            assertEquals(expected.getMixins(), resource.getMixins());
+            assertEquals(expected.getLinks().size(), resource.getLinks().size());
+            assertEquals(expected.getAttributes(), resource.getAttributes());
+        }
+
+        for (int i = 40; i < 120; i++) {
+            Collection plain = parser.parseCollection(MediaType.TEXT_PLAIN, texts.get(i), new Headers(), CollectionType.LINK);
+            assertEquals(texts.get(i), plain.getLinks().iterator().next().toText());
+        }
+    }
+}
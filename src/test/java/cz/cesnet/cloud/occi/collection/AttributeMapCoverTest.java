@@ -106,6 +106,29 @@ public class AttributeMapCoverTest {
         assertEquals(map, attrMap.getAttributes());
     }
 
+    @Test
+    public void testReplaceValue() {
+        Attribute attribute = new Attribute("occi.core.summary", false, false, "string", null, null, "summary");
+        attrMap.add(attribute, "first");
+        attrMap.add(new Attribute("occi.core.summary"), "second");
+
+        assertEquals(7, attrMap.size());
+        assertEquals("second", attrMap.getValue("occi.core.summary"));
+        assertEquals("second", attrMap.getAttributes().get(new Attribute("occi.core.summary")));
+        assertSame(attribute, findAttribute("occi.core.summary"));
+        assertTrue(attrMap.getAttributes().keySet().contains(new Attribute("occi.core.summary")));
+    }
+
+    private Attribute findAttribute(String name) {
+        for (Attribute attribute : attrMap.getAttributes().keySet()) {
+            if (attribute.getName().equals(name)) {
+                return attribute;
+            }
+        }
+
+        return null;
+    }
+
     @Test
     public void testClear() {
         assertEquals(6, attrMap.size());
@@ -120,6 +143,21 @@ public class AttributeMapCoverTest {
         assertEquals(line, attrMap.toOneLineText());
     }
 
+    @Test
+    public void testRenderingOrder() throws Exception {
+        AttributeMapCover instance = new AttributeMapCover();
+        instance.add(new Attribute("occi.core.id"), "1");
+        instance.add(new Attribute("occi.core.id2"), "2");
+        instance.add(new Attribute("occi.core.i"), "i");
+
+        assertEquals("occi.core.i=\"i\";occi.core.id2=2;occi.core.id=1;", instance.toOneLineText());
+
+        StringBuilder sb = new StringBuilder();
+        instance.writePrefixText(sb);
+        assertEquals("X-OCCI-Attribute: occi.core.i=\"i\"\nX-OCCI-Attribute: occi.core.id2=2\nX-OCCI-Attribute: occi.core.id=1", sb.toString());
+        assertEquals(instance.toPrefixText(), sb.toString());
+    }
+
     @Test
     public void testToPrefixText() {
         String line = "X-OCCI-Attribute: occi.compute.architecture=\"x86\"\nX-OCCI-Attribute: occi.compute.hostname=\"compute1.example.org\"\nX-OCCI-Attribute: occi.compute.memory=1.7\nX-OCCI-Attribute: occi.compute.speed=1.0\nX-OCCI-Attribute: occi.core.id=\"87f3bfc3-42d4-4474-b45c-757e55e093e9\"\nX-OCCI-Attribute: occi.core.title=\"compute1\"";
@@ -1,9 +1,13 @@
 package cz.cesnet.cloud.occi.collection;
 
+import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.ActionInstance;
+import cz.cesnet.cloud.occi.core.Attribute;
 import cz.cesnet.cloud.occi.core.Mixin;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import org.junit.Test;
@@ -94,6 +98,56 @@ public class SetCoverTest {
         assertFalse(set.contains("http://dummy.mixin1/term1"));
     }
 
+    @Test
+    public void testGetAfterRemoveAndClear() throws Exception {
+        set.remove(new Mixin(new URI("http://dummy.mixin2/"), "term2"));
+        assertNull(set.get("http://dummy.mixin2/term2"));
+        assertEquals(new Mixin(new URI("http://dummy.mixin3/"), "term3"), set.get("http://dummy.mixin3/term3"));
+
+        set.clear();
+        assertNull(set.get("http://dummy.mixin1/term1"));
+        assertFalse(set.contains("http://dummy.mixin3/term3"));
+    }
+
+    @Test
+    public void testGetWithDuplicateIdentifiers() throws Exception {
+        Action action = new Action(new URI("http://dummy.action/"), "start");
+        ActionInstance first = new ActionInstance(action);
+        first.addAttribute(new Attribute("method"), "warm");
+        ActionInstance second = new ActionInstance(action);
+        second.addAttribute(new Attribute("method"), "cold");
+
+        SetCover<ActionInstance> instances = new SetCover<>();
+        instances.add(first);
+        instances.add(second);
+        assertEquals(2, instances.size());
+        assertEquals(first, instances.get("http://dummy.action/start"));
+
+        instances.remove(first);
+        assertEquals(second, instances.get("http://dummy.action/start"));
+        instances.remove(second);
+        assertFalse(instances.contains("http://dummy.action/start"));
+    }
+
+    @Test
+    public void testModifiableSetKeepsIndex() throws Exception {
+        Set<Mixin> modifiable = set.getSet(true);
+        modifiable.remove(new Mixin(new URI("http://dummy.mixin1/"), "term1"));
+        assertFalse(set.contains("http://dummy.mixin1/term1"));
+
+        Iterator<Mixin> iterator = modifiable.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getTerm().equals("term2")) {
+                iterator.remove();
+            }
+        }
+        assertFalse(set.contains("http://dummy.mixin2/term2"));
+
+        modifiable.add(new Mixin(new URI("http://dummy.mixin4/"), "term4"));
+        assertEquals(new Mixin(new URI("http://dummy.mixin4/"), "term4"), set.get("http://dummy.mixin4/term4"));
+        assertEquals(2, set.size());
+    }
+
     @Test
     public void testInvalidRemove() {
         try {
@@ -129,4 +183,38 @@ public class SetCoverTest {
         set.remove(new Mixin(new URI("http://dummy.mixin2/"), "term2"));
         assertEquals(3, set.size());
     }
+
+    @Test
+    public void testGetSortedList() throws Exception {
+        Mixin mixin0 = new Mixin(new URI("http://dummy.mixin0/"), "term0");
+        List<Mixin> sorted = set.getSortedList();
+        assertEquals(3, sorted.size());
+        assertEquals("http://dummy.mixin1/term1", sorted.get(0).getIdentifier());
+        assertEquals("http://dummy.mixin3/term3", sorted.get(2).getIdentifier());
+        assertSame(sorted, set.getSortedList());
+
+        try {
+            sorted.add(mixin0);
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            //cool
+        }
+
+        set.add(mixin0);
+        sorted = set.getSortedList();
+        assertEquals(4, sorted.size());
+        assertEquals(mixin0, sorted.get(0));
+
+        Iterator<Mixin> iterator = set.getSet(true).iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().equals(mixin0)) {
+                iterator.remove();
+            }
+        }
+        assertEquals(3, set.getSortedList().size());
+        assertFalse(set.getSortedList().contains(mixin0));
+
+        set.clear();
+        assertTrue(set.getSortedList().isEmpty());
+    }
 }
@@ -50,6 +50,14 @@ public class ActionInstanceTest {
         assertEquals(expected, ai.toText());
     }
 
+    @Test
+    public void testToJSON() throws Exception {
+        String expected = TestHelper.readFile("src/test/resources/rendering/json/action.json");
+        ActionInstance ai = DataGenerator.getAction();
+
+        assertEquals(expected, ai.toJSON());
+    }
+
     @Test
     public void testToHeaders() throws Exception {
         Headers headers = new Headers();
@@ -71,4 +71,55 @@ public class AttributeTest {
         a.setRequired(false);
         assertEquals(a.toText(), "attribute_name{immutable}");
     }
+    @Test
+    public void testMatches() {
+        Attribute a = new Attribute("name");
+        assertTrue(a.matches("anything"));
+        assertTrue(a.matches(""));
+        assertFalse(a.matches("two\nlines"));
+
+        a.setPattern("-?[0-9]+");
+        assertTrue(a.matches("-42"));
+        assertFalse(a.matches("4.2"));
+
+        a.setPattern("active|inactive|suspended");
+        assertTrue(a.matches("inactive"));
+        assertFalse(a.matches("active "));
+
+        a.setPattern("[a-f0-9]{2}(:[a-f0-9]{2}){5}");
+        assertTrue(a.matches("00:1b:63:84:45:e6"));
+        assertFalse(a.matches("00:1b:63:84:45"));
+
+        a.setPattern(null);
+        assertTrue(a.matches(null));
+        a.setPattern("");
+        assertTrue(a.matches("two\nlines"));
+    }
+
+    @Test
+    public void testMatchesAsRegexp() {
+        String[] patterns = {".*", "^.*$", "[0-9]+", "\\d+", "-?[0-9]+", "^-?\\d+$", "[0-9]+(\\.[0-9]+)?", "-?\\d+(\\.\\d+)?",
+            "x86|x64", "(up|down)", "^(online|offline)$", "xyz", "(a)|(b)", "a|"};
+        String[] values = {"", "x86", "x64", "x8", "up", "down", "online", "offline", "xyz", "a", "b", "(a)", "a|",
+            "0", "42", "-42", "--42", "4.2", "-4.2", "4.", ".2", "-", "4a", "one\ntwo", "one\u2028two"};
+
+        for (String pattern : patterns) {
+            Attribute a = new Attribute("name");
+            a.setPattern(pattern);
+            for (String value : values) {
+                assertEquals(pattern + " ~ " + value, value.matches(pattern), a.matches(value));
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidMatches() {
+        Attribute a = new Attribute("name");
+        try {
+            a.matches(null);
+            fail();
+        } catch (NullPointerException ex) {
+            //cool
+        }
+    }
 }
@@ -0,0 +1,166 @@
+package cz.cesnet.cloud.occi.core;
+
+import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
+import cz.cesnet.cloud.occi.infrastructure.Compute;
+import cz.cesnet.cloud.occi.infrastructure.enumeration.Architecture;
+import java.net.URI;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class AttributeValueTest {
+
+    @Test
+    public void testTextualForm() {
+        assertEquals(String.valueOf(12), AttributeValue.of(12).getText());
+        assertEquals(String.valueOf(12L), AttributeValue.of(12L).getText());
+        assertEquals(String.valueOf(1.5f), AttributeValue.of(1.5f).getText());
+        assertEquals(String.valueOf(1.5), AttributeValue.of(1.5).getText());
+        assertEquals(String.valueOf(false), AttributeValue.of(false).getText());
+        assertEquals(Architecture.X_64.toString(), AttributeValue.of(Architecture.X_64).getText());
+        assertEquals("text", AttributeValue.of("text").toString());
+    }
+
+    @Test
+    public void testParse() throws Exception {
+        assertEquals(-3, AttributeValue.parse("-3", AttributeType.INTEGER).getInt());
+        assertEquals(2.25, AttributeValue.parse("2.25", AttributeType.NUMBER).getDouble(), 0.0);
+        assertEquals(4.0, AttributeValue.parse("4", AttributeType.NUMBER).getDouble(), 0.0);
+        assertTrue(AttributeValue.parse("true", AttributeType.BOOLEAN).getBoolean());
+        assertEquals("anything", AttributeValue.parse("anything", AttributeType.STRING).getText());
+        assertEquals("anything", AttributeValue.parse("anything", null).getText());
+        assertEquals(Architecture.X_86, AttributeValue.parse("x_86", AttributeType.ENUM).getEnum(Architecture.class));
+    }
+
+    @Test
+    public void testInvalidParse() throws Exception {
+        try {
+            AttributeValue.parse("1.5", AttributeType.INTEGER);
+            fail();
+        } catch (InvalidAttributeValueException ex) {
+            //cool
+        }
+
+        try {
+            AttributeValue.parse("one", AttributeType.NUMBER);
+            fail();
+        } catch (InvalidAttributeValueException ex) {
+            //cool
+        }
+
+        try {
+            AttributeValue.parse("TRUE", AttributeType.BOOLEAN);
+            fail();
+        } catch (InvalidAttributeValueException ex) {
+            //cool
+        }
+
+        try {
+            AttributeValue.parse(null, AttributeType.STRING);
+            fail();
+        } catch (NullPointerException ex) {
+            //cool
+        }
+    }
+
+    @Test
+    public void testInvalidParseNumber() throws Exception {
+        for (String text : new String[]{"NaN", "Infinity", "-Infinity", "5f", "5d", "0x1p3", " 5", "5 ", "1e", "1e+", "1.e3", "+5", ".5", "5."}) {
+            try {
+                AttributeValue.parse(text, AttributeType.NUMBER);
+                fail(text);
+            } catch (InvalidAttributeValueException ex) {
+                //cool
+            }
+
+            try {
+                AttributeValue.of(text).getDouble();
+                fail(text);
+            } catch (NumberFormatException ex) {
+                //cool
+            }
+        }
+
+        try {
+            AttributeValue.parse("+5", AttributeType.INTEGER);
+            fail();
+        } catch (InvalidAttributeValueException ex) {
+            //cool
+        }
+    }
+
+    @Test
+    public void testExponentNumberRoundTrip() throws Exception {
+        assertEquals(1e-7, AttributeValue.parse(String.valueOf(1e-7), AttributeType.NUMBER).getDouble(), 0);
+        assertEquals(1000.0, AttributeValue.parse("1e3", AttributeType.NUMBER).getDouble(), 0);
+        assertEquals(-0.25, AttributeValue.parse("-2.5E-1", AttributeType.NUMBER).getDouble(), 0);
+        assertEquals(2500f, AttributeValue.of("2.5E3").getFloat(), 0);
+
+        Compute compute = new Compute("compute1", Compute.getDefaultKind());
+        compute.setMemory(1.0E10f);
+        List<Attribute> attributes = Compute.getDefaultAttributes();
+        attributes.remove(new Attribute(Compute.MEMORY_ATTRIBUTE_NAME));
+        attributes.add(new Attribute(Compute.MEMORY_ATTRIBUTE_NAME, false, false, "number", null, null, null));
+        Compute copy = new Compute("compute2", new Kind(Compute.SCHEME_DEFAULT, Compute.TERM_DEFAULT, null, URI.create("/compute/"), attributes));
+        copy.setMemory(compute.getMemory());
+        assertEquals(1.0E10f, copy.getMemoryAsFloat(0), 0);
+
+        compute.setMemory("2.5E3");
+        assertEquals(2500f, compute.getMemoryAsFloat(0), 0);
+    }
+
+    @Test
+    public void testInvalidTypedAccess() {
+        try {
+            AttributeValue.of(Long.MAX_VALUE).getInt();
+            fail();
+        } catch (NumberFormatException ex) {
+            //cool
+        }
+
+        try {
+            AttributeValue.of("arm").getEnum(Architecture.class);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            //cool
+        }
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals(AttributeValue.of("5"), AttributeValue.of(5));
+        assertEquals(AttributeValue.of("5").hashCode(), AttributeValue.of(5).hashCode());
+        assertFalse(AttributeValue.of("5").equals(AttributeValue.of("5.0")));
+    }
+
+    @Test
+    public void testAttributeTypeFromName() {
+        assertEquals(AttributeType.INTEGER, AttributeType.fromName("integer"));
+        assertEquals(AttributeType.INTEGER, AttributeType.fromName("Long"));
+        assertEquals(AttributeType.NUMBER, AttributeType.fromName("float"));
+        assertEquals(AttributeType.BOOLEAN, AttributeType.fromName("boolean"));
+        assertEquals(AttributeType.ENUM, AttributeType.fromName("enum"));
+        assertEquals(AttributeType.STRING, AttributeType.fromName("string"));
+        assertEquals(AttributeType.STRING, AttributeType.fromName(null));
+    }
+
+    @Test
+    public void testIsPlainNumber() {
+        assertTrue(AttributeValue.of(42).isPlainNumber());
+        assertTrue(AttributeValue.of(0L).isPlainNumber());
+        assertTrue(AttributeValue.of(2.5).isPlainNumber());
+        assertTrue(AttributeValue.of("123").isPlainNumber());
+        assertTrue(AttributeValue.of("1.25").isPlainNumber());
+
+        assertFalse(AttributeValue.of(-1).isPlainNumber());
+        assertFalse(AttributeValue.of(-2.5).isPlainNumber());
+        assertFalse(AttributeValue.of(1e20).isPlainNumber());
+        assertFalse(AttributeValue.of(Double.NaN).isPlainNumber());
+        assertFalse(AttributeValue.of(true).isPlainNumber());
+        assertFalse(AttributeValue.of(Architecture.X_64).isPlainNumber());
+        assertFalse(AttributeValue.of("").isPlainNumber());
+        assertFalse(AttributeValue.of("1.").isPlainNumber());
+        assertFalse(AttributeValue.of(".5").isPlainNumber());
+        assertFalse(AttributeValue.of("1a").isPlainNumber());
+    }
+}
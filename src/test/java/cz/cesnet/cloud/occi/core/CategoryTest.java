@@ -1,5 +1,9 @@
 package cz.cesnet.cloud.occi.core;
 
+import java.net.URI;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import org.junit.Test;
 import org.junit.Before;
@@ -39,4 +43,96 @@ public class CategoryTest {
             //cool
         }
     }
+
+    @Test
+    public void testCachedRendering() {
+        String rendering = category.toText();
+        assertSame(category.toHeaders().getFirst("Category"), category.toHeaders().getFirst("Category"));
+        assertEquals("Category: entity;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"category\"", rendering);
+
+        category.setTitle("Entity");
+        category.setLocation(URI.create("/entity/"));
+        assertEquals("Category: entity;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"category\";title=\"Entity\";location=\"/entity/\"", category.toText());
+
+        Attribute attribute = new Attribute("occi.core.id");
+        category.addAttribute(attribute);
+        assertEquals("entity;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"category\";title=\"Entity\";location=\"/entity/\";attributes=\"occi.core.id\"", category.toHeaders().getFirst("Category"));
+        attribute.setRequired(true);
+        assertEquals("entity;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"category\";title=\"Entity\";location=\"/entity/\";attributes=\"occi.core.id{required}\"", category.toHeaders().getFirst("Category"));
+
+        Action action = new Action(URI.create("http://schemas.ogf.org/occi/infrastructure/compute/action#"), "start");
+        category.addAction(action);
+        assertEquals("Category: entity;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"category\";title=\"Entity\";location=\"/entity/\";attributes=\"occi.core.id{required}\";actions=\"http://schemas.ogf.org/occi/infrastructure/compute/action#start\"", category.toText());
+        action.setTerm("stop");
+        assertEquals("Category: entity;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"category\";title=\"Entity\";location=\"/entity/\";attributes=\"occi.core.id{required}\";actions=\"http://schemas.ogf.org/occi/infrastructure/compute/action#stop\"", category.toText());
+
+        category.setTerm("resource");
+        assertEquals("Category: resource;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"category\"", category.toText(false));
+    }
+
+    @Test
+    public void testCachedRenderingOfRelation() {
+        Kind entity = new Kind(Category.SCHEME_CORE_DEFAULT, "entity");
+        Kind resource = new Kind(Category.SCHEME_CORE_DEFAULT, "resource");
+        resource.addRelation(entity);
+        assertEquals("Category: resource;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"kind\";rel=\"http://schemas.ogf.org/occi/core#entity\"", resource.toText());
+
+        entity.setTerm("thing");
+        assertEquals("Category: resource;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"kind\";rel=\"http://schemas.ogf.org/occi/core#thing\"", resource.toText());
+
+        resource.clearRelations();
+        assertEquals("Category: resource;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"kind\"", resource.toText());
+    }
+
+    @Test
+    public void testCachedRenderingIsPerCategory() {
+        Kind compute = new Kind(Category.SCHEME_INFRASTRUCTURE_DEFAULT, "compute", "Compute", URI.create("/compute/"), null);
+        Attribute hostname = new Attribute("occi.compute.hostname");
+        compute.addAttribute(hostname);
+        String rendering = compute.toHeaders().getFirst("Category");
+
+        Kind other = new Kind(Category.SCHEME_INFRASTRUCTURE_DEFAULT, "network");
+        other.setTitle("Network");
+        other.addAttribute(new Attribute("occi.network.vlan"));
+        other.getAttribute("occi.network.vlan").setRequired(true);
+        other.addRelation(new Kind(Category.SCHEME_CORE_DEFAULT, "resource"));
+        other.addAction(new Action(URI.create("http://schemas.ogf.org/occi/infrastructure/network/action#"), "up"));
+        assertSame(rendering, compute.toHeaders().getFirst("Category"));
+
+        compute.removeAttribute(hostname);
+        hostname.setRequired(true);
+        assertEquals("compute;scheme=\"http://schemas.ogf.org/occi/infrastructure#\";class=\"kind\";title=\"Compute\";location=\"/compute/\"", compute.toHeaders().getFirst("Category"));
+        rendering = compute.toHeaders().getFirst("Category");
+        hostname.setImmutable(true);
+        assertSame(rendering, compute.toHeaders().getFirst("Category"));
+    }
+
+    @Test
+    public void testFingerprint() {
+        Kind compute = new Kind(URI.create("http://schemas.ogf.org/occi/infrastructure#"), "compute");
+        Kind other = new Kind(URI.create("http://schemas.ogf.org/occi/infrastructure#"), "compute");
+        Attribute hostname = new Attribute("occi.compute.hostname");
+        compute.addAttribute(hostname);
+        compute.addAttribute(new Attribute("occi.compute.cores"));
+        other.addAttribute(new Attribute("occi.compute.cores"));
+        other.addAttribute(new Attribute("occi.compute.hostname"));
+        assertEquals(compute.getFingerprint(), other.getFingerprint());
+        assertSame(compute.getFingerprint(), compute.getFingerprint());
+        assertFalse(compute.getFingerprint().equals(category.getFingerprint()));
+
+        hostname.setDescription("hostname");
+        assertFalse(compute.getFingerprint().equals(other.getFingerprint()));
+        other.getAttribute("occi.compute.hostname").setDescription("hostname");
+        assertEquals(compute.getFingerprint(), other.getFingerprint());
+
+        Kind resource = new Kind(Category.SCHEME_CORE_DEFAULT, "resource");
+        compute.addRelation(resource);
+        assertFalse(compute.getFingerprint().equals(other.getFingerprint()));
+        other.addRelation(new Kind(Category.SCHEME_CORE_DEFAULT, "resource"));
+        assertEquals(compute.getFingerprint(), other.getFingerprint());
+
+        compute.setTitle("compute resource");
+        assertFalse(compute.getFingerprint().equals(other.getFingerprint()));
+        assertFalse(new Mixin(Category.SCHEME_CORE_DEFAULT, "resource").getFingerprint().equals(resource.getFingerprint()));
+    }
 }
@@ -3,6 +3,7 @@ package cz.cesnet.cloud.occi.core;
 import cz.cesnet.cloud.occi.Model;
 import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
 import cz.cesnet.cloud.occi.infrastructure.NetworkInterface;
+import cz.cesnet.cloud.occi.infrastructure.enumeration.ComputeState;
 import org.junit.Test;
 import static org.junit.Assert.*;
 import org.junit.Before;
@@ -115,4 +116,67 @@ public class EntityTest {
             //cool
         }
     }
+
+    @Test
+    public void testTypedAttributes() throws Exception {
+        entity.addAttribute("long", 5L);
+        entity.addAttribute("float", 2.5f);
+        entity.addAttribute("double", 0.1);
+        entity.addAttribute("boolean", true);
+        entity.addAttributeValue("enum", AttributeValue.of(ComputeState.ACTIVE));
+
+        assertEquals("5", entity.getValue("long"));
+        assertEquals("2.5", entity.getValue("float"));
+        assertEquals("0.1", entity.getValue("double"));
+        assertEquals("true", entity.getValue("boolean"));
+        assertEquals("active", entity.getValue("enum"));
+
+        assertEquals(5L, entity.getLongValue("long", 0L));
+        assertEquals(5, entity.getIntValue("long", 0));
+        assertEquals(2.5f, entity.getFloatValue("float", 0f), 0f);
+        assertEquals(0.1, entity.getDoubleValue("double", 0.0), 0.0);
+        assertTrue(entity.getBooleanValue("boolean", false));
+        assertEquals(ComputeState.ACTIVE, entity.getEnumValue("enum", ComputeState.class));
+
+        entity.addAttribute("text", "42");
+        assertEquals(42, entity.getIntValue("text", 0));
+        assertEquals(7, entity.getIntValue("nonexistingAttribute", 7));
+        assertNull(entity.getEnumValue("nonexistingAttribute", ComputeState.class));
+        assertNull(entity.getAttributeValue("nonexistingAttribute"));
+    }
+
+    @Test
+    public void testInvalidTypedAttributes() throws Exception {
+        Attribute attrInteger = new Attribute("attrInteger", false, false, "integer", null, null, null);
+        kind.addAttribute(attrInteger);
+        Attribute attrBoolean = new Attribute("attrBoolean", false, false, "boolean", null, null, null);
+        kind.addAttribute(attrBoolean);
+
+        entity.addAttribute("attrInteger", "10");
+        entity.addAttribute("attrBoolean", "false");
+        assertEquals(10, entity.getIntValue("attrInteger", 0));
+        assertFalse(entity.getBooleanValue("attrBoolean", true));
+
+        try {
+            entity.addAttribute("attrInteger", "abc");
+            fail();
+        } catch (InvalidAttributeValueException ex) {
+            //cool
+        }
+
+        try {
+            entity.addAttribute("attrBoolean", "yes");
+            fail();
+        } catch (InvalidAttributeValueException ex) {
+            //cool
+        }
+
+        entity.addAttribute("text", "abc");
+        try {
+            entity.getIntValue("text", 0);
+            fail();
+        } catch (NumberFormatException ex) {
+            //cool
+        }
+    }
 }
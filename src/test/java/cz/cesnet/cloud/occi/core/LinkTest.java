@@ -1,6 +1,7 @@
 package cz.cesnet.cloud.occi.core;
 
 import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.DataGenerator;
 import cz.cesnet.cloud.occi.TestHelper;
 import cz.cesnet.cloud.occi.exception.InvalidAttributeValueException;
 import cz.cesnet.cloud.occi.exception.RenderingException;
@@ -27,6 +28,14 @@ public class LinkTest {
         assertEquals(expected, link.toText());
     }
 
+    @Test
+    public void testToJSON() throws Exception {
+        String expected = TestHelper.readFile("src/test/resources/rendering/json/link.json");
+        Link link = DataGenerator.getLink();
+
+        assertEquals(expected, link.toJSON());
+    }
+
     @Test
     public void testToHeaders() throws Exception {
         Headers headers = new Headers();
@@ -1,10 +1,20 @@
 package cz.cesnet.cloud.occi.core;
 
 import com.sun.net.httpserver.Headers;
+import cz.cesnet.cloud.occi.Collection;
 import cz.cesnet.cloud.occi.DataGenerator;
 import cz.cesnet.cloud.occi.TestHelper;
+import cz.cesnet.cloud.occi.infrastructure.Compute;
+import cz.cesnet.cloud.occi.parser.CollectionType;
+import cz.cesnet.cloud.occi.parser.JSONParser;
+import cz.cesnet.cloud.occi.parser.MediaType;
+import cz.cesnet.cloud.occi.renderer.TextRenderer;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.FileReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -20,6 +30,57 @@ public class ResourceTest {
         assertEquals(expected, resource.toText());
     }
 
+    @Test
+    public void testWriteText() throws Exception {
+        String expected = TestHelper.readFile(RESOURCE_PATH + "resource_plain.txt");
+        Resource resource = DataGenerator.getResource();
+
+        StringWriter writer = new StringWriter();
+        resource.writeText(writer);
+        assertEquals(expected, writer.toString());
+    }
+
+    @Test
+    public void testWriteTextToStream() throws Exception {
+        Resource resource = DataGenerator.getResource();
+        resource.setTitle("p\u0159\u00edli\u0161 \u017elu\u0165ou\u010dk\u00fd k\u016f\u0148");
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        Writer writer = TextRenderer.createWriter(stream);
+        resource.writeText(writer);
+        writer.flush();
+
+        assertEquals(resource.toText(), new String(stream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testToJSON() throws Exception {
+        String expected = TestHelper.readFile("src/test/resources/rendering/json/resource.json");
+        Resource resource = DataGenerator.getResource();
+
+        assertEquals(expected, resource.toJSON());
+
+        StringWriter writer = new StringWriter();
+        resource.writeJSON(writer);
+        assertEquals(expected, writer.toString());
+    }
+
+    @Test
+    public void testToJSONParsedBack() throws Exception {
+        Resource resource = DataGenerator.getResource();
+        resource.setSummary("first line\nsecond \"quoted\" line");
+
+        Collection collection = new JSONParser().parseCollection(MediaType.APPLICATION_JSON, resource.toJSON(), null, CollectionType.RESOURCE);
+        Resource parsed = collection.getResources().iterator().next();
+        assertEquals(resource.getId(), parsed.getId());
+        assertEquals(resource.getKind(), parsed.getKind());
+        assertEquals(resource.getMixins(), parsed.getMixins());
+        assertEquals(resource.getActions(), parsed.getActions());
+        assertEquals(resource.getSummary(), parsed.getSummary());
+        assertEquals(resource.getValue("occi.compute.memory"), parsed.getValue("occi.compute.memory"));
+        assertEquals(resource.getLinks().size(), parsed.getLinks().size());
+    }
+
     @Test
     public void testToHeaders() throws Exception {
         Headers headers = new Headers();
@@ -58,4 +119,32 @@ public class ResourceTest {
 
         assertEquals(headers, resource.toHeaders());
     }
+
+    @Test
+    public void testFingerprint() throws Exception {
+        Resource resource = DataGenerator.getResource();
+        Resource other = DataGenerator.getResource();
+        assertEquals(resource.getFingerprint(), other.getFingerprint());
+        assertEquals(resource.getFingerprint(), resource.getFingerprint());
+
+        resource.addAttribute(Compute.CORES_ATTRIBUTE_NAME, "2");
+        assertFalse(resource.getFingerprint().equals(other.getFingerprint()));
+        other.addAttribute(Compute.CORES_ATTRIBUTE_NAME, "2");
+        assertEquals(resource.getFingerprint(), other.getFingerprint());
+
+        resource.getLinks().iterator().next().setTarget("/network/other");
+        assertFalse(resource.getFingerprint().equals(other.getFingerprint()));
+        resource.clearLinks();
+        other.clearLinks();
+        assertEquals(resource.getFingerprint(), other.getFingerprint());
+
+        resource.removeMixin(resource.getMixins().iterator().next());
+        assertFalse(resource.getFingerprint().equals(other.getFingerprint()));
+        resource.clearMixins();
+        other.clearMixins();
+        assertEquals(resource.getFingerprint(), other.getFingerprint());
+
+        resource.clearActions();
+        assertFalse(resource.getFingerprint().equals(other.getFingerprint()));
+    }
 }
@@ -0,0 +1,73 @@
+package cz.cesnet.cloud.occi.parser;
+
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class AttributeTokenizerTest {
+
+    @Test
+    public void testTokenize() {
+        Map<String, String> attributes = new HashMap<>();
+        assertTrue(AttributeTokenizer.tokenize("occi.core.title=\"compute1\"", attributes));
+        assertTrue(AttributeTokenizer.tokenize("occi.compute.memory=1.7;", attributes));
+        assertTrue(AttributeTokenizer.tokenize("occi.compute.cores=2", attributes));
+        assertTrue(AttributeTokenizer.tokenize("org.example.flag_1=false", attributes));
+        assertTrue(AttributeTokenizer.tokenize("org.example.empty=\"\"", attributes));
+
+        assertEquals(5, attributes.size());
+        assertEquals("compute1", attributes.get("occi.core.title"));
+        assertEquals("1.7", attributes.get("occi.compute.memory"));
+        assertEquals("2", attributes.get("occi.compute.cores"));
+        assertEquals("false", attributes.get("org.example.flag_1"));
+        assertEquals("", attributes.get("org.example.empty"));
+    }
+
+    @Test
+    public void testTokenizeEscapes() {
+        Map<String, String> attributes = new HashMap<>();
+        assertTrue(AttributeTokenizer.tokenize("occi.core.summary=\"say \\\"hi\\\"; or not\"", attributes));
+        assertTrue(AttributeTokenizer.tokenize("occi.core.title=\"back\\\\slash\"", attributes));
+
+        assertEquals("say \"hi\"; or not", attributes.get("occi.core.summary"));
+        assertEquals("back\\slash", attributes.get("occi.core.title"));
+    }
+
+    @Test
+    public void testInvalidTokenize() {
+        Map<String, String> attributes = new HashMap<>();
+        assertFalse(AttributeTokenizer.tokenize("", attributes));
+        assertFalse(AttributeTokenizer.tokenize("Occi.core.title=\"compute1\"", attributes));
+        assertFalse(AttributeTokenizer.tokenize("occi..title=\"compute1\"", attributes));
+        assertFalse(AttributeTokenizer.tokenize("occi.core.title", attributes));
+        assertFalse(AttributeTokenizer.tokenize("occi.core.title=compute1", attributes));
+        assertFalse(AttributeTokenizer.tokenize("occi.core.title=\"compute1", attributes));
+        assertFalse(AttributeTokenizer.tokenize("occi.core.title=\"compute1\\\"", attributes));
+        assertFalse(AttributeTokenizer.tokenize("occi.core.title=\"compute1\" x", attributes));
+        assertFalse(AttributeTokenizer.tokenize("occi.compute.memory=1.", attributes));
+        assertFalse(AttributeTokenizer.tokenize("occi.compute.memory=-1", attributes));
+        assertFalse(AttributeTokenizer.tokenize("occi.compute.memory=12ab", attributes));
+        assertFalse(AttributeTokenizer.tokenize("occi.compute.flag=truely", attributes));
+        assertFalse(AttributeTokenizer.tokenize("<http://example.org/>;rel=\"http://example.org/#link\"", attributes));
+        assertTrue(attributes.isEmpty());
+    }
+
+    @Test
+    public void testTokenizeList() {
+        Map<String, String> attributes = new HashMap<>();
+        assertTrue(AttributeTokenizer.tokenizeList("occi.core.id=\"link1\";occi.networkinterface.interface=\"eth0; eth1\"; occi.networkinterface.mac=\"aa:bb\" occi.core.flag=true;", attributes));
+
+        assertEquals(4, attributes.size());
+        assertEquals("link1", attributes.get("occi.core.id"));
+        assertEquals("eth0; eth1", attributes.get("occi.networkinterface.interface"));
+        assertEquals("aa:bb", attributes.get("occi.networkinterface.mac"));
+        assertEquals("true", attributes.get("occi.core.flag"));
+
+        assertTrue(AttributeTokenizer.tokenizeList("", attributes));
+        assertFalse(AttributeTokenizer.tokenizeList("occi.core.id=\"link1\"occi.core.title=\"x\"", attributes));
+        assertFalse(AttributeTokenizer.tokenizeList("occi.core.id=\"link1\";nonsense", attributes));
+    }
+}
@@ -0,0 +1,69 @@
+package cz.cesnet.cloud.occi.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class CategoryTokenizerTest {
+
+    @Test
+    public void testTokenize() {
+        CategoryTokens tokens = CategoryTokenizer.tokenize("Category: compute;scheme=\"http://schemas.ogf.org/occi/infrastructure#\";class=\"kind\";title=\"Compute Resource\";rel=\"http://schemas.ogf.org/occi/core#resource\";location=\"/compute/\";attributes=\"occi.compute.architecture{immutable} occi.compute.cores\";actions=\"http://schemas.ogf.org/occi/infrastructure/compute/action#start\"");
+        assertNotNull(tokens);
+        assertEquals("compute", tokens.getTerm());
+        assertEquals("http://schemas.ogf.org/occi/infrastructure#", tokens.getScheme());
+        assertEquals("kind", tokens.getCategoryClass());
+        assertEquals("Compute Resource", tokens.getTitle());
+        assertEquals("http://schemas.ogf.org/occi/core#resource", tokens.getRel());
+        assertEquals("/compute/", tokens.getLocation());
+        assertEquals("occi.compute.architecture{immutable} occi.compute.cores", tokens.getAttributes());
+        assertEquals("http://schemas.ogf.org/occi/infrastructure/compute/action#start", tokens.getActions());
+    }
+
+    @Test
+    public void testTokenizeMinimal() {
+        CategoryTokens tokens = CategoryTokenizer.tokenize("start;scheme=\"http://schemas.ogf.org/occi/infrastructure/compute/action#\";class=action;");
+        assertNotNull(tokens);
+        assertEquals("start", tokens.getTerm());
+        assertEquals("http://schemas.ogf.org/occi/infrastructure/compute/action#", tokens.getScheme());
+        assertEquals("action", tokens.getCategoryClass());
+        assertNull(tokens.getTitle());
+        assertNull(tokens.getLocation());
+    }
+
+    @Test
+    public void testTokenizeAnyOrder() {
+        CategoryTokens tokens = CategoryTokenizer.tokenize("CATEGORY:   os_tpl; class=\"mixin\"; location=\"/mixins/os_tpl/\"; title=\"Operating \\\"System\\\" Template\"; scheme=\"http://schemas.ogf.org/occi/infrastructure#\"; unknown=\"ignored\"");
+        assertNotNull(tokens);
+        assertEquals("os_tpl", tokens.getTerm());
+        assertEquals("mixin", tokens.getCategoryClass());
+        assertEquals("/mixins/os_tpl/", tokens.getLocation());
+        assertEquals("Operating \"System\" Template", tokens.getTitle());
+    }
+
+    @Test
+    public void testTokenizeSchemeWithTerm() {
+        CategoryTokens tokens = CategoryTokenizer.tokenize("down;scheme=\"http://schemas.ogf.org/occi/infrastructure/network/action#up\";class=\"action\"");
+        assertNotNull(tokens);
+        assertEquals("http://schemas.ogf.org/occi/infrastructure/network/action#", tokens.getScheme());
+    }
+
+    @Test
+    public void testInvalidTokenize() {
+        assertNull(CategoryTokenizer.tokenize("nonmatching_line"));
+        assertNull(CategoryTokenizer.tokenize("Category: ;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"kind\""));
+        assertNull(CategoryTokenizer.tokenize("Category: EnTiTy;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"kind\""));
+        assertNull(CategoryTokenizer.tokenize("Category: entity;class=\"kind\""));
+        assertNull(CategoryTokenizer.tokenize("Category: entity;scheme=\"\";class=\"kind\""));
+        assertNull(CategoryTokenizer.tokenize("Category: entity;scheme=\"http://schemas.ogf.org/occi/core\";class=\"kind\""));
+        assertNull(CategoryTokenizer.tokenize("Category: entity;scheme=\"/\\/_)#@564...,p,pkl\";class=\"kind\""));
+        assertNull(CategoryTokenizer.tokenize("Category: entity;scheme=\"http://schemas.ogf.org/occi/core#\""));
+        assertNull(CategoryTokenizer.tokenize("Category: entity;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"nonexisting_class\""));
+        assertNull(CategoryTokenizer.tokenize("Category: entity;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"kind\";location=\"!@#$%^&||}?:{}|\""));
+        assertNull(CategoryTokenizer.tokenize("Category: entity;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"kind\";rel=\"!@#$%^&||}?:{}|\""));
+        assertNull(CategoryTokenizer.tokenize("Category: entity;scheme=\"http://schemas.ogf.org/occi/core#\";class=\"kind\";title=\"unterminated"));
+        assertNull(CategoryTokenizer.tokenize("occi.core.id=\"87f3bfc3-42d4-4474-b45c-757e55e093e9\""));
+        assertNull(CategoryTokenizer.tokenize("Link: </network/123>;rel=\"http://schemas.ogf.org/occi/infrastructure#network\""));
+    }
+}
@@ -0,0 +1,277 @@
+package cz.cesnet.cloud.occi.parser;
+
+import cz.cesnet.cloud.occi.Collection;
+import cz.cesnet.cloud.occi.Model;
+import cz.cesnet.cloud.occi.TestHelper;
+import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.ActionInstance;
+import cz.cesnet.cloud.occi.core.Attribute;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Link;
+import cz.cesnet.cloud.occi.core.Mixin;
+import cz.cesnet.cloud.occi.core.Resource;
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class JSONParserTest {
+
+    private static final String RESOURCE_PATH = "src/test/resources/parser/json/";
+    private static final String INFRASTRUCTURE = "http://schemas.ogf.org/occi/infrastructure#";
+
+    @Test
+    public void testParseModel() throws Exception {
+        String body = TestHelper.readFile(RESOURCE_PATH + "model.json");
+        JSONParser instance = new JSONParser();
+        Model model = instance.parseModel(MediaType.APPLICATION_JSON, body, null);
+
+        //3 kinds from the document and 3 default kinds they relate to
+        assertEquals(6, model.getKinds().size());
+        assertEquals(3, model.getMixins().size());
+        assertEquals(2, model.getActions().size());
+
+        Kind compute = model.getKind(INFRASTRUCTURE + "compute");
+        assertEquals("Compute Resource", compute.getTitle());
+        assertEquals(URI.create("/compute/"), compute.getLocation());
+        assertSame(model.getKind("http://schemas.ogf.org/occi/core#resource"), compute.getParentKind());
+        assertEquals(4, compute.getAttributes().size());
+        assertSame(model.getAction("http://schemas.ogf.org/occi/infrastructure/compute/action#stop"),
+                compute.getAction("http://schemas.ogf.org/occi/infrastructure/compute/action#stop"));
+
+        Attribute architecture = compute.getAttribute("occi.compute.architecture");
+        assertTrue(architecture.isImmutable());
+        assertFalse(architecture.isRequired());
+        assertEquals("x86|x64", architecture.getPattern());
+        assertEquals("CPU Architecture of the instance", architecture.getDescription());
+        Attribute cores = compute.getAttribute("occi.compute.cores");
+        assertFalse(cores.isImmutable());
+        assertEquals("number", cores.getType());
+        assertEquals("1", cores.getDefaultValue());
+        Attribute state = compute.getAttribute("occi.compute.state");
+        assertTrue(state.isRequired());
+        assertEquals("inactive", state.getDefaultValue());
+
+        //parent defined later in the document
+        Kind storageLink = model.getKind(INFRASTRUCTURE + "storagelink");
+        assertSame(model.getKind(INFRASTRUCTURE + "networkinterface"), storageLink.getParentKind());
+        assertEquals(CollectionType.LINK, model.findKindType(storageLink));
+
+        Mixin debianvm = model.getMixin("https://occi.localhost/occi/infrastructure/os_tpl#debianvm");
+        assertTrue(debianvm.relatesTo(INFRASTRUCTURE + "os_tpl"));
+        assertEquals(URI.create("/mixins/debianvm/"), debianvm.getLocation());
+        Mixin ipnetwork = model.getMixin("http://schemas.ogf.org/occi/infrastructure/network#ipnetwork");
+        assertEquals(URI.create("/mixin/ipnetwork"), ipnetwork.getLocation());
+        assertTrue(ipnetwork.getAttribute("occi.network.address").isRequired());
+
+        Action stop = model.getAction("http://schemas.ogf.org/occi/infrastructure/compute/action#stop");
+        assertEquals("Stop the compute resource", stop.getTitle());
+        assertEquals("poweroff", stop.getAttribute("method").getDefaultValue());
+    }
+
+    @Test
+    public void testParseModelFromStream() throws Exception {
+        byte[] body = TestHelper.readFile(RESOURCE_PATH + "model.json").getBytes(StandardCharsets.UTF_8);
+        JSONParser instance = new JSONParser();
+        Model fromString = instance.parseModel(MediaType.APPLICATION_JSON, new String(body, StandardCharsets.UTF_8), null);
+        Model fromStream = instance.parseModel(MediaType.APPLICATION_JSON, new ByteArrayInputStream(body), StandardCharsets.UTF_8, null);
+        assertEquals(fromString, fromStream);
+    }
+
+    @Test
+    public void testInvalidParseModel() {
+        JSONParser instance = new JSONParser();
+        String[] bodies = {
+            //no categories
+            "{}",
+            //not an object
+            "[]",
+            //missing scheme
+            "{\"kinds\": [{\"term\": \"compute\"}]}",
+            //unknown parent
+            "{\"kinds\": [{\"term\": \"compute\", \"scheme\": \"http://example.org/occi#\", \"parent\": \"http://example.org/occi#unknown\"}]}",
+            //unknown dependency
+            "{\"mixins\": [{\"term\": \"first\", \"scheme\": \"http://example.org/occi#\", \"depends\": [\"http://example.org/occi#unknown\"]}]}",
+            //cyclic relation
+            "{\"mixins\": [{\"term\": \"first\", \"scheme\": \"http://example.org/occi#\", \"depends\": [\"http://example.org/occi#second\"]},"
+            + "{\"term\": \"second\", \"scheme\": \"http://example.org/occi#\", \"depends\": [\"http://example.org/occi#first\"]}]}",
+            //truncated document
+            "{\"kinds\": [{\"term\": \"compute\", \"scheme\": \"http://example.org/occi#\"}"
+        };
+
+        for (String body : bodies) {
+            try {
+                instance.parseModel(MediaType.APPLICATION_JSON, body, null);
+                fail("Body '" + body + "' should not be parsed.");
+            } catch (ParsingException ex) {
+                //cool
+            }
+        }
+
+        try {
+            instance.parseModel(MediaType.TEXT_PLAIN, "{}", null);
+            fail();
+        } catch (ParsingException ex) {
+            //cool
+        }
+    }
+
+    @Test
+    public void testParseCollectionResource() throws Exception {
+        String body = TestHelper.readFile(RESOURCE_PATH + "collection_resource.json");
+        JSONParser instance = new JSONParser();
+        Collection collection = instance.parseCollection(MediaType.APPLICATION_JSON, body, null, CollectionType.RESOURCE);
+
+        assertEquals(1, collection.getResources().size());
+        assertTrue(collection.getLinks().isEmpty());
+        Resource resource = collection.getResources().iterator().next();
+        assertEquals("87f3bfc3-42d4-4474-b45c-757e55e093e9", resource.getId());
+        assertEquals(INFRASTRUCTURE + "compute", resource.getKind().getIdentifier());
+        assertEquals("compute1", resource.getTitle());
+        assertEquals(2, resource.getMixins().size());
+        assertTrue(resource.containsMixin("https://occi.localhost/occi/infrastructure/os_tpl#debianvm"));
+        assertEquals(2, resource.getActions().size());
+        assertTrue(resource.containsAction("http://schemas.ogf.org/occi/infrastructure/compute/action#start"));
+
+        assertEquals("x86", resource.getValue("occi.compute.architecture"));
+        assertEquals("compute1.example.org", resource.getValue("occi.compute.hostname"));
+        assertEquals("1.7", resource.getValue("occi.compute.memory"));
+        assertEquals("1.0", resource.getValue("occi.compute.speed"));
+        assertEquals("active", resource.getValue("occi.compute.state"));
+        assertEquals("line\nbreak \"quoted\" é", resource.getValue("org.example.description"));
+
+        assertEquals(2, resource.getLinks().size());
+        Link networkInterface = resource.getLinks(URI.create(INFRASTRUCTURE + "networkinterface")).iterator().next();
+        assertEquals("456", networkInterface.getId());
+        assertEquals("/compute/87f3bfc3-42d4-4474-b45c-757e55e093e9", networkInterface.getSource());
+        assertEquals("/network/123", networkInterface.getTarget());
+        assertEquals(INFRASTRUCTURE + "network", networkInterface.getRelation());
+        assertEquals("eth0", networkInterface.getValue("occi.networkinterface.interface"));
+        Link storageLink = resource.getLinks(URI.create(INFRASTRUCTURE + "storagelink")).iterator().next();
+        assertEquals("87f3bfc3-42d4-4474-b45c-757e55e093e9", storageLink.getSource());
+        assertEquals("/storage/852", storageLink.getTarget());
+        assertTrue(storageLink.containsMixin("http://opennebula.org/occi/infrastructure#storagelink"));
+    }
+
+    @Test
+    public void testParseCollectionLink() throws Exception {
+        String body = TestHelper.readFile(RESOURCE_PATH + "collection_link.json");
+        JSONParser instance = new JSONParser();
+        Collection collection = instance.parseCollectionFromReader(MediaType.APPLICATION_JSON, new StringReader(body), null, CollectionType.LINK);
+
+        assertTrue(collection.getResources().isEmpty());
+        assertEquals(1, collection.getLinks().size());
+        Link link = collection.getLinks().iterator().next();
+        assertEquals("87f3bfc3-42d4-4474-b45c-757e55e093e9", link.getId());
+        assertEquals(INFRASTRUCTURE + "networkinterface", link.getKind().getIdentifier());
+        assertTrue(link.containsMixin("http://schemas.ogf.org/occi/infrastructure/network#ipnetwork"));
+        assertEquals("/vms/foo/vm1", link.getSource());
+        assertEquals("/network/123", link.getTarget());
+        assertEquals(INFRASTRUCTURE + "network", link.getRelation());
+        assertEquals("00:11:22:33:44:55", link.getValue("occi.networkinterface.mac"));
+    }
+
+    @Test
+    public void testParseCollectionAction() throws Exception {
+        String body = TestHelper.readFile(RESOURCE_PATH + "collection_action.json");
+        JSONParser instance = new JSONParser();
+        Collection collection = instance.parseCollection(MediaType.APPLICATION_JSON, body, null, CollectionType.ACTION);
+
+        assertEquals(1, collection.getActions().size());
+        ActionInstance actionInstance = collection.getActions().iterator().next();
+        assertEquals("http://schemas.ogf.org/occi/infrastructure/storage/action#backup", actionInstance.getAction().getIdentifier());
+        assertEquals("incremental", actionInstance.getValue("method"));
+        assertEquals("7", actionInstance.getValue("org.example.retention"));
+    }
+
+    @Test
+    public void testParseCollectionResources() throws Exception {
+        String body = TestHelper.readFile(RESOURCE_PATH + "collection_resources.json");
+        JSONParser instance = new JSONParser();
+        Collection collection = instance.parseCollection(MediaType.APPLICATION_JSON, body, null, CollectionType.RESOURCE);
+
+        assertEquals(2, collection.getResources().size());
+        Resource compute = collection.getResource(INFRASTRUCTURE + "compute|1");
+        assertEquals("compute1", compute.getTitle());
+        assertEquals("2", compute.getValue("occi.compute.cores"));
+        Resource network = collection.getResource(INFRASTRUCTURE + "network|2");
+        assertEquals("private network", network.getSummary());
+
+        assertEquals(1, collection.getLinks().size());
+        Link link = collection.getLinks().iterator().next();
+        assertEquals("/compute/1", link.getSource());
+        assertEquals("/network/2", link.getTarget());
+    }
+
+    @Test
+    public void testInvalidParseCollection() {
+        JSONParser instance = new JSONParser();
+        String[][] bodies = {
+            //no kind
+            {"{\"id\": \"1\"}", "resource"},
+            //no id
+            {"{\"kind\": \"http://example.org/occi#compute\"}", "resource"},
+            {"{\"kind\": \"http://example.org/occi#link\"}", "link"},
+            //invalid kind identifier
+            {"{\"kind\": \"compute\", \"id\": \"1\"}", "resource"},
+            //no action
+            {"{\"attributes\": {}}", "action"},
+            //array attribute value
+            {"{\"kind\": \"http://example.org/occi#compute\", \"id\": \"1\", \"attributes\": {\"a\": [1]}}", "resource"},
+            //resource's link without id
+            {"{\"kind\": \"http://example.org/occi#compute\", \"id\": \"1\", \"links\": [{\"kind\": \"http://example.org/occi#link\", \"target\": \"/network/1\"}]}", "resource"},
+            //resource's link without kind
+            {"{\"kind\": \"http://example.org/occi#compute\", \"id\": \"1\", \"links\": [{\"id\": \"2\", \"target\": \"/network/1\"}]}", "resource"},
+            //collection's link without kind
+            {"{\"links\": [{\"id\": \"2\", \"source\": \"/compute/1\", \"target\": \"/network/1\"}]}", "link"}
+        };
+
+        for (String[] body : bodies) {
+            try {
+                instance.parseCollection(MediaType.APPLICATION_JSON, body[0], null, CollectionType.valueOf(body[1].toUpperCase()));
+                fail("Body '" + body[0] + "' should not be parsed.");
+            } catch (ParsingException ex) {
+                //cool
+            }
+        }
+    }
+
+    @Test
+    public void testParseLocations() throws Exception {
+        String body = TestHelper.readFile(RESOURCE_PATH + "locations.json");
+        JSONParser instance = new JSONParser();
+        List<URI> expected = Arrays.asList(URI.create("http://rocci.test/compute/1"), URI.create("/compute/2"), URI.create("/compute/3"));
+        assertEquals(expected, instance.parseLocations(MediaType.APPLICATION_JSON, body, null));
+        assertEquals(expected, instance.parseLocations(MediaType.APPLICATION_JSON, "[\"http://rocci.test/compute/1\", \"/compute/2\", \"/compute/3\"]", null));
+
+        final List<String> visited = new ArrayList<>();
+        instance.parseLocations(MediaType.APPLICATION_JSON, new StringReader(body), null, new LocationVisitor() {
+
+            @Override
+            public void visit(CharSequence location) throws ParsingException {
+                visited.add(location.toString());
+            }
+        });
+        assertEquals(Arrays.asList("http://rocci.test/compute/1", "/compute/2", "/compute/3"), visited);
+    }
+
+    @Test
+    public void testInvalidParseLocations() {
+        JSONParser instance = new JSONParser();
+        String[] bodies = {"\"/compute/1\"", "[1]", "{\"locations\": [\"/compute/1\"]", "[\"/compute/1 2\"]"};
+        for (String body : bodies) {
+            try {
+                instance.parseLocations(MediaType.APPLICATION_JSON, body, null);
+                fail("Body '" + body + "' should not be parsed.");
+            } catch (ParsingException ex) {
+                //cool
+            }
+        }
+    }
+}
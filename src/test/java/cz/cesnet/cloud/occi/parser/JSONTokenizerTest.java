@@ -0,0 +1,108 @@
+package cz.cesnet.cloud.occi.parser;
+
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import cz.cesnet.cloud.occi.parser.JSONTokenizer.Token;
+import java.io.Reader;
+import java.io.StringReader;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class JSONTokenizerTest {
+
+    @Test
+    public void testNext() throws Exception {
+        JSONTokenizer tokenizer = new JSONTokenizer(new StringReader(" {\"a\": [1, -2.5e+3, true, false, null, \"x\"], \"b\": {}}\n"));
+        assertEquals(Token.BEGIN_OBJECT, tokenizer.next());
+        assertEquals(Token.NAME, tokenizer.next());
+        assertEquals("a", tokenizer.getValue());
+        assertEquals(Token.BEGIN_ARRAY, tokenizer.next());
+        assertEquals(2, tokenizer.getDepth());
+        assertEquals(Token.NUMBER, tokenizer.next());
+        assertEquals("1", tokenizer.getValue());
+        assertEquals(Token.NUMBER, tokenizer.next());
+        assertEquals("-2.5e+3", tokenizer.getValue());
+        assertEquals(Token.BOOLEAN, tokenizer.next());
+        assertEquals("true", tokenizer.getValue());
+        assertEquals(Token.BOOLEAN, tokenizer.next());
+        assertEquals("false", tokenizer.getValue());
+        assertEquals(Token.NULL, tokenizer.next());
+        assertEquals(Token.STRING, tokenizer.next());
+        assertEquals("x", tokenizer.getValue());
+        assertEquals(Token.END_ARRAY, tokenizer.next());
+        assertEquals(Token.NAME, tokenizer.next());
+        assertEquals("b", tokenizer.getValue());
+        assertEquals(Token.BEGIN_OBJECT, tokenizer.next());
+        assertEquals(Token.END_OBJECT, tokenizer.next());
+        assertEquals(Token.END_OBJECT, tokenizer.next());
+        assertEquals(0, tokenizer.getDepth());
+        assertEquals(Token.END_DOCUMENT, tokenizer.next());
+    }
+
+    @Test
+    public void testStringEscapes() throws Exception {
+        JSONTokenizer tokenizer = new JSONTokenizer(new StringReader("\"a\\\"b\\\\c\\/d\\n\\t\\u00e9\\u20AC\""));
+        assertEquals("a\"b\\c/d\n\t\u00e9\u20ac", tokenizer.nextString());
+        assertEquals(Token.END_DOCUMENT, tokenizer.next());
+    }
+
+    @Test
+    public void testLongStringAcrossBuffers() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            builder.append(i % 10);
+            if (i % 1000 == 0) {
+                builder.append("\\\"");
+            }
+        }
+        String expected = builder.toString().replace("\\\"", "\"");
+
+        //reader returning one character at a time
+        Reader reader = new StringReader("[\"" + builder + "\", 12345]") {
+
+            @Override
+            public int read(char[] cbuf, int off, int len) throws java.io.IOException {
+                return super.read(cbuf, off, Math.min(len, 1));
+            }
+        };
+        JSONTokenizer tokenizer = new JSONTokenizer(reader);
+        tokenizer.expect(Token.BEGIN_ARRAY);
+        assertEquals(expected, tokenizer.nextString());
+        assertEquals(Token.NUMBER, tokenizer.next());
+        assertEquals("12345", tokenizer.getValue());
+        assertEquals(Token.END_ARRAY, tokenizer.next());
+        assertEquals(Token.END_DOCUMENT, tokenizer.next());
+    }
+
+    @Test
+    public void testSkipValue() throws Exception {
+        JSONTokenizer tokenizer = new JSONTokenizer(new StringReader("{\"a\": {\"b\": [1, {\"c\": []}]}, \"d\": 2}"));
+        tokenizer.expect(Token.BEGIN_OBJECT);
+        tokenizer.expect(Token.NAME);
+        tokenizer.next();
+        tokenizer.skipValue();
+        assertEquals(Token.NAME, tokenizer.next());
+        assertEquals("d", tokenizer.getValue());
+        tokenizer.next();
+        tokenizer.skipValue();
+        assertEquals("2", tokenizer.getValue());
+        assertEquals(Token.END_OBJECT, tokenizer.next());
+    }
+
+    @Test
+    public void testInvalidDocuments() {
+        String[] documents = {"", "{", "[1,]", "[1 2]", "{\"a\" 1}", "{\"a\": 1,}", "{1: 2}", "[01]", "[1.]", "[-]", "[1e]",
+            "[tru]", "[nulls]", "[\"a]", "[\"\\x\"]", "[\"\\u12g4\"]", "[\"a\nb\"]", "{} {}", "]", "[}"};
+        for (String document : documents) {
+            JSONTokenizer tokenizer = new JSONTokenizer(new StringReader(document));
+            try {
+                while (tokenizer.next() != Token.END_DOCUMENT) {
+                    //reading through
+                }
+                fail("Document '" + document + "' should not be valid.");
+            } catch (ParsingException ex) {
+                //cool
+            }
+        }
+    }
+}
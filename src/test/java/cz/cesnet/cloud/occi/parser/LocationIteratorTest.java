@@ -0,0 +1,76 @@
+package cz.cesnet.cloud.occi.parser;
+
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import java.io.StringReader;
+import java.net.URI;
+import java.util.NoSuchElementException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class LocationIteratorTest {
+
+    @Test
+    public void testIterateBody() throws Exception {
+        String body = "X-OCCI-Location: http://localhost/compute/1\r\n"
+                + "\n"
+                + "x-occi-location:http://localhost/compute/2  \n"
+                + "   /compute/3";
+        LocationIterator iterator = new LocationIterator(new StringReader(body), false);
+
+        assertTrue(iterator.hasNext());
+        assertEquals("http://localhost/compute/1", iterator.next().toString());
+        assertEquals("http://localhost/compute/2", iterator.next().toString());
+        assertEquals(new URI("/compute/3"), iterator.nextURI());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testIterateHeader() throws Exception {
+        LocationIterator iterator = new LocationIterator(new StringReader("/compute/1, /compute/2,,/compute/3"), true);
+
+        assertEquals("/compute/1", iterator.next().toString());
+        assertEquals("/compute/2", iterator.next().toString());
+        assertEquals("/compute/3", iterator.next().toString());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testLongLine() throws Exception {
+        StringBuilder sb = new StringBuilder("/compute/");
+        for (int i = 0; i < 10000; i++) {
+            sb.append('a');
+        }
+        LocationIterator iterator = new LocationIterator(new StringReader(sb.toString() + "\n/compute/b"), false);
+
+        CharSequence location = iterator.next();
+        assertEquals(sb.length(), location.length());
+        assertEquals(sb.toString(), location.toString());
+        assertEquals('a', location.charAt(location.length() - 1));
+        assertEquals("/compute/b", iterator.next().toString());
+    }
+
+    @Test
+    public void testInvalidLocation() throws Exception {
+        LocationIterator iterator = new LocationIterator(new StringReader("/compute/1\n!@#$%^&||}?:{}|"), false);
+
+        assertEquals(new URI("/compute/1"), iterator.nextURI());
+        //raw location is not validated
+        assertTrue(iterator.hasNext());
+        try {
+            iterator.nextURI();
+            fail();
+        } catch (ParsingException ex) {
+            //cool
+        }
+
+        try {
+            iterator.next();
+            fail();
+        } catch (NoSuchElementException ex) {
+            //cool
+        }
+    }
+}
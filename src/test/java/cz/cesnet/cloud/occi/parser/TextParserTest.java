@@ -13,12 +13,19 @@ import cz.cesnet.cloud.occi.core.Link;
 import cz.cesnet.cloud.occi.core.Mixin;
 import cz.cesnet.cloud.occi.core.Resource;
 import cz.cesnet.cloud.occi.exception.ParsingException;
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URI;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import org.junit.Test;
 
@@ -134,6 +141,20 @@ public class TextParserTest {
         }
     }
 
+
+    @Test
+    public void testInvalidParseModelPlainCyclicRelation() {
+        TextParser instance = new TextParser();
+
+        try {
+            String body = "Category: first;scheme=\"http://example.org/occi/mixins#\";class=\"mixin\";rel=\"http://example.org/occi/mixins#second\";location=\"/mixins/first/\"\n"
+                    + "Category: second;scheme=\"http://example.org/occi/mixins#\";class=\"mixin\";rel=\"http://example.org/occi/mixins#first\";location=\"/mixins/second/\"";
+            instance.parseModel(MediaType.TEXT_PLAIN, body, null);
+            fail();
+        } catch (ParsingException ex) {
+            //cool
+        }
+    }
     @Test
     public void testParseModelPlainMixinsMinimal() throws Exception {
         String body = TestHelper.readFile(RESOURCE_PATH + "model_plain_mixins_minimal.txt");
@@ -220,6 +241,36 @@ public class TextParserTest {
         assertActionsEqual(expResult.getActions(), result.getActions());
     }
 
+    @Test
+    public void testParseModelPlainAllStrict() throws Exception {
+        String body = TestHelper.readFile(RESOURCE_PATH + "model_plain_all.txt");
+        TextParser instance = new TextParser();
+        instance.setStrictValidation(true);
+        Model expResult = populateModelWithKinds(DataGenerator.getFiveKinds(), null);
+        expResult = populateModelWithMixins(DataGenerator.getFiveMixins(), expResult);
+        expResult = populateModelWithActions(DataGenerator.getFiveActions(), expResult);
+        Model result = instance.parseModel(MediaType.TEXT_PLAIN, body, null);
+        assertEquals(expResult, result);
+        assertKindsEqual(expResult.getKinds(), result.getKinds());
+        assertMixinsEqual(expResult.getMixins(), result.getMixins());
+        assertActionsEqual(expResult.getActions(), result.getActions());
+    }
+
+    @Test
+    public void testParseModelPlainAllFromStream() throws Exception {
+        TextParser instance = new TextParser();
+        Model expResult = populateModelWithKinds(DataGenerator.getFiveKinds(), null);
+        expResult = populateModelWithMixins(DataGenerator.getFiveMixins(), expResult);
+        expResult = populateModelWithActions(DataGenerator.getFiveActions(), expResult);
+        try (InputStream body = new FileInputStream(RESOURCE_PATH + "model_plain_all.txt")) {
+            Model result = instance.parseModel(MediaType.TEXT_PLAIN, body, Charset.forName("UTF-8"), null);
+            assertEquals(expResult, result);
+            assertKindsEqual(expResult.getKinds(), result.getKinds());
+            assertMixinsEqual(expResult.getMixins(), result.getMixins());
+            assertActionsEqual(expResult.getActions(), result.getActions());
+        }
+    }
+
     @Test
     public void testInvalidParseModelPlain() {
         TextParser instance = new TextParser();
@@ -570,6 +621,15 @@ public class TextParserTest {
         assertEquals(expResult, result);
     }
 
+    @Test
+    public void testParseLocationsPlainFromStream() throws Exception {
+        String body = TestHelper.readFile(RESOURCE_PATH + "locations_plain.txt");
+        TextParser instance = new TextParser();
+        List<URI> expResult = DataGenerator.getLocations();
+        List<URI> result = instance.parseLocations(MediaType.TEXT_PLAIN, new ByteArrayInputStream(body.getBytes("UTF-8")), Charset.forName("UTF-8"), null);
+        assertEquals(expResult, result);
+    }
+
     @Test
     public void testInvalidParseLocationsPlain() {
         TextParser instance = new TextParser();
@@ -621,6 +681,40 @@ public class TextParserTest {
         assertEquals(expResult, result);
     }
 
+    @Test
+    public void testParseLocationsWithVisitor() throws Exception {
+        String body = TestHelper.readFile(RESOURCE_PATH + "locations_uri-list.txt");
+        TextParser instance = new TextParser();
+        final List<String> result = new ArrayList<>();
+        instance.parseLocations(MediaType.TEXT_URI_LIST, new StringReader(body), null, new LocationVisitor() {
+
+            @Override
+            public void visit(CharSequence location) throws ParsingException {
+                result.add(location.toString());
+            }
+        });
+
+        List<String> expResult = new ArrayList<>();
+        for (URI location : DataGenerator.getLocations()) {
+            expResult.add(location.toString());
+        }
+        assertEquals(expResult, result);
+    }
+
+    @Test
+    public void testIterateLocationsOcci() throws Exception {
+        Headers headers = createDefaultHeaders();
+        headers.add("Location", "http://rocci-server-1-1-x.herokuapp.com:80/compute/87f3bfc3-42d4-4474-b45c-757e55e093e9,http://rocci-server-1-1-x.herokuapp.com:80/compute/17679ebd-975f-4ea0-b42b-47405178c360,http://rocci-server-1-1-x.herokuapp.com:80/compute/509afbd3-abff-427c-9b25-7913d17e5102");
+        TextParser instance = new TextParser();
+        LocationIterator iterator = instance.iterateLocations(MediaType.TEXT_OCCI, null, headers);
+
+        List<URI> result = new ArrayList<>();
+        while (iterator.hasNext()) {
+            result.add(iterator.nextURI());
+        }
+        assertEquals(DataGenerator.getLocations(), result);
+    }
+
     @Test
     public void testInvalidParseLocationsOcci() {
         TextParser instance = new TextParser();
@@ -655,6 +749,96 @@ public class TextParserTest {
         assertResourcesEqual(expResult.getResources(), result.getResources());
     }
 
+    @Test
+    public void testParseCollectionPlainResourceFromReader() throws Exception {
+        String body = TestHelper.readFile(RESOURCE_PATH + "collection_plain_resource.txt");
+        TextParser instance = new TextParser();
+
+        Collection expResult = new Collection();
+        expResult.addResource(DataGenerator.getResource());
+        Collection result = instance.parseCollectionFromReader(MediaType.TEXT_PLAIN, new StringReader(body), null, CollectionType.RESOURCE);
+        assertEquals(expResult, result);
+        assertResourcesEqual(expResult.getResources(), result.getResources());
+    }
+
+    @Test
+    public void testParseCollectionPlainResourceWithModel() throws Exception {
+        String body = TestHelper.readFile(RESOURCE_PATH + "collection_plain_resource.txt");
+        Model model = new Model();
+        for (Kind kind : DataGenerator.getFiveKinds()) {
+            model.addKind(kind);
+        }
+        for (Mixin mixin : DataGenerator.getFiveMixins()) {
+            model.addMixin(mixin);
+        }
+        Action start = new Action(new URI("http://schemas.ogf.org/occi/infrastructure/compute/action#"), "start");
+        model.addAction(start);
+        TextParser instance = new TextParser();
+        instance.setModel(model);
+        assertSame(model, instance.getModel());
+
+        Collection expResult = new Collection();
+        expResult.addResource(DataGenerator.getResource());
+        Collection result = instance.parseCollection(MediaType.TEXT_PLAIN, body, null, CollectionType.RESOURCE);
+        assertEquals(expResult, result);
+        assertSame(model, result.getModel());
+        Resource resource = result.getResources().iterator().next();
+        assertSame(model.getKind("http://schemas.ogf.org/occi/infrastructure#compute"), resource.getKind());
+        assertEquals(5, resource.getMixins().size());
+        for (Mixin mixin : resource.getMixins()) {
+            assertSame(model.getMixin(mixin.getIdentifier()), mixin);
+        }
+        assertSame(start, resource.getAction(start.getIdentifier()));
+        assertFalse(model.containsAction(resource.getAction("http://schemas.ogf.org/occi/infrastructure/compute/action#stop")));
+        for (Link link : resource.getLinks()) {
+            if (link.getKind().getTerm().equals("storagelink")) {
+                assertSame(model.getKind("http://schemas.ogf.org/occi/infrastructure#storagelink"), link.getKind());
+                assertFalse(model.containsMixin(link.getMixins().iterator().next()));
+            } else {
+                assertFalse(model.containsKind(link.getKind()));
+                assertEquals("/link/networkinterface/", link.getKind().getLocation().toString());
+            }
+        }
+        assertEquals("/storagelink/", model.getKind("http://schemas.ogf.org/occi/infrastructure#storagelink").getLocation().toString());
+
+        Resource other = instance.parseCollection(MediaType.TEXT_PLAIN, body, null, CollectionType.RESOURCE).getResources().iterator().next();
+        assertSame(resource.getKind(), other.getKind());
+        assertEquals(resource.getFingerprint(), other.getFingerprint());
+    }
+
+    @Test
+    public void testParseCollectionPlainResourceEscapedAttribute() throws Exception {
+        String body = "Category: compute;scheme=\"http://schemas.ogf.org/occi/infrastructure#\";class=\"kind\"\n"
+                + "X-OCCI-Attribute: occi.core.id=\"compute1\"\n"
+                + "X-OCCI-Attribute: occi.core.title=\"the \\\"best\\\" compute; ever\"\n"
+                + "X-OCCI-Attribute: occi.compute.cores=2";
+        TextParser instance = new TextParser();
+
+        Collection result = instance.parseCollection(MediaType.TEXT_PLAIN, body, null, CollectionType.RESOURCE);
+        Resource resource = result.getResources().iterator().next();
+        assertEquals("compute1", resource.getId());
+        assertEquals("the \"best\" compute; ever", resource.getTitle());
+        assertEquals("2", resource.getValue("occi.compute.cores"));
+    }
+
+    @Test
+    public void testEscapedValuesRoundTrip() throws Exception {
+        String value = "C:\\temp\\ \"best\" \\\"";
+        TextParser instance = new TextParser();
+
+        Resource resource = DataGenerator.getResource();
+        resource.setTitle(value);
+        Link link = resource.getLinks().iterator().next();
+        link.setTitle(value);
+        Resource parsed = instance.parseCollection(MediaType.TEXT_PLAIN, resource.toText(), null, CollectionType.RESOURCE).getResources().iterator().next();
+        assertEquals(value, parsed.getTitle());
+        assertEquals(value, parsed.getLinks().iterator().next().getTitle());
+
+        Kind kind = new Kind(URI.create("http://example.org/occi/kinds#"), "escaped", value, URI.create("/escaped/"), null);
+        Model model = instance.parseModel(MediaType.TEXT_PLAIN, kind.toText(), null);
+        assertEquals(value, model.getKind(kind.getIdentifier()).getTitle());
+    }
+
     @Test
     public void testInvalidParseCollectionPlainRersource() {
         TextParser instance = new TextParser();
@@ -874,6 +1058,24 @@ public class TextParserTest {
         assertActionInstancesEqual(expResult.getActions(), result.getActions());
     }
 
+    @Test
+    public void testParseCollectionPlainActionWithModel() throws Exception {
+        String body = TestHelper.readFile(RESOURCE_PATH + "collection_plain_action.txt");
+        Model model = new Model();
+        for (Action action : DataGenerator.getFiveActions()) {
+            model.addAction(action);
+        }
+        TextParser instance = new TextParser();
+        instance.setModel(model);
+
+        Collection expResult = new Collection();
+        expResult.addAction(DataGenerator.getAction());
+        Collection result = instance.parseCollection(MediaType.TEXT_PLAIN, body, null, CollectionType.ACTION);
+        assertEquals(expResult, result);
+        Action action = result.getActions().iterator().next().getAction();
+        assertSame(model.getAction(action.getIdentifier()), action);
+    }
+
     @Test
     public void testInvalidParseCollectionPlainAction() {
         TextParser instance = new TextParser();
@@ -0,0 +1,75 @@
+package cz.cesnet.cloud.occi.renderer;
+
+import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.AttributeType;
+import cz.cesnet.cloud.occi.core.AttributeValue;
+import java.net.URI;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class JSONRendererTest {
+
+    @Test
+    public void testStructure() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        JSONRenderer renderer = new JSONRenderer(sb);
+        renderer.beginObject();
+        renderer.name("a").beginArray().value("x").value(true).value((String) null).beginObject().endObject().endArray();
+        renderer.name("b").beginArray().endArray();
+        renderer.name("a").value(false);
+        renderer.endObject();
+
+        assertEquals("{\"a\":[\"x\",true,null,{}],\"b\":[],\"a\":false}", sb.toString());
+    }
+
+    @Test
+    public void testWriteQuoted() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        JSONRenderer.writeQuoted(sb, "a\"b\\c/d\n\t\u0001\u00e9");
+
+        assertEquals("\"a\\\"b\\\\c/d\\n\\t\\u0001\u00e9\"", sb.toString());
+    }
+
+    @Test
+    public void testAttributeValue() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        JSONRenderer renderer = new JSONRenderer(sb);
+        renderer.beginArray();
+        renderer.value(AttributeValue.of("42"), null);
+        renderer.value(AttributeValue.of("-1.5"), AttributeType.NUMBER);
+        renderer.value(AttributeValue.of("007"), AttributeType.INTEGER);
+        renderer.value(AttributeValue.of("1e5"), AttributeType.NUMBER);
+        renderer.value(AttributeValue.of("true"), AttributeType.BOOLEAN);
+        renderer.value(AttributeValue.of("true"), AttributeType.STRING);
+        renderer.value(AttributeValue.of("yes"), AttributeType.BOOLEAN);
+        renderer.endArray();
+
+        assertEquals("[42,-1.5,\"007\",\"1e5\",true,\"true\",\"yes\"]", sb.toString());
+    }
+
+    @Test
+    public void testIdentifier() throws Exception {
+        Action action = new Action(URI.create("http://schemas.ogf.org/occi/infrastructure/compute/action#"), "start");
+        StringBuilder sb = new StringBuilder();
+        JSONRenderer renderer = new JSONRenderer(sb);
+        renderer.beginArray().identifier(action).identifier(action);
+        action.setTerm("stop");
+        renderer.identifier(action).endArray();
+
+        assertEquals("[\"http://schemas.ogf.org/occi/infrastructure/compute/action#start\","
+                + "\"http://schemas.ogf.org/occi/infrastructure/compute/action#start\","
+                + "\"http://schemas.ogf.org/occi/infrastructure/compute/action#stop\"]", sb.toString());
+    }
+
+    @Test
+    public void testInvalidEnd() throws Exception {
+        JSONRenderer renderer = new JSONRenderer(new StringBuilder());
+        try {
+            renderer.endObject();
+            fail();
+        } catch (IllegalStateException ex) {
+            //cool
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package cz.cesnet.cloud.occi.snapshot;
+
+import cz.cesnet.cloud.occi.Collection;
+import cz.cesnet.cloud.occi.DataGenerator;
+import cz.cesnet.cloud.occi.Model;
+import cz.cesnet.cloud.occi.ScaleDataGenerator;
+import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Mixin;
+import cz.cesnet.cloud.occi.core.Resource;
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class MappedModelTest {
+
+    @Test
+    public void testLazyLookup() throws Exception {
+        Model model = new Model();
+        for (Kind kind : DataGenerator.getFiveKinds()) {
+            model.addKind(kind);
+        }
+        for (Mixin mixin : DataGenerator.getFiveMixins()) {
+            model.addMixin(mixin);
+        }
+        for (Action action : DataGenerator.getFiveActions()) {
+            model.addAction(action);
+        }
+
+        MappedModel mapped = new MappedModel(ByteBuffer.wrap(write(model)));
+        assertEquals(SnapshotWriter.checksum(model), mapped.getSnapshotChecksum());
+        assertEquals(SnapshotWriter.checksum(model), SnapshotWriter.checksum(mapped));
+        assertEquals(model.getFingerprint(), mapped.getFingerprint());
+
+        Kind compute = mapped.getKind("http://schemas.ogf.org/occi/infrastructure#compute");
+        Kind original = model.getKind("http://schemas.ogf.org/occi/infrastructure#compute");
+        assertEquals(original.getTitle(), compute.getTitle());
+        assertEquals(original.getLocation(), compute.getLocation());
+        assertEquals(original.getAttributes(), compute.getAttributes());
+        assertEquals(original.getActions(), compute.getActions());
+        assertSame(compute, mapped.findKind(new URI("http://schemas.ogf.org/occi/infrastructure#compute")));
+        assertSame(mapped.getKind(original.getParentKind().getIdentifier()), compute.getParentKind());
+        for (Action action : compute.getActions()) {
+            if (model.containsAction(action)) {
+                assertSame(mapped.getAction(action.getIdentifier()), action);
+            }
+        }
+
+        assertNull(mapped.getKind("http://schemas.ogf.org/occi/infrastructure#nonexisting"));
+        assertNull(mapped.getMixin("http://schemas.ogf.org/occi/infrastructure#compute"));
+        assertNull(mapped.getKind(null));
+        assertTrue(mapped.containsMixin(DataGenerator.getFiveMixins().get(0)));
+        assertFalse(mapped.containsAction("http://schemas.ogf.org/occi/infrastructure/compute/action#nonexisting"));
+
+        assertEquals(model, mapped);
+        assertEquals(mapped, model);
+        assertEquals(model.hashCode(), mapped.hashCode());
+        assertEquals(model.toJSON(), mapped.toJSON());
+    }
+
+    @Test
+    public void testLargeModel() throws Exception {
+        ScaleDataGenerator generator = new ScaleDataGenerator(11);
+        generator.setMixinCount(500);
+        Model model = generator.generateModel();
+        MappedModel mapped = new MappedModel(ByteBuffer.wrap(write(model)));
+
+        for (Mixin mixin : model.getMixins()) {
+            Mixin mappedMixin = mapped.getMixin(mixin.getIdentifier());
+            assertEquals(mixin.getRelations(), mappedMixin.getRelations());
+            assertEquals(mixin.getAttributes(), mappedMixin.getAttributes());
+        }
+        for (Kind kind : model.getKinds()) {
+            assertEquals(kind.getRelations(), mapped.getKind(kind.getIdentifier()).getRelations());
+        }
+
+        Kind kind = model.getKinds().iterator().next();
+        assertSame(mapped.getKind(kind.getIdentifier()), mapped.findKind(kind.getTerm()));
+        assertEquals(model.findKindType(kind), mapped.findKindType(kind.getLocation().getPath()));
+        assertEquals(ScaleDataGenerator.renderModelText(model), ScaleDataGenerator.renderModelText(mapped));
+        assertEquals(model, SnapshotReader.readModel(new ByteArrayInputStream(writeModel(mapped))));
+    }
+
+    @Test
+    public void testOpen() throws Exception {
+        ScaleDataGenerator generator = new ScaleDataGenerator(4);
+        generator.setResourceCount(50);
+        Model model = generator.generateModel();
+        Collection collection = generator.generateCollection(model);
+        collection.setModel(model);
+
+        Path file = Files.createTempFile("model", ".occs");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                SnapshotWriter.writeIndexedModel(model, out);
+            }
+            MappedModel mapped = MappedModel.open(file);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            SnapshotWriter.writeCollection(collection, out);
+            Collection read = SnapshotReader.readCollection(new ByteArrayInputStream(out.toByteArray()), mapped);
+            assertEquals(collection.toText(), read.toText());
+            for (Resource resource : read.getResources()) {
+                assertSame(mapped.getKind(resource.getKind().getIdentifier()), resource.getKind());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testReadOnly() throws Exception {
+        MappedModel mapped = new MappedModel(ByteBuffer.wrap(write(new ScaleDataGenerator(1).generateModel())));
+
+        try {
+            mapped.addKind(new Kind(Kind.SCHEME_CORE_DEFAULT, "entity"));
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            //cool
+        }
+
+        try {
+            mapped.clearMixins();
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            //cool
+        }
+
+        try {
+            mapped.removeAction(DataGenerator.getFiveActions().get(0));
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            //cool
+        }
+    }
+
+    @Test
+    public void testInvalidSnapshot() throws Exception {
+        Model model = new ScaleDataGenerator(2).generateModel();
+        byte[] snapshot = write(model);
+
+        assertInvalid(Arrays.copyOf(snapshot, 30));
+        assertInvalid(new byte[0]);
+        assertInvalid(writeModel(model));
+
+        byte[] slots = snapshot.clone();
+        slots[SnapshotFormat.HEADER_LENGTH + SnapshotFormat.CHECKSUM_LENGTH + SnapshotFormat.FINGERPRINT_LENGTH + 7] = 3;
+        assertInvalid(slots);
+
+        try {
+            new MappedModel(null);
+            fail();
+        } catch (NullPointerException ex) {
+            //cool
+        }
+    }
+
+    private static void assertInvalid(byte[] snapshot) {
+        try {
+            new MappedModel(ByteBuffer.wrap(snapshot));
+            fail();
+        } catch (ParsingException ex) {
+            //cool
+        }
+    }
+
+    private static byte[] write(Model model) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter.writeIndexedModel(model, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] writeModel(Model model) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter.writeModel(model, out);
+        return out.toByteArray();
+    }
+}
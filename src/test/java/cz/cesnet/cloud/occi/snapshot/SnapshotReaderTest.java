@@ -0,0 +1,225 @@
+package cz.cesnet.cloud.occi.snapshot;
+
+import cz.cesnet.cloud.occi.Collection;
+import cz.cesnet.cloud.occi.DataGenerator;
+import cz.cesnet.cloud.occi.Model;
+import cz.cesnet.cloud.occi.ScaleDataGenerator;
+import cz.cesnet.cloud.occi.core.Action;
+import cz.cesnet.cloud.occi.core.ActionInstance;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Link;
+import cz.cesnet.cloud.occi.core.Mixin;
+import cz.cesnet.cloud.occi.core.Resource;
+import cz.cesnet.cloud.occi.exception.ParsingException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class SnapshotReaderTest {
+
+    @Test
+    public void testReadModel() throws Exception {
+        ScaleDataGenerator generator = new ScaleDataGenerator(3);
+        generator.setMixinCount(100);
+        Model model = generator.generateModel();
+        Model read = SnapshotReader.readModel(new ByteArrayInputStream(write(model)));
+
+        assertEquals(model, read);
+        assertEquals(SnapshotWriter.checksum(model), SnapshotWriter.checksum(read));
+        for (Kind kind : model.getKinds()) {
+            Kind readKind = read.getKind(kind.getIdentifier());
+            assertEquals(kind.getTitle(), readKind.getTitle());
+            assertEquals(kind.getLocation(), readKind.getLocation());
+            assertEquals(kind.getAttributes(), readKind.getAttributes());
+            assertEquals(kind.getActions(), readKind.getActions());
+            assertEquals(kind.getRelations(), readKind.getRelations());
+            if (kind.getParentKind() != null) {
+                assertSame(read.getKind(kind.getParentKind().getIdentifier()), readKind.getParentKind());
+            }
+            for (Action action : readKind.getActions()) {
+                assertSame(read.getAction(action.getIdentifier()), action);
+            }
+        }
+        for (Mixin mixin : model.getMixins()) {
+            Mixin readMixin = read.getMixin(mixin.getIdentifier());
+            assertEquals(mixin.getRelations(), readMixin.getRelations());
+            assertEquals(mixin.getAttributes(), readMixin.getAttributes());
+        }
+        assertEquals(ScaleDataGenerator.renderModelText(model), ScaleDataGenerator.renderModelText(read));
+    }
+
+    @Test
+    public void testReadCollection() throws Exception {
+        Model model = new Model();
+        for (Kind kind : DataGenerator.getFiveKinds()) {
+            model.addKind(kind);
+        }
+        Resource resource = DataGenerator.getResource();
+        resource.setSummary("p\u0159\u00edli\u0161 \u017elu\u0165ou\u010dk\u00fd k\u016f\u0148");
+        Link link = DataGenerator.getLink();
+        ActionInstance action = DataGenerator.getAction();
+
+        Collection collection = new Collection();
+        collection.addResource(resource);
+        collection.addLink(link);
+        collection.addAction(action);
+
+        Collection read = SnapshotReader.readCollection(new ByteArrayInputStream(write(collection)), null);
+        assertEquals(collection.toText(), read.toText());
+        assertEquals(resource.getLinks().size(), read.getResources().iterator().next().getLinks().size());
+
+        collection.setModel(model);
+        byte[] snapshot = write(collection);
+        read = SnapshotReader.readCollection(new ByteArrayInputStream(snapshot), model);
+        assertSame(model, read.getModel());
+        Resource readResource = read.getResources().iterator().next();
+        assertSame(model.getKind(resource.getKind().getIdentifier()), readResource.getKind());
+        assertEquals(resource.getSummary(), readResource.getSummary());
+        assertEquals(link.toText(), read.getLinks().iterator().next().toText());
+        assertEquals(action.toText(), read.getActions().iterator().next().toText());
+
+        Model different = new Model();
+        different.addKind(new Kind(Kind.SCHEME_CORE_DEFAULT, "entity"));
+        try {
+            SnapshotReader.readCollection(new ByteArrayInputStream(snapshot), different);
+            fail();
+        } catch (ParsingException ex) {
+            //cool
+        }
+    }
+
+    @Test
+    public void testReadCollectionSharedLinks() throws Exception {
+        Resource resource = DataGenerator.getResource();
+        Collection collection = new Collection();
+        collection.addResource(resource);
+        for (Link link : resource.getLinks()) {
+            collection.addLink(link);
+        }
+
+        Collection read = SnapshotReader.readCollection(new ByteArrayInputStream(write(collection)), null);
+        assertEquals(collection.toText(), read.toText());
+        Resource readResource = read.getResources().iterator().next();
+        assertEquals(resource.getLinks().size(), read.getLinks().size());
+        int shared = 0;
+        for (Link link : read.getLinks()) {
+            for (Link resourceLink : readResource.getLinks()) {
+                if (resourceLink.getId().equals(link.getId())) {
+                    assertSame(resourceLink, link);
+                    shared++;
+                }
+            }
+        }
+        assertEquals(read.getLinks().size(), shared);
+    }
+
+    @Test
+    public void testReadCollectionWithModelCategories() throws Exception {
+        ScaleDataGenerator generator = new ScaleDataGenerator(5);
+        generator.setResourceCount(200);
+        Model model = generator.generateModel();
+        Collection collection = generator.generateCollection(model);
+        collection.setModel(model);
+
+        Model loadedModel = SnapshotReader.readModel(new ByteArrayInputStream(write(model)));
+        Collection read = SnapshotReader.readCollection(new ByteArrayInputStream(write(collection)), loadedModel);
+
+        assertEquals(collection.toText(), read.toText());
+        for (Resource resource : read.getResources()) {
+            assertSame(loadedModel.getKind(resource.getKind().getIdentifier()), resource.getKind());
+            for (Mixin mixin : resource.getMixins()) {
+                assertSame(loadedModel.getMixin(mixin.getIdentifier()), mixin);
+            }
+        }
+    }
+
+    @Test
+    public void testReadChecksum() throws Exception {
+        ScaleDataGenerator generator = new ScaleDataGenerator(1);
+        generator.setResourceCount(10);
+        Model model = generator.generateModel();
+        Collection collection = generator.generateCollection(model);
+
+        String checksum = SnapshotWriter.checksum(model);
+        assertEquals(checksum, SnapshotReader.readChecksum(new ByteArrayInputStream(write(model))));
+        assertNull(SnapshotReader.readChecksum(new ByteArrayInputStream(write(collection))));
+        collection.setModel(model);
+        assertEquals(model.getFingerprint().toString(), SnapshotReader.readChecksum(new ByteArrayInputStream(write(collection))));
+    }
+
+    @Test
+    public void testReadCollectionForDifferentModel() throws Exception {
+        ScaleDataGenerator generator = new ScaleDataGenerator(1);
+        generator.setResourceCount(10);
+        Model model = generator.generateModel();
+        Collection collection = generator.generateCollection(model);
+        collection.setModel(model);
+        byte[] snapshot = write(collection);
+
+        Model mapped = new MappedModel(ByteBuffer.wrap(writeIndexed(model)));
+        assertEquals(collection.toText(), SnapshotReader.readCollection(new ByteArrayInputStream(snapshot), mapped).toText());
+
+        model.getKinds().iterator().next().setTitle("Changed");
+        try {
+            SnapshotReader.readCollection(new ByteArrayInputStream(snapshot), model);
+            fail();
+        } catch (ParsingException ex) {
+            //cool
+        }
+    }
+
+    @Test
+    public void testInvalidSnapshot() throws Exception {
+        Model model = new ScaleDataGenerator(2).generateModel();
+        byte[] snapshot = write(model);
+
+        byte[] corrupted = snapshot.clone();
+        corrupted[corrupted.length / 2] ^= 0x40;
+        assertInvalidModel(corrupted);
+        assertInvalidModel(Arrays.copyOf(snapshot, snapshot.length - 10));
+        assertInvalidModel(Arrays.copyOf(snapshot, 5));
+        assertInvalidModel(new byte[0]);
+        assertInvalidModel("Category: compute".getBytes());
+
+        byte[] version = snapshot.clone();
+        version[5] = 99;
+        assertInvalidModel(version);
+
+        try {
+            SnapshotReader.readCollection(new ByteArrayInputStream(snapshot), null);
+            fail();
+        } catch (ParsingException ex) {
+            //cool
+        }
+    }
+
+    private static void assertInvalidModel(byte[] snapshot) throws Exception {
+        try {
+            SnapshotReader.readModel(new ByteArrayInputStream(snapshot));
+            fail();
+        } catch (ParsingException ex) {
+            //cool
+        }
+    }
+
+    private static byte[] write(Model model) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter.writeModel(model, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] writeIndexed(Model model) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter.writeIndexedModel(model, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] write(Collection collection) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter.writeCollection(collection, out);
+        return out.toByteArray();
+    }
+}
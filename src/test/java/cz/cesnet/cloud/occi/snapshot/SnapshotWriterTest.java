@@ -0,0 +1,91 @@
+package cz.cesnet.cloud.occi.snapshot;
+
+import cz.cesnet.cloud.occi.DataGenerator;
+import cz.cesnet.cloud.occi.Model;
+import cz.cesnet.cloud.occi.ScaleDataGenerator;
+import cz.cesnet.cloud.occi.core.Attribute;
+import cz.cesnet.cloud.occi.core.Kind;
+import cz.cesnet.cloud.occi.core.Mixin;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class SnapshotWriterTest {
+
+    @Test
+    public void testChecksum() throws Exception {
+        Model model = new Model();
+        for (Kind kind : DataGenerator.getFiveKinds()) {
+            model.addKind(kind);
+        }
+        for (Mixin mixin : DataGenerator.getFiveMixins()) {
+            model.addMixin(mixin);
+        }
+
+        Model reversed = new Model();
+        List<Mixin> mixins = new ArrayList<>(DataGenerator.getFiveMixins());
+        Collections.reverse(mixins);
+        for (Mixin mixin : mixins) {
+            reversed.addMixin(mixin);
+        }
+        for (Kind kind : DataGenerator.getFiveKinds()) {
+            reversed.addKind(kind);
+        }
+
+        String checksum = SnapshotWriter.checksum(model);
+        assertEquals(32, checksum.length());
+        assertEquals(checksum, SnapshotWriter.checksum(reversed));
+        assertEquals(checksum, SnapshotWriter.checksum(model.freeze()));
+
+        reversed.getKind("http://schemas.ogf.org/occi/infrastructure#compute").addAttribute(new Attribute("occi.compute.new"));
+        assertFalse(checksum.equals(SnapshotWriter.checksum(reversed)));
+
+        assertFalse(checksum.equals(SnapshotWriter.checksum(new Model())));
+    }
+
+    @Test
+    public void testWriteModel() throws Exception {
+        ScaleDataGenerator generator = new ScaleDataGenerator(7);
+        generator.setMixinCount(200);
+        Model model = generator.generateModel();
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        SnapshotWriter.writeModel(model, first);
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        SnapshotWriter.writeModel(new ScaleDataGenerator(7) {
+            {
+                setMixinCount(200);
+            }
+        }.generateModel(), second);
+
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+        assertTrue(first.size() < ScaleDataGenerator.renderModelText(model).length() / 3);
+    }
+
+    @Test
+    public void testInvalidWrite() throws Exception {
+        try {
+            SnapshotWriter.writeModel(null, new ByteArrayOutputStream());
+            fail();
+        } catch (NullPointerException ex) {
+            //cool
+        }
+
+        try {
+            SnapshotWriter.writeCollection(null, new ByteArrayOutputStream());
+            fail();
+        } catch (NullPointerException ex) {
+            //cool
+        }
+
+        try {
+            SnapshotWriter.writeModel(new Model(), null);
+            fail();
+        } catch (NullPointerException ex) {
+            //cool
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package cz.cesnet.cloud.occi.type;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import org.junit.Test;
+
+public class FingerprintTest {
+
+    @Test
+    public void testBuilder() {
+        Fingerprint fingerprint = new Fingerprint.Builder().add("compute").add(5).add(true).build();
+        assertEquals(fingerprint, new Fingerprint.Builder().add("compute").add(5).add(true).build());
+        assertFalse(fingerprint.equals(new Fingerprint.Builder().add("compute").add(5).add(false).build()));
+        assertFalse(new Fingerprint.Builder().add("ab").add("c").build().equals(new Fingerprint.Builder().add("a").add("bc").build()));
+        assertFalse(new Fingerprint.Builder().add((String) null).build().equals(new Fingerprint.Builder().add("").build()));
+        assertFalse(new Fingerprint.Builder().build().equals(new Fingerprint.Builder().add(fingerprint).build()));
+    }
+
+    @Test
+    public void testPlusMinus() {
+        Fingerprint a = new Fingerprint(1, -1);
+        Fingerprint b = new Fingerprint(-7, Long.MIN_VALUE);
+        Fingerprint c = new Fingerprint.Builder().add("compute").build();
+
+        assertEquals(new Fingerprint(2, 0), a.plus(new Fingerprint(0, 1)));
+        assertEquals(new Fingerprint(0, -1), new Fingerprint(1, 0).minus(new Fingerprint(0, 1)));
+        assertEquals(a.plus(b).plus(c), c.plus(a).plus(b));
+        assertEquals(a, a.plus(b).minus(b));
+        assertEquals(b, b.plus(c).minus(c));
+        assertEquals(c, Fingerprint.ZERO.plus(c));
+        assertEquals(Fingerprint.ZERO, c.minus(c));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("00000000000000000000000000000000", Fingerprint.ZERO.toString());
+        assertEquals("0123456789abcdeffedcba9876543210", new Fingerprint(0x0123456789abcdefL, 0xfedcba9876543210L).toString());
+    }
+}